@@ -0,0 +1,110 @@
+package com.commonspringboot.benchmarks.client;
+
+import com.commonspringboot.autoconfigure.redis.common.DefaultRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.JedisExecutor;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.DefaultJedisProvider;
+import com.commonspringboot.benchmarks.support.RedisFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 单条命令的开销
+ *
+ * borrowReturn      DefaultJedisProvider 从连接池借出并归还连接，不发送命令
+ * executeNoop       AbstractRedis.execute(JedisExecutor) 的借还连接与异常处理，不发送命令
+ * ping/get/set      一次完整的请求响应
+ *
+ * 运行：java -jar target/benchmarks.jar RedisExecuteBenchmark -t 8
+ * 不同线程数的对比使用 RedisThreadScalingRunner
+ * </pre>
+ *
+ * @author yzy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisExecuteBenchmark {
+
+    /**
+     * 连接池大小，不小于 RedisThreadScalingRunner 中的最大线程数，避免测量到等待连接的时间
+     */
+    static final int POOL_SIZE = 64;
+
+    private static final JedisExecutor<Object> NOOP = new JedisExecutor<Object>() {
+        @Override
+        public Object execute(Jedis jedis) {
+            return jedis;
+        }
+    };
+
+    private final RedisFixture fixture = new RedisFixture();
+
+    private DefaultJedisProvider provider;
+
+    private DefaultRedisImpl redis;
+
+    private String key;
+
+    private String value;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        fixture.start(POOL_SIZE);
+        provider = fixture.getProvider();
+        redis = fixture.getRedis();
+        key = "benchmark:execute";
+        value = "value-0123456789";
+        redis.set(key, value);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        redis.del(key);
+        fixture.close();
+    }
+
+    @Benchmark
+    public Jedis borrowReturn() {
+        Jedis jedis = provider.getResource();
+        provider.closeResource(jedis);
+        return jedis;
+    }
+
+    @Benchmark
+    public Object executeNoop() {
+        return redis.execute(NOOP);
+    }
+
+    @Benchmark
+    public String ping() {
+        return redis.ping();
+    }
+
+    @Benchmark
+    public String get() {
+        return redis.get(key);
+    }
+
+    @Benchmark
+    public String set() {
+        return redis.set(key, value);
+    }
+}
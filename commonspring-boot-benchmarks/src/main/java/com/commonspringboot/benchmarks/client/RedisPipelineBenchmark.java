@@ -0,0 +1,123 @@
+package com.commonspringboot.benchmarks.client;
+
+import com.commonspringboot.autoconfigure.redis.common.DefaultRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.benchmarks.support.RedisFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 批量读写的几种方式，每次调用处理 size 个 key
+ *
+ * loopedGet      循环调用 get，每个 key 一次往返
+ * mget           一次 MGET
+ * pipelinedGet   execute(PipelineExecutor) 发送 size 个 GET
+ * pipelinedSet   execute(PipelineExecutor) 发送 size 个 SET
+ *
+ * 运行：java -jar target/benchmarks.jar RedisPipelineBenchmark
+ * 结果是每次调用的耗时，除以 size 即为单个 key 的耗时
+ * </pre>
+ *
+ * @author yzy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisPipelineBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final RedisFixture fixture = new RedisFixture();
+
+    private DefaultRedisImpl redis;
+
+    private String[] keys;
+
+    private String value;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        fixture.start(RedisExecuteBenchmark.POOL_SIZE);
+        redis = fixture.getRedis();
+        value = "value-0123456789";
+        keys = new String[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = "benchmark:pipeline:" + i;
+            redis.set(keys[i], value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        redis.del(keys);
+        fixture.close();
+    }
+
+    @Benchmark
+    public void loopedGet(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(redis.get(key));
+        }
+    }
+
+    @Benchmark
+    public List<String> mget() {
+        return redis.mget(keys);
+    }
+
+    @Benchmark
+    public List<String> pipelinedGet() {
+        List<Response<String>> responses = redis.execute(new PipelineExecutor<List<Response<String>>>() {
+            @Override
+            public List<Response<String>> execute(Pipeline pipeline) {
+                List<Response<String>> responses = new ArrayList<>(keys.length);
+                for (String key : keys) {
+                    responses.add(pipeline.get(key));
+                }
+                return responses;
+            }
+        });
+        List<String> values = new ArrayList<>(responses.size());
+        for (Response<String> response : responses) {
+            values.add(response.get());
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int pipelinedSet() {
+        return redis.execute(new PipelineExecutor<Integer>() {
+            @Override
+            public Integer execute(Pipeline pipeline) {
+                for (String key : keys) {
+                    pipeline.set(key, value);
+                }
+                return keys.length;
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.commonspringboot.benchmarks.client;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * 以 1 到 64 个线程分别运行 RedisExecuteBenchmark 的 get/set，观察连接池与客户端在并发下的吞吐
+ *
+ * 运行：java -cp target/benchmarks.jar com.commonspringboot.benchmarks.client.RedisThreadScalingRunner [threads...]
+ * 默认线程数 1 2 4 8 16 32 64，每个线程数的结果写入 redis-thread-scaling-{threads}.csv
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisThreadScalingRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisThreadScalingRunner.class);
+
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; ++i) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int threads : threadCounts) {
+            if (threads > RedisExecuteBenchmark.POOL_SIZE) {
+                LOGGER.warn("线程数 {} 超过连接池大小 {}，结果会包含等待连接的时间", threads, RedisExecuteBenchmark.POOL_SIZE);
+            }
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(RedisExecuteBenchmark.class.getName() + "\\.(get|set)$")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.CSV)
+                    .result("redis-thread-scaling-" + threads + ".csv");
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.commonspringboot.benchmarks.codec;
+
+import com.commonspringboot.autoconfigure.redis.common.codec.JacksonRedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodecs;
+import com.commonspringboot.autoconfigure.redis.common.codec.StringRedisCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 对比各个 RedisCodec 的编码、解码耗时以及编码后的大小
+ *
+ * string 表示目前调用方的做法：先用 Jackson 转成 JSON 字符串，再用 set(String, String) 写入，
+ * 读取时 get(String) 之后再解析
+ *
+ * 运行：mvn package && java -jar target/benchmarks.jar RedisCodecBenchmark -prof gc
+ * 编码后的字节数作为辅助结果 encode:payloadBytes 输出
+ * </pre>
+ *
+ * @author yzy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisCodecBenchmark {
+
+    @Param({"json", "smile", "string"})
+    private String codecName;
+
+    /**
+     * 1 表示单个对象，大于 1 表示对象数组
+     */
+    @Param({"1", "20"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new JacksonRedisCodec().getObjectMapper();
+
+    private RedisCodec<Object> codec;
+
+    private Object value;
+
+    private Class<?> valueType;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        codec = RedisCodecs.create(codecName);
+        if (size <= 1) {
+            value = UserProfile.sample(10001);
+            valueType = UserProfile.class;
+        } else {
+            UserProfile[] profiles = new UserProfile[size];
+            for (int i = 0; i < size; ++i) {
+                profiles[i] = UserProfile.sample(10001 + i);
+            }
+            value = profiles;
+            valueType = UserProfile[].class;
+        }
+        encoded = doEncode();
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) throws IOException {
+        byte[] bytes = doEncode();
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        if (codec instanceof StringRedisCodec) {
+            return objectMapper.readValue(codec.decode(encoded, String.class), valueType);
+        }
+        return codec.decode(encoded, valueType);
+    }
+
+    private byte[] doEncode() throws IOException {
+        if (codec instanceof StringRedisCodec) {
+            return codec.encode(objectMapper.writeValueAsString(value));
+        }
+        return codec.encode(value);
+    }
+
+    /**
+     * 编码后的字节数，每次编码覆盖，不累加
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+}
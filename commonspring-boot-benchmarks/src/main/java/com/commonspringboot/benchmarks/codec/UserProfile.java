@@ -0,0 +1,130 @@
+package com.commonspringboot.benchmarks.codec;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编解码测试使用的缓存对象，字段构成接近常见的用户缓存
+ *
+ * @author yzy
+ */
+public class UserProfile {
+
+    private long id;
+
+    private String name;
+
+    private String email;
+
+    private int age;
+
+    private boolean vip;
+
+    private double score;
+
+    private List<String> tags;
+
+    private Map<String, Long> counters;
+
+    private Date createTime;
+
+    public static UserProfile sample(long id) {
+        UserProfile profile = new UserProfile();
+        profile.setId(id);
+        profile.setName("user-" + id);
+        profile.setEmail("user-" + id + "@example.com");
+        profile.setAge((int) (18 + id % 50));
+        profile.setVip(id % 3 == 0);
+        profile.setScore(id * 1.5D);
+
+        List<String> tags = new ArrayList<>();
+        tags.add("android");
+        tags.add("level-" + id % 10);
+        tags.add("region-south");
+        profile.setTags(tags);
+
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("login", id * 7);
+        counters.put("order", id * 3);
+        counters.put("comment", id);
+        profile.setCounters(counters);
+
+        profile.setCreateTime(new Date(1546272000000L + id * 1000));
+        return profile;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public boolean isVip() {
+        return vip;
+    }
+
+    public void setVip(boolean vip) {
+        this.vip = vip;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(Date createTime) {
+        this.createTime = createTime;
+    }
+}
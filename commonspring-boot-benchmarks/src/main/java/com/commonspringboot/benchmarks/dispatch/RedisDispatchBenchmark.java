@@ -0,0 +1,91 @@
+package com.commonspringboot.benchmarks.dispatch;
+
+import com.commonspringboot.autoconfigure.redis.common.DefaultRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.JedisExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.Jedis;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 测量 get/set 命令分发本身的内存分配，使用 StubJedisProvider 不产生网络请求
+ *
+ * get/set 走 JedisKeyExecutors 中的常量执行器，
+ * executorGet/executorSet 是调整前的写法：每次调用创建一个 JedisExecutor 匿名类实例
+ *
+ * 运行：mvn package && java -jar target/benchmarks.jar RedisDispatchBenchmark -prof gc -jvmArgsAppend -XX:-DoEscapeAnalysis
+ * 对比 gc.alloc.rate.norm（每次调用分配的字节数），调整前每次 24 B，调整后为 0
+ *
+ * 这里的调用链很短，C2 能够内联并通过逃逸分析消除匿名类实例，因此需要关闭逃逸分析才能看到差异；
+ * 实际应用中调用链经过 Spring 代理、业务层，超出内联深度后分配不会被消除
+ * </pre>
+ *
+ * @author yzy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisDispatchBenchmark {
+
+    private DefaultRedisImpl redis;
+
+    private String key;
+
+    private String value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        redis = new DefaultRedisImpl();
+        redis.setProvider(new StubJedisProvider());
+        // 避免常量折叠
+        key = new StringBuilder("user:").append(10001).toString();
+        value = new StringBuilder("name-").append(10001).toString();
+    }
+
+    @Benchmark
+    public String get() {
+        return redis.get(key);
+    }
+
+    @Benchmark
+    public String set() {
+        return redis.set(key, value);
+    }
+
+    @Benchmark
+    public String executorGet() {
+        final String currentKey = key;
+        return redis.executeByKey(currentKey, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.get(currentKey);
+            }
+        });
+    }
+
+    @Benchmark
+    public String executorSet() {
+        final String currentKey = key;
+        final String currentValue = value;
+        return redis.executeByKey(currentKey, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.set(currentKey, currentValue);
+            }
+        });
+    }
+}
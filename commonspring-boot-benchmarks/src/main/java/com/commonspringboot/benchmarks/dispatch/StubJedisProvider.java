@@ -0,0 +1,41 @@
+package com.commonspringboot.benchmarks.dispatch;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import redis.clients.jedis.Jedis;
+
+/**
+ * 不连接 Redis 的连接提供者，get/set 直接返回固定值，只用于测量命令分发本身的开销
+ *
+ * @author yzy
+ */
+public class StubJedisProvider implements JedisProvider {
+
+    private final Jedis jedis = new Jedis() {
+        @Override
+        public String get(String key) {
+            return "value";
+        }
+
+        @Override
+        public String set(String key, String value) {
+            return "OK";
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Override
+    public Jedis getResource() {
+        return jedis;
+    }
+
+    @Override
+    public void closeResource(Jedis jedis) {
+    }
+
+    @Override
+    public void destroyResource(Jedis jedis) {
+    }
+}
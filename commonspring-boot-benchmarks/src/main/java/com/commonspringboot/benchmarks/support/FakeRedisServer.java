@@ -0,0 +1,302 @@
+package com.commonspringboot.benchmarks.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 进程内的 RESP 协议假 Redis，只实现基准测试用到的命令，数据保存在内存中
+ *
+ * 支持：PING ECHO SELECT AUTH QUIT GET SET SETEX MGET MSET DEL EXISTS INCR DBSIZE FLUSHDB FLUSHALL
+ *
+ * 每个连接一个线程，请求缓冲区读完之后才刷新响应，因此管道中的多个命令会合并成一次写出，
+ * 行为上接近真实 Redis，但没有持久化、过期等开销，测量结果主要反映客户端和网络栈的开销
+ * </pre>
+ *
+ * @author yzy
+ */
+public class FakeRedisServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeRedisServer.class);
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] PONG = "+PONG\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ConcurrentHashMap<String, byte[]> data = new ConcurrentHashMap<>();
+
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    private ServerSocket serverSocket;
+
+    private volatile boolean running = false;
+
+    /**
+     * 在本机随机端口启动
+     *
+     * @return 当前实例
+     * @throws IOException 端口绑定失败
+     */
+    public FakeRedisServer start() throws IOException {
+        serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        running = true;
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptLoop();
+            }
+        }, "fake-redis-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+        data.clear();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                final Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                Thread worker = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                }, "fake-redis-client-" + socket.getPort());
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.warn("FakeRedisServer accept 失败：{}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            InputStream in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+            while (running) {
+                byte[][] command = readCommand(in);
+                if (null == command) {
+                    return;
+                }
+                if (!handle(command, out)) {
+                    out.flush();
+                    return;
+                }
+                // 管道中的后续命令已经到达时先不刷新
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // 客户端断开
+        } finally {
+            clients.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * 处理一条命令
+     *
+     * @return 返回 false 表示需要关闭连接
+     */
+    private boolean handle(byte[][] command, OutputStream out) throws IOException {
+        String name = new String(command[0], StandardCharsets.US_ASCII).toUpperCase();
+        switch (name) {
+            case "PING":
+                out.write(PONG);
+                break;
+            case "ECHO":
+                writeBulk(out, command[1]);
+                break;
+            case "SELECT":
+            case "AUTH":
+                out.write(OK);
+                break;
+            case "QUIT":
+                out.write(OK);
+                return false;
+            case "GET":
+                writeBulk(out, data.get(key(command[1])));
+                break;
+            case "SET":
+                data.put(key(command[1]), command[2]);
+                out.write(OK);
+                break;
+            case "SETEX":
+                data.put(key(command[1]), command[3]);
+                out.write(OK);
+                break;
+            case "MGET":
+                writeHeader(out, '*', command.length - 1);
+                for (int i = 1; i < command.length; ++i) {
+                    writeBulk(out, data.get(key(command[i])));
+                }
+                break;
+            case "MSET":
+                for (int i = 1; i + 1 < command.length; i += 2) {
+                    data.put(key(command[i]), command[i + 1]);
+                }
+                out.write(OK);
+                break;
+            case "DEL":
+            case "EXISTS":
+                int count = 0;
+                for (int i = 1; i < command.length; ++i) {
+                    boolean found = "DEL".equals(name) ? null != data.remove(key(command[i])) : data.containsKey(key(command[i]));
+                    count += found ? 1 : 0;
+                }
+                writeHeader(out, ':', count);
+                break;
+            case "INCR":
+                writeHeader(out, ':', incr(key(command[1])));
+                break;
+            case "DBSIZE":
+                writeHeader(out, ':', data.size());
+                break;
+            case "FLUSHDB":
+            case "FLUSHALL":
+                data.clear();
+                out.write(OK);
+                break;
+            default:
+                out.write(("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return true;
+    }
+
+    private long incr(String key) {
+        while (true) {
+            byte[] current = data.get(key);
+            long value = null == current ? 1 : Long.parseLong(new String(current, StandardCharsets.US_ASCII)) + 1;
+            byte[] next = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            if (null == current ? null == data.putIfAbsent(key, next) : data.replace(key, current, next)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * key 按 ISO-8859-1 转换，任意字节都能无损还原
+     */
+    private static String key(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (null == value) {
+            out.write(NULL_BULK);
+            return;
+        }
+        writeHeader(out, '$', value.length);
+        out.write(value);
+        out.write(CRLF);
+    }
+
+    private static void writeHeader(OutputStream out, char type, long value) throws IOException {
+        out.write(type);
+        out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+    }
+
+    /**
+     * 读取一条 RESP 数组格式的命令，连接关闭时返回 null
+     */
+    private static byte[][] readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("不支持的请求格式: " + (char) type);
+        }
+        int size = (int) readLong(in);
+        byte[][] args = new byte[size][];
+        for (int i = 0; i < size; ++i) {
+            if (in.read() != '$') {
+                throw new IOException("参数必须是 bulk string");
+            }
+            int length = (int) readLong(in);
+            byte[] arg = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int read = in.read(arg, offset, length - offset);
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                offset += read;
+            }
+            // 跳过 \r\n
+            in.read();
+            in.read();
+            args[i] = arg;
+        }
+        return args;
+    }
+
+    private static long readLong(InputStream in) throws IOException {
+        long value = 0;
+        boolean negative = false;
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (b == '\r') {
+                in.read();
+                return negative ? -value : value;
+            }
+            if (b == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (b - '0');
+            }
+        }
+    }
+}
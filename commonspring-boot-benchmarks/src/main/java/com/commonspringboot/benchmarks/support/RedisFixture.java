@@ -0,0 +1,84 @@
+package com.commonspringboot.benchmarks.support;
+
+import com.commonspringboot.autoconfigure.redis.common.DefaultRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.DefaultJedisProvider;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.io.IOException;
+
+/**
+ * <pre>
+ * 基准测试使用的 Redis 环境，和 StdRedisDefinitionRegister 注册的 Bean 结构一致：
+ * JedisPool -&gt; DefaultJedisProvider -&gt; DefaultRedisImpl
+ *
+ * 默认连接进程内的 FakeRedisServer，可以通过 -Dbenchmark.redis=host:port 连接真实的 Redis，
+ * fork 模式下需要通过 -jvmArgsAppend 传入
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisFixture {
+
+    public static final String REDIS_PROPERTY = "benchmark.redis";
+
+    private FakeRedisServer server;
+
+    private JedisPool jedisPool;
+
+    private DefaultJedisProvider provider;
+
+    private DefaultRedisImpl redis;
+
+    /**
+     * 启动环境
+     *
+     * @param maxTotal 连接池最大连接数，需要不小于测试线程数
+     * @return 当前实例
+     * @throws IOException 假 Redis 启动失败
+     */
+    public RedisFixture start(int maxTotal) throws IOException {
+        String host;
+        int port;
+        String address = System.getProperty(REDIS_PROPERTY);
+        if (null == address || address.isEmpty()) {
+            server = new FakeRedisServer().start();
+            host = server.getHost();
+            port = server.getPort();
+        } else {
+            HostAndPort hostAndPort = HostAndPort.parseString(address);
+            host = hostAndPort.getHost();
+            port = hostAndPort.getPort();
+        }
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxTotal);
+        poolConfig.setMinIdle(maxTotal);
+        jedisPool = new JedisPool(poolConfig, host, port, 3000);
+
+        provider = new DefaultJedisProvider();
+        provider.setJedisPool(jedisPool);
+        redis = new DefaultRedisImpl();
+        redis.setProvider(provider);
+        return this;
+    }
+
+    public DefaultJedisProvider getProvider() {
+        return provider;
+    }
+
+    public DefaultRedisImpl getRedis() {
+        return redis;
+    }
+
+    public void close() throws IOException {
+        if (null != jedisPool) {
+            jedisPool.destroy();
+        }
+        if (null != server) {
+            server.close();
+        }
+    }
+}
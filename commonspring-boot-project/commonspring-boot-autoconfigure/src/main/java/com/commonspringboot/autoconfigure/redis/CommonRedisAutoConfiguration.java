@@ -1,8 +1,20 @@
 package com.commonspringboot.autoconfigure.redis;
 
+import com.commonspringboot.autoconfigure.redis.common.cache.CommonRedisCacheManager;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RedisMetricsBinder;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisListenerAnnotationBeanPostProcessor;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScriptRegistry;
+import com.commonspringboot.autoconfigure.redis.common.warmup.RedisWarmUpRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.util.StringUtils;
 import redis.clients.jedis.Jedis;
 
 /**
@@ -12,7 +24,77 @@ import redis.clients.jedis.Jedis;
  */
 @Configuration
 @ConditionalOnClass({Jedis.class})
+@AutoConfigureBefore(name = "org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration")
 @EnableConfigurationProperties(CommonRedisProperties.class)
 public class CommonRedisAutoConfiguration {
 
+    /**
+     * Lua 脚本注册表，所有 Redis 共用
+     */
+    @Bean(initMethod = "init")
+    @ConditionalOnMissingBean
+    public RedisScriptRegistry redisScriptRegistry(CommonRedisProperties properties) {
+        RedisScriptRegistry registry = new RedisScriptRegistry();
+        if (StringUtils.hasText(properties.getScriptDir())) {
+            registry.setScriptDir(properties.getScriptDir());
+        }
+        registry.setScriptNames(properties.getScripts());
+        return registry;
+    }
+
+    /**
+     * 扫描 &#64;RedisListener 方法并注册到对应的 {redisId}RedisSubscriptionService
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static RedisListenerAnnotationBeanPostProcessor redisListenerAnnotationBeanPostProcessor() {
+        return new RedisListenerAnnotationBeanPostProcessor();
+    }
+
+    /**
+     * 启动时并行预热所有开启了 warm-up 的 Redis
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisWarmUpRunner redisWarmUpRunner(ListableBeanFactory beanFactory) {
+        return new RedisWarmUpRunner(beanFactory);
+    }
+
+    /**
+     * 配置了缓存 Redis（cacheRedis）并且没有其他 CacheManager 时，提供基于 Redis 的 Spring CacheManager，
+     * 需要应用自己开启 &#64;EnableCaching
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.cache.CacheManager")
+    @ConditionalOnBean(name = CommonRedisSpringRegister.PRIMARY_CACHE_REDIS_ALIAS)
+    @ConditionalOnMissingBean(CacheManager.class)
+    static class RedisCacheManagerConfiguration {
+
+        @Bean
+        public CommonRedisCacheManager commonRedisCacheManager(CommonRedisProperties properties, ListableBeanFactory beanFactory) {
+            CommonRedisCacheManager cacheManager = new CommonRedisCacheManager(beanFactory);
+            cacheManager.setDefaultRedisId(CommonRedisSpringRegister.resolvePrimaryCacheId(properties));
+            cacheManager.setDefaultTtlSeconds(properties.getCacheExpiredTime());
+            if (null != properties.getCacheMaxSize()) {
+                cacheManager.setDefaultLocalMaxSize(properties.getCacheMaxSize());
+            }
+            cacheManager.setCacheConfigs(properties.getCaches());
+            return cacheManager;
+        }
+    }
+
+    /**
+     * 存在 Micrometer 时把 {redisId}RedisMetrics 注册为指标，actuator 会自动绑定 MeterBinder，
+     * 同时是 BeanPostProcessor，延迟初始化的 Bean 创建后再绑定，所以使用静态方法
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class RedisMetricsBinderConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public static RedisMetricsBinder redisMetricsBinder(ListableBeanFactory beanFactory) {
+            return new RedisMetricsBinder(beanFactory);
+        }
+    }
 }
@@ -18,7 +18,7 @@ public class CommonRedisConfigApplicationRunListener extends SpringApplicationRu
 
     public CommonRedisConfigApplicationRunListener(SpringApplication application, String[] args) {
         super(application, args);
-        this.needAutoConfigurer = isClassesImported("com.duowan.common.redis.Redis");
+        this.needAutoConfigurer = isClassesImported("redis.clients.jedis.Jedis");
     }
 
     @Override
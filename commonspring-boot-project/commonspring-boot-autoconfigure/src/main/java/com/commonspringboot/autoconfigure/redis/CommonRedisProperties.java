@@ -1,8 +1,11 @@
 package com.commonspringboot.autoconfigure.redis;
 
 
+import com.commonspringboot.autoconfigure.redis.common.model.CacheConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.ClusterRedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.RiseRedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.SentinelRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.ShardedRedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.StdRedisDefinition;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -48,6 +51,42 @@ public class CommonRedisProperties {
      */
     private Long cacheExpiredTime;
 
+    /**
+     * 缓存 Redis 的本地一级缓存最多缓存的 key 数量，默认是 10000
+     */
+    private Integer cacheMaxSize;
+
+    /**
+     * 各个 Redis 的对象值编解码器，key 是 redis id（允许使用通配符 '*'），value 是 json、smile、string 或者 RedisCodec 实现类全路径，
+     * Redis 定义中配置了 codec 时以定义为准
+     */
+    private Map<String, String> codecs;
+
+    /**
+     * 开启命令统计的 redis id，允许使用通配符 '*'
+     */
+    private Set<String> metricsIds;
+
+    /**
+     * 启动时预热的 redis id，允许使用通配符 '*'
+     */
+    private Set<String> warmUpIds;
+
+    /**
+     * Lua 脚本目录，默认是 lua，脚本文件为 {scriptDir}/{name}.lua，按配置文件的规则查找
+     */
+    private String scriptDir;
+
+    /**
+     * 启动时加载的 Lua 脚本名称，不带 .lua 后缀，没有配置的脚本在第一次使用时加载
+     */
+    private Set<String> scripts;
+
+    /**
+     * Spring Cache 各个缓存的配置，key 是缓存名称，没有配置的缓存名称使用默认配置
+     */
+    private Map<String, CacheConfig> caches;
+
     /**
      * 升龙数据源别名MAP
      **/
@@ -68,6 +107,16 @@ public class CommonRedisProperties {
      **/
     private Map<String, SentinelRedisDefinition> sentinels;
 
+    /**
+     * Redis Cluster 集群定义
+     **/
+    private Map<String, ClusterRedisDefinition> clusters;
+
+    /**
+     * 客户端分片 Redis 定义，把多个 standards/sentinels 组合成一个逻辑 Redis
+     **/
+    private Map<String, ShardedRedisDefinition> shardeds;
+
     /**
      * Redis Bean 注册器类全路径
      **/
@@ -94,6 +143,62 @@ public class CommonRedisProperties {
         this.cacheExpiredTime = cacheExpiredTime;
     }
 
+    public Integer getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(Integer cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Set<String> getMetricsIds() {
+        return metricsIds;
+    }
+
+    public void setMetricsIds(Set<String> metricsIds) {
+        this.metricsIds = metricsIds;
+    }
+
+    public Set<String> getWarmUpIds() {
+        return warmUpIds;
+    }
+
+    public void setWarmUpIds(Set<String> warmUpIds) {
+        this.warmUpIds = warmUpIds;
+    }
+
+    public String getScriptDir() {
+        return scriptDir;
+    }
+
+    public void setScriptDir(String scriptDir) {
+        this.scriptDir = scriptDir;
+    }
+
+    public Set<String> getScripts() {
+        return scripts;
+    }
+
+    public void setScripts(Set<String> scripts) {
+        this.scripts = scripts;
+    }
+
+    public Map<String, CacheConfig> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, CacheConfig> caches) {
+        this.caches = caches;
+    }
+
+    public Map<String, String> getCodecs() {
+        return codecs;
+    }
+
+    public void setCodecs(Map<String, String> codecs) {
+        this.codecs = codecs;
+    }
+
     public Set<String> getCacheIds() {
         return cacheIds;
     }
@@ -158,6 +263,22 @@ public class CommonRedisProperties {
         this.sentinels = sentinels;
     }
 
+    public Map<String, ClusterRedisDefinition> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(Map<String, ClusterRedisDefinition> clusters) {
+        this.clusters = clusters;
+    }
+
+    public Map<String, ShardedRedisDefinition> getShardeds() {
+        return shardeds;
+    }
+
+    public void setShardeds(Map<String, ShardedRedisDefinition> shardeds) {
+        this.shardeds = shardeds;
+    }
+
     public Set<String> getRegisterClasses() {
         return registerClasses;
     }
@@ -1,10 +1,16 @@
 package com.commonspringboot.autoconfigure.redis;
 
 
+import com.commonspringboot.autoconfigure.redis.common.model.AbstractRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.ClusterRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.MetricsConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.NearCacheConfig;
 import com.commonspringboot.autoconfigure.redis.common.model.RedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.RiseRedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.SentinelRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.ShardedRedisDefinition;
 import com.commonspringboot.autoconfigure.redis.common.model.StdRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.WarmUpConfig;
 import com.commonspringboot.autoconfigure.redis.common.provider.def.RedisDefinitionProvider;
 import com.commonspringboot.autoconfigure.redis.common.register.RedisRegister;
 import com.commonspringboot.autoconfigure.redis.common.util.RedisRegisterUtil;
@@ -18,6 +24,7 @@ import org.springframework.util.StringUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author yzy
@@ -26,23 +33,191 @@ import java.util.Map;
  */
 public class CommonRedisSpringRegister {
 
+    /**
+     * 主缓存 Redis 的 Bean 别名
+     */
+    public static final String PRIMARY_CACHE_REDIS_ALIAS = "cacheRedis";
+
     private CommonRedisSpringRegister() {
         throw new IllegalStateException("Utility class");
     }
 
     public static void registerRedisBeans(CommonRedisProperties redisProperties, ApplicationContext applicationContext, BeanDefinitionRegistry registry, Environment environment) {
         List<RedisRegister> registerList = ReflectUtil.newInstancesByDefaultConstructor(RedisRegister.class, redisProperties.getRegisterClasses());
-        List<RedisDefinitionProvider> providerList = ReflectUtil.newInstancesByDefaultConstructor(RedisDefinitionProvider.class, redisProperties.getRegisterClasses());
+        List<RedisDefinitionProvider> providerList = ReflectUtil.newInstancesByDefaultConstructor(RedisDefinitionProvider.class, redisProperties.getProviderClasses());
+
+        List<RedisDefinition> redisDefinitionList = lookupRedisDefList(redisProperties);
+        applyNearCacheConfig(redisProperties, redisDefinitionList);
+        applyCodecConfig(redisProperties, redisDefinitionList);
+        applyMetricsConfig(redisProperties, redisDefinitionList);
+        applyWarmUpConfig(redisProperties, redisDefinitionList);
 
         RedisRegisterUtil.registerRedisBeanDefinitions(
                 registerList,
                 providerList,
-                lookupRedisDefList(redisProperties),
+                redisDefinitionList,
                 redisProperties.getEnabledIds(),
                 redisProperties.getExcludeIds(),
                 redisProperties.getPrimaryId(),
                 registry,
                 environment);
+
+        registerPrimaryCacheRedisAlias(redisProperties, registry);
+    }
+
+    /**
+     * cacheIds 中的 Redis 开启本地一级缓存，过期时间使用 cacheExpiredTime
+     *
+     * @param redisProperties     配置
+     * @param redisDefinitionList Redis 定义列表
+     */
+    private static void applyNearCacheConfig(CommonRedisProperties redisProperties, List<RedisDefinition> redisDefinitionList) {
+        Set<String> cacheIds = redisProperties.getCacheIds();
+        if (null == cacheIds || cacheIds.isEmpty()) {
+            return;
+        }
+
+        for (RedisDefinition definition : redisDefinitionList) {
+            if (!(definition instanceof AbstractRedisDefinition) || !isIdMatched(cacheIds, definition.getId())) {
+                continue;
+            }
+            NearCacheConfig nearCacheConfig = ((AbstractRedisDefinition) definition).getNearCache();
+            if (null == nearCacheConfig) {
+                nearCacheConfig = new NearCacheConfig();
+                ((AbstractRedisDefinition) definition).setNearCache(nearCacheConfig);
+            }
+            nearCacheConfig.setEnabled(true);
+            if (null != redisProperties.getCacheExpiredTime()) {
+                nearCacheConfig.setExpireSeconds(redisProperties.getCacheExpiredTime());
+            }
+            if (null != redisProperties.getCacheMaxSize()) {
+                nearCacheConfig.setMaxSize(redisProperties.getCacheMaxSize());
+            }
+        }
+    }
+
+    /**
+     * 使用 codecs 中的配置设置 Redis 的对象值编解码器，精确匹配的 id 优先于通配符
+     *
+     * @param redisProperties     配置
+     * @param redisDefinitionList Redis 定义列表
+     */
+    private static void applyCodecConfig(CommonRedisProperties redisProperties, List<RedisDefinition> redisDefinitionList) {
+        Map<String, String> codecs = redisProperties.getCodecs();
+        if (null == codecs || codecs.isEmpty()) {
+            return;
+        }
+
+        for (RedisDefinition definition : redisDefinitionList) {
+            if (!(definition instanceof AbstractRedisDefinition) || !StringUtils.isEmpty(((AbstractRedisDefinition) definition).getCodec())) {
+                continue;
+            }
+            String codec = codecs.get(definition.getId());
+            if (null == codec) {
+                for (Map.Entry<String, String> entry : codecs.entrySet()) {
+                    if (CommonUtil.isStartWildcardMatch(definition.getId(), entry.getKey())) {
+                        codec = entry.getValue();
+                        break;
+                    }
+                }
+            }
+            ((AbstractRedisDefinition) definition).setCodec(codec);
+        }
+    }
+
+    /**
+     * metricsIds 中的 Redis 开启命令统计
+     *
+     * @param redisProperties     配置
+     * @param redisDefinitionList Redis 定义列表
+     */
+    private static void applyMetricsConfig(CommonRedisProperties redisProperties, List<RedisDefinition> redisDefinitionList) {
+        Set<String> metricsIds = redisProperties.getMetricsIds();
+        if (null == metricsIds || metricsIds.isEmpty()) {
+            return;
+        }
+
+        for (RedisDefinition definition : redisDefinitionList) {
+            if (!(definition instanceof AbstractRedisDefinition) || !isIdMatched(metricsIds, definition.getId())) {
+                continue;
+            }
+            MetricsConfig metricsConfig = ((AbstractRedisDefinition) definition).getMetrics();
+            if (null == metricsConfig) {
+                metricsConfig = new MetricsConfig();
+                ((AbstractRedisDefinition) definition).setMetrics(metricsConfig);
+            }
+            metricsConfig.setEnabled(true);
+        }
+    }
+
+    /**
+     * warmUpIds 中的 Redis 开启启动预热
+     *
+     * @param redisProperties     配置
+     * @param redisDefinitionList Redis 定义列表
+     */
+    private static void applyWarmUpConfig(CommonRedisProperties redisProperties, List<RedisDefinition> redisDefinitionList) {
+        Set<String> warmUpIds = redisProperties.getWarmUpIds();
+        if (null == warmUpIds || warmUpIds.isEmpty()) {
+            return;
+        }
+
+        for (RedisDefinition definition : redisDefinitionList) {
+            if (!(definition instanceof AbstractRedisDefinition) || !isIdMatched(warmUpIds, definition.getId())) {
+                continue;
+            }
+            WarmUpConfig warmUpConfig = ((AbstractRedisDefinition) definition).getWarmUp();
+            if (null == warmUpConfig) {
+                warmUpConfig = new WarmUpConfig();
+                ((AbstractRedisDefinition) definition).setWarmUp(warmUpConfig);
+            }
+            warmUpConfig.setEnabled(true);
+        }
+    }
+
+    private static boolean isIdMatched(Set<String> redisIds, String redisId) {
+        if (redisIds.contains(redisId)) {
+            return true;
+        }
+        for (String pattern : redisIds) {
+            if (CommonUtil.isStartWildcardMatch(redisId, pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 给主缓存 Redis 注册别名 cacheRedis，只有一个缓存 Redis 时可以不指定 primaryCacheId
+     *
+     * @param redisProperties 配置
+     * @param registry        Bean 注册器
+     */
+    private static void registerPrimaryCacheRedisAlias(CommonRedisProperties redisProperties, BeanDefinitionRegistry registry) {
+        String primaryCacheId = resolvePrimaryCacheId(redisProperties);
+        if (StringUtils.isEmpty(primaryCacheId)) {
+            return;
+        }
+
+        String redisBeanName = primaryCacheId + "Redis";
+        if (registry.containsBeanDefinition(redisBeanName) && !registry.isAlias(PRIMARY_CACHE_REDIS_ALIAS)) {
+            registry.registerAlias(redisBeanName, PRIMARY_CACHE_REDIS_ALIAS);
+        }
+    }
+
+    /**
+     * 主缓存 Redis ID，没有配置 primaryCacheId 并且只有一个缓存 Redis 时使用这个 Redis
+     *
+     * @param redisProperties 配置
+     * @return 主缓存 Redis ID，没有时返回 null
+     */
+    static String resolvePrimaryCacheId(CommonRedisProperties redisProperties) {
+        String primaryCacheId = redisProperties.getPrimaryCacheId();
+        Set<String> cacheIds = redisProperties.getCacheIds();
+        if (StringUtils.isEmpty(primaryCacheId) && null != cacheIds && cacheIds.size() == 1) {
+            primaryCacheId = cacheIds.iterator().next();
+        }
+        return StringUtils.isEmpty(primaryCacheId) ? null : primaryCacheId;
     }
 
     private static List<RedisDefinition> lookupRedisDefList(CommonRedisProperties redisProperties) {
@@ -52,6 +227,8 @@ public class CommonRedisSpringRegister {
         CommonUtil.appendList(resultList, lookupStandardRedisDefList(redisProperties));
         CommonUtil.appendList(resultList, lookupRiseRedisDefList(redisProperties));
         CommonUtil.appendList(resultList, lookupSentinelRedisDefList(redisProperties));
+        CommonUtil.appendList(resultList, lookupClusterRedisDefList(redisProperties));
+        CommonUtil.appendList(resultList, lookupShardedRedisDefList(redisProperties));
 
         return resultList;
     }
@@ -96,6 +273,46 @@ public class CommonRedisSpringRegister {
         return resultList;
     }
 
+    private static List<RedisDefinition> lookupClusterRedisDefList(CommonRedisProperties redisProperties) {
+
+        Map<String, ClusterRedisDefinition> clusterMap = redisProperties.getClusters();
+        List<RedisDefinition> resultList = new ArrayList<>();
+
+        if (null == clusterMap || clusterMap.isEmpty()) {
+            return resultList;
+        }
+
+        for (Map.Entry<String, ClusterRedisDefinition> entry : clusterMap.entrySet()) {
+            ClusterRedisDefinition def = entry.getValue();
+            if (StringUtils.isEmpty(def.getId())) {
+                def.setId(entry.getKey());
+            }
+            resultList.add(def);
+        }
+
+        return resultList;
+    }
+
+    private static List<RedisDefinition> lookupShardedRedisDefList(CommonRedisProperties redisProperties) {
+
+        Map<String, ShardedRedisDefinition> shardedMap = redisProperties.getShardeds();
+        List<RedisDefinition> resultList = new ArrayList<>();
+
+        if (null == shardedMap || shardedMap.isEmpty()) {
+            return resultList;
+        }
+
+        for (Map.Entry<String, ShardedRedisDefinition> entry : shardedMap.entrySet()) {
+            ShardedRedisDefinition def = entry.getValue();
+            if (StringUtils.isEmpty(def.getId())) {
+                def.setId(entry.getKey());
+            }
+            resultList.add(def);
+        }
+
+        return resultList;
+    }
+
     private static List<RedisDefinition> lookupRiseRedisDefList(CommonRedisProperties redisProperties) {
 
         Map<String, RiseRedisDefinition> standardMap = redisProperties.getRises();
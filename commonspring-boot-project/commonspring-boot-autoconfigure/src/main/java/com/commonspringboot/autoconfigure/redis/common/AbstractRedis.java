@@ -1,16 +1,36 @@
 package com.commonspringboot.autoconfigure.redis.common;
 
 
+import com.commonspringboot.autoconfigure.redis.common.batch.PipelineCommand;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.batch.RedisCommandCoalescer;
+import com.commonspringboot.autoconfigure.redis.common.cache.RedisNearCache;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodecs;
+import com.commonspringboot.autoconfigure.redis.common.counter.RedisCounterAggregator;
+import com.commonspringboot.autoconfigure.redis.common.loader.RedisValueLoader;
+import com.commonspringboot.autoconfigure.redis.common.metrics.CommandMetrics;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RedisMetrics;
+import com.commonspringboot.autoconfigure.redis.common.model.CounterConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.LoaderConfig;
+import com.commonspringboot.autoconfigure.redis.common.scan.CursorScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.scan.ScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
 import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import com.commonspringboot.autoconfigure.redis.common.util.RedisRouteUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 import redis.clients.jedis.params.geo.GeoRadiusParam;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 import redis.clients.jedis.params.sortedset.ZIncrByParams;
+import redis.clients.util.SafeEncoder;
 import redis.clients.util.Slowlog;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Redis 实现
@@ -19,6 +39,11 @@ import java.util.*;
  */
 public abstract class AbstractRedis implements Redis {
 
+    /**
+     * scanKeys 等迭代器默认的每页数量
+     */
+    protected static final int DEFAULT_SCAN_COUNT = 100;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
@@ -26,6 +51,42 @@ public abstract class AbstractRedis implements Redis {
      */
     protected JedisProvider provider;
 
+    /**
+     * 单 key 命令合并器，为 null 表示不开启合并
+     */
+    protected RedisCommandCoalescer coalescer;
+
+    /**
+     * 进程内一级缓存，为 null 表示不开启
+     */
+    protected RedisNearCache nearCache;
+
+    /**
+     * 对象值编解码器，为 null 时使用默认编解码器
+     */
+    protected RedisCodec<Object> codec;
+
+    /**
+     * 命令统计，为 null 表示不开启
+     */
+    protected RedisMetrics metrics;
+
+    /**
+     * 熔断器，为 null 表示不开启
+     */
+    protected RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * 计数器合并写入配置，为 null 时使用默认配置
+     */
+    protected CounterConfig counterConfig;
+
+    private volatile RedisCounterAggregator counters;
+
+    protected LoaderConfig loaderConfig;
+
+    private volatile RedisValueLoader loader;
+
     @Override
     public void init() {
 
@@ -33,7 +94,10 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public void destroy() {
-
+        RedisCounterAggregator current = counters;
+        if (null != current) {
+            current.shutdown();
+        }
     }
 
     @Override
@@ -46,6 +110,101 @@ public abstract class AbstractRedis implements Redis {
         this.provider = jedisProvider;
     }
 
+    public RedisCommandCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    public void setCoalescer(RedisCommandCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    public RedisNearCache getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(RedisNearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public RedisMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(RedisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public RedisCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(RedisCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public RedisCodec<Object> getCodec() {
+        if (null == codec) {
+            codec = RedisCodecs.createDefault();
+        }
+        return codec;
+    }
+
+    public void setCodec(RedisCodec<Object> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public RedisCounterAggregator getCounters() {
+        RedisCounterAggregator current = counters;
+        if (null == current) {
+            synchronized (this) {
+                current = counters;
+                if (null == current) {
+                    current = new RedisCounterAggregator(this, null == counterConfig ? new CounterConfig() : counterConfig);
+                    counters = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public CounterConfig getCounterConfig() {
+        return counterConfig;
+    }
+
+    public void setCounterConfig(CounterConfig counterConfig) {
+        this.counterConfig = counterConfig;
+    }
+
+    @Override
+    public RedisValueLoader getLoader() {
+        RedisValueLoader current = loader;
+        if (null == current) {
+            synchronized (this) {
+                current = loader;
+                if (null == current) {
+                    current = new RedisValueLoader(this, null == loaderConfig ? new LoaderConfig() : loaderConfig);
+                    loader = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, int ttlSeconds, Class<T> type, Callable<T> valueLoader) {
+        return getLoader().getOrLoad(key, ttlSeconds, type, valueLoader);
+    }
+
+    public LoaderConfig getLoaderConfig() {
+        return loaderConfig;
+    }
+
+    public void setLoaderConfig(LoaderConfig loaderConfig) {
+        this.loaderConfig = loaderConfig;
+    }
+
     @Override
     public Jedis getResource() {
         return provider.getResource();
@@ -69,6 +228,11 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public <T> T execute(PipelineExecutor<T> executor) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
         Jedis jedis = null;
         try {
             jedis = getResource();
@@ -77,30 +241,238 @@ public abstract class AbstractRedis implements Redis {
             pipeline.sync();
             return result;
         } catch (Exception e) {
-            logger.warn("Redis 执行错误, 销毁该连接{" + jedis + "}，ERROR=" + e.getMessage(), e);
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
             throw e;
         } finally {
             this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
         }
     }
 
     @Override
     public <T> T execute(JedisExecutor<T> executor) {
+        RedisCircuitBreaker breaker = breaker(executor);
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = commandMetrics(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
         Jedis jedis = null;
         try {
             jedis = getResource();
             return executor.execute(jedis);
         } catch (Exception e) {
-            logger.warn("Redis 执行错误, 销毁该连接{" + jedis + "}，ERROR=" + e.getMessage(), e);
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    @Override
+    public <T> T executeByKey(String key, JedisExecutor<T> executor) {
+        return execute(executor);
+    }
+
+    @Override
+    public <T> T executeByKey(String key, T defaultResult, JedisExecutor<T> executor) {
+        T result = executeByKey(key, executor);
+        return result == null ? defaultResult : result;
+    }
+
+    @Override
+    public <T> T executeByKey(byte[] key, JedisExecutor<T> executor) {
+        return execute(executor);
+    }
+
+    @Override
+    public <T> T executePipelinedByKey(String key, PipelineExecutor<T> executor) {
+        return execute(executor);
+    }
+
+    /**
+     * 执行只读命令，连接提供者支持读写分离时使用从库连接
+     *
+     * @param key      命令操作的 key，为 null 时不指定节点
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    protected <T> T executeReadByKey(String key, JedisExecutor<T> executor) {
+        return executeRead(executor);
+    }
+
+    protected <T> T executeReadByKey(String key, T defaultResult, JedisExecutor<T> executor) {
+        T result = executeReadByKey(key, executor);
+        return result == null ? defaultResult : result;
+    }
+
+    protected <T> T executeReadByKey(byte[] key, JedisExecutor<T> executor) {
+        return executeRead(executor);
+    }
+
+    private <T> T executeRead(JedisExecutor<T> executor) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = provider.getReadResource();
+            return executor.execute(jedis);
+        } catch (Exception e) {
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    /**
+     * 使用无状态的单 key 执行器执行命令，常用命令通过这种方式执行，单次调用不分配执行器对象
+     *
+     * @param key      命令操作的 key
+     * @param arg      命令的第二个参数，没有时为 null
+     * @param executor 执行器，参考 JedisKeyExecutors
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    protected <T> T executeByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = getResource();
+            return executor.execute(jedis, key, arg);
+        } catch (Exception e) {
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    /**
+     * 使用无状态的单 key 执行器执行只读命令，连接提供者支持读写分离时使用从库连接
+     *
+     * @param key      命令操作的 key
+     * @param arg      命令的第二个参数，没有时为 null
+     * @param executor 执行器，参考 JedisKeyExecutors
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    protected <T> T executeReadByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = provider.getReadResource();
+            return executor.execute(jedis, key, arg);
+        } catch (Exception e) {
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
             throw e;
         } finally {
             this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
         }
     }
 
+    /**
+     * 执行器使用的熔断器，阻塞命令只检查是否熔断，返回 null 不计入统计
+     */
+    protected RedisCircuitBreaker breaker(Object executor) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        if (null != breaker && executor instanceof BlockingJedisExecutor) {
+            breaker.check();
+            return null;
+        }
+        return breaker;
+    }
+
+    /**
+     * 执行器对应命令的统计，没有开启统计或者是阻塞命令时返回 null
+     */
+    protected CommandMetrics commandMetrics(Object executor) {
+        return null == metrics || executor instanceof BlockingJedisExecutor ? null : metrics.command(executor);
+    }
+
+    protected static <K> K firstKey(K[] keys) {
+        return null == keys || keys.length == 0 ? null : keys[0];
+    }
+
+    protected static <K> K firstKey(List<K> keys) {
+        return null == keys || keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * byte[] key 转成本地缓存使用的 String key
+     */
+    private static String[] decodeKeys(byte[][] keys) {
+        String[] encoded = new String[keys.length];
+        for (int i = 0; i < keys.length; ++i) {
+            encoded[i] = SafeEncoder.encode(keys[i]);
+        }
+        return encoded;
+    }
+
     @Override
     public String set(final String key, final String value, final int expireSeconds) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, expireSeconds, value);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, expireSeconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.setex(key, expireSeconds, value);
@@ -110,117 +482,395 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String set(final String key, final String value) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.set(key, value);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value);
+                }
+            });
+        }
+        return executeByKey(key, value, JedisKeyExecutors.SET);
     }
 
     @Override
     public String get(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.get(key);
-            }
-        });
+        if (null == nearCache) {
+            return doGet(key);
+        }
+        String value = nearCache.get(key);
+        if (null != value) {
+            return value;
+        }
+        long stamp = nearCache.stamp(key);
+        value = doGet(key);
+        nearCache.put(key, value, stamp);
+        return value;
+    }
+
+    private String doGet(final String key) {
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.get(key);
+                }
+            });
+        }
+        return executeReadByKey(key, null, JedisKeyExecutors.GET);
     }
 
     @Override
     public String get(final String key, final String defaultValue) {
-        return execute(defaultValue, new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.get(key);
-            }
-        });
+        String value = executeReadByKey(key, null, JedisKeyExecutors.GET);
+        return null == value ? defaultValue : value;
     }
 
     @Override
     public Boolean getBoolean(final String key) {
-        return execute(new JedisExecutor<Boolean>() {
+        return ConvertUtil.toBoolean(executeReadByKey(key, null, JedisKeyExecutors.GET));
+    }
+
+    @Override
+    public Boolean getBoolean(final String key, final Boolean defaultValue) {
+        Boolean value = ConvertUtil.toBoolean(executeReadByKey(key, null, JedisKeyExecutors.GET));
+        return null == value ? defaultValue : value;
+    }
+
+    @Override
+    public Long getLong(final String key) {
+        return ConvertUtil.toLong(executeReadByKey(key, null, JedisKeyExecutors.GET));
+    }
+
+    @Override
+    public Long getLong(final String key, final Long defaultValue) {
+        Long value = ConvertUtil.toLong(executeReadByKey(key, null, JedisKeyExecutors.GET));
+        return null == value ? defaultValue : value;
+    }
+
+    @Override
+    public Integer getInteger(final String key) {
+        return ConvertUtil.toInteger(executeReadByKey(key, null, JedisKeyExecutors.GET));
+    }
+
+    @Override
+    public Integer getInteger(final String key, final Integer defaultValue) {
+        Integer value = ConvertUtil.toInteger(executeReadByKey(key, null, JedisKeyExecutors.GET));
+        return null == value ? defaultValue : value;
+    }
+
+    @Override
+    public Date getDate(final String key) {
+        return ConvertUtil.toDate(executeReadByKey(key, null, JedisKeyExecutors.GET));
+    }
+
+    @Override
+    public Date getDate(final String key, Date defaultValue) {
+        Date value = ConvertUtil.toDate(executeReadByKey(key, null, JedisKeyExecutors.GET));
+        return null == value ? defaultValue : value;
+    }
+
+    @Override
+    public <T> T getObject(final String key, final Class<T> type) {
+        byte[] bytes = get(SafeEncoder.encode(key));
+        return null == bytes ? null : getCodec().decode(bytes, type);
+    }
+
+    @Override
+    public String setObject(final String key, final Object value) {
+        final byte[] bytes = getCodec().encode(value);
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(SafeEncoder.encode(key), bytes);
+                }
+            });
+        }
+        return set(SafeEncoder.encode(key), bytes);
+    }
+
+    @Override
+    public String setObject(final String key, final Object value, final int expireSeconds) {
+        final byte[] bytes = getCodec().encode(value);
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(SafeEncoder.encode(key), expireSeconds, bytes);
+                }
+            });
+        }
+        return set(SafeEncoder.encode(key), bytes, expireSeconds);
+    }
+
+    @Override
+    public <T> List<T> mgetObjects(final Class<T> type, final String... keys) {
+        List<byte[]> values = mget(SafeEncoder.encodeMany(keys));
+        List<T> resultList = new ArrayList<>(values.size());
+        RedisCodec<Object> currentCodec = getCodec();
+        for (byte[] bytes : values) {
+            resultList.add(null == bytes ? null : currentCodec.decode(bytes, type));
+        }
+        return resultList;
+    }
+
+    @Override
+    public Long hsetObject(final String key, final String field, final Object value) {
+        final byte[] bytes = getCodec().encode(value);
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hset(SafeEncoder.encode(key), SafeEncoder.encode(field), bytes);
+                }
+            });
+        }
+        return hset(SafeEncoder.encode(key), SafeEncoder.encode(field), bytes);
+    }
+
+    @Override
+    public <T> Map<String, T> hgetAllAs(final String key, final Class<T> type) {
+        Map<byte[], byte[]> values = hgetAll(SafeEncoder.encode(key));
+        Map<String, T> resultMap = new LinkedHashMap<>(values.size() * 4 / 3 + 1);
+        RedisCodec<Object> currentCodec = getCodec();
+        for (Map.Entry<byte[], byte[]> entry : values.entrySet()) {
+            resultMap.put(SafeEncoder.encode(entry.getKey()), currentCodec.decode(entry.getValue(), type));
+        }
+        return resultMap;
+    }
+
+    @Override
+    public Object evalScript(final RedisScript script, List<String> keys, List<String> args) {
+        final List<String> scriptKeys = null == keys ? Collections.<String>emptyList() : keys;
+        final List<String> scriptArgs = null == args ? Collections.<String>emptyList() : args;
+        return executeByKey(firstKey(scriptKeys), new JedisExecutor<Object>() {
             @Override
-            public Boolean execute(Jedis jedis) {
-                return ConvertUtil.toBoolean(jedis.get(key));
+            public Object execute(Jedis jedis) {
+                try {
+                    return jedis.evalsha(script.getSha1(), scriptKeys, scriptArgs);
+                } catch (JedisDataException e) {
+                    if (!isNoScript(e)) {
+                        throw e;
+                    }
+                    // 服务端没有缓存脚本（重启、主从切换、SCRIPT FLUSH），EVAL 执行的同时会缓存脚本
+                    return jedis.eval(script.getSource(), scriptKeys, scriptArgs);
+                }
             }
         });
     }
 
     @Override
-    public Boolean getBoolean(final String key, final Boolean defaultValue) {
-        return execute(defaultValue, new JedisExecutor<Boolean>() {
+    public List<Object> evalScriptPipelined(RedisScript script, List<List<String>> keysList, List<List<String>> argsList, int batchSize) {
+        int size = null == keysList ? 0 : keysList.size();
+        // 按第一个 key 所在的节点分组，每个节点的调用按 batchSize 分成多个管道
+        Map<Object, List<Integer>> routes = new LinkedHashMap<>();
+        for (int i = 0; i < size; ++i) {
+            String key = firstKey(keysList.get(i));
+            Object route = null == key ? null : RedisRouteUtil.route(provider, key);
+            List<Integer> indexes = routes.get(route);
+            if (null == indexes) {
+                indexes = new ArrayList<>();
+                routes.put(route, indexes);
+            }
+            indexes.add(i);
+        }
+
+        List<Object> results = new ArrayList<>(Collections.nCopies(size, null));
+        for (List<Integer> indexes : routes.values()) {
+            int step = batchSize > 0 ? batchSize : indexes.size();
+            for (int from = 0; from < indexes.size(); from += step) {
+                List<Integer> batch = indexes.subList(from, Math.min(indexes.size(), from + step));
+                List<Object> batchResults = doEvalScriptPipelined(script, keysList, argsList, batch);
+                for (int n = 0; n < batch.size(); ++n) {
+                    results.set(batch.get(n), batchResults.get(n));
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Object> doEvalScriptPipelined(final RedisScript script, final List<List<String>> keysList, final List<List<String>> argsList,
+                                               final List<Integer> indexes) {
+        String routeKey = firstKey(keysList.get(indexes.get(0)));
+        final List<Response<Object>> responses = new ArrayList<>(indexes.size());
+        executePipelinedByKey(routeKey, new PipelineExecutor<Void>() {
             @Override
-            public Boolean execute(Jedis jedis) {
-                return ConvertUtil.toBoolean(jedis.get(key));
+            public Void execute(Pipeline pipeline) {
+                for (Integer i : indexes) {
+                    responses.add(pipeline.evalsha(script.getRawSha1(), encodeScriptParams(keysList.get(i)), encodeScriptParams(null == argsList ? null : argsList.get(i))));
+                }
+                return null;
             }
         });
+
+        List<Object> results = new ArrayList<>(responses.size());
+        final List<Integer> reloads = new ArrayList<>();
+        for (int i = 0; i < responses.size(); ++i) {
+            Object result = scriptResult(responses.get(i));
+            if (result instanceof JedisDataException && isNoScript((JedisDataException) result)) {
+                reloads.add(i);
+            }
+            results.add(result);
+        }
+        if (reloads.isEmpty()) {
+            return results;
+        }
+
+        // 第一个调用改用 EVAL 重新缓存脚本，同一个管道中后面的调用继续使用 EVALSHA
+        final List<Response<Object>> retries = new ArrayList<>(reloads.size());
+        executePipelinedByKey(routeKey, new PipelineExecutor<Void>() {
+            @Override
+            public Void execute(Pipeline pipeline) {
+                for (int n = 0; n < reloads.size(); ++n) {
+                    int i = indexes.get(reloads.get(n));
+                    List<byte[]> keys = encodeScriptParams(keysList.get(i));
+                    List<byte[]> args = encodeScriptParams(null == argsList ? null : argsList.get(i));
+                    retries.add(n == 0 ? pipeline.eval(script.getRawSource(), keys, args) : pipeline.evalsha(script.getRawSha1(), keys, args));
+                }
+                return null;
+            }
+        });
+        for (int n = 0; n < reloads.size(); ++n) {
+            results.set(reloads.get(n), scriptResult(retries.get(n)));
+        }
+        return results;
+    }
+
+    private static boolean isNoScript(JedisDataException e) {
+        return e instanceof JedisNoScriptException || (null != e.getMessage() && e.getMessage().startsWith("NOSCRIPT"));
+    }
+
+    private static List<byte[]> encodeScriptParams(List<String> params) {
+        if (null == params || params.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<byte[]> encoded = new ArrayList<>(params.size());
+        for (String param : params) {
+            encoded.add(SafeEncoder.encode(param));
+        }
+        return encoded;
+    }
+
+    private static Object scriptResult(Response<Object> response) {
+        try {
+            return decodeScriptResult(response.get());
+        } catch (JedisDataException e) {
+            return e;
+        }
+    }
+
+    /**
+     * 和 Jedis.eval 一样把二进制结果转换为字符串
+     */
+    private static Object decodeScriptResult(Object result) {
+        if (result instanceof byte[]) {
+            return SafeEncoder.encode((byte[]) result);
+        }
+        if (result instanceof List<?>) {
+            List<?> values = (List<?>) result;
+            List<Object> decoded = new ArrayList<>(values.size());
+            for (Object value : values) {
+                decoded.add(decodeScriptResult(value));
+            }
+            return decoded;
+        }
+        return result;
     }
 
     @Override
-    public Long getLong(final String key) {
-        return execute(new JedisExecutor<Long>() {
+    public ScanIterator<String> scanKeys(String pattern, int count) {
+        final ScanParams params = scanParams(pattern, count);
+        return new CursorScanIterator<String>() {
             @Override
-            public Long execute(Jedis jedis) {
-                return ConvertUtil.toLong(jedis.get(key));
+            protected ScanResult<String> scan(String cursor) {
+                return AbstractRedis.this.scan(cursor, params);
             }
-        });
+        };
     }
 
     @Override
-    public Long getLong(final String key, final Long defaultValue) {
-        return execute(defaultValue, new JedisExecutor<Long>() {
+    public ScanIterator<Map.Entry<String, String>> hashEntries(final String key, int count) {
+        final ScanParams params = scanParams(null, count);
+        return new CursorScanIterator<Map.Entry<String, String>>() {
             @Override
-            public Long execute(Jedis jedis) {
-                return ConvertUtil.toLong(jedis.get(key));
+            protected ScanResult<Map.Entry<String, String>> scan(String cursor) {
+                return doHscan(key, cursor, params);
             }
-        });
+        };
     }
 
     @Override
-    public Integer getInteger(final String key) {
-        return execute(new JedisExecutor<Integer>() {
+    public ScanIterator<String> setMembers(final String key, int count) {
+        final ScanParams params = scanParams(null, count);
+        return new CursorScanIterator<String>() {
             @Override
-            public Integer execute(Jedis jedis) {
-                return ConvertUtil.toInteger(jedis.get(key));
+            protected ScanResult<String> scan(String cursor) {
+                return doSscan(key, cursor, params);
             }
-        });
+        };
     }
 
     @Override
-    public Integer getInteger(final String key, final Integer defaultValue) {
-        return execute(defaultValue, new JedisExecutor<Integer>() {
+    public ScanIterator<Tuple> sortedSetEntries(final String key, int count) {
+        final ScanParams params = scanParams(null, count);
+        return new CursorScanIterator<Tuple>() {
             @Override
-            public Integer execute(Jedis jedis) {
-                return ConvertUtil.toInteger(jedis.get(key));
+            protected ScanResult<Tuple> scan(String cursor) {
+                return doZscan(key, cursor, params);
+            }
+        };
+    }
+
+    /**
+     * 迭代器的游标只在同一个节点上有效，不使用 executeReadByKey，避免读写分离时每页发往不同的从库
+     */
+    private ScanResult<Map.Entry<String, String>> doHscan(final String key, final String cursor, final ScanParams params) {
+        return executeByKey(key, new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
+            @Override
+            public ScanResult<Map.Entry<String, String>> execute(Jedis jedis) {
+                return jedis.hscan(key, cursor, params);
             }
         });
     }
 
-    @Override
-    public Date getDate(final String key) {
-        return execute(new JedisExecutor<Date>() {
+    private ScanResult<String> doSscan(final String key, final String cursor, final ScanParams params) {
+        return executeByKey(key, new JedisExecutor<ScanResult<String>>() {
             @Override
-            public Date execute(Jedis jedis) {
-                return ConvertUtil.toDate(jedis.get(key));
+            public ScanResult<String> execute(Jedis jedis) {
+                return jedis.sscan(key, cursor, params);
             }
         });
     }
 
-    @Override
-    public Date getDate(final String key, Date defaultValue) {
-        return execute(defaultValue, new JedisExecutor<Date>() {
+    private ScanResult<Tuple> doZscan(final String key, final String cursor, final ScanParams params) {
+        return executeByKey(key, new JedisExecutor<ScanResult<Tuple>>() {
             @Override
-            public Date execute(Jedis jedis) {
-                return ConvertUtil.toDate(jedis.get(key));
+            public ScanResult<Tuple> execute(Jedis jedis) {
+                return jedis.zscan(key, cursor, params);
             }
         });
     }
 
+    protected static ScanParams scanParams(String pattern, int count) {
+        ScanParams params = new ScanParams().count(count > 0 ? count : DEFAULT_SCAN_COUNT);
+        if (null != pattern) {
+            params.match(pattern);
+        }
+        return params;
+    }
+
     @Override
     public Long expire(final String key, final int expireSeconds) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.expire(key, expireSeconds);
@@ -230,7 +880,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long expireAt(final String key, final long unixTimeInSeconds) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.expireAt(key, unixTimeInSeconds);
@@ -240,60 +890,82 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String hget(final String mapKey, final String mapField) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.hget(mapKey, mapField);
-            }
-        });
+        if (null == nearCache) {
+            return doHget(mapKey, mapField);
+        }
+        String value = nearCache.hget(mapKey, mapField);
+        if (null != value) {
+            return value;
+        }
+        long stamp = nearCache.stamp(mapKey);
+        value = doHget(mapKey, mapField);
+        nearCache.hput(mapKey, mapField, value, stamp);
+        return value;
+    }
+
+    private String doHget(final String mapKey, final String mapField) {
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.hget(mapKey, mapField);
+                }
+            });
+        }
+        return executeReadByKey(mapKey, mapField, JedisKeyExecutors.HGET);
     }
 
     @Override
     public Set<String> smembers(final String key) {
-        Set<String> resultSet = execute(new JedisExecutor<Set<String>>() {
-            @Override
-            public Set<String> execute(Jedis jedis) {
-                return jedis.smembers(key);
-            }
-        });
+        Set<String> resultSet = executeReadByKey(key, null, JedisKeyExecutors.SMEMBERS);
         return null == resultSet ? new HashSet<String>() : resultSet;
     }
 
     @Override
     public boolean sismember(final String key, final String value) {
-        return execute(new JedisExecutor<Boolean>() {
-            @Override
-            public Boolean execute(Jedis jedis) {
-                Boolean ret = jedis.sismember(key, value);
-                return ret != null ? ret : false;
-            }
-        });
+        Boolean ret = executeReadByKey(key, value, JedisKeyExecutors.SISMEMBER);
+        return ret != null ? ret : false;
     }
 
     @Override
     public boolean exists(final String key) {
-        return execute(new JedisExecutor<Boolean>() {
-            @Override
-            public Boolean execute(Jedis jedis) {
-                Boolean ret = jedis.exists(key);
-                return ret != null ? ret : false;
-            }
-        });
+        Boolean ret = executeReadByKey(key, null, JedisKeyExecutors.EXISTS);
+        return ret != null ? ret : false;
     }
 
     @Override
     public String set(final String key, final String value, final String nxxx, final String expx, final long time) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache && time <= Integer.MAX_VALUE) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value, nxxx, expx, (int) time);
+                }
+            });
+        }
+        String result = executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.set(key, value, nxxx, expx, time);
             }
         });
+        if (null != nearCache) {
+            nearCache.invalidateAndPublish(this, key);
+        }
+        return result;
     }
 
     @Override
     public String set(final String key, final String value, final String nxxx) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value, nxxx);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.set(key, value, nxxx);
@@ -303,27 +975,17 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long persist(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.persist(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.PERSIST);
     }
 
-    @Override
-    public String type(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.type(key);
-            }
-        });
+    @Override
+    public String type(final String key) {
+        return executeReadByKey(key, null, JedisKeyExecutors.TYPE);
     }
 
     @Override
     public Long pexpire(final String key, final long milliseconds) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pexpire(key, milliseconds);
@@ -333,7 +995,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pexpireAt(final String key, final long millisecondsTimestamp) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pexpireAt(key, millisecondsTimestamp);
@@ -343,27 +1005,17 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long ttl(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.ttl(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.TTL);
     }
 
     @Override
     public Long pttl(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.pttl(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.PTTL);
     }
 
     @Override
     public Boolean setbit(final String key, final long offset, final boolean value) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 return jedis.setbit(key, offset, value);
@@ -373,7 +1025,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean setbit(final String key, final long offset, final String value) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 return jedis.setbit(key, offset, value);
@@ -383,7 +1035,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean getbit(final String key, final long offset) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 return jedis.getbit(key, offset);
@@ -393,7 +1045,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long setrange(final String key, final long offset, final String value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.setrange(key, offset, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.setrange(key, offset, value);
@@ -403,7 +1063,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String getrange(final String key, final long startOffset, final long endOffset) {
-        return execute(new JedisExecutor<String>() {
+        return executeReadByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.getrange(key, startOffset, endOffset);
@@ -413,27 +1073,41 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String getSet(final String key, final String value) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.getSet(key, value);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.getSet(key, value);
+                }
+            });
+        }
+        return executeByKey(key, value, JedisKeyExecutors.GETSET);
     }
 
     @Override
     public Long setnx(final String key, final String value) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.setnx(key, value);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.setnx(key, value);
+                }
+            });
+        }
+        return executeByKey(key, value, JedisKeyExecutors.SETNX);
     }
 
     @Override
     public String setex(final String key, final int seconds, final String value) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, seconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.setex(key, seconds, value);
@@ -443,7 +1117,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String psetex(final String key, final long milliseconds, final String value) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.psetex(key, milliseconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.psetex(key, milliseconds, value);
@@ -453,7 +1135,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long decrBy(final String key, final long integer) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.decrBy(key, integer);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.decrBy(key, integer);
@@ -463,17 +1153,36 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long decr(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.decr(key);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.decr(key);
+                }
+            });
+        }
+        return executeByKey(key, null, JedisKeyExecutors.DECR);
     }
 
     @Override
     public Long incrBy(final String key, final long integer) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incrBy(key, integer);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incrBy(key, integer);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.incrBy(key, integer);
@@ -483,7 +1192,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double incrByFloat(final String key, final double value) {
-        return execute(new JedisExecutor<Double>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Double>() {
+                @Override
+                public Response<Double> apply(Pipeline pipeline) {
+                    return pipeline.incrByFloat(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.incrByFloat(key, value);
@@ -493,27 +1210,41 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long incr(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.incr(key);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incr(key);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incr(key);
+                }
+            });
+        }
+        return executeByKey(key, null, JedisKeyExecutors.INCR);
     }
 
     @Override
     public Long append(final String key, final String value) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.append(key, value);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.append(key, value);
+                }
+            });
+        }
+        return executeByKey(key, value, JedisKeyExecutors.APPEND);
     }
 
     @Override
     public String substr(final String key, final int start, final int end) {
-        return execute(new JedisExecutor<String>() {
+        return executeReadByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.substr(key, start, end);
@@ -523,7 +1254,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hset(final String key, final String field, final String value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hset(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hset(key, field, value);
@@ -533,7 +1272,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hsetnx(final String key, final String field, final String value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hsetnx(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hsetnx(key, field, value);
@@ -543,7 +1290,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String hmset(final String key, final Map<String, String> hash) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.hmset(key, hash);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.hmset(key, hash);
@@ -553,7 +1308,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> hmget(final String key, final String... fields) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeReadByKey(key, new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.hmget(key, fields);
@@ -563,7 +1318,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hincrBy(final String key, final String field, final long value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hincrBy(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hincrBy(key, field, value);
@@ -573,7 +1336,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double hincrByFloat(final String key, final String field, final double value) {
-        return execute(new JedisExecutor<Double>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Double>() {
+                @Override
+                public Response<Double> apply(Pipeline pipeline) {
+                    return pipeline.hincrByFloat(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.hincrByFloat(key, field, value);
@@ -583,7 +1354,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean hexists(final String key, final String field) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.hexists(key, field);
@@ -594,7 +1365,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hdel(final String key, final String... field) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hdel(key, field);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hdel(key, field);
@@ -604,47 +1383,27 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hlen(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.hlen(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.HLEN);
     }
 
     @Override
     public Set<String> hkeys(final String key) {
-        return execute(new JedisExecutor<Set<String>>() {
-            @Override
-            public Set<String> execute(Jedis jedis) {
-                return jedis.hkeys(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.HKEYS);
     }
 
     @Override
     public List<String> hvals(final String key) {
-        return execute(new JedisExecutor<List<String>>() {
-            @Override
-            public List<String> execute(Jedis jedis) {
-                return jedis.hvals(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.HVALS);
     }
 
     @Override
     public Map<String, String> hgetAll(final String key) {
-        return execute(new JedisExecutor<Map<String, String>>() {
-            @Override
-            public Map<String, String> execute(Jedis jedis) {
-                return jedis.hgetAll(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.HGETALL);
     }
 
     @Override
     public Long rpush(final String key, final String... string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.rpush(key, string);
@@ -654,7 +1413,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lpush(final String key, final String... string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lpush(key, string);
@@ -664,17 +1423,12 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long llen(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.llen(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.LLEN);
     }
 
     @Override
     public List<String> lrange(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeReadByKey(key, new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.lrange(key, start, end);
@@ -684,7 +1438,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String ltrim(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.ltrim(key, start, end);
@@ -694,7 +1448,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String lindex(final String key, final long index) {
-        return execute(new JedisExecutor<String>() {
+        return executeReadByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.lindex(key, index);
@@ -704,7 +1458,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String lset(final String key, final long index, final String value) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.lset(key, index, value);
@@ -714,7 +1468,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lrem(final String key, final long count, final String value) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lrem(key, count, value);
@@ -724,27 +1478,17 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String lpop(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.lpop(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.LPOP);
     }
 
     @Override
     public String rpop(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.rpop(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.RPOP);
     }
 
     @Override
     public Long sadd(final String key, final String... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sadd(key, member);
@@ -754,7 +1498,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long srem(final String key, final String... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.srem(key, member);
@@ -764,17 +1508,12 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String spop(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.spop(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.SPOP);
     }
 
     @Override
     public Set<String> spop(final String key, final long count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.spop(key, count);
@@ -784,27 +1523,17 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long scard(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.scard(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.SCARD);
     }
 
     @Override
     public String srandmember(final String key) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.srandmember(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.SRANDMEMBER);
     }
 
     @Override
     public List<String> srandmember(final String key, final int count) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeReadByKey(key, new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.srandmember(key, count);
@@ -814,17 +1543,12 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long strlen(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.strlen(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.STRLEN);
     }
 
     @Override
     public Long zadd(final String key, final double score, final String member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, score, member);
@@ -834,7 +1558,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final String key, final double score, final String member, final ZAddParams params) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, score, member, params);
@@ -844,7 +1568,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final String key, final Map<String, Double> scoreMembers) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, scoreMembers);
@@ -854,7 +1578,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final String key, final Map<String, Double> scoreMembers, final ZAddParams params) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, scoreMembers, params);
@@ -864,7 +1588,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrange(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrange(key, start, end);
@@ -874,7 +1598,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zrem(final String key, final String... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zrem(key, member);
@@ -884,7 +1608,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double zincrby(final String key, final double score, final String member) {
-        return execute(new JedisExecutor<Double>() {
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.zincrby(key, score, member);
@@ -894,7 +1618,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double zincrby(final String key, final double score, final String member, final ZIncrByParams params) {
-        return execute(new JedisExecutor<Double>() {
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.zincrby(key, score, member, params);
@@ -904,27 +1628,17 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zrank(final String key, final String member) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.zrank(key, member);
-            }
-        });
+        return executeReadByKey(key, member, JedisKeyExecutors.ZRANK);
     }
 
     @Override
     public Long zrevrank(final String key, final String member) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.zrevrank(key, member);
-            }
-        });
+        return executeReadByKey(key, member, JedisKeyExecutors.ZREVRANK);
     }
 
     @Override
     public Set<String> zrevrange(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrange(key, start, end);
@@ -934,7 +1648,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeWithScores(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeWithScores(key, start, end);
@@ -944,7 +1658,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeWithScores(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeWithScores(key, start, end);
@@ -954,37 +1668,22 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcard(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.zcard(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.ZCARD);
     }
 
     @Override
     public Double zscore(final String key, final String member) {
-        return execute(new JedisExecutor<Double>() {
-            @Override
-            public Double execute(Jedis jedis) {
-                return jedis.zscore(key, member);
-            }
-        });
+        return executeReadByKey(key, member, JedisKeyExecutors.ZSCORE);
     }
 
     @Override
     public List<String> sort(final String key) {
-        return execute(new JedisExecutor<List<String>>() {
-            @Override
-            public List<String> execute(Jedis jedis) {
-                return jedis.sort(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.SORT);
     }
 
     @Override
     public List<String> sort(final String key, final SortingParams sortingParameters) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(key, new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.sort(key, sortingParameters);
@@ -994,7 +1693,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcount(final String key, final double min, final double max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zcount(key, min, max);
@@ -1004,7 +1703,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcount(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zcount(key, min, max);
@@ -1014,7 +1713,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByScore(final String key, final double min, final double max) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max);
@@ -1024,7 +1723,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByScore(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max);
@@ -1034,7 +1733,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByScore(final String key, final double max, final double min) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min);
@@ -1044,7 +1743,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByScore(final String key, final double min, final double max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max, offset, count);
@@ -1054,7 +1753,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByScore(final String key, final String max, final String min) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min);
@@ -1064,7 +1763,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByScore(final String key, final String min, final String max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max, offset, count);
@@ -1074,7 +1773,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByScore(final String key, final double max, final double min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min, offset, count);
@@ -1084,7 +1783,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final String key, final double min, final double max) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max);
@@ -1094,7 +1793,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final String key, final double max, final double min) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min);
@@ -1104,7 +1803,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final String key, final double min, final double max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max, offset, count);
@@ -1114,7 +1813,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByScore(final String key, final String max, final String min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min, offset, count);
@@ -1124,7 +1823,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max);
@@ -1134,7 +1833,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final String key, final String max, final String min) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min);
@@ -1144,7 +1843,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final String key, final String min, final String max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max, offset, count);
@@ -1154,7 +1853,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final String key, final double max, final double min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min, offset, count);
@@ -1164,7 +1863,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final String key, final String max, final String min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min, offset, count);
@@ -1174,7 +1873,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByRank(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByRank(key, start, end);
@@ -1184,7 +1883,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByScore(final String key, final double start, final double end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByScore(key, start, end);
@@ -1194,7 +1893,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByScore(final String key, final String start, final String end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByScore(key, start, end);
@@ -1204,7 +1903,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zlexcount(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zlexcount(key, min, max);
@@ -1214,7 +1913,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByLex(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByLex(key, min, max);
@@ -1224,7 +1923,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrangeByLex(final String key, final String min, final String max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrangeByLex(key, min, max, offset, count);
@@ -1234,7 +1933,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByLex(final String key, final String max, final String min) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByLex(key, max, min);
@@ -1245,7 +1944,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> zrevrangeByLex(final String key, final String max, final String min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.zrevrangeByLex(key, max, min, offset, count);
@@ -1256,7 +1955,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByLex(final String key, final String min, final String max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByLex(key, min, max);
@@ -1267,7 +1966,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long linsert(final String key, final Client.LIST_POSITION where, final String pivot, final String value) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.linsert(key, where, pivot, value);
@@ -1278,7 +1977,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lpushx(final String key, final String... string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lpushx(key, string);
@@ -1289,7 +1988,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long rpushx(final String key, final String... string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.rpushx(key, string);
@@ -1300,7 +1999,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> blpop(final String arg) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(arg, new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.blpop(arg);
@@ -1311,7 +2010,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> blpop(final int timeout, final String key) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(key, new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.blpop(timeout, key);
@@ -1322,7 +2021,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> brpop(final String arg) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(arg, new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.brpop(arg);
@@ -1333,7 +2032,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> brpop(final int timeout, final String key) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(key, new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.brpop(timeout, key);
@@ -1344,12 +2043,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long del(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.del(key);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, key, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.del(key);
+                }
+            });
+        }
+        return executeByKey(key, null, JedisKeyExecutors.DEL);
     }
 
 
@@ -1366,7 +2068,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long move(final String key, final int dbIndex) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.move(key, dbIndex);
@@ -1377,18 +2079,13 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitcount(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.bitcount(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.BITCOUNT);
     }
 
 
     @Override
     public Long bitcount(final String key, final long start, final long end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitcount(key, start, end);
@@ -1399,7 +2096,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitpos(final String key, final boolean value) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitpos(key, value);
@@ -1410,7 +2107,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitpos(final String key, final boolean value, final BitPosParams params) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitpos(key, value, params);
@@ -1422,7 +2119,7 @@ public abstract class AbstractRedis implements Redis {
     @Override
     public ScanResult<Map.Entry<String, String>> hscan(final String key, final int cursor) {
 
-        return execute(new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
             @Override
             public ScanResult<Map.Entry<String, String>> execute(Jedis jedis) {
                 return jedis.hscan(key, cursor);
@@ -1433,7 +2130,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<String> sscan(final String key, final int cursor) {
-        return execute(new JedisExecutor<ScanResult<String>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<String>>() {
             @Override
             public ScanResult<String> execute(Jedis jedis) {
                 return jedis.sscan(key, cursor);
@@ -1444,7 +2141,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Tuple> zscan(final String key, final int cursor) {
-        return execute(new JedisExecutor<ScanResult<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Tuple>>() {
             @Override
             public ScanResult<Tuple> execute(Jedis jedis) {
                 return jedis.zscan(key, cursor);
@@ -1456,19 +2153,14 @@ public abstract class AbstractRedis implements Redis {
     @Override
     public ScanResult<Map.Entry<String, String>> hscan(final String key, final String cursor) {
 
-        return execute(new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
-            @Override
-            public ScanResult<Map.Entry<String, String>> execute(Jedis jedis) {
-                return jedis.hscan(key, cursor);
-            }
-        });
+        return executeReadByKey(key, cursor, JedisKeyExecutors.HSCAN);
     }
 
 
     @Override
     public ScanResult<Map.Entry<String, String>> hscan(final String key, final String cursor, final ScanParams params) {
 
-        return execute(new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Map.Entry<String, String>>>() {
             @Override
             public ScanResult<Map.Entry<String, String>> execute(Jedis jedis) {
                 return jedis.hscan(key, cursor, params);
@@ -1479,18 +2171,13 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<String> sscan(final String key, final String cursor) {
-        return execute(new JedisExecutor<ScanResult<String>>() {
-            @Override
-            public ScanResult<String> execute(Jedis jedis) {
-                return jedis.sscan(key, cursor);
-            }
-        });
+        return executeReadByKey(key, cursor, JedisKeyExecutors.SSCAN);
     }
 
 
     @Override
     public ScanResult<String> sscan(final String key, final String cursor, final ScanParams params) {
-        return execute(new JedisExecutor<ScanResult<String>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<String>>() {
             @Override
             public ScanResult<String> execute(Jedis jedis) {
                 return jedis.sscan(key, cursor, params);
@@ -1501,18 +2188,13 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Tuple> zscan(final String key, final String cursor) {
-        return execute(new JedisExecutor<ScanResult<Tuple>>() {
-            @Override
-            public ScanResult<Tuple> execute(Jedis jedis) {
-                return jedis.zscan(key, cursor);
-            }
-        });
+        return executeReadByKey(key, cursor, JedisKeyExecutors.ZSCAN);
     }
 
 
     @Override
     public ScanResult<Tuple> zscan(final String key, final String cursor, final ScanParams params) {
-        return execute(new JedisExecutor<ScanResult<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Tuple>>() {
             @Override
             public ScanResult<Tuple> execute(Jedis jedis) {
                 return jedis.zscan(key, cursor, params);
@@ -1523,7 +2205,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pfadd(final String key, final String... elements) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pfadd(key, elements);
@@ -1534,18 +2216,13 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public long pfcount(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.pfcount(key);
-            }
-        });
+        return executeReadByKey(key, null, JedisKeyExecutors.PFCOUNT);
     }
 
 
     @Override
     public Long geoadd(final String key, final double longitude, final double latitude, final String member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.geoadd(key, longitude, latitude, member);
@@ -1556,7 +2233,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long geoadd(final String key, final Map<String, GeoCoordinate> memberCoordinateMap) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.geoadd(key, memberCoordinateMap);
@@ -1567,7 +2244,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double geodist(final String key, final String member1, final String member2) {
-        return execute(new JedisExecutor<Double>() {
+        return executeReadByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.geodist(key, member1, member2);
@@ -1578,7 +2255,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double geodist(final String key, final String member1, final String member2, final GeoUnit unit) {
-        return execute(new JedisExecutor<Double>() {
+        return executeReadByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.geodist(key, member1, member2, unit);
@@ -1589,7 +2266,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> geohash(final String key, final String... members) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeReadByKey(key, new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.geohash(key, members);
@@ -1600,7 +2277,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoCoordinate> geopos(final String key, final String... members) {
-        return execute(new JedisExecutor<List<GeoCoordinate>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoCoordinate>>() {
             @Override
             public List<GeoCoordinate> execute(Jedis jedis) {
                 return jedis.geopos(key, members);
@@ -1611,7 +2288,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadius(final String key, final double longitude, final double latitude, final double radius, final GeoUnit unit) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadius(key, longitude, latitude, radius, unit);
@@ -1622,7 +2299,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadius(final String key, final double longitude, final double latitude, final double radius, final GeoUnit unit, final GeoRadiusParam param) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadius(key, longitude, latitude, radius, unit, param);
@@ -1633,7 +2310,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadiusByMember(final String key, final String member, final double radius, final GeoUnit unit) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadiusByMember(key, member, radius, unit);
@@ -1644,7 +2321,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadiusByMember(final String key, final String member, final double radius, final GeoUnit unit, final GeoRadiusParam param) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadiusByMember(key, member, radius, unit, param);
@@ -1655,7 +2332,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<Long> bitfield(final String key, final String... arguments) {
-        return execute(new JedisExecutor<List<Long>>() {
+        return executeByKey(key, new JedisExecutor<List<Long>>() {
             @Override
             public List<Long> execute(Jedis jedis) {
                 return jedis.bitfield(key, arguments);
@@ -1666,7 +2343,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long del(final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, keys, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.del(keys);
+                }
+            });
+        }
+        return executeByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.del(keys);
@@ -1677,7 +2362,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long exists(final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.exists(keys);
@@ -1688,7 +2373,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> blpop(final int timeout, final String... keys) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(firstKey(keys), new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.blpop(timeout, keys);
@@ -1699,7 +2384,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> brpop(final int timeout, final String... keys) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(firstKey(keys), new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.brpop(timeout, keys);
@@ -1710,7 +2395,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> blpop(final String... args) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(firstKey(args), new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.blpop(args);
@@ -1721,7 +2406,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> brpop(final String... args) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeByKey(firstKey(args), new BlockingJedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.brpop(args);
@@ -1743,7 +2428,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<String> mget(final String... keys) {
-        return execute(new JedisExecutor<List<String>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<List<String>>() {
             @Override
             public List<String> execute(Jedis jedis) {
                 return jedis.mget(keys);
@@ -1754,7 +2439,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String mset(final String... keysvalues) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(firstKey(keysvalues), new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.mset(keysvalues);
@@ -1765,7 +2450,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long msetnx(final String... keysvalues) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(firstKey(keysvalues), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.msetnx(keysvalues);
@@ -1776,40 +2461,41 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String rename(final String oldkey, final String newkey) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.rename(oldkey, newkey);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, new String[]{oldkey, newkey}, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.rename(oldkey, newkey);
+                }
+            });
+        }
+        return executeByKey(oldkey, newkey, JedisKeyExecutors.RENAME);
     }
 
 
     @Override
     public Long renamenx(final String oldkey, final String newkey) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.renamenx(oldkey, newkey);
-            }
-        });
+        if (null != nearCache) {
+            return nearCache.write(this, new String[]{oldkey, newkey}, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.renamenx(oldkey, newkey);
+                }
+            });
+        }
+        return executeByKey(oldkey, newkey, JedisKeyExecutors.RENAMENX);
     }
 
 
     @Override
     public String rpoplpush(final String srckey, final String dstkey) {
-        return execute(new JedisExecutor<String>() {
-            @Override
-            public String execute(Jedis jedis) {
-                return jedis.rpoplpush(srckey, dstkey);
-            }
-        });
+        return executeByKey(srckey, dstkey, JedisKeyExecutors.RPOPLPUSH);
     }
 
 
     @Override
     public Set<String> sdiff(final String... keys) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.sdiff(keys);
@@ -1820,7 +2506,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sdiffstore(final String dstkey, final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sdiffstore(dstkey, keys);
@@ -1831,7 +2517,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<String> sinter(final String... keys) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.sinter(keys);
@@ -1842,7 +2528,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sinterstore(final String dstkey, final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sinterstore(dstkey, keys);
@@ -1853,7 +2539,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long smove(final String srckey, final String dstkey, final String member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(srckey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.smove(srckey, dstkey, member);
@@ -1864,7 +2550,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sort(final String key, final SortingParams sortingParameters, final String dstkey) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sort(key, sortingParameters, dstkey);
@@ -1875,18 +2561,13 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sort(final String key, final String dstkey) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.sort(key, dstkey);
-            }
-        });
+        return executeByKey(key, dstkey, JedisKeyExecutors.SORT_STORE);
     }
 
 
     @Override
     public Set<String> sunion(final String... keys) {
-        return execute(new JedisExecutor<Set<String>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<String>>() {
             @Override
             public Set<String> execute(Jedis jedis) {
                 return jedis.sunion(keys);
@@ -1897,7 +2578,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sunionstore(final String dstkey, final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sunionstore(dstkey, keys);
@@ -1908,7 +2589,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String watch(final String... keys) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.watch(keys);
@@ -1930,7 +2611,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zinterstore(final String dstkey, final String... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zinterstore(dstkey, sets);
@@ -1941,7 +2622,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zinterstore(final String dstkey, final ZParams params, final String... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zinterstore(dstkey, params, sets);
@@ -1952,7 +2633,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zunionstore(final String dstkey, final String... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zunionstore(dstkey, sets);
@@ -1963,7 +2644,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zunionstore(final String dstkey, final ZParams params, final String... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zunionstore(dstkey, params, sets);
@@ -1974,7 +2655,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String brpoplpush(final String source, final String destination, final int timeout) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(source, new BlockingJedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.brpoplpush(source, destination, timeout);
@@ -1996,7 +2677,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public void subscribe(final JedisPubSub jedisPubSub, final String... channels) {
-        execute(new JedisExecutor<Object>() {
+        execute(new BlockingJedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 jedis.subscribe(jedisPubSub, channels);
@@ -2008,7 +2689,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public void psubscribe(final JedisPubSub jedisPubSub, final String... patterns) {
-        execute(new JedisExecutor<Object>() {
+        execute(new BlockingJedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 jedis.psubscribe(jedisPubSub, patterns);
@@ -2031,7 +2712,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitop(final BitOP op, final String destKey, final String... srcKeys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(destKey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitop(op, destKey, srcKeys);
@@ -2064,7 +2745,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String pfmerge(final String destkey, final String... sourcekeys) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(destkey, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.pfmerge(destkey, sourcekeys);
@@ -2075,7 +2756,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public long pfcount(final String... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pfcount(keys);
@@ -2152,7 +2833,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long objectRefcount(final String string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(string, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.objectRefcount(string);
@@ -2163,7 +2844,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String objectEncoding(final String string) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(string, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.objectEncoding(string);
@@ -2174,7 +2855,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long objectIdletime(final String string) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(string, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.objectIdletime(string);
@@ -2185,7 +2866,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object eval(final String script, final int keyCount, final String... params) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(keyCount > 0 ? firstKey(params) : null, new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.eval(script, keyCount, params);
@@ -2196,7 +2877,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object eval(final String script, final List<String> keys, final List<String> args) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.eval(script, keys, args);
@@ -2229,7 +2910,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object evalsha(final String sha1, final List<String> keys, final List<String> args) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.evalsha(sha1, keys, args);
@@ -2240,7 +2921,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object evalsha(final String sha1, final int keyCount, final String... params) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(keyCount > 0 ? firstKey(params) : null, new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.evalsha(sha1, keyCount, params);
@@ -2637,12 +3318,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long clusterKeySlot(final String key) {
-        return execute(new JedisExecutor<Long>() {
-            @Override
-            public Long execute(Jedis jedis) {
-                return jedis.clusterKeySlot(key);
-            }
-        });
+        return executeByKey(key, null, JedisKeyExecutors.CLUSTER_KEY_SLOT);
     }
 
 
@@ -2824,7 +3500,23 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String set(final byte[] key, final byte[] value) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.set(key, value);
@@ -2835,7 +3527,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String set(final byte[] key, final byte[] value, final byte[] nxxx) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value, nxxx);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.set(key, value, nxxx);
@@ -2846,18 +3546,64 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String set(final byte[] key, final byte[] value, final byte[] nxxx, final byte[] expx, final long time) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache && time <= Integer.MAX_VALUE) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.set(key, value, nxxx, expx, (int) time);
+                }
+            });
+        }
+        String result = executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.set(key, value, nxxx, expx, time);
             }
         });
+        if (null != nearCache) {
+            nearCache.invalidateAndPublish(this, SafeEncoder.encode(key));
+        }
+        return result;
     }
 
 
+    @Override
+    public String set(final byte[] key, final byte[] value, final int expireSeconds) {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, expireSeconds, value);
+                }
+            });
+        }
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, expireSeconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.setex(key, expireSeconds, value);
+            }
+        });
+    }
+
     @Override
     public byte[] get(final byte[] key) {
-        return execute(new JedisExecutor<byte[]>() {
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<byte[]>() {
+                @Override
+                public Response<byte[]> apply(Pipeline pipeline) {
+                    return pipeline.get(key);
+                }
+            });
+        }
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.get(key);
@@ -2865,10 +3611,16 @@ public abstract class AbstractRedis implements Redis {
         });
     }
 
+    @Override
+    public byte[] get(final byte[] key, final byte[] defaultValue) {
+        byte[] value = get(key);
+        return null == value ? defaultValue : value;
+    }
+
 
     @Override
     public Boolean exists(final byte[] key) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.exists(key);
@@ -2880,7 +3632,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long persist(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.persist(key);
@@ -2891,7 +3643,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String type(final byte[] key) {
-        return execute(new JedisExecutor<String>() {
+        return executeReadByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.type(key);
@@ -2902,7 +3654,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long expire(final byte[] key, final int seconds) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.expire(key, seconds);
@@ -2913,7 +3665,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pexpire(final byte[] key, final long milliseconds) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pexpire(key, milliseconds);
@@ -2924,7 +3676,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long expireAt(final byte[] key, final long unixTime) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.expireAt(key, unixTime);
@@ -2935,7 +3687,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pexpireAt(final byte[] key, final long millisecondsTimestamp) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pexpireAt(key, millisecondsTimestamp);
@@ -2946,7 +3698,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long ttl(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.ttl(key);
@@ -2954,10 +3706,20 @@ public abstract class AbstractRedis implements Redis {
         });
     }
 
+    @Override
+    public Long pttl(final byte[] key) {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                return jedis.pttl(key);
+            }
+        });
+    }
+
 
     @Override
     public Boolean setbit(final byte[] key, final long offset, final boolean value) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.setbit(key, offset, value);
@@ -2969,7 +3731,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean setbit(final byte[] key, final long offset, final byte[] value) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.setbit(key, offset, value);
@@ -2981,7 +3743,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean getbit(final byte[] key, final long offset) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.getbit(key, offset);
@@ -2993,7 +3755,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long setrange(final byte[] key, final long offset, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.setrange(key, offset, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.setrange(key, offset, value);
@@ -3004,7 +3774,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] getrange(final byte[] key, final long startOffset, final long endOffset) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.getrange(key, startOffset, endOffset);
@@ -3015,7 +3785,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] getSet(final byte[] key, final byte[] value) {
-        return execute(new JedisExecutor<byte[]>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<byte[]>() {
+                @Override
+                public Response<byte[]> apply(Pipeline pipeline) {
+                    return pipeline.getSet(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.getSet(key, value);
@@ -3026,7 +3804,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long setnx(final byte[] key, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.setnx(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.setnx(key, value);
@@ -3037,7 +3823,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String setex(final byte[] key, final int seconds, final byte[] value) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.setex(key, seconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.setex(key, seconds, value);
@@ -3045,10 +3839,36 @@ public abstract class AbstractRedis implements Redis {
         });
     }
 
+    @Override
+    public String psetex(final byte[] key, final long milliseconds, final byte[] value) {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.psetex(key, milliseconds, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.psetex(key, milliseconds, value);
+            }
+        });
+    }
+
 
     @Override
     public Long decrBy(final byte[] key, final long integer) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.decrBy(key, integer);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.decrBy(key, integer);
@@ -3059,7 +3879,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long decr(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.decr(key);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.decr(key);
@@ -3070,7 +3898,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long incrBy(final byte[] key, final long integer) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incrBy(key, integer);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.incrBy(key, integer);
@@ -3081,7 +3917,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double incrByFloat(final byte[] key, final double value) {
-        return execute(new JedisExecutor<Double>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Double>() {
+                @Override
+                public Response<Double> apply(Pipeline pipeline) {
+                    return pipeline.incrByFloat(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.incrByFloat(key, value);
@@ -3092,7 +3936,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long incr(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.incr(key);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.incr(key);
@@ -3103,7 +3955,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long append(final byte[] key, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.append(key, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.append(key, value);
@@ -3114,7 +3974,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] substr(final byte[] key, final int start, final int end) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.substr(key, start, end);
@@ -3125,7 +3985,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hset(final byte[] key, final byte[] field, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hset(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hset(key, field, value);
@@ -3136,7 +4004,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] hget(final byte[] key, final byte[] field) {
-        return execute(new JedisExecutor<byte[]>() {
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<byte[]>() {
+                @Override
+                public Response<byte[]> apply(Pipeline pipeline) {
+                    return pipeline.hget(key, field);
+                }
+            });
+        }
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.hget(key, field);
@@ -3147,7 +4023,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hsetnx(final byte[] key, final byte[] field, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hsetnx(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hsetnx(key, field, value);
@@ -3158,7 +4042,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String hmset(final byte[] key, final Map<byte[], byte[]> hash) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.hmset(key, hash);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.hmset(key, hash);
@@ -3169,7 +4061,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> hmget(final byte[] key, final byte[]... fields) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.hmget(key, fields);
@@ -3180,7 +4072,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hincrBy(final byte[] key, final byte[] field, final long value) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hincrBy(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hincrBy(key, field, value);
@@ -3191,7 +4091,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double hincrByFloat(final byte[] key, final byte[] field, final double value) {
-        return execute(new JedisExecutor<Double>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Double>() {
+                @Override
+                public Response<Double> apply(Pipeline pipeline) {
+                    return pipeline.hincrByFloat(key, field, value);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.hincrByFloat(key, field, value);
@@ -3202,7 +4110,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean hexists(final byte[] key, final byte[] field) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.hexists(key, field);
@@ -3214,7 +4122,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hdel(final byte[] key, final byte[]... field) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.hdel(key, field);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hdel(key, field);
@@ -3225,7 +4141,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long hlen(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.hlen(key);
@@ -3236,7 +4152,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> hkeys(final byte[] key) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.hkeys(key);
@@ -3247,7 +4163,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Collection<byte[]> hvals(final byte[] key) {
-        return execute(new JedisExecutor<Collection<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Collection<byte[]>>() {
             @Override
             public Collection<byte[]> execute(Jedis jedis) {
                 return jedis.hvals(key);
@@ -3258,7 +4174,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Map<byte[], byte[]> hgetAll(final byte[] key) {
-        return execute(new JedisExecutor<Map<byte[], byte[]>>() {
+        if (null != coalescer) {
+            return coalescer.execute(new PipelineCommand<Map<byte[], byte[]>>() {
+                @Override
+                public Response<Map<byte[], byte[]>> apply(Pipeline pipeline) {
+                    return pipeline.hgetAll(key);
+                }
+            });
+        }
+        return executeReadByKey(key, new JedisExecutor<Map<byte[], byte[]>>() {
             @Override
             public Map<byte[], byte[]> execute(Jedis jedis) {
                 return jedis.hgetAll(key);
@@ -3269,7 +4193,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long rpush(final byte[] key, final byte[]... args) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.rpush(key, args);
@@ -3280,7 +4204,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lpush(final byte[] key, final byte[]... args) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lpush(key, args);
@@ -3291,7 +4215,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long llen(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.llen(key);
@@ -3302,7 +4226,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> lrange(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.lrange(key, start, end);
@@ -3313,7 +4237,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String ltrim(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.ltrim(key, start, end);
@@ -3324,7 +4248,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] lindex(final byte[] key, final long index) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.lindex(key, index);
@@ -3335,7 +4259,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String lset(final byte[] key, final long index, final byte[] value) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(key, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.lset(key, index, value);
@@ -3346,7 +4270,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lrem(final byte[] key, final long count, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lrem(key, count, value);
@@ -3357,7 +4281,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] lpop(final byte[] key) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.lpop(key);
@@ -3368,7 +4292,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] rpop(final byte[] key) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.rpop(key);
@@ -3379,7 +4303,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sadd(final byte[] key, final byte[]... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sadd(key, member);
@@ -3390,7 +4314,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> smembers(final byte[] key) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.smembers(key);
@@ -3401,7 +4325,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long srem(final byte[] key, final byte[]... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.srem(key, member);
@@ -3412,7 +4336,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] spop(final byte[] key) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.spop(key);
@@ -3423,7 +4347,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> spop(final byte[] key, final long count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.spop(key, count);
@@ -3434,7 +4358,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long scard(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.scard(key);
@@ -3445,7 +4369,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Boolean sismember(final byte[] key, final byte[] member) {
-        return execute(new JedisExecutor<Boolean>() {
+        return executeReadByKey(key, new JedisExecutor<Boolean>() {
             @Override
             public Boolean execute(Jedis jedis) {
                 Boolean ret = jedis.sismember(key, member);
@@ -3457,7 +4381,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] srandmember(final byte[] key) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeReadByKey(key, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.srandmember(key);
@@ -3468,7 +4392,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> srandmember(final byte[] key, final int count) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.srandmember(key, count);
@@ -3479,7 +4403,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long strlen(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.strlen(key);
@@ -3490,7 +4414,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final byte[] key, final double score, final byte[] member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, score, member);
@@ -3501,7 +4425,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final byte[] key, final double score, final byte[] member, final ZAddParams params) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, score, member, params);
@@ -3512,7 +4436,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final byte[] key, final Map<byte[], Double> scoreMembers) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, scoreMembers);
@@ -3523,7 +4447,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zadd(final byte[] key, final Map<byte[], Double> scoreMembers, final ZAddParams params) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zadd(key, scoreMembers, params);
@@ -3534,7 +4458,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrange(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrange(key, start, end);
@@ -3545,7 +4469,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zrem(final byte[] key, final byte[]... member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zrem(key, member);
@@ -3556,7 +4480,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double zincrby(final byte[] key, final double score, final byte[] member) {
-        return execute(new JedisExecutor<Double>() {
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.zincrby(key, score, member);
@@ -3567,7 +4491,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double zincrby(final byte[] key, final double score, final byte[] member, final ZIncrByParams params) {
-        return execute(new JedisExecutor<Double>() {
+        return executeByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.zincrby(key, score, member, params);
@@ -3578,7 +4502,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zrank(final byte[] key, final byte[] member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zrank(key, member);
@@ -3589,7 +4513,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zrevrank(final byte[] key, final byte[] member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zrevrank(key, member);
@@ -3600,7 +4524,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrange(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrange(key, start, end);
@@ -3611,7 +4535,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeWithScores(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeWithScores(key, start, end);
@@ -3622,7 +4546,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeWithScores(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeWithScores(key, start, end);
@@ -3633,7 +4557,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcard(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zcard(key);
@@ -3644,7 +4568,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double zscore(final byte[] key, final byte[] member) {
-        return execute(new JedisExecutor<Double>() {
+        return executeReadByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.zscore(key, member);
@@ -3655,7 +4579,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> sort(final byte[] key) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.sort(key);
@@ -3666,7 +4590,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> sort(final byte[] key, final SortingParams sortingParameters) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.sort(key, sortingParameters);
@@ -3677,7 +4601,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcount(final byte[] key, final double min, final double max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zcount(key, min, max);
@@ -3688,7 +4612,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zcount(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zcount(key, min, max);
@@ -3699,7 +4623,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByScore(final byte[] key, final double min, final double max) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max);
@@ -3710,7 +4634,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByScore(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max);
@@ -3721,7 +4645,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByScore(final byte[] key, final double max, final double min) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min);
@@ -3732,7 +4656,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByScore(final byte[] key, final double min, final double max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max, offset, count);
@@ -3743,7 +4667,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByScore(final byte[] key, final byte[] max, final byte[] min) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min);
@@ -3754,7 +4678,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByScore(final byte[] key, final byte[] min, final byte[] max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByScore(key, min, max, offset, count);
@@ -3765,7 +4689,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByScore(final byte[] key, final double max, final double min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min, offset, count);
@@ -3776,7 +4700,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final byte[] key, final double min, final double max) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max);
@@ -3787,7 +4711,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final byte[] key, final double max, final double min) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min);
@@ -3798,7 +4722,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final byte[] key, final double min, final double max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max, offset, count);
@@ -3809,7 +4733,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByScore(final byte[] key, final byte[] max, final byte[] min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByScore(key, max, min, offset, count);
@@ -3820,7 +4744,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max);
@@ -3831,7 +4755,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final byte[] key, final byte[] max, final byte[] min) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min);
@@ -3842,7 +4766,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrangeByScoreWithScores(final byte[] key, final byte[] min, final byte[] max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrangeByScoreWithScores(key, min, max, offset, count);
@@ -3853,7 +4777,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final byte[] key, final double max, final double min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min, offset, count);
@@ -3864,7 +4788,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<Tuple> zrevrangeByScoreWithScores(final byte[] key, final byte[] max, final byte[] min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<Tuple>>() {
             @Override
             public Set<Tuple> execute(Jedis jedis) {
                 return jedis.zrevrangeByScoreWithScores(key, max, min, offset, count);
@@ -3875,7 +4799,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByRank(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByRank(key, start, end);
@@ -3886,7 +4810,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByScore(final byte[] key, final double start, final double end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByScore(key, start, end);
@@ -3897,7 +4821,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByScore(final byte[] key, final byte[] start, final byte[] end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByScore(key, start, end);
@@ -3908,7 +4832,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zlexcount(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zlexcount(key, min, max);
@@ -3919,7 +4843,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByLex(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByLex(key, min, max);
@@ -3930,7 +4854,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrangeByLex(final byte[] key, final byte[] min, final byte[] max, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrangeByLex(key, min, max, offset, count);
@@ -3941,7 +4865,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByLex(final byte[] key, final byte[] max, final byte[] min) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByLex(key, max, min);
@@ -3952,7 +4876,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> zrevrangeByLex(final byte[] key, final byte[] max, final byte[] min, final int offset, final int count) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.zrevrangeByLex(key, max, min, offset, count);
@@ -3963,7 +4887,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zremrangeByLex(final byte[] key, final byte[] min, final byte[] max) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zremrangeByLex(key, min, max);
@@ -3974,7 +4898,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long linsert(final byte[] key, final Client.LIST_POSITION where, final byte[] pivot, final byte[] value) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.linsert(key, where, pivot, value);
@@ -3985,7 +4909,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long lpushx(final byte[] key, final byte[]... arg) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.lpushx(key, arg);
@@ -3996,7 +4920,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long rpushx(final byte[] key, final byte[]... arg) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.rpushx(key, arg);
@@ -4007,7 +4931,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long del(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, SafeEncoder.encode(key), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.del(key);
+                }
+            });
+        }
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.del(key);
@@ -4029,7 +4961,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long move(final byte[] key, final int dbIndex) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.move(key, dbIndex);
@@ -4040,7 +4972,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitcount(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitcount(key);
@@ -4051,7 +4983,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitcount(final byte[] key, final long start, final long end) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitcount(key, start, end);
@@ -4062,7 +4994,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pfadd(final byte[] key, final byte[]... elements) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pfadd(key, elements);
@@ -4073,7 +5005,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public long pfcount(final byte[] key) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pfcount(key);
@@ -4084,7 +5016,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long geoadd(final byte[] key, final double longitude, final double latitude, final byte[] member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.geoadd(key, longitude, latitude, member);
@@ -4095,7 +5027,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long geoadd(final byte[] key, final Map<byte[], GeoCoordinate> memberCoordinateMap) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.geoadd(key, memberCoordinateMap);
@@ -4106,7 +5038,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double geodist(final byte[] key, final byte[] member1, final byte[] member2) {
-        return execute(new JedisExecutor<Double>() {
+        return executeReadByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.geodist(key, member1, member2);
@@ -4117,7 +5049,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Double geodist(final byte[] key, final byte[] member1, final byte[] member2, final GeoUnit unit) {
-        return execute(new JedisExecutor<Double>() {
+        return executeReadByKey(key, new JedisExecutor<Double>() {
             @Override
             public Double execute(Jedis jedis) {
                 return jedis.geodist(key, member1, member2, unit);
@@ -4128,7 +5060,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> geohash(final byte[] key, final byte[]... members) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.geohash(key, members);
@@ -4139,7 +5071,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoCoordinate> geopos(final byte[] key, final byte[]... members) {
-        return execute(new JedisExecutor<List<GeoCoordinate>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoCoordinate>>() {
             @Override
             public List<GeoCoordinate> execute(Jedis jedis) {
                 return jedis.geopos(key, members);
@@ -4150,7 +5082,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadius(final byte[] key, final double longitude, final double latitude, final double radius, final GeoUnit unit) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadius(key, longitude, latitude, radius, unit);
@@ -4161,7 +5093,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadius(final byte[] key, final double longitude, final double latitude, final double radius, final GeoUnit unit, final GeoRadiusParam param) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadius(key, longitude, latitude, radius, unit, param);
@@ -4172,7 +5104,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadiusByMember(final byte[] key, final byte[] member, final double radius, final GeoUnit unit) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadiusByMember(key, member, radius, unit);
@@ -4183,7 +5115,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<GeoRadiusResponse> georadiusByMember(final byte[] key, final byte[] member, final double radius, final GeoUnit unit, final GeoRadiusParam param) {
-        return execute(new JedisExecutor<List<GeoRadiusResponse>>() {
+        return executeReadByKey(key, new JedisExecutor<List<GeoRadiusResponse>>() {
             @Override
             public List<GeoRadiusResponse> execute(Jedis jedis) {
                 return jedis.georadiusByMember(key, member, radius, unit, param);
@@ -4194,7 +5126,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Map.Entry<byte[], byte[]>> hscan(final byte[] key, final byte[] cursor) {
-        return execute(new JedisExecutor<ScanResult<Map.Entry<byte[], byte[]>>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Map.Entry<byte[], byte[]>>>() {
             @Override
             public ScanResult<Map.Entry<byte[], byte[]>> execute(Jedis jedis) {
                 return jedis.hscan(key, cursor);
@@ -4205,7 +5137,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Map.Entry<byte[], byte[]>> hscan(final byte[] key, final byte[] cursor, final ScanParams params) {
-        return execute(new JedisExecutor<ScanResult<Map.Entry<byte[], byte[]>>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Map.Entry<byte[], byte[]>>>() {
             @Override
             public ScanResult<Map.Entry<byte[], byte[]>> execute(Jedis jedis) {
                 return jedis.hscan(key, cursor, params);
@@ -4216,7 +5148,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<byte[]> sscan(final byte[] key, final byte[] cursor) {
-        return execute(new JedisExecutor<ScanResult<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<byte[]>>() {
             @Override
             public ScanResult<byte[]> execute(Jedis jedis) {
                 return jedis.sscan(key, cursor);
@@ -4227,7 +5159,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<byte[]> sscan(final byte[] key, final byte[] cursor, final ScanParams params) {
-        return execute(new JedisExecutor<ScanResult<byte[]>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<byte[]>>() {
             @Override
             public ScanResult<byte[]> execute(Jedis jedis) {
                 return jedis.sscan(key, cursor, params);
@@ -4238,7 +5170,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Tuple> zscan(final byte[] key, final byte[] cursor) {
-        return execute(new JedisExecutor<ScanResult<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Tuple>>() {
             @Override
             public ScanResult<Tuple> execute(Jedis jedis) {
                 return jedis.zscan(key, cursor);
@@ -4249,7 +5181,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public ScanResult<Tuple> zscan(final byte[] key, final byte[] cursor, final ScanParams params) {
-        return execute(new JedisExecutor<ScanResult<Tuple>>() {
+        return executeReadByKey(key, new JedisExecutor<ScanResult<Tuple>>() {
             @Override
             public ScanResult<Tuple> execute(Jedis jedis) {
                 return jedis.zscan(key, cursor, params);
@@ -4260,7 +5192,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> bitfield(final byte[] key, final byte[]... arguments) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(key, new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.bitfield(key, arguments);
@@ -4271,7 +5203,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long del(final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, decodeKeys(keys), new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.del(keys);
+                }
+            });
+        }
+        return executeByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.del(keys);
@@ -4282,7 +5222,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long exists(final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.exists(keys);
@@ -4293,7 +5233,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> blpop(final int timeout, final byte[]... keys) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(firstKey(keys), new BlockingJedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.blpop(timeout, keys);
@@ -4304,7 +5244,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> brpop(final int timeout, final byte[]... keys) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(firstKey(keys), new BlockingJedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.brpop(timeout, keys);
@@ -4315,7 +5255,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> blpop(final byte[]... args) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(firstKey(args), new BlockingJedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.blpop(args);
@@ -4326,7 +5266,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> brpop(final byte[]... args) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeByKey(firstKey(args), new BlockingJedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.brpop(args);
@@ -4348,7 +5288,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public List<byte[]> mget(final byte[]... keys) {
-        return execute(new JedisExecutor<List<byte[]>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<List<byte[]>>() {
             @Override
             public List<byte[]> execute(Jedis jedis) {
                 return jedis.mget(keys);
@@ -4359,7 +5299,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String mset(final byte[]... keysvalues) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(firstKey(keysvalues), new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.mset(keysvalues);
@@ -4370,7 +5310,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long msetnx(final byte[]... keysvalues) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(firstKey(keysvalues), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.msetnx(keysvalues);
@@ -4381,7 +5321,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String rename(final byte[] oldkey, final byte[] newkey) {
-        return execute(new JedisExecutor<String>() {
+        if (null != nearCache) {
+            return nearCache.write(this, new String[]{SafeEncoder.encode(oldkey), SafeEncoder.encode(newkey)}, new PipelineCommand<String>() {
+                @Override
+                public Response<String> apply(Pipeline pipeline) {
+                    return pipeline.rename(oldkey, newkey);
+                }
+            });
+        }
+        return executeByKey(oldkey, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.rename(oldkey, newkey);
@@ -4392,7 +5340,15 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long renamenx(final byte[] oldkey, final byte[] newkey) {
-        return execute(new JedisExecutor<Long>() {
+        if (null != nearCache) {
+            return nearCache.write(this, new String[]{SafeEncoder.encode(oldkey), SafeEncoder.encode(newkey)}, new PipelineCommand<Long>() {
+                @Override
+                public Response<Long> apply(Pipeline pipeline) {
+                    return pipeline.renamenx(oldkey, newkey);
+                }
+            });
+        }
+        return executeByKey(oldkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.renamenx(oldkey, newkey);
@@ -4403,7 +5359,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] rpoplpush(final byte[] srckey, final byte[] dstkey) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeByKey(srckey, new JedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.rpoplpush(srckey, dstkey);
@@ -4414,7 +5370,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> sdiff(final byte[]... keys) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.sdiff(keys);
@@ -4425,7 +5381,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sdiffstore(final byte[] dstkey, final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sdiffstore(dstkey, keys);
@@ -4436,7 +5392,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> sinter(final byte[]... keys) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.sinter(keys);
@@ -4447,7 +5403,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sinterstore(final byte[] dstkey, final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sinterstore(dstkey, keys);
@@ -4458,7 +5414,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long smove(final byte[] srckey, final byte[] dstkey, final byte[] member) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(srckey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.smove(srckey, dstkey, member);
@@ -4469,7 +5425,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sort(final byte[] key, final SortingParams sortingParameters, final byte[] dstkey) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sort(key, sortingParameters, dstkey);
@@ -4480,7 +5436,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sort(final byte[] key, final byte[] dstkey) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(key, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sort(key, dstkey);
@@ -4491,7 +5447,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Set<byte[]> sunion(final byte[]... keys) {
-        return execute(new JedisExecutor<Set<byte[]>>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Set<byte[]>>() {
             @Override
             public Set<byte[]> execute(Jedis jedis) {
                 return jedis.sunion(keys);
@@ -4502,7 +5458,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long sunionstore(final byte[] dstkey, final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.sunionstore(dstkey, keys);
@@ -4513,7 +5469,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String watch(final byte[]... keys) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.watch(keys);
@@ -4524,7 +5480,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zinterstore(final byte[] dstkey, final byte[]... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zinterstore(dstkey, sets);
@@ -4535,7 +5491,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zinterstore(final byte[] dstkey, final ZParams params, final byte[]... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zinterstore(dstkey, params, sets);
@@ -4546,7 +5502,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zunionstore(final byte[] dstkey, final byte[]... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zunionstore(dstkey, sets);
@@ -4557,7 +5513,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long zunionstore(final byte[] dstkey, final ZParams params, final byte[]... sets) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(dstkey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.zunionstore(dstkey, params, sets);
@@ -4568,7 +5524,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public byte[] brpoplpush(final byte[] source, final byte[] destination, final int timeout) {
-        return execute(new JedisExecutor<byte[]>() {
+        return executeByKey(source, new BlockingJedisExecutor<byte[]>() {
             @Override
             public byte[] execute(Jedis jedis) {
                 return jedis.brpoplpush(source, destination, timeout);
@@ -4590,7 +5546,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public void subscribe(final BinaryJedisPubSub jedisPubSub, final byte[]... channels) {
-        execute(new JedisExecutor<Object>() {
+        execute(new BlockingJedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 jedis.subscribe(jedisPubSub, channels);
@@ -4602,7 +5558,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public void psubscribe(final BinaryJedisPubSub jedisPubSub, final byte[]... patterns) {
-        execute(new JedisExecutor<Object>() {
+        execute(new BlockingJedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 jedis.psubscribe(jedisPubSub, patterns);
@@ -4625,7 +5581,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long bitop(final BitOP op, final byte[] destKey, final byte[]... srcKeys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeByKey(destKey, new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.bitop(op, destKey, srcKeys);
@@ -4636,7 +5592,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public String pfmerge(final byte[] destkey, final byte[]... sourcekeys) {
-        return execute(new JedisExecutor<String>() {
+        return executeByKey(destkey, new JedisExecutor<String>() {
             @Override
             public String execute(Jedis jedis) {
                 return jedis.pfmerge(destkey, sourcekeys);
@@ -4647,7 +5603,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Long pfcount(final byte[]... keys) {
-        return execute(new JedisExecutor<Long>() {
+        return executeReadByKey(firstKey(keys), new JedisExecutor<Long>() {
             @Override
             public Long execute(Jedis jedis) {
                 return jedis.pfcount(keys);
@@ -4658,7 +5614,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object eval(final byte[] script, final byte[] keyCount, final byte[]... params) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(Integer.parseInt(SafeEncoder.encode(keyCount)) > 0 ? firstKey(params) : null, new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.eval(script, keyCount, params);
@@ -4669,7 +5625,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object eval(final byte[] script, final int keyCount, final byte[]... params) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(keyCount > 0 ? firstKey(params) : null, new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.eval(script, keyCount, params);
@@ -4680,7 +5636,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object eval(final byte[] script, final List<byte[]> keys, final List<byte[]> args) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.eval(script, keys, args);
@@ -4713,7 +5669,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object evalsha(final byte[] sha1, final List<byte[]> keys, final List<byte[]> args) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(firstKey(keys), new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.evalsha(sha1, keys, args);
@@ -4724,7 +5680,7 @@ public abstract class AbstractRedis implements Redis {
 
     @Override
     public Object evalsha(final byte[] sha1, final int keyCount, final byte[]... params) {
-        return execute(new JedisExecutor<Object>() {
+        return executeByKey(keyCount > 0 ? firstKey(params) : null, new JedisExecutor<Object>() {
             @Override
             public Object execute(Jedis jedis) {
                 return jedis.evalsha(sha1, keyCount, params);
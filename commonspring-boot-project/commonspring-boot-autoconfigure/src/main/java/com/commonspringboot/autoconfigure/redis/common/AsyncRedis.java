@@ -0,0 +1,468 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import redis.clients.jedis.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <pre>
+ * 异步 Redis 操作接口，每个 {redisId}Redis 对应一个 {redisId}AsyncRedis
+ *
+ * 命令在该 Redis 独立的执行线程中调用同步的 Redis 方法，适用于一次请求中并发读取多个互不依赖的 key：
+ *     CompletableFuture&lt;String&gt; user = asyncRedis.get("user:1");
+ *     CompletableFuture&lt;Map&lt;String, String&gt;&gt; profile = asyncRedis.hgetAll("profile:1");
+ *     CompletableFuture.allOf(user, profile).join();
+ * </pre>
+ *
+ * @author yzy
+ */
+public interface AsyncRedis {
+
+    /**
+     * 获取对应的同步 Redis
+     *
+     * @return 返回 Redis
+     */
+    Redis getRedis();
+
+    /**
+     * 异步执行 Redis 命令
+     *
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<T> execute(JedisExecutor<T> executor);
+
+    /**
+     * 异步执行与指定 key 相关的 Redis 命令
+     *
+     * @param key      命令操作的 key
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<T> executeByKey(String key, JedisExecutor<T> executor);
+
+    /**
+     * 使用管道方式异步执行 Redis 命令，集群模式不支持，请使用 executePipelinedByKey
+     *
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<T> executePipelined(PipelineExecutor<T> executor);
+
+    /**
+     * 使用管道方式异步执行与指定 key 相关的 Redis 命令，集群模式下管道中的 key 必须在同一个 slot 中
+     *
+     * @param key      命令操作的 key，为 null 时不指定节点
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<T> executePipelinedByKey(String key, PipelineExecutor<T> executor);
+
+    // 字符串
+
+    /**
+     * 获取指定key的值
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> get(String key);
+
+    /**
+     * 设置简单Key的值
+     *
+     * @param key   key
+     * @param value 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> set(String key, String value);
+
+    /**
+     * 设置简单Key的值并指定过期时间，单位是秒
+     *
+     * @param key           key
+     * @param value         值
+     * @param expireSeconds 过期时间，单位是秒
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> set(String key, String value, int expireSeconds);
+
+    /**
+     * 批量获取值
+     *
+     * @param keys key 列表
+     * @return 返回结果 Future
+     */
+    CompletableFuture<List<String>> mget(String... keys);
+
+    /**
+     * 自增 1
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> incr(String key);
+
+    /**
+     * 增加指定的值
+     *
+     * @param key     key
+     * @param integer 增加的值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> incrBy(String key, long integer);
+
+    /**
+     * 自减 1
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> decr(String key);
+
+    /**
+     * 删除 key
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> del(String key);
+
+    /**
+     * 批量删除 key
+     *
+     * @param keys key 列表
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> del(String... keys);
+
+    /**
+     * key 是否存在
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Boolean> exists(String key);
+
+    /**
+     * 设置过期时间，单位是秒
+     *
+     * @param key           key
+     * @param expireSeconds 过期时间，单位是秒
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> expire(String key, int expireSeconds);
+
+    /**
+     * 获取剩余过期时间，单位是秒
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> ttl(String key);
+
+    // Hash
+
+    /**
+     * 获取 map 中的值
+     *
+     * @param key   key
+     * @param field 属性
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> hget(String key, String field);
+
+    /**
+     * 获取 map 中所有的值
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Map<String, String>> hgetAll(String key);
+
+    /**
+     * 批量获取 map 中的值
+     *
+     * @param key    key
+     * @param fields 属性
+     * @return 返回结果 Future
+     */
+    CompletableFuture<List<String>> hmget(String key, String... fields);
+
+    /**
+     * 设置 map 中的值
+     *
+     * @param key   key
+     * @param field 属性
+     * @param value 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> hset(String key, String field, String value);
+
+    /**
+     * 批量设置 map 中的值
+     *
+     * @param key  key
+     * @param hash 属性和值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> hmset(String key, Map<String, String> hash);
+
+    /**
+     * 增加 map 中属性的值
+     *
+     * @param key   key
+     * @param field 属性
+     * @param value 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> hincrBy(String key, String field, long value);
+
+    /**
+     * 删除 map 中的属性
+     *
+     * @param key    key
+     * @param fields 属性
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> hdel(String key, String... fields);
+
+    // List
+
+    /**
+     * 从左边插入列表
+     *
+     * @param key    key
+     * @param values 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> lpush(String key, String... values);
+
+    /**
+     * 从右边插入列表
+     *
+     * @param key    key
+     * @param values 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> rpush(String key, String... values);
+
+    /**
+     * 获取列表指定范围的元素
+     *
+     * @param key   key
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 返回结果 Future
+     */
+    CompletableFuture<List<String>> lrange(String key, long start, long end);
+
+    /**
+     * 获取列表长度
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> llen(String key);
+
+    // Set
+
+    /**
+     * 添加集合成员
+     *
+     * @param key     key
+     * @param members 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> sadd(String key, String... members);
+
+    /**
+     * 删除集合成员
+     *
+     * @param key     key
+     * @param members 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> srem(String key, String... members);
+
+    /**
+     * 获取集合所有成员
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Set<String>> smembers(String key);
+
+    /**
+     * 是否是集合成员
+     *
+     * @param key    key
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Boolean> sismember(String key, String member);
+
+    /**
+     * 获取集合成员数
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> scard(String key);
+
+    // SortedSet
+
+    /**
+     * 添加有序集合成员
+     *
+     * @param key    key
+     * @param score  分数
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> zadd(String key, double score, String member);
+
+    /**
+     * 增加有序集合成员的分数
+     *
+     * @param key    key
+     * @param score  分数
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Double> zincrby(String key, double score, String member);
+
+    /**
+     * 获取有序集合成员的分数
+     *
+     * @param key    key
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Double> zscore(String key, String member);
+
+    /**
+     * 获取有序集合成员的排名，分数从小到大
+     *
+     * @param key    key
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> zrank(String key, String member);
+
+    /**
+     * 获取有序集合成员的排名，分数从大到小
+     *
+     * @param key    key
+     * @param member 成员
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> zrevrank(String key, String member);
+
+    /**
+     * 按分数从小到大获取指定范围的成员
+     *
+     * @param key   key
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Set<String>> zrange(String key, long start, long end);
+
+    /**
+     * 按分数从大到小获取指定范围的成员
+     *
+     * @param key   key
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Set<String>> zrevrange(String key, long start, long end);
+
+    /**
+     * 按分数从大到小获取指定范围的成员及分数
+     *
+     * @param key   key
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Set<Tuple>> zrevrangeWithScores(String key, long start, long end);
+
+    /**
+     * 获取分数范围内的成员
+     *
+     * @param key key
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Set<String>> zrangeByScore(String key, double min, double max);
+
+    /**
+     * 获取有序集合成员数
+     *
+     * @param key key
+     * @return 返回结果 Future
+     */
+    CompletableFuture<Long> zcard(String key);
+
+    // 对象
+
+    /**
+     * 获取指定key的对象值，使用 Redis.getCodec() 解码
+     *
+     * @param key  key
+     * @param type 对象类型
+     * @param <T>  结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<T> getObject(String key, Class<T> type);
+
+    /**
+     * 设置对象值，使用 Redis.getCodec() 编码
+     *
+     * @param key   key
+     * @param value 值
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> setObject(String key, Object value);
+
+    /**
+     * 设置对象值并指定过期时间，单位是秒
+     *
+     * @param key           key
+     * @param value         值
+     * @param expireSeconds 过期时间，单位是秒
+     * @return 返回结果 Future
+     */
+    CompletableFuture<String> setObject(String key, Object value, int expireSeconds);
+
+    /**
+     * 批量获取对象值
+     *
+     * @param type 对象类型
+     * @param keys key 列表
+     * @param <T>  结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<List<T>> mgetObjects(Class<T> type, String... keys);
+
+    /**
+     * 获取 map 中所有属性的对象值
+     *
+     * @param key  key
+     * @param type 对象类型
+     * @param <T>  结果返回类型
+     * @return 返回结果 Future
+     */
+    <T> CompletableFuture<Map<String, T>> hgetAllAs(String key, Class<T> type);
+}
@@ -0,0 +1,15 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+/**
+ * <pre>
+ * 阻塞命令执行器，blpop/brpop/brpoplpush/subscribe/psubscribe 使用
+ *
+ * 执行时间取决于超时参数或者取消订阅的时间，不计入熔断统计和命令统计，也不占用半开状态的试探名额，
+ * 熔断期间直接拒绝
+ * </pre>
+ *
+ * @author yzy
+ */
+public interface BlockingJedisExecutor<T> extends JedisExecutor<T> {
+
+}
@@ -0,0 +1,293 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.metrics.CommandMetrics;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ClusterJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.scan.CompositeScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.scan.CursorScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.scan.ScanIterator;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisClusterMaxRedirectionsException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.util.JedisClusterCRC16;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <pre>
+ * Redis Cluster 集群模式的 Redis 实现
+ *
+ * 1. 带 key 的命令按 CRC16(key) % 16384 计算 slot，发送到缓存中负责该 slot 的节点
+ * 2. 收到 MOVED 时刷新 slot 缓存并发往新节点，收到 ASK 时先发送 ASKING 再发往目标节点
+ * 3. 节点连接失败时刷新 slot 缓存后重试，最多重试 maxRedirections 次
+ * 4. 多 key 命令按第一个 key 路由，这些 key 需要通过 {hashTag} 保证在同一个 slot 中
+ * 5. scanKeys/keys/dbSize 在每个主节点上分别执行后合并结果
+ * 6. 管道只能通过 executePipelinedByKey 发送到 key 所在的节点，execute(PipelineExecutor) 抛出 UnsupportedOperationException
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ClusterRedisImpl extends AbstractRedis {
+
+    private static final int NO_SLOT = -1;
+
+    /**
+     * 最多重定向次数
+     */
+    private int maxRedirections = 5;
+
+    public int getMaxRedirections() {
+        return maxRedirections;
+    }
+
+    public void setMaxRedirections(int maxRedirections) {
+        this.maxRedirections = maxRedirections;
+    }
+
+    @Override
+    public <T> T execute(JedisExecutor<T> executor) {
+        return executeOnSlot(NO_SLOT, executor, null, null, null);
+    }
+
+    @Override
+    public <T> T executeByKey(String key, JedisExecutor<T> executor) {
+        return executeOnSlot(null == key ? NO_SLOT : JedisClusterCRC16.getSlot(key), executor, null, null, null);
+    }
+
+    @Override
+    public <T> T executeByKey(byte[] key, JedisExecutor<T> executor) {
+        return executeOnSlot(null == key ? NO_SLOT : JedisClusterCRC16.getSlot(key), executor, null, null, null);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(String key, JedisExecutor<T> executor) {
+        return executeByKey(key, executor);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(byte[] key, JedisExecutor<T> executor) {
+        return executeByKey(key, executor);
+    }
+
+    @Override
+    protected <T> T executeByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        return executeOnSlot(null == key ? NO_SLOT : JedisClusterCRC16.getSlot(key), null, executor, key, arg);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        return executeByKey(key, arg, executor);
+    }
+
+    /**
+     * 不指定 key 的管道会发送到任意一个节点，管道中的命令会收到 MOVED，请使用 executePipelinedByKey
+     */
+    @Override
+    public <T> T execute(PipelineExecutor<T> executor) {
+        throw new UnsupportedOperationException("集群模式不支持不指定 key 的管道，请使用 executePipelinedByKey(key, PipelineExecutor)");
+    }
+
+    @Override
+    public <T> T executePipelinedByKey(String key, PipelineExecutor<T> executor) {
+        ClusterJedisProvider clusterProvider = getClusterProvider();
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        RuntimeException error = null;
+        Jedis jedis = null;
+        try {
+            jedis = null == key ? clusterProvider.getResource() : clusterProvider.getResource(JedisClusterCRC16.getSlot(key));
+            Pipeline pipeline = jedis.pipelined();
+            T result = executor.execute(pipeline);
+            pipeline.sync();
+            return result;
+        } catch (JedisConnectionException e) {
+            error = e;
+            logger.warn("Redis 集群管道执行错误, 连接{}, 刷新 slot 缓存, ERROR={}", jedis, e.getMessage());
+            clusterProvider.renewSlotCache(null);
+            throw e;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    /**
+     * 依次扫描每个主节点，parallelStream() 时并行扫描
+     */
+    @Override
+    public ScanIterator<String> scanKeys(String pattern, int count) {
+        final ScanParams params = scanParams(pattern, count);
+        List<ScanIterator<String>> nodes = new ArrayList<>();
+        for (final Integer slot : getClusterProvider().getMasterSlots()) {
+            nodes.add(new CursorScanIterator<String>() {
+                @Override
+                protected ScanResult<String> scan(String cursor) {
+                    return doScan(slot, cursor, params);
+                }
+            });
+        }
+        return new CompositeScanIterator<>(nodes);
+    }
+
+    /**
+     * 在每个主节点上执行 KEYS 后合并，key 很多时请使用 scanKeys
+     */
+    @Override
+    public Set<String> keys(final String pattern) {
+        Set<String> result = new HashSet<>();
+        for (Integer slot : getClusterProvider().getMasterSlots()) {
+            result.addAll(executeOnSlot(slot, new JedisExecutor<Set<String>>() {
+                @Override
+                public Set<String> execute(Jedis jedis) {
+                    return jedis.keys(pattern);
+                }
+            }, null, null, null));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<byte[]> keys(final byte[] pattern) {
+        Set<byte[]> result = new LinkedHashSet<>();
+        for (Integer slot : getClusterProvider().getMasterSlots()) {
+            result.addAll(executeOnSlot(slot, new JedisExecutor<Set<byte[]>>() {
+                @Override
+                public Set<byte[]> execute(Jedis jedis) {
+                    return jedis.keys(pattern);
+                }
+            }, null, null, null));
+        }
+        return result;
+    }
+
+    /**
+     * 全部主节点的 key 数量之和
+     */
+    @Override
+    public Long dbSize() {
+        long total = 0;
+        for (Integer slot : getClusterProvider().getMasterSlots()) {
+            Long size = executeOnSlot(slot, new JedisExecutor<Long>() {
+                @Override
+                public Long execute(Jedis jedis) {
+                    return jedis.dbSize();
+                }
+            }, null, null, null);
+            total += null == size ? 0 : size;
+        }
+        return total;
+    }
+
+    private ScanResult<String> doScan(int slot, final String cursor, final ScanParams params) {
+        return executeOnSlot(slot, new JedisExecutor<ScanResult<String>>() {
+            @Override
+            public ScanResult<String> execute(Jedis jedis) {
+                return jedis.scan(cursor, params);
+            }
+        }, null, null, null);
+    }
+
+    /**
+     * 在 slot 所在节点执行命令，executor 和 keyExecutor 只会有一个不为 null
+     */
+    private <T> T executeOnSlot(int slot, JedisExecutor<T> executor, JedisKeyExecutor<T> keyExecutor, String key, String arg) {
+        if (null == metrics && null == circuitBreaker) {
+            return doExecuteOnSlot(slot, executor, keyExecutor, key, arg);
+        }
+        RedisCircuitBreaker breaker = breaker(executor);
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = commandMetrics(null != executor ? executor : keyExecutor);
+        long startNanos = null == command ? 0L : command.begin();
+        RuntimeException error = null;
+        try {
+            return doExecuteOnSlot(slot, executor, keyExecutor, key, arg);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    private <T> T doExecuteOnSlot(int slot, JedisExecutor<T> executor, JedisKeyExecutor<T> keyExecutor, String key, String arg) {
+        ClusterJedisProvider clusterProvider = getClusterProvider();
+        HostAndPort redirectNode = null;
+        boolean asking = false;
+        JedisException lastException = null;
+
+        for (int attempt = 0; attempt <= maxRedirections; ++attempt) {
+            Jedis jedis = null;
+            try {
+                if (null != redirectNode) {
+                    jedis = clusterProvider.getResource(redirectNode);
+                    if (asking) {
+                        jedis.asking();
+                    }
+                } else {
+                    jedis = slot == NO_SLOT ? clusterProvider.getResource() : clusterProvider.getResource(slot);
+                }
+                return null != executor ? executor.execute(jedis) : keyExecutor.execute(jedis, key, arg);
+            } catch (JedisMovedDataException e) {
+                // slot 已经迁移到其他节点，后续请求直接发往新节点
+                lastException = e;
+                clusterProvider.renewSlotCache(jedis);
+                redirectNode = e.getTargetNode();
+                asking = false;
+            } catch (JedisAskDataException e) {
+                // slot 正在迁移，只有本次请求发往目标节点
+                lastException = e;
+                redirectNode = e.getTargetNode();
+                asking = true;
+            } catch (JedisConnectionException e) {
+                lastException = e;
+                logger.warn("Redis 集群节点连接错误, 连接{}, 刷新 slot 缓存后重试, ERROR={}", jedis, e.getMessage());
+                clusterProvider.renewSlotCache(null);
+                redirectNode = null;
+                asking = false;
+            } catch (Exception e) {
+                logger.warn("Redis 执行错误, 连接{}，ERROR={}", jedis, e.getMessage(), e);
+                throw e;
+            } finally {
+                this.closeResource(jedis);
+            }
+        }
+
+        if (lastException instanceof JedisConnectionException) {
+            throw lastException;
+        }
+        throw new JedisClusterMaxRedirectionsException("Redis 集群重定向次数超过 " + maxRedirections, lastException);
+    }
+
+    private ClusterJedisProvider getClusterProvider() {
+        if (!(provider instanceof ClusterJedisProvider)) {
+            throw new IllegalStateException("ClusterRedisImpl 需要使用 " + ClusterJedisProvider.class.getName() + ", 当前是: " + provider);
+        }
+        return (ClusterJedisProvider) provider;
+    }
+}
@@ -0,0 +1,25 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * <pre>
+ * 单 key 命令执行器，key 和参数在执行时传入，实现类不持有状态，可以作为常量复用，
+ * 避免每次调用都创建一个 JedisExecutor 匿名类实例
+ * </pre>
+ *
+ * @author yzy
+ */
+public interface JedisKeyExecutor<T> {
+
+    /**
+     * 执行并返回结果
+     *
+     * @param jedis redis 连接
+     * @param key   命令操作的 key
+     * @param arg   命令的第二个参数，没有时为 null
+     * @return 返回结果
+     */
+    T execute(Jedis jedis, String key, String arg);
+
+}
@@ -0,0 +1,443 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>
+ * 常用单 key 命令的无状态执行器，AbstractRedis 中的热点命令通过这些常量执行，
+ * 单次调用不再分配执行器对象
+ * </pre>
+ *
+ * @author yzy
+ */
+public final class JedisKeyExecutors {
+
+    /**
+     * SET key value
+     */
+    public static final JedisKeyExecutor<String> SET = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.set(key, arg);
+        }
+    };
+
+    /**
+     * GET key
+     */
+    public static final JedisKeyExecutor<String> GET = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.get(key);
+        }
+    };
+
+    /**
+     * EXISTS key
+     */
+    public static final JedisKeyExecutor<Boolean> EXISTS = new JedisKeyExecutor<Boolean>() {
+        @Override
+        public Boolean execute(Jedis jedis, String key, String arg) {
+            return jedis.exists(key);
+        }
+    };
+
+    /**
+     * SISMEMBER key member
+     */
+    public static final JedisKeyExecutor<Boolean> SISMEMBER = new JedisKeyExecutor<Boolean>() {
+        @Override
+        public Boolean execute(Jedis jedis, String key, String arg) {
+            return jedis.sismember(key, arg);
+        }
+    };
+
+    /**
+     * HGET key field
+     */
+    public static final JedisKeyExecutor<String> HGET = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.hget(key, arg);
+        }
+    };
+
+    /**
+     * SMEMBERS key
+     */
+    public static final JedisKeyExecutor<Set<String>> SMEMBERS = new JedisKeyExecutor<Set<String>>() {
+        @Override
+        public Set<String> execute(Jedis jedis, String key, String arg) {
+            return jedis.smembers(key);
+        }
+    };
+
+    /**
+     * PERSIST key
+     */
+    public static final JedisKeyExecutor<Long> PERSIST = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.persist(key);
+        }
+    };
+
+    /**
+     * TYPE key
+     */
+    public static final JedisKeyExecutor<String> TYPE = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.type(key);
+        }
+    };
+
+    /**
+     * TTL key
+     */
+    public static final JedisKeyExecutor<Long> TTL = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.ttl(key);
+        }
+    };
+
+    /**
+     * PTTL key
+     */
+    public static final JedisKeyExecutor<Long> PTTL = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.pttl(key);
+        }
+    };
+
+    /**
+     * GETSET key value
+     */
+    public static final JedisKeyExecutor<String> GETSET = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.getSet(key, arg);
+        }
+    };
+
+    /**
+     * SETNX key value
+     */
+    public static final JedisKeyExecutor<Long> SETNX = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.setnx(key, arg);
+        }
+    };
+
+    /**
+     * DECR key
+     */
+    public static final JedisKeyExecutor<Long> DECR = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.decr(key);
+        }
+    };
+
+    /**
+     * INCR key
+     */
+    public static final JedisKeyExecutor<Long> INCR = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.incr(key);
+        }
+    };
+
+    /**
+     * APPEND key value
+     */
+    public static final JedisKeyExecutor<Long> APPEND = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.append(key, arg);
+        }
+    };
+
+    /**
+     * HLEN key
+     */
+    public static final JedisKeyExecutor<Long> HLEN = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.hlen(key);
+        }
+    };
+
+    /**
+     * HKEYS key
+     */
+    public static final JedisKeyExecutor<Set<String>> HKEYS = new JedisKeyExecutor<Set<String>>() {
+        @Override
+        public Set<String> execute(Jedis jedis, String key, String arg) {
+            return jedis.hkeys(key);
+        }
+    };
+
+    /**
+     * HVALS key
+     */
+    public static final JedisKeyExecutor<List<String>> HVALS = new JedisKeyExecutor<List<String>>() {
+        @Override
+        public List<String> execute(Jedis jedis, String key, String arg) {
+            return jedis.hvals(key);
+        }
+    };
+
+    /**
+     * HGETALL key
+     */
+    public static final JedisKeyExecutor<Map<String, String>> HGETALL = new JedisKeyExecutor<Map<String, String>>() {
+        @Override
+        public Map<String, String> execute(Jedis jedis, String key, String arg) {
+            return jedis.hgetAll(key);
+        }
+    };
+
+    /**
+     * LLEN key
+     */
+    public static final JedisKeyExecutor<Long> LLEN = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.llen(key);
+        }
+    };
+
+    /**
+     * LPOP key
+     */
+    public static final JedisKeyExecutor<String> LPOP = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.lpop(key);
+        }
+    };
+
+    /**
+     * RPOP key
+     */
+    public static final JedisKeyExecutor<String> RPOP = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.rpop(key);
+        }
+    };
+
+    /**
+     * SPOP key
+     */
+    public static final JedisKeyExecutor<String> SPOP = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.spop(key);
+        }
+    };
+
+    /**
+     * SCARD key
+     */
+    public static final JedisKeyExecutor<Long> SCARD = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.scard(key);
+        }
+    };
+
+    /**
+     * SRANDMEMBER key
+     */
+    public static final JedisKeyExecutor<String> SRANDMEMBER = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.srandmember(key);
+        }
+    };
+
+    /**
+     * STRLEN key
+     */
+    public static final JedisKeyExecutor<Long> STRLEN = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.strlen(key);
+        }
+    };
+
+    /**
+     * ZRANK key member
+     */
+    public static final JedisKeyExecutor<Long> ZRANK = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.zrank(key, arg);
+        }
+    };
+
+    /**
+     * ZREVRANK key member
+     */
+    public static final JedisKeyExecutor<Long> ZREVRANK = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.zrevrank(key, arg);
+        }
+    };
+
+    /**
+     * ZCARD key
+     */
+    public static final JedisKeyExecutor<Long> ZCARD = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.zcard(key);
+        }
+    };
+
+    /**
+     * ZSCORE key member
+     */
+    public static final JedisKeyExecutor<Double> ZSCORE = new JedisKeyExecutor<Double>() {
+        @Override
+        public Double execute(Jedis jedis, String key, String arg) {
+            return jedis.zscore(key, arg);
+        }
+    };
+
+    /**
+     * SORT key
+     */
+    public static final JedisKeyExecutor<List<String>> SORT = new JedisKeyExecutor<List<String>>() {
+        @Override
+        public List<String> execute(Jedis jedis, String key, String arg) {
+            return jedis.sort(key);
+        }
+    };
+
+    /**
+     * DEL key
+     */
+    public static final JedisKeyExecutor<Long> DEL = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.del(key);
+        }
+    };
+
+    /**
+     * BITCOUNT key
+     */
+    public static final JedisKeyExecutor<Long> BITCOUNT = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.bitcount(key);
+        }
+    };
+
+    /**
+     * HSCAN key cursor
+     */
+    public static final JedisKeyExecutor<ScanResult<Map.Entry<String, String>>> HSCAN = new JedisKeyExecutor<ScanResult<Map.Entry<String, String>>>() {
+        @Override
+        public ScanResult<Map.Entry<String, String>> execute(Jedis jedis, String key, String arg) {
+            return jedis.hscan(key, arg);
+        }
+    };
+
+    /**
+     * SSCAN key cursor
+     */
+    public static final JedisKeyExecutor<ScanResult<String>> SSCAN = new JedisKeyExecutor<ScanResult<String>>() {
+        @Override
+        public ScanResult<String> execute(Jedis jedis, String key, String arg) {
+            return jedis.sscan(key, arg);
+        }
+    };
+
+    /**
+     * ZSCAN key cursor
+     */
+    public static final JedisKeyExecutor<ScanResult<Tuple>> ZSCAN = new JedisKeyExecutor<ScanResult<Tuple>>() {
+        @Override
+        public ScanResult<Tuple> execute(Jedis jedis, String key, String arg) {
+            return jedis.zscan(key, arg);
+        }
+    };
+
+    /**
+     * PFCOUNT key
+     */
+    public static final JedisKeyExecutor<Long> PFCOUNT = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.pfcount(key);
+        }
+    };
+
+    /**
+     * RENAME oldkey newkey
+     */
+    public static final JedisKeyExecutor<String> RENAME = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.rename(key, arg);
+        }
+    };
+
+    /**
+     * RENAMENX oldkey newkey
+     */
+    public static final JedisKeyExecutor<Long> RENAMENX = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.renamenx(key, arg);
+        }
+    };
+
+    /**
+     * RPOPLPUSH srckey dstkey
+     */
+    public static final JedisKeyExecutor<String> RPOPLPUSH = new JedisKeyExecutor<String>() {
+        @Override
+        public String execute(Jedis jedis, String key, String arg) {
+            return jedis.rpoplpush(key, arg);
+        }
+    };
+
+    /**
+     * SORT key STORE dstkey
+     */
+    public static final JedisKeyExecutor<Long> SORT_STORE = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.sort(key, arg);
+        }
+    };
+
+    /**
+     * CLUSTER KEYSLOT key
+     */
+    public static final JedisKeyExecutor<Long> CLUSTER_KEY_SLOT = new JedisKeyExecutor<Long>() {
+        @Override
+        public Long execute(Jedis jedis, String key, String arg) {
+            return jedis.clusterKeySlot(key);
+        }
+    };
+
+    private JedisKeyExecutors() {
+    }
+}
@@ -16,6 +16,15 @@ public interface JedisProvider {
      */
     Jedis getResource();
 
+    /**
+     * 返回执行只读命令的资源，支持读写分离的提供者可以返回从库连接，默认与 getResource() 相同
+     *
+     * @return 资源
+     */
+    default Jedis getReadResource() {
+        return getResource();
+    }
+
     /**
      * 关闭资源，关闭不代表销毁（比如连接池）
      *
@@ -1,5 +1,10 @@
 package com.commonspringboot.autoconfigure.redis.common;
 
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.counter.RedisCounterAggregator;
+import com.commonspringboot.autoconfigure.redis.common.loader.RedisValueLoader;
+import com.commonspringboot.autoconfigure.redis.common.scan.ScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
 import redis.clients.jedis.*;
 import redis.clients.jedis.params.geo.GeoRadiusParam;
 import redis.clients.jedis.params.sortedset.ZAddParams;
@@ -7,6 +12,7 @@ import redis.clients.jedis.params.sortedset.ZIncrByParams;
 import redis.clients.util.Slowlog;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Redis 操作接口定义
@@ -61,7 +67,7 @@ public interface Redis {
     Jedis getResource();
 
     /**
-     * 使用管道方式执行 Redis 命令
+     * 使用管道方式执行 Redis 命令，集群模式不支持，请使用 executePipelinedByKey
      *
      * @param executor 执行器
      * @param <T>      结果返回类型
@@ -88,6 +94,47 @@ public interface Redis {
      */
     <T> T execute(T defaultResult, JedisExecutor<T> executor);
 
+    /**
+     * 执行与指定 key 相关的 Redis 命令，集群模式下会发送到 key 所在的节点，非集群模式下与 execute(executor) 相同
+     *
+     * @param key      命令操作的 key，为 null 时不指定节点
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    <T> T executeByKey(String key, JedisExecutor<T> executor);
+
+    /**
+     * 执行与指定 key 相关的 Redis 命令
+     *
+     * @param key           命令操作的 key，为 null 时不指定节点
+     * @param defaultResult 默认结果
+     * @param executor      执行器
+     * @param <T>           结果返回类型
+     * @return 返回执行结果
+     */
+    <T> T executeByKey(String key, T defaultResult, JedisExecutor<T> executor);
+
+    /**
+     * 执行与指定 key 相关的 Redis 命令
+     *
+     * @param key      命令操作的 key，为 null 时不指定节点
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    <T> T executeByKey(byte[] key, JedisExecutor<T> executor);
+
+    /**
+     * 使用管道方式执行与指定 key 相关的 Redis 命令，集群模式下管道中的 key 必须在同一个 slot 中
+     *
+     * @param key      命令操作的 key，为 null 时不指定节点
+     * @param executor 执行器
+     * @param <T>      结果返回类型
+     * @return 返回执行结果
+     */
+    <T> T executePipelinedByKey(String key, PipelineExecutor<T> executor);
+
     /**
      * 设置简单Key的值
      *
@@ -175,6 +222,157 @@ public interface Redis {
      */
     Date getDate(String key, Date defaultValue);
 
+    /**
+     * 获取值编解码器，getObject/setObject 等对象读写方法使用
+     *
+     * @return 返回编解码器
+     */
+    RedisCodec<Object> getCodec();
+
+    /**
+     * 获取计数器合并写入器，第一次调用时创建，累加值定时通过管道写入，destroy 时写入剩余的值
+     *
+     * @return 返回计数器合并写入器
+     */
+    RedisCounterAggregator getCounters();
+
+    /**
+     * 获取带击穿保护的回源加载器，第一次调用时创建
+     *
+     * @return 返回回源加载器
+     */
+    RedisValueLoader getLoader();
+
+    /**
+     * 读取 key 的对象值，不存在时执行 loader 并写入，同一个 key 并发未命中时只加载一次，参考 RedisValueLoader
+     *
+     * @param key        key
+     * @param ttlSeconds 过期时间，单位秒，必须大于 0
+     * @param type       对象类型
+     * @param loader     加载器，可以返回 null
+     * @param <T>        结果返回类型
+     * @return 返回缓存或者加载的对象
+     */
+    <T> T getOrLoad(String key, int ttlSeconds, Class<T> type, Callable<T> loader);
+
+    /**
+     * 获取指定key的对象值，使用 getCodec() 解码
+     *
+     * @param key  key
+     * @param type 对象类型
+     * @param <T>  结果返回类型
+     * @return 返回对象，key 不存在返回 null
+     */
+    <T> T getObject(String key, Class<T> type);
+
+    /**
+     * 设置对象值，使用 getCodec() 编码
+     *
+     * @param key   key
+     * @param value 对象，不能为 null
+     * @return 返回状态码
+     */
+    String setObject(String key, Object value);
+
+    /**
+     * 设置对象值，使用 getCodec() 编码
+     *
+     * @param key           key
+     * @param value         对象，不能为 null
+     * @param expireSeconds 过期时间，单位是秒
+     * @return 返回状态码
+     */
+    String setObject(String key, Object value, int expireSeconds);
+
+    /**
+     * 批量获取对象值
+     *
+     * @param type 对象类型
+     * @param keys key 列表
+     * @param <T>  结果返回类型
+     * @return 返回和 keys 顺序一致的对象列表，不存在的 key 对应 null
+     */
+    <T> List<T> mgetObjects(Class<T> type, String... keys);
+
+    /**
+     * 设置 map 中属性的对象值
+     *
+     * @param key   map 的key
+     * @param field map 对应的属性
+     * @param value 对象，不能为 null
+     * @return 返回redis结果状态码
+     */
+    Long hsetObject(String key, String field, Object value);
+
+    /**
+     * 获取 map 中所有属性的对象值
+     *
+     * @param key  map 的key
+     * @param type 对象类型
+     * @param <T>  结果返回类型
+     * @return 返回属性到对象的映射，key 不存在返回空 map
+     */
+    <T> Map<String, T> hgetAllAs(String key, Class<T> type);
+
+    /**
+     * 执行 Lua 脚本，发送 EVALSHA，服务端返回 NOSCRIPT 时在同一个连接上改用 EVAL 重新加载，
+     * 集群和分片模式下发送到第一个 key 所在的节点
+     *
+     * @param script 脚本，参考 RedisScriptRegistry
+     * @param keys   脚本的 KEYS
+     * @param args   脚本的 ARGV
+     * @return 返回脚本结果
+     */
+    Object evalScript(RedisScript script, List<String> keys, List<String> args);
+
+    /**
+     * 使用管道批量执行同一个 Lua 脚本，按每次调用的第一个 key 所在的节点分组，每个节点每 batchSize 次调用一个管道，
+     * 集群和分片模式下同一次调用的 key 必须在同一个节点
+     *
+     * @param script    脚本
+     * @param keysList  每次调用的 KEYS
+     * @param argsList  每次调用的 ARGV，为 null 时都没有参数
+     * @param batchSize 每个管道的调用数，小于等于 0 时全部放在一个管道中
+     * @return 按顺序返回每次调用的结果，调用出错时对应位置是 JedisDataException
+     */
+    List<Object> evalScriptPipelined(RedisScript script, List<List<String>> keysList, List<List<String>> argsList, int batchSize);
+
+    /**
+     * 使用 SCAN 惰性遍历匹配的 key，用于代替会阻塞服务端的 keys(pattern)，集群和分片模式下遍历每个主节点
+     *
+     * @param pattern 匹配模式，为 null 时遍历所有 key
+     * @param count   每页的数量提示，小于等于 0 时使用 100
+     * @return 返回迭代器，可以通过 stream()/parallelStream() 转换为流
+     */
+    ScanIterator<String> scanKeys(String pattern, int count);
+
+    /**
+     * 使用 HSCAN 惰性遍历 map 的所有属性，用于代替大 map 的 hgetAll
+     *
+     * @param key   map 的key
+     * @param count 每页的数量提示，小于等于 0 时使用 100
+     * @return 返回迭代器
+     */
+    ScanIterator<Map.Entry<String, String>> hashEntries(String key, int count);
+
+    /**
+     * 使用 SSCAN 惰性遍历集合的所有成员，用于代替大集合的 smembers
+     *
+     * @param key   集合的key
+     * @param count 每页的数量提示，小于等于 0 时使用 100
+     * @return 返回迭代器
+     */
+    ScanIterator<String> setMembers(String key, int count);
+
+    /**
+     * 使用 ZSCAN 惰性遍历有序集合的所有成员和分数
+     *
+     * @param key   有序集合的key
+     * @param count 每页的数量提示，小于等于 0 时使用 100
+     * @return 返回迭代器
+     */
+    ScanIterator<Tuple> sortedSetEntries(String key, int count);
+
     /**
      * 设置过期时间
      *
@@ -742,6 +940,16 @@ public interface Redis {
 
     // BinaryJedisCommands start
 
+    /**
+     * 设置二进制 key 的值，不经过字符串编解码
+     *
+     * @param key           key
+     * @param value         值
+     * @param expireSeconds 过期时间，单位是秒
+     * @return 返回状态码
+     */
+    String set(byte[] key, byte[] value, int expireSeconds);
+
     String set(byte[] key, byte[] value);
 
     String set(byte[] key, byte[] value, byte[] nxxx);
@@ -750,6 +958,15 @@ public interface Redis {
 
     byte[] get(byte[] key);
 
+    /**
+     * 获取二进制 key 的值
+     *
+     * @param key          key
+     * @param defaultValue 默认值， 如果返回为 null 将返回默认值
+     * @return 返回指定key的值
+     */
+    byte[] get(byte[] key, byte[] defaultValue);
+
     Boolean exists(byte[] key);
 
     Long persist(byte[] key);
@@ -766,6 +983,8 @@ public interface Redis {
 
     Long ttl(byte[] key);
 
+    Long pttl(byte[] key);
+
     Boolean setbit(byte[] key, long offset, boolean value);
 
     Boolean setbit(byte[] key, long offset, byte[] value);
@@ -782,6 +1001,8 @@ public interface Redis {
 
     String setex(byte[] key, int seconds, byte[] value);
 
+    String psetex(byte[] key, long milliseconds, byte[] value);
+
     Long decrBy(byte[] key, long integer);
 
     Long decr(byte[] key);
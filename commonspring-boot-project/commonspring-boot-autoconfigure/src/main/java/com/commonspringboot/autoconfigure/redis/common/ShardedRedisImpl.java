@@ -0,0 +1,768 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import com.commonspringboot.autoconfigure.redis.common.batch.PipelineCommand;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.metrics.CommandMetrics;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ShardedJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import com.commonspringboot.autoconfigure.redis.common.scan.CompositeScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.scan.CursorScanIterator;
+import com.commonspringboot.autoconfigure.redis.common.scan.ScanIterator;
+import redis.clients.jedis.BitOP;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <pre>
+ * 客户端一致性哈希分片的 Redis 实现
+ *
+ * 1. 带 key 的命令按 ShardedJedisProvider 的哈希环发送到 key 所在的分片
+ * 2. mget/mset/del 按分片拆分，多个分片时并行执行后合并结果，mset 不保证跨分片的原子性
+ * 3. 其他多 key 命令按第一个 key 路由，这些 key 需要通过 {hashTag} 保证在同一个分片中，
+ *    eval/evalsha/bitop/brpoplpush/blpop/brpop 的 key 不在同一个分片时直接抛出异常
+ * 4. 与 key 无关的命令以及 execute(JedisExecutor) 使用第一个分片，自定义的带 key 命令需要使用 executeByKey
+ * 5. scanKeys/keys/dbSize 在每个分片上分别执行后合并结果，只能扫描单个节点的 scan(cursor) 不支持
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ShardedRedisImpl extends AbstractRedis {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final String OK = "OK";
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    /**
+     * 跨分片并行执行的线程数，小于等于0表示使用分片数
+     */
+    private int threads = 0;
+
+    private volatile ExecutorService executorService;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @Override
+    public void init() {
+        getExecutorService();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        // 先写入计数器，写入可能用到下面的线程池
+        super.destroy();
+        if (null != executorService) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    /**
+     * 不带 key 的命令在第一个分片执行，无法按 key 路由，带 key 的自定义命令请使用 executeByKey
+     */
+    @Override
+    public <T> T execute(JedisExecutor<T> executor) {
+        return executeOnShard(0, false, executor, null, null, null);
+    }
+
+    @Override
+    public <T> T executeByKey(String key, JedisExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), false, executor, null, null, null);
+    }
+
+    @Override
+    public <T> T executeByKey(byte[] key, JedisExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), false, executor, null, null, null);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(String key, JedisExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), true, executor, null, null, null);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(byte[] key, JedisExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), true, executor, null, null, null);
+    }
+
+    @Override
+    protected <T> T executeByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), false, null, executor, key, arg);
+    }
+
+    @Override
+    protected <T> T executeReadByKey(String key, String arg, JedisKeyExecutor<T> executor) {
+        return executeOnShard(null == key ? 0 : getShardedProvider().getShard(key), true, null, executor, key, arg);
+    }
+
+    @Override
+    public <T> T executePipelinedByKey(String key, PipelineExecutor<T> executor) {
+        ShardedJedisProvider shardedProvider = getShardedProvider();
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = null == metrics ? null : metrics.command(executor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = shardedProvider.getResource(null == key ? 0 : shardedProvider.getShard(key));
+            Pipeline pipeline = jedis.pipelined();
+            T result = executor.execute(pipeline);
+            pipeline.sync();
+            return result;
+        } catch (Exception e) {
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    @Override
+    public List<String> mget(final String... keys) {
+        Map<Integer, List<Integer>> groups = groupByShard(keys, 1);
+        if (groups.size() <= 1) {
+            return super.mget(keys);
+        }
+        final List<String> result = new ArrayList<>(Collections.<String>nCopies(keys.length, null));
+        executeOnShards(groups, new ShardCommand<Void>() {
+            @Override
+            public Void execute(int shard, List<Integer> indexes) {
+                List<String> values = doMget(shard, select(keys, indexes, 1));
+                for (int i = 0; i < indexes.size(); ++i) {
+                    result.set(indexes.get(i), values.get(i));
+                }
+                return null;
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<byte[]> mget(final byte[]... keys) {
+        Map<Integer, List<Integer>> groups = groupByShard(keys, 1);
+        if (groups.size() <= 1) {
+            return super.mget(keys);
+        }
+        final List<byte[]> result = new ArrayList<>(Collections.<byte[]>nCopies(keys.length, null));
+        executeOnShards(groups, new ShardCommand<Void>() {
+            @Override
+            public Void execute(int shard, List<Integer> indexes) {
+                List<byte[]> values = doMget(shard, select(keys, indexes, 1));
+                for (int i = 0; i < indexes.size(); ++i) {
+                    result.set(indexes.get(i), values.get(i));
+                }
+                return null;
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public String mset(final String... keysvalues) {
+        Map<Integer, List<Integer>> groups = groupByShard(keysvalues, 2);
+        if (groups.size() <= 1) {
+            return super.mset(keysvalues);
+        }
+        return mergeStatus(executeOnShards(groups, new ShardCommand<String>() {
+            @Override
+            public String execute(int shard, List<Integer> indexes) {
+                return doMset(shard, select(keysvalues, indexes, 2));
+            }
+        }));
+    }
+
+    @Override
+    public String mset(final byte[]... keysvalues) {
+        Map<Integer, List<Integer>> groups = groupByShard(keysvalues, 2);
+        if (groups.size() <= 1) {
+            return super.mset(keysvalues);
+        }
+        return mergeStatus(executeOnShards(groups, new ShardCommand<String>() {
+            @Override
+            public String execute(int shard, List<Integer> indexes) {
+                return doMset(shard, select(keysvalues, indexes, 2));
+            }
+        }));
+    }
+
+    @Override
+    public Long del(final String... keys) {
+        Map<Integer, List<Integer>> groups = groupByShard(keys, 1);
+        if (groups.size() <= 1) {
+            return super.del(keys);
+        }
+        return sum(executeOnShards(groups, new ShardCommand<Long>() {
+            @Override
+            public Long execute(int shard, List<Integer> indexes) {
+                final String[] shardKeys = select(keys, indexes, 1);
+                if (null != nearCache) {
+                    // 本地缓存的失效通知与删除命令在同一个分片的 Pipeline 中发送
+                    return nearCache.write(ShardedRedisImpl.this, shardKeys, new PipelineCommand<Long>() {
+                        @Override
+                        public Response<Long> apply(Pipeline pipeline) {
+                            return pipeline.del(shardKeys);
+                        }
+                    });
+                }
+                return doDel(shard, shardKeys);
+            }
+        }));
+    }
+
+    @Override
+    public Long del(final byte[]... keys) {
+        Map<Integer, List<Integer>> groups = groupByShard(keys, 1);
+        if (groups.size() <= 1) {
+            return super.del(keys);
+        }
+        return sum(executeOnShards(groups, new ShardCommand<Long>() {
+            @Override
+            public Long execute(int shard, List<Integer> indexes) {
+                return doDel(shard, select(keys, indexes, 1));
+            }
+        }));
+    }
+
+    @Override
+    public Object eval(String script, int keyCount, String... params) {
+        requireSameShard("eval", Arrays.asList(params).subList(0, Math.min(Math.max(0, keyCount), params.length)));
+        return super.eval(script, keyCount, params);
+    }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        requireSameShard("eval", keys);
+        return super.eval(script, keys, args);
+    }
+
+    @Override
+    public Object evalsha(String sha1, List<String> keys, List<String> args) {
+        requireSameShard("evalsha", keys);
+        return super.evalsha(sha1, keys, args);
+    }
+
+    @Override
+    public Object evalsha(String sha1, int keyCount, String... params) {
+        requireSameShard("evalsha", Arrays.asList(params).subList(0, Math.min(Math.max(0, keyCount), params.length)));
+        return super.evalsha(sha1, keyCount, params);
+    }
+
+    @Override
+    public Object eval(byte[] script, byte[] keyCount, byte[]... params) {
+        int count = Integer.parseInt(SafeEncoder.encode(keyCount));
+        requireSameShard("eval", Arrays.asList(params).subList(0, Math.min(Math.max(0, count), params.length)));
+        return super.eval(script, keyCount, params);
+    }
+
+    @Override
+    public Object eval(byte[] script, int keyCount, byte[]... params) {
+        requireSameShard("eval", Arrays.asList(params).subList(0, Math.min(Math.max(0, keyCount), params.length)));
+        return super.eval(script, keyCount, params);
+    }
+
+    @Override
+    public Object eval(byte[] script, List<byte[]> keys, List<byte[]> args) {
+        requireSameShard("eval", keys);
+        return super.eval(script, keys, args);
+    }
+
+    @Override
+    public Object evalsha(byte[] sha1, List<byte[]> keys, List<byte[]> args) {
+        requireSameShard("evalsha", keys);
+        return super.evalsha(sha1, keys, args);
+    }
+
+    @Override
+    public Object evalsha(byte[] sha1, int keyCount, byte[]... params) {
+        requireSameShard("evalsha", Arrays.asList(params).subList(0, Math.min(Math.max(0, keyCount), params.length)));
+        return super.evalsha(sha1, keyCount, params);
+    }
+
+    @Override
+    public Object evalScript(RedisScript script, List<String> keys, List<String> args) {
+        requireSameShard("evalScript", keys);
+        return super.evalScript(script, keys, args);
+    }
+
+    @Override
+    public Long bitop(BitOP op, String destKey, String... srcKeys) {
+        requireSameShard("bitop", destKey, srcKeys);
+        return super.bitop(op, destKey, srcKeys);
+    }
+
+    @Override
+    public Long bitop(BitOP op, byte[] destKey, byte[]... srcKeys) {
+        requireSameShard("bitop", destKey, srcKeys);
+        return super.bitop(op, destKey, srcKeys);
+    }
+
+    @Override
+    public String brpoplpush(String source, String destination, int timeout) {
+        requireSameShard("brpoplpush", source, destination);
+        return super.brpoplpush(source, destination, timeout);
+    }
+
+    @Override
+    public byte[] brpoplpush(byte[] source, byte[] destination, int timeout) {
+        requireSameShard("brpoplpush", source, destination);
+        return super.brpoplpush(source, destination, timeout);
+    }
+
+    @Override
+    public List<String> blpop(int timeout, String... keys) {
+        requireSameShard("blpop", Arrays.asList(keys));
+        return super.blpop(timeout, keys);
+    }
+
+    @Override
+    public List<String> brpop(int timeout, String... keys) {
+        requireSameShard("brpop", Arrays.asList(keys));
+        return super.brpop(timeout, keys);
+    }
+
+    @Override
+    public List<byte[]> blpop(int timeout, byte[]... keys) {
+        requireSameShard("blpop", Arrays.asList(keys));
+        return super.blpop(timeout, keys);
+    }
+
+    @Override
+    public List<byte[]> brpop(int timeout, byte[]... keys) {
+        requireSameShard("brpop", Arrays.asList(keys));
+        return super.brpop(timeout, keys);
+    }
+
+    /**
+     * 最后一个参数是超时时间
+     */
+    @Override
+    public List<String> blpop(String... args) {
+        requireSameShard("blpop", Arrays.asList(args).subList(0, Math.max(0, args.length - 1)));
+        return super.blpop(args);
+    }
+
+    @Override
+    public List<String> brpop(String... args) {
+        requireSameShard("brpop", Arrays.asList(args).subList(0, Math.max(0, args.length - 1)));
+        return super.brpop(args);
+    }
+
+    @Override
+    public List<byte[]> blpop(byte[]... args) {
+        requireSameShard("blpop", Arrays.asList(args).subList(0, Math.max(0, args.length - 1)));
+        return super.blpop(args);
+    }
+
+    @Override
+    public List<byte[]> brpop(byte[]... args) {
+        requireSameShard("brpop", Arrays.asList(args).subList(0, Math.max(0, args.length - 1)));
+        return super.brpop(args);
+    }
+
+    /**
+     * 在每个分片上执行 KEYS 后合并，key 很多时请使用 scanKeys
+     */
+    @Override
+    public Set<String> keys(final String pattern) {
+        Set<String> result = new HashSet<>();
+        for (int shard = 0; shard < getShardedProvider().getShardCount(); ++shard) {
+            result.addAll(executeOnShard(shard, true, new JedisExecutor<Set<String>>() {
+                @Override
+                public Set<String> execute(Jedis jedis) {
+                    return jedis.keys(pattern);
+                }
+            }, null, null, null));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<byte[]> keys(final byte[] pattern) {
+        Set<byte[]> result = new LinkedHashSet<>();
+        for (int shard = 0; shard < getShardedProvider().getShardCount(); ++shard) {
+            result.addAll(executeOnShard(shard, true, new JedisExecutor<Set<byte[]>>() {
+                @Override
+                public Set<byte[]> execute(Jedis jedis) {
+                    return jedis.keys(pattern);
+                }
+            }, null, null, null));
+        }
+        return result;
+    }
+
+    /**
+     * 全部分片的 key 数量之和
+     */
+    @Override
+    public Long dbSize() {
+        long total = 0;
+        for (int shard = 0; shard < getShardedProvider().getShardCount(); ++shard) {
+            Long size = executeOnShard(shard, true, new JedisExecutor<Long>() {
+                @Override
+                public Long execute(Jedis jedis) {
+                    return jedis.dbSize();
+                }
+            }, null, null, null);
+            total += null == size ? 0 : size;
+        }
+        return total;
+    }
+
+    /**
+     * 游标只对应一个分片，请使用 scanKeys
+     */
+    @Override
+    public ScanResult<String> scan(String cursor) {
+        throw new UnsupportedOperationException("分片模式不支持 scan(cursor)，请使用 scanKeys");
+    }
+
+    @Override
+    public ScanResult<String> scan(String cursor, ScanParams params) {
+        throw new UnsupportedOperationException("分片模式不支持 scan(cursor, params)，请使用 scanKeys");
+    }
+
+    private List<String> doMget(int shard, final String[] keys) {
+        return executeOnShard(shard, true, new JedisExecutor<List<String>>() {
+            @Override
+            public List<String> execute(Jedis jedis) {
+                return jedis.mget(keys);
+            }
+        }, null, null, null);
+    }
+
+    private List<byte[]> doMget(int shard, final byte[][] keys) {
+        return executeOnShard(shard, true, new JedisExecutor<List<byte[]>>() {
+            @Override
+            public List<byte[]> execute(Jedis jedis) {
+                return jedis.mget(keys);
+            }
+        }, null, null, null);
+    }
+
+    private String doMset(int shard, final String[] keysvalues) {
+        return executeOnShard(shard, false, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.mset(keysvalues);
+            }
+        }, null, null, null);
+    }
+
+    private String doMset(int shard, final byte[][] keysvalues) {
+        return executeOnShard(shard, false, new JedisExecutor<String>() {
+            @Override
+            public String execute(Jedis jedis) {
+                return jedis.mset(keysvalues);
+            }
+        }, null, null, null);
+    }
+
+    private Long doDel(int shard, final String[] keys) {
+        return executeOnShard(shard, false, new JedisExecutor<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                return jedis.del(keys);
+            }
+        }, null, null, null);
+    }
+
+    private Long doDel(int shard, final byte[][] keys) {
+        return executeOnShard(shard, false, new JedisExecutor<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                return jedis.del(keys);
+            }
+        }, null, null, null);
+    }
+
+    /**
+     * 依次扫描每个分片，parallelStream() 时并行扫描
+     */
+    @Override
+    public ScanIterator<String> scanKeys(String pattern, int count) {
+        final ScanParams params = scanParams(pattern, count);
+        List<ScanIterator<String>> shards = new ArrayList<>();
+        for (int i = 0; i < getShardedProvider().getShardCount(); ++i) {
+            final int shard = i;
+            shards.add(new CursorScanIterator<String>() {
+                @Override
+                protected ScanResult<String> scan(String cursor) {
+                    return doScan(shard, cursor, params);
+                }
+            });
+        }
+        return new CompositeScanIterator<>(shards);
+    }
+
+    private ScanResult<String> doScan(int shard, final String cursor, final ScanParams params) {
+        return executeOnShard(shard, false, new JedisExecutor<ScanResult<String>>() {
+            @Override
+            public ScanResult<String> execute(Jedis jedis) {
+                return jedis.scan(cursor, params);
+            }
+        }, null, null, null);
+    }
+
+    /**
+     * 在分片上执行命令，executor 和 keyExecutor 只会有一个不为 null
+     */
+    private <T> T executeOnShard(int shard, boolean read, JedisExecutor<T> executor, JedisKeyExecutor<T> keyExecutor, String key, String arg) {
+        ShardedJedisProvider shardedProvider = getShardedProvider();
+        RedisCircuitBreaker breaker = breaker(executor);
+        long breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        CommandMetrics command = commandMetrics(null != executor ? executor : keyExecutor);
+        long startNanos = null == command ? 0L : command.begin();
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = read ? shardedProvider.getReadResource(shard) : shardedProvider.getResource(shard);
+            return null != executor ? executor.execute(jedis) : keyExecutor.execute(jedis, key, arg);
+        } catch (Exception e) {
+            error = e;
+            logger.warn("Redis 执行错误, 销毁该连接{}，ERROR={}", jedis, e.getMessage(), e);
+            throw e;
+        } finally {
+            this.closeResource(jedis);
+            if (null != command) {
+                command.end(startNanos, null != error);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    /**
+     * 按分片对 key 分组
+     *
+     * @param keys key 数组，step 为 2 时是 key、value 交替
+     * @param step key 之间的间隔
+     * @return 分片下标到 key 在数组中位置的映射，按分片第一次出现的顺序
+     */
+    private Map<Integer, List<Integer>> groupByShard(Object[] keys, int step) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        if (null == keys) {
+            return groups;
+        }
+        ShardedJedisProvider shardedProvider = getShardedProvider();
+        for (int i = 0; i + step - 1 < keys.length; i += step) {
+            int shard = shardOf(shardedProvider, keys[i]);
+            List<Integer> indexes = groups.get(shard);
+            if (null == indexes) {
+                indexes = new ArrayList<>();
+                groups.put(shard, indexes);
+            }
+            indexes.add(i);
+        }
+        return groups;
+    }
+
+    private void requireSameShard(String command, Object first, Object[] others) {
+        List<Object> keys = new ArrayList<>(1 + (null == others ? 0 : others.length));
+        keys.add(first);
+        if (null != others) {
+            keys.addAll(Arrays.asList(others));
+        }
+        requireSameShard(command, keys);
+    }
+
+    private void requireSameShard(String command, Object first, Object second) {
+        requireSameShard(command, Arrays.asList(first, second));
+    }
+
+    /**
+     * 多 key 命令只能在一个分片上执行，key 不在同一个分片时抛出异常，与集群模式的 CROSSSLOT 错误一致
+     */
+    private void requireSameShard(String command, List<?> keys) {
+        if (null == keys || keys.size() <= 1) {
+            return;
+        }
+        ShardedJedisProvider shardedProvider = getShardedProvider();
+        int shard = shardOf(shardedProvider, keys.get(0));
+        for (int i = 1; i < keys.size(); ++i) {
+            if (shardOf(shardedProvider, keys.get(i)) != shard) {
+                throw new JedisDataException("CROSSSHARD " + command + " 的 key 不在同一个分片中，请使用 {hashTag} 让这些 key 落在同一个分片");
+            }
+        }
+    }
+
+    private static int shardOf(ShardedJedisProvider shardedProvider, Object key) {
+        return key instanceof byte[] ? shardedProvider.getShard((byte[]) key) : shardedProvider.getShard((String) key);
+    }
+
+    private static <K> K[] select(K[] keys, List<Integer> indexes, int step) {
+        K[] selected = Arrays.copyOf(keys, indexes.size() * step);
+        int position = 0;
+        for (Integer index : indexes) {
+            for (int i = 0; i < step; ++i) {
+                selected[position++] = keys[index + i];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 除第一个分片外提交到线程池并行执行，第一个分片在调用线程执行，全部完成后返回
+     *
+     * @return 分片下标到执行结果的映射
+     */
+    private <T> Map<Integer, T> executeOnShards(Map<Integer, List<Integer>> groups, final ShardCommand<T> command) {
+        ExecutorService executor = getExecutorService();
+        Map<Integer, Future<T>> futures = new LinkedHashMap<>();
+        Map.Entry<Integer, List<Integer>> first = null;
+        for (final Map.Entry<Integer, List<Integer>> entry : groups.entrySet()) {
+            if (null == first) {
+                first = entry;
+                continue;
+            }
+            futures.put(entry.getKey(), executor.submit(new Callable<T>() {
+                @Override
+                public T call() {
+                    return command.execute(entry.getKey(), entry.getValue());
+                }
+            }));
+        }
+
+        Map<Integer, T> results = new LinkedHashMap<>();
+        results.put(first.getKey(), command.execute(first.getKey(), first.getValue()));
+        for (Map.Entry<Integer, Future<T>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new JedisException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JedisException("Redis 分片命令执行被中断", e);
+            }
+        }
+        return results;
+    }
+
+    private static String mergeStatus(Map<Integer, String> results) {
+        for (String status : results.values()) {
+            if (!OK.equals(status)) {
+                return status;
+            }
+        }
+        return OK;
+    }
+
+    private static Long sum(Map<Integer, Long> results) {
+        long total = 0;
+        for (Long value : results.values()) {
+            total += null == value ? 0 : value;
+        }
+        return total;
+    }
+
+    private ExecutorService getExecutorService() {
+        ExecutorService executor = executorService;
+        if (null == executor) {
+            synchronized (this) {
+                executor = executorService;
+                if (null == executor) {
+                    int size = threads > 0 ? threads : getShardedProvider().getShardCount();
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+                            new NamedThreadFactory("redis-sharded-" + redisId + "-"),
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                    pool.allowCoreThreadTimeOut(true);
+                    executorService = pool;
+                    executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private ShardedJedisProvider getShardedProvider() {
+        if (!(provider instanceof ShardedJedisProvider)) {
+            throw new IllegalStateException("ShardedRedisImpl 需要使用 " + ShardedJedisProvider.class.getName() + ", 当前是: " + provider);
+        }
+        return (ShardedJedisProvider) provider;
+    }
+
+    /**
+     * 在单个分片上执行的命令
+     */
+    private interface ShardCommand<T> {
+
+        T execute(int shard, List<Integer> indexes);
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        private final String prefix;
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
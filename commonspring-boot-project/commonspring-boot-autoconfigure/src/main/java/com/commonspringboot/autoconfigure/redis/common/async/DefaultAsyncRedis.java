@@ -0,0 +1,629 @@
+package com.commonspringboot.autoconfigure.redis.common.async;
+
+import com.commonspringboot.autoconfigure.redis.common.AsyncRedis;
+import com.commonspringboot.autoconfigure.redis.common.JedisExecutor;
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.AsyncConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * 默认的异步 Redis 实现
+ *
+ * 每个 Redis 使用独立的有界线程池，线程数建议不超过连接池大小，队列满了之后由调用线程直接执行；
+ * 开启 virtualThreads 且 JDK 支持时，每个命令使用一个虚拟线程，并发数仍然受连接池限制
+ * </pre>
+ *
+ * @author yzy
+ */
+public class DefaultAsyncRedis implements AsyncRedis {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncRedis.class);
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+
+    /**
+     * Redis ID，用于线程命名以及日志
+     */
+    private String redisId;
+
+    /**
+     * 同步 Redis
+     */
+    private Redis redis;
+
+    private AsyncConfig config = new AsyncConfig();
+
+    private volatile ExecutorService executorService;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    @Override
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    public AsyncConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(AsyncConfig config) {
+        this.config = config;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * 创建执行线程池
+     */
+    public synchronized void start() {
+        if (null != executorService) {
+            return;
+        }
+        if (config.isVirtualThreads()) {
+            executorService = newVirtualThreadExecutor();
+        }
+        if (null == executorService) {
+            int threads = Math.max(1, config.getThreads());
+            executorService = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(Math.max(1, config.getQueueCapacity())),
+                    new NamedThreadFactory("redis-async-" + redisId + "-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        LOGGER.info("Redis[{}] 异步执行线程池：{}", redisId, config);
+    }
+
+    /**
+     * 关闭执行线程池，等待已提交的命令执行完成
+     */
+    public synchronized void shutdown() {
+        if (null == executorService) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executorService = null;
+    }
+
+    /**
+     * JDK 21 及以上通过反射创建虚拟线程执行器，编译目标仍然是 JDK 8
+     */
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            LOGGER.warn("Redis[{}] 当前 JDK[{}] 不支持虚拟线程，使用平台线程池", redisId, System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    protected <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        if (null == executorService) {
+            start();
+        }
+        return CompletableFuture.supplyAsync(supplier, executorService);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(final JedisExecutor<T> executor) {
+        return supply(new Supplier<T>() {
+            @Override
+            public T get() {
+                return redis.execute(executor);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeByKey(final String key, final JedisExecutor<T> executor) {
+        return supply(new Supplier<T>() {
+            @Override
+            public T get() {
+                return redis.executeByKey(key, executor);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executePipelined(final PipelineExecutor<T> executor) {
+        return supply(new Supplier<T>() {
+            @Override
+            public T get() {
+                return redis.execute(executor);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executePipelinedByKey(final String key, final PipelineExecutor<T> executor) {
+        return supply(new Supplier<T>() {
+            @Override
+            public T get() {
+                return redis.executePipelinedByKey(key, executor);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> get(final String key) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.get(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> set(final String key, final String value) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.set(key, value);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> set(final String key, final String value, final int expireSeconds) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.set(key, value, expireSeconds);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> mget(final String... keys) {
+        return supply(new Supplier<List<String>>() {
+            @Override
+            public List<String> get() {
+                return redis.mget(keys);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> incr(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.incr(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(final String key, final long integer) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.incrBy(key, integer);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> decr(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.decr(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> del(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.del(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> del(final String... keys) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.del(keys);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final String key) {
+        return supply(new Supplier<Boolean>() {
+            @Override
+            public Boolean get() {
+                return redis.exists(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> expire(final String key, final int expireSeconds) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.expire(key, expireSeconds);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> ttl(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.ttl(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> hget(final String key, final String field) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.hget(key, field);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> hgetAll(final String key) {
+        return supply(new Supplier<Map<String, String>>() {
+            @Override
+            public Map<String, String> get() {
+                return redis.hgetAll(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> hmget(final String key, final String... fields) {
+        return supply(new Supplier<List<String>>() {
+            @Override
+            public List<String> get() {
+                return redis.hmget(key, fields);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> hset(final String key, final String field, final String value) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.hset(key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> hmset(final String key, final Map<String, String> hash) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.hmset(key, hash);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> hincrBy(final String key, final String field, final long value) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.hincrBy(key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> hdel(final String key, final String... fields) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.hdel(key, fields);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> lpush(final String key, final String... values) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.lpush(key, values);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> rpush(final String key, final String... values) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.rpush(key, values);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> lrange(final String key, final long start, final long end) {
+        return supply(new Supplier<List<String>>() {
+            @Override
+            public List<String> get() {
+                return redis.lrange(key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> llen(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.llen(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> sadd(final String key, final String... members) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.sadd(key, members);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> srem(final String key, final String... members) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.srem(key, members);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> smembers(final String key) {
+        return supply(new Supplier<Set<String>>() {
+            @Override
+            public Set<String> get() {
+                return redis.smembers(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sismember(final String key, final String member) {
+        return supply(new Supplier<Boolean>() {
+            @Override
+            public Boolean get() {
+                return redis.sismember(key, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> scard(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.scard(key);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> zadd(final String key, final double score, final String member) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.zadd(key, score, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Double> zincrby(final String key, final double score, final String member) {
+        return supply(new Supplier<Double>() {
+            @Override
+            public Double get() {
+                return redis.zincrby(key, score, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Double> zscore(final String key, final String member) {
+        return supply(new Supplier<Double>() {
+            @Override
+            public Double get() {
+                return redis.zscore(key, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> zrank(final String key, final String member) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.zrank(key, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> zrevrank(final String key, final String member) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.zrevrank(key, member);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrange(final String key, final long start, final long end) {
+        return supply(new Supplier<Set<String>>() {
+            @Override
+            public Set<String> get() {
+                return redis.zrange(key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrevrange(final String key, final long start, final long end) {
+        return supply(new Supplier<Set<String>>() {
+            @Override
+            public Set<String> get() {
+                return redis.zrevrange(key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<Tuple>> zrevrangeWithScores(final String key, final long start, final long end) {
+        return supply(new Supplier<Set<Tuple>>() {
+            @Override
+            public Set<Tuple> get() {
+                return redis.zrevrangeWithScores(key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrangeByScore(final String key, final double min, final double max) {
+        return supply(new Supplier<Set<String>>() {
+            @Override
+            public Set<String> get() {
+                return redis.zrangeByScore(key, min, max);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> zcard(final String key) {
+        return supply(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return redis.zcard(key);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getObject(final String key, final Class<T> type) {
+        return supply(new Supplier<T>() {
+            @Override
+            public T get() {
+                return redis.getObject(key, type);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> setObject(final String key, final Object value) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.setObject(key, value);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> setObject(final String key, final Object value, final int expireSeconds) {
+        return supply(new Supplier<String>() {
+            @Override
+            public String get() {
+                return redis.setObject(key, value, expireSeconds);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> mgetObjects(final Class<T> type, final String... keys) {
+        return supply(new Supplier<List<T>>() {
+            @Override
+            public List<T> get() {
+                return redis.mgetObjects(type, keys);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> hgetAllAs(final String key, final Class<T> type) {
+        return supply(new Supplier<Map<String, T>>() {
+            @Override
+            public Map<String, T> get() {
+                return redis.hgetAllAs(key, type);
+            }
+        });
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        private final String prefix;
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.commonspringboot.autoconfigure.redis.common.batch;
+
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+/**
+ * 可以被合并到 Pipeline 中执行的单条命令
+ *
+ * @param <T> 结果返回类型
+ * @author yzy
+ */
+public interface PipelineCommand<T> {
+
+    /**
+     * 将命令追加到管道中
+     *
+     * @param pipeline 管道
+     * @return 返回该命令的响应，在管道 sync 之后可以获取结果
+     */
+    Response<T> apply(Pipeline pipeline);
+}
@@ -0,0 +1,340 @@
+package com.commonspringboot.autoconfigure.redis.common.batch;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.model.CoalesceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <pre>
+ * 单 key 命令合并器
+ *
+ * 并发调用的单 key 命令先进入队列，由发送线程在 windowMicros 时间窗口内或凑满 maxBatchSize 条之后，
+ * 使用一个连接以 Pipeline 的方式一次性发送，每个调用者从各自的 Response 中获取结果。
+ * 队列满了之后调用线程直接使用一个连接发送自己的命令，不会阻塞。
+ * 未启动或者已关闭时拒绝提交，抛出 JedisConnectionException。
+ * 每个 Pipeline 作为一次调用经过熔断器，熔断期间整批命令直接失败，不再占用连接。
+ *
+ * 等待超时只表示调用者不再等待，命令可能已经发送并执行，incr/incrBy 这类非幂等命令超时后直接重试可能会重复累加，
+ * 调用者需要自行判断是否重试，或者改用带去重的写法。
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisCommandCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCommandCoalescer.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * Redis ID，用于线程命名以及日志
+     */
+    private String redisId;
+
+    /**
+     * Jedis 提供者
+     */
+    private JedisProvider provider;
+
+    /**
+     * 合并配置
+     */
+    private CoalesceConfig config = new CoalesceConfig();
+
+    /**
+     * 熔断器，未开启熔断时为 null
+     */
+    private RedisCircuitBreaker circuitBreaker;
+
+    private BlockingQueue<PendingCommand<?>> queue;
+
+    private List<Thread> flushers;
+
+    private volatile boolean running = false;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public JedisProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(JedisProvider provider) {
+        this.provider = provider;
+    }
+
+    public CoalesceConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(CoalesceConfig config) {
+        this.config = config;
+    }
+
+    public RedisCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(RedisCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 启动发送线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        running = true;
+
+        int threads = Math.max(1, config.getFlushThreads());
+        flushers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; ++i) {
+            Thread flusher = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    flushLoop();
+                }
+            }, "redis-coalescer-" + redisId + "-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            flushers.add(flusher);
+        }
+        LOGGER.info("Redis[{}] 开启命令合并：{}", redisId, config);
+    }
+
+    /**
+     * 停止发送线程，队列中剩余的命令会在停止前发送完毕
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread flusher : flushers) {
+            try {
+                flusher.join(config.getWaitTimeoutMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flushers = null;
+
+        // 兜底，保证不会有调用者一直等待
+        List<PendingCommand<?>> remains = new ArrayList<>();
+        queue.drainTo(remains);
+        if (!remains.isEmpty()) {
+            flush(remains);
+        }
+    }
+
+    /**
+     * 提交命令并等待结果，超时抛出 JedisConnectionException 时命令可能已经执行
+     *
+     * @param command 命令
+     * @param <T>     结果返回类型
+     * @return 返回执行结果
+     */
+    public <T> T execute(PipelineCommand<T> command) {
+        PendingCommand<T> pending = new PendingCommand<>(command);
+        enqueue(pending);
+        return await(pending.future);
+    }
+
+    /**
+     * 提交命令，不等待结果
+     *
+     * @param command 命令
+     * @param <T>     结果返回类型
+     * @return 返回结果 Future
+     */
+    public <T> CompletableFuture<T> submit(PipelineCommand<T> command) {
+        PendingCommand<T> pending = new PendingCommand<>(command);
+        enqueue(pending);
+        return pending.future;
+    }
+
+    /**
+     * 放入队列，队列已满时由调用线程直接发送
+     */
+    private void enqueue(PendingCommand<?> pending) {
+        if (!running) {
+            throw rejected();
+        }
+        if (!queue.offer(pending)) {
+            flush(Collections.<PendingCommand<?>>singletonList(pending));
+            return;
+        }
+        // 入队的同时被关闭，关闭时的兜底发送可能已经结束；还在队列中就取回并拒绝，已被取走的由取走的线程发送
+        if (!running && queue.remove(pending)) {
+            throw rejected();
+        }
+    }
+
+    private JedisConnectionException rejected() {
+        return new JedisConnectionException("Redis[" + redisId + "] 命令合并器未启动或已关闭");
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(config.getWaitTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JedisException("Redis[" + redisId + "] 等待合并命令结果被中断", e);
+        } catch (TimeoutException e) {
+            throw new JedisConnectionException("Redis[" + redisId + "] 等待合并命令结果超时: " + config.getWaitTimeoutMillis() + "ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new JedisException(cause);
+        }
+    }
+
+    private void flushLoop() {
+        int maxBatchSize = Math.max(1, config.getMaxBatchSize());
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, config.getWindowMicros()));
+        List<PendingCommand<?>> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCommand<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (null == first) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, maxBatchSize, windowNanos);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOGGER.warn("Redis[{}] 合并命令发送线程异常: {}", redisId, e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 在时间窗口内尽可能多地收集命令
+     */
+    private void collect(List<PendingCommand<?>> batch, int maxBatchSize, long windowNanos) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        if (windowNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingCommand<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (null == next) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PendingCommand<?>> batch) {
+        RedisCircuitBreaker breaker = circuitBreaker;
+        long breakerStartNanos;
+        try {
+            breakerStartNanos = null == breaker ? 0L : breaker.acquire();
+        } catch (RuntimeException e) {
+            // 熔断期间整批直接失败
+            for (PendingCommand<?> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+        Exception error = null;
+        Jedis jedis = null;
+        try {
+            jedis = provider.getResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (PendingCommand<?> pending : batch) {
+                pending.apply(pipeline);
+            }
+            pipeline.sync();
+            for (PendingCommand<?> pending : batch) {
+                pending.complete();
+            }
+        } catch (Exception e) {
+            error = e;
+            LOGGER.warn("Redis[{}] 合并命令执行错误, 连接{}, 命令数={}, ERROR={}", redisId, jedis, batch.size(), e.getMessage());
+            for (PendingCommand<?> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        } finally {
+            if (null != jedis) {
+                provider.closeResource(jedis);
+            }
+            if (null != breaker) {
+                breaker.release(breakerStartNanos, error);
+            }
+        }
+    }
+
+    private static class PendingCommand<T> {
+
+        private final PipelineCommand<T> command;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Response<T> response;
+
+        PendingCommand(PipelineCommand<T> command) {
+            this.command = command;
+        }
+
+        void apply(Pipeline pipeline) {
+            response = command.apply(pipeline);
+        }
+
+        void complete() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(response.get());
+            } catch (Exception e) {
+                // 单条命令的错误只影响自己
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
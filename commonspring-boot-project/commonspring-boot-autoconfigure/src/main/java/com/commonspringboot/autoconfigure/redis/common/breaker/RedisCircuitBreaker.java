@@ -0,0 +1,293 @@
+package com.commonspringboot.autoconfigure.redis.common.breaker;
+
+import com.commonspringboot.autoconfigure.redis.common.model.CircuitBreakerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 单个 Redis 的熔断器，由 AbstractRedis 在获取连接之前调用 acquire，命令结束后调用 release
+ *
+ * 1. CLOSED：按秒分桶统计最近 windowSeconds 秒的调用数、连接错误数、慢调用数，
+ *    只有连接错误或慢调用发生时才计算比例，调用数达到 minimumCalls 且任一比例超过阈值时熔断
+ * 2. OPEN：直接抛出 RedisCircuitOpenException，不再等待连接超时和连接池的 maxWaitMillis
+ * 3. HALF_OPEN：熔断 openMillis 之后放行 halfOpenCalls 个试探调用，其余调用仍然拒绝；
+ *    试探调用全部成功后恢复为 CLOSED，任何一个失败或者慢调用重新熔断
+ *
+ * 只有 JedisConnectionException（连接失败、读写超时、连接池耗尽）算作错误，WRONGTYPE 等命令错误不影响熔断
+ * 阻塞命令（BlockingJedisExecutor）只调用 check，不计入统计，也不占用试探名额
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisCircuitBreaker {
+
+    public static final int CLOSED = 0;
+
+    public static final int OPEN = 1;
+
+    public static final int HALF_OPEN = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder opened = new LongAdder();
+
+    private String redisId;
+
+    private CircuitBreakerConfig config = new CircuitBreakerConfig();
+
+    private volatile Bucket[] buckets;
+
+    private volatile long openedAtNanos;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取执行许可
+     *
+     * @return 返回开始时间，传给 release
+     * @throws RedisCircuitOpenException 熔断中
+     */
+    public long acquire() {
+        int current = state.get();
+        if (current == CLOSED) {
+            return System.nanoTime();
+        }
+
+        long now = System.nanoTime();
+        if (current == OPEN) {
+            if (now - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(config.getOpenMillis())) {
+                throw reject();
+            }
+            if (state.compareAndSet(OPEN, HALF_OPEN)) {
+                halfOpenSuccesses.set(0);
+                halfOpenPermits.set(Math.max(1, config.getHalfOpenCalls()));
+                LOGGER.info("Redis[{}] 熔断进入半开状态，放行 {} 个试探调用", redisId, config.getHalfOpenCalls());
+            }
+        }
+        if (state.get() == HALF_OPEN && halfOpenPermits.getAndDecrement() > 0) {
+            return now;
+        }
+        throw reject();
+    }
+
+    /**
+     * 阻塞命令使用，熔断持续时间内拒绝，其他时候直接放行，不占用试探名额，也不需要调用 release
+     *
+     * @throws RedisCircuitOpenException 熔断中
+     */
+    public void check() {
+        if (state.get() == OPEN && System.nanoTime() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(config.getOpenMillis())) {
+            throw reject();
+        }
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param startNanos acquire 返回的开始时间
+     * @param error      调用抛出的异常，成功时为 null
+     */
+    public void release(long startNanos, Throwable error) {
+        boolean failed = error instanceof JedisConnectionException;
+        long slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallMillis());
+        boolean slow = slowCallNanos > 0 && System.nanoTime() - startNanos >= slowCallNanos;
+
+        int current = state.get();
+        if (current == HALF_OPEN) {
+            if (failed || slow) {
+                trip(HALF_OPEN, failed ? "试探调用连接错误" : "试探调用慢调用");
+            } else if (halfOpenSuccesses.incrementAndGet() >= Math.max(1, config.getHalfOpenCalls())
+                    && state.compareAndSet(HALF_OPEN, CLOSED)) {
+                buckets = null;
+                LOGGER.info("Redis[{}] 熔断恢复", redisId);
+            }
+            return;
+        }
+        if (current != CLOSED) {
+            return;
+        }
+
+        Bucket bucket = currentBucket(startNanos);
+        bucket.calls.increment();
+        if (failed) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        if (failed || slow) {
+            checkThresholds();
+        }
+    }
+
+    /**
+     * 手动恢复为 CLOSED 并清空统计
+     */
+    public void reset() {
+        buckets = null;
+        state.set(CLOSED);
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    public String getStateName() {
+        switch (state.get()) {
+            case OPEN:
+                return "OPEN";
+            case HALF_OPEN:
+                return "HALF_OPEN";
+            default:
+                return "CLOSED";
+        }
+    }
+
+    /**
+     * 被拒绝的调用数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 熔断次数
+     */
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    /**
+     * 窗口内的连接错误比例，百分比
+     */
+    public double getFailureRate() {
+        long[] totals = windowTotals();
+        return totals[0] == 0 ? 0 : totals[1] * 100.0 / totals[0];
+    }
+
+    /**
+     * 窗口内的慢调用比例，百分比
+     */
+    public double getSlowCallRate() {
+        long[] totals = windowTotals();
+        return totals[0] == 0 ? 0 : totals[2] * 100.0 / totals[0];
+    }
+
+    private void checkThresholds() {
+        long[] totals = windowTotals();
+        if (totals[0] < Math.max(1, config.getMinimumCalls())) {
+            return;
+        }
+        if (totals[1] * 100 >= totals[0] * config.getFailureRateThreshold()) {
+            trip(CLOSED, "连接错误比例 " + totals[1] * 100 / totals[0] + "%");
+        } else if (config.getSlowCallMillis() > 0 && totals[2] * 100 >= totals[0] * config.getSlowCallRateThreshold()) {
+            trip(CLOSED, "慢调用比例 " + totals[2] * 100 / totals[0] + "%");
+        }
+    }
+
+    private void trip(int from, String reason) {
+        if (state.compareAndSet(from, OPEN)) {
+            openedAtNanos = System.nanoTime();
+            opened.increment();
+            LOGGER.warn("Redis[{}] 熔断，原因：{}，{}ms 后试探恢复", redisId, reason, config.getOpenMillis());
+        }
+    }
+
+    private RedisCircuitOpenException reject() {
+        rejected.increment();
+        return new RedisCircuitOpenException("Redis[" + redisId + "] 熔断中，拒绝执行");
+    }
+
+    /**
+     * 汇总窗口内的统计
+     *
+     * @return {调用数, 连接错误数, 慢调用数}
+     */
+    private long[] windowTotals() {
+        long[] totals = new long[3];
+        Bucket[] current = buckets;
+        if (null == current) {
+            return totals;
+        }
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        for (Bucket bucket : current) {
+            long age = second - bucket.second;
+            if (age >= 0 && age < current.length) {
+                totals[0] += bucket.calls.sum();
+                totals[1] += bucket.failures.sum();
+                totals[2] += bucket.slowCalls.sum();
+            }
+        }
+        return totals;
+    }
+
+    private Bucket currentBucket(long nanos) {
+        Bucket[] current = buckets;
+        if (null == current) {
+            synchronized (this) {
+                current = buckets;
+                if (null == current) {
+                    current = new Bucket[Math.max(1, config.getWindowSeconds())];
+                    for (int i = 0; i < current.length; ++i) {
+                        current[i] = new Bucket();
+                    }
+                    buckets = current;
+                }
+            }
+        }
+        long second = nanos / NANOS_PER_SECOND;
+        Bucket bucket = current[(int) ((second % current.length + current.length) % current.length)];
+        if (bucket.second != second) {
+            synchronized (bucket) {
+                if (bucket.second != second) {
+                    bucket.calls.reset();
+                    bucket.failures.reset();
+                    bucket.slowCalls.reset();
+                    bucket.second = second;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private static class Bucket {
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder slowCalls = new LongAdder();
+
+        private volatile long second = Long.MIN_VALUE;
+    }
+}
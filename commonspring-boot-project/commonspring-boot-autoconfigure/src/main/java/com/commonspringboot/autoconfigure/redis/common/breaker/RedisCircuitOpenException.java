@@ -0,0 +1,17 @@
+package com.commonspringboot.autoconfigure.redis.common.breaker;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+/**
+ * 熔断期间拒绝执行命令，继承 JedisConnectionException，原来按连接失败处理的代码不需要修改
+ *
+ * @author yzy
+ */
+public class RedisCircuitOpenException extends JedisConnectionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisCircuitOpenException(String message) {
+        super(message);
+    }
+}
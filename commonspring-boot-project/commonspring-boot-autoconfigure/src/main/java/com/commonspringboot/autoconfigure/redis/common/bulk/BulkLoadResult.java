@@ -0,0 +1,95 @@
+package com.commonspringboot.autoconfigure.redis.common.bulk;
+
+import java.util.List;
+
+/**
+ * 批量写入结果
+ *
+ * @author yzy
+ */
+public class BulkLoadResult {
+
+    private final long submitted;
+
+    private final long succeeded;
+
+    private final long failed;
+
+    private final long batches;
+
+    private final long bytes;
+
+    private final long elapsedMillis;
+
+    private final List<String> failedKeys;
+
+    public BulkLoadResult(long submitted, long succeeded, long failed, long batches, long bytes, long elapsedMillis, List<String> failedKeys) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.batches = batches;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+        this.failedKeys = failedKeys;
+    }
+
+    /**
+     * 读取到的命令数
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * 发送的管道数
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * 估算的写入字节数
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 失败的 key，最多记录 BulkLoadConfig.maxFailedKeys 个
+     */
+    public List<String> getFailedKeys() {
+        return failedKeys;
+    }
+
+    /**
+     * 每秒完成的命令数
+     */
+    public double getThroughput() {
+        return elapsedMillis <= 0 ? succeeded + failed : (succeeded + failed) * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadResult{" +
+                "submitted=" + submitted +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", batches=" + batches +
+                ", bytes=" + bytes +
+                ", elapsedMillis=" + elapsedMillis +
+                ", throughput=" + String.format("%.1f", getThroughput()) +
+                '}';
+    }
+}
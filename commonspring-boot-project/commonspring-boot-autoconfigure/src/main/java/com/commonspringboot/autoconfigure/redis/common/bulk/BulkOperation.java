@@ -0,0 +1,208 @@
+package com.commonspringboot.autoconfigure.redis.common.bulk;
+
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.SafeEncoder;
+
+import java.util.Map;
+
+/**
+ * <pre>
+ * 批量写入中的一个命令，只操作一个 key，集群和分片模式下按 key 分组到对应的节点
+ *
+ * 常用命令通过静态方法创建，其他命令可以继承并实现 apply
+ * </pre>
+ *
+ * @author yzy
+ */
+public abstract class BulkOperation {
+
+    private final String key;
+
+    protected BulkOperation(String key) {
+        if (null == key) {
+            throw new IllegalArgumentException("key 不能为 null");
+        }
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 估算的请求字节数，用于按字节数切分管道和限制内存
+     *
+     * @return 返回字节数
+     */
+    public abstract int estimateBytes();
+
+    /**
+     * 把命令加入管道
+     *
+     * @param pipeline 管道
+     * @return 返回命令的响应，管道同步之后可以获取结果
+     */
+    public abstract Response<?> apply(Pipeline pipeline);
+
+    public static BulkOperation set(final String key, final String value) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + value.length();
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.set(key, value);
+            }
+        };
+    }
+
+    public static BulkOperation setex(final String key, final int seconds, final String value) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + value.length();
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.setex(key, seconds, value);
+            }
+        };
+    }
+
+    /**
+     * 设置二进制值，例如 RedisCodec 编码之后的对象
+     *
+     * @param key     key
+     * @param value   值
+     * @param seconds 过期时间，单位是秒，小于等于 0 时不过期
+     * @return 返回命令
+     */
+    public static BulkOperation set(final String key, final byte[] value, final int seconds) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + value.length;
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                byte[] rawKey = SafeEncoder.encode(key);
+                return seconds > 0 ? pipeline.setex(rawKey, seconds, value) : pipeline.set(rawKey, value);
+            }
+        };
+    }
+
+    public static BulkOperation hset(final String key, final String field, final String value) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + field.length() + value.length();
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.hset(key, field, value);
+            }
+        };
+    }
+
+    public static BulkOperation hmset(final String key, final Map<String, String> hash) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                int bytes = key.length();
+                for (Map.Entry<String, String> entry : hash.entrySet()) {
+                    bytes += entry.getKey().length() + entry.getValue().length();
+                }
+                return bytes;
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.hmset(key, hash);
+            }
+        };
+    }
+
+    public static BulkOperation sadd(final String key, final String... members) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + totalLength(members);
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.sadd(key, members);
+            }
+        };
+    }
+
+    public static BulkOperation zadd(final String key, final double score, final String member) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + member.length() + 8;
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.zadd(key, score, member);
+            }
+        };
+    }
+
+    public static BulkOperation rpush(final String key, final String... values) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + totalLength(values);
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.rpush(key, values);
+            }
+        };
+    }
+
+    public static BulkOperation expire(final String key, final int seconds) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length() + 4;
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.expire(key, seconds);
+            }
+        };
+    }
+
+    public static BulkOperation del(final String key) {
+        return new BulkOperation(key) {
+            @Override
+            public int estimateBytes() {
+                return key.length();
+            }
+
+            @Override
+            public Response<?> apply(Pipeline pipeline) {
+                return pipeline.del(key);
+            }
+        };
+    }
+
+    private static int totalLength(String[] values) {
+        int length = 0;
+        for (String value : values) {
+            length += value.length();
+        }
+        return length;
+    }
+}
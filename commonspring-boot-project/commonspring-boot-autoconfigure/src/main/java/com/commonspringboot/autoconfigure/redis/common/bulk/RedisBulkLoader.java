@@ -0,0 +1,277 @@
+package com.commonspringboot.autoconfigure.redis.common.bulk;
+
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.BulkLoadConfig;
+import com.commonspringboot.autoconfigure.redis.common.util.RedisRouteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * <pre>
+ * 大批量写入，用于缓存重建等离线任务
+ *
+ * 1. 调用线程逐个读取命令，按 key 所在的节点分组（集群按节点、分片按分片，其他只有一组）
+ * 2. 一组累计到 batchCommands 个命令或者 batchBytes 字节时作为一个管道提交，由 parallelism 个线程并行发送，
+ *    每个管道单独从连接池借用连接
+ * 3. 提交的管道数达到 maxInFlightBatches 时调用线程等待，内存中最多保留
+ *    (maxInFlightBatches + 节点数) * batchBytes 字节的命令，不会因为数据量大而内存溢出
+ * 4. 命令错误只记录对应的 key，连接错误时整个管道失败，可以通过 retries 重试
+ *
+ * 实例不保存状态，可以复用，load 方法会阻塞到全部写入完成
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisBulkLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisBulkLoader.class);
+
+    private final Redis redis;
+
+    private final BulkLoadConfig config;
+
+    public RedisBulkLoader(Redis redis) {
+        this(redis, new BulkLoadConfig());
+    }
+
+    public RedisBulkLoader(Redis redis, BulkLoadConfig config) {
+        this.redis = redis;
+        this.config = config;
+    }
+
+    /**
+     * 批量写入，流由调用方关闭
+     *
+     * @param operations 命令流
+     * @return 返回写入结果
+     */
+    public BulkLoadResult load(Stream<BulkOperation> operations) {
+        return load(operations.iterator());
+    }
+
+    /**
+     * 批量写入
+     *
+     * @param operations 命令迭代器，只在调用线程中读取
+     * @return 返回写入结果
+     */
+    public BulkLoadResult load(Iterator<BulkOperation> operations) {
+        int parallelism = Math.max(1, config.getParallelism());
+        int maxInFlight = config.getMaxInFlightBatches() > 0 ? config.getMaxInFlightBatches() : parallelism * 2;
+        int batchCommands = Math.max(1, config.getBatchCommands());
+        int batchBytes = Math.max(1, config.getBatchBytes());
+        long progressIntervalMillis = TimeUnit.SECONDS.toMillis(config.getProgressLogSeconds());
+
+        Progress progress = new Progress(config.getMaxFailedKeys());
+        Semaphore permits = new Semaphore(maxInFlight);
+        ExecutorService executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new BulkThreadFactory());
+        Map<Object, Batch> batches = new HashMap<>();
+        long startMillis = System.currentTimeMillis();
+        long lastLogMillis = startMillis;
+        try {
+            while (operations.hasNext()) {
+                BulkOperation operation = operations.next();
+                if (null == operation) {
+                    continue;
+                }
+                progress.submitted.increment();
+
+                Object route = RedisRouteUtil.route(redis.getProvider(), operation.getKey());
+                Batch batch = batches.get(route);
+                if (null == batch) {
+                    batch = new Batch(batchCommands);
+                    batches.put(route, batch);
+                }
+                batch.add(operation);
+                if (batch.operations.size() >= batchCommands || batch.bytes >= batchBytes) {
+                    batches.remove(route);
+                    submit(executor, permits, batch, progress);
+                }
+
+                if (progressIntervalMillis > 0 && System.currentTimeMillis() - lastLogMillis >= progressIntervalMillis) {
+                    lastLogMillis = System.currentTimeMillis();
+                    progress.log(startMillis);
+                }
+            }
+            for (Batch batch : batches.values()) {
+                submit(executor, permits, batch, progress);
+            }
+            // 拿回全部许可说明所有管道都已经执行完
+            permits.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Redis 批量写入被中断", e);
+        } finally {
+            executor.shutdown();
+        }
+
+        BulkLoadResult result = progress.result(System.currentTimeMillis() - startMillis);
+        LOGGER.info("Redis 批量写入完成：{}", result);
+        return result;
+    }
+
+    private void submit(ExecutorService executor, final Semaphore permits, final Batch batch, final Progress progress) throws InterruptedException {
+        permits.acquire();
+        progress.batches.increment();
+        progress.bytes.add(batch.bytes);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        execute(batch.operations, progress);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void execute(final List<BulkOperation> operations, Progress progress) {
+        for (int attempt = 0; ; ++attempt) {
+            try {
+                final List<Response<?>> responses = new ArrayList<>(operations.size());
+                redis.executePipelinedByKey(operations.get(0).getKey(), new PipelineExecutor<Void>() {
+                    @Override
+                    public Void execute(Pipeline pipeline) {
+                        for (BulkOperation operation : operations) {
+                            responses.add(operation.apply(pipeline));
+                        }
+                        return null;
+                    }
+                });
+                for (int i = 0; i < responses.size(); ++i) {
+                    try {
+                        responses.get(i).get();
+                        progress.succeeded.increment();
+                    } catch (JedisDataException e) {
+                        progress.fail(operations.get(i).getKey(), e);
+                    }
+                }
+                return;
+            } catch (JedisConnectionException e) {
+                if (attempt < config.getRetries()) {
+                    LOGGER.warn("Redis 批量写入连接错误，第 {} 次重试，命令数：{}，ERROR={}", attempt + 1, operations.size(), e.getMessage());
+                    continue;
+                }
+                progress.fail(operations, e);
+                return;
+            } catch (RuntimeException e) {
+                progress.fail(operations, e);
+                return;
+            }
+        }
+    }
+
+    private static class Batch {
+
+        private final List<BulkOperation> operations;
+
+        private int bytes;
+
+        Batch(int capacity) {
+            this.operations = new ArrayList<>(capacity);
+        }
+
+        void add(BulkOperation operation) {
+            operations.add(operation);
+            bytes += operation.estimateBytes();
+        }
+    }
+
+    private static class Progress {
+
+        private final LongAdder submitted = new LongAdder();
+
+        private final LongAdder succeeded = new LongAdder();
+
+        private final LongAdder failed = new LongAdder();
+
+        private final LongAdder batches = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final ConcurrentLinkedQueue<String> failedKeys = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger failedKeyCount = new AtomicInteger();
+
+        private final int maxFailedKeys;
+
+        Progress(int maxFailedKeys) {
+            this.maxFailedKeys = maxFailedKeys;
+        }
+
+        void fail(String key, Exception e) {
+            failed.increment();
+            int count = failedKeyCount.incrementAndGet();
+            if (count <= maxFailedKeys) {
+                failedKeys.add(key);
+            }
+            // 命令错误通常是同一个原因，只打印第一个
+            if (count == 1) {
+                LOGGER.warn("Redis 批量写入失败，key={}，ERROR={}", key, e.getMessage());
+            }
+        }
+
+        void fail(Collection<BulkOperation> operations, Exception e) {
+            LOGGER.warn("Redis 批量写入管道失败，命令数：{}，ERROR={}", operations.size(), e.getMessage());
+            for (BulkOperation operation : operations) {
+                failed.increment();
+                if (failedKeyCount.incrementAndGet() <= maxFailedKeys) {
+                    failedKeys.add(operation.getKey());
+                }
+            }
+        }
+
+        void log(long startMillis) {
+            long done = succeeded.sum() + failed.sum();
+            long elapsed = Math.max(1, System.currentTimeMillis() - startMillis);
+            LOGGER.info("Redis 批量写入进度：已读取 {}，成功 {}，失败 {}，速率 {}/s",
+                    submitted.sum(), succeeded.sum(), failed.sum(), done * 1000 / elapsed);
+        }
+
+        BulkLoadResult result(long elapsedMillis) {
+            return new BulkLoadResult(submitted.sum(), succeeded.sum(), failed.sum(), batches.sum(), bytes.sum(),
+                    elapsedMillis, new ArrayList<>(failedKeys));
+        }
+    }
+
+    private static class BulkThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "redis-bulk-loader-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
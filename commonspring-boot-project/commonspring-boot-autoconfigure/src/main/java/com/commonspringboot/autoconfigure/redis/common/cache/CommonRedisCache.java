@@ -0,0 +1,626 @@
+package com.commonspringboot.autoconfigure.redis.common.cache;
+
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.util.RedisRouteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.util.ClassUtils;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.SafeEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * 基于 Redis 的 Spring Cache
+ *
+ * 1. key 是 keyPrefix + String.valueOf(key)，值前面带有值的类名，用于 Cache.get(key) 这种没有类型的读取，
+ *    泛型集合的元素类型不会保存，json/smile 编解码时会变成 Map，请使用包装类或者自定义编解码器
+ * 2. getAll/putAll 按节点分组，每个节点一个管道
+ * 3. 开启一级缓存时，写入和删除在同一个管道中发布失效通知，其他节点通过 RedisSubscriptionService 接收后删除本地值；
+ *    订阅断开期间的通知会丢失，本地值最多在 localExpireSeconds 之后过期
+ * 4. get(key, valueLoader)（&#64;Cacheable(sync = true)）同一个进程内同一个 key 只加载一次
+ * </pre>
+ *
+ * @author yzy
+ */
+public class CommonRedisCache extends AbstractValueAdaptingCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommonRedisCache.class);
+
+    private static final char MESSAGE_SEPARATOR = '|';
+
+    private static final String CLEAR_MESSAGE = "*";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final String name;
+
+    private final String redisId;
+
+    private final Redis redis;
+
+    private final RedisCodec<Object> codec;
+
+    private final int ttlSeconds;
+
+    private final String keyPrefix;
+
+    private final LocalCache local;
+
+    private final String channel;
+
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    private final RedisCacheStatistics statistics = new RedisCacheStatistics();
+
+    private final ReentrantLock[] loadLocks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * @param name            缓存名称
+     * @param redisId         Redis ID
+     * @param redis           Redis
+     * @param codec           值编解码器
+     * @param ttlSeconds      过期时间，小于等于 0 表示不过期
+     * @param keyPrefix       key 前缀
+     * @param allowNullValues 是否缓存 null 值
+     * @param localMaxSize    一级缓存最多的 key 数量，小于等于 0 表示不开启一级缓存
+     * @param localExpireMs   一级缓存过期时间，单位毫秒
+     * @param channel         一级缓存失效通知频道
+     */
+    public CommonRedisCache(String name, String redisId, Redis redis, RedisCodec<Object> codec, int ttlSeconds, String keyPrefix,
+                            boolean allowNullValues, int localMaxSize, long localExpireMs, String channel) {
+        super(allowNullValues);
+        this.name = name;
+        this.redisId = redisId;
+        this.redis = redis;
+        this.codec = codec;
+        this.ttlSeconds = ttlSeconds;
+        this.keyPrefix = keyPrefix;
+        this.local = localMaxSize > 0 ? new LocalCache(localMaxSize, localExpireMs) : null;
+        this.channel = channel;
+        for (int i = 0; i < LOCK_STRIPES; ++i) {
+            loadLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    @Override
+    public Redis getNativeCache() {
+        return redis;
+    }
+
+    public RedisCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    public boolean isLocalEnabled() {
+        return null != local;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 一级缓存中的 key 数量，没有开启一级缓存时是 0
+     */
+    public int getLocalSize() {
+        return null == local ? 0 : local.size();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return lookup(key, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (null != wrapper) {
+            return (T) wrapper.get();
+        }
+        ReentrantLock lock = loadLocks[(key.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+        lock.lock();
+        try {
+            // 等待锁期间其他线程可能已经加载完成，这次读取不计入统计
+            Object stored = lookup(key, false);
+            if (null != stored) {
+                return (T) fromStoreValue(stored);
+            }
+            long startNanos = System.nanoTime();
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                statistics.load(System.nanoTime() - startNanos, false);
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            statistics.load(System.nanoTime() - startNanos, true);
+            put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        final String redisKey = redisKey(key);
+        final byte[] bytes = encode(toStoreValue(value));
+        write(redisKey, new PipelineExecutor<Void>() {
+            @Override
+            public Void execute(Pipeline pipeline) {
+                set(pipeline, redisKey, bytes);
+                return null;
+            }
+        });
+        statistics.put(1);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final String redisKey = redisKey(key);
+        final byte[] bytes = encode(toStoreValue(value));
+        Response<String> response = write(redisKey, new PipelineExecutor<Response<String>>() {
+            @Override
+            public Response<String> execute(Pipeline pipeline) {
+                return ttlSeconds > 0
+                        ? pipeline.set(SafeEncoder.encode(redisKey), bytes, SafeEncoder.encode("NX"), SafeEncoder.encode("EX"), ttlSeconds)
+                        : pipeline.set(SafeEncoder.encode(redisKey), bytes, SafeEncoder.encode("NX"));
+            }
+        });
+        if ("OK".equals(response.get())) {
+            statistics.put(1);
+            return null;
+        }
+        return get(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        final String redisKey = redisKey(key);
+        write(redisKey, new PipelineExecutor<Void>() {
+            @Override
+            public Void execute(Pipeline pipeline) {
+                pipeline.del(SafeEncoder.encode(redisKey));
+                return null;
+            }
+        });
+        statistics.evict();
+    }
+
+    /**
+     * 删除 keyPrefix 开头的全部 key，使用 SCAN 遍历，key 很多时耗时较长
+     */
+    @Override
+    public void clear() {
+        if (null != local) {
+            local.clear();
+        }
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        Iterator<String> keys = redis.scanKeys(escapePattern(keyPrefix) + "*", CLEAR_BATCH_SIZE);
+        while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() >= CLEAR_BATCH_SIZE) {
+                delete(batch);
+                batch.clear();
+            }
+        }
+        delete(batch);
+        publish(CLEAR_MESSAGE);
+        if (null != local) {
+            local.clear();
+        }
+    }
+
+    /**
+     * 批量读取，先读一级缓存，其余的按节点分组通过管道 GET
+     *
+     * @param keys 缓存 key
+     * @return 返回命中的值，缓存的 null 值对应 null，未命中的 key 不在结果中
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        Map<Object, List<Object>> routes = new HashMap<>();
+        for (Object key : keys) {
+            String redisKey = redisKey(key);
+            Object value = null == local ? null : local.get(redisKey);
+            if (null != value) {
+                statistics.localHit();
+                result.put(key, fromStoreValue(value));
+                continue;
+            }
+            Object route = RedisRouteUtil.route(redis.getProvider(), redisKey);
+            List<Object> routeKeys = routes.get(route);
+            if (null == routeKeys) {
+                routeKeys = new ArrayList<>();
+                routes.put(route, routeKeys);
+            }
+            routeKeys.add(key);
+        }
+
+        long stamp = null == local ? 0 : local.stamp();
+        for (final List<Object> routeKeys : routes.values()) {
+            final List<Response<byte[]>> responses = new ArrayList<>(routeKeys.size());
+            redis.executePipelinedByKey(redisKey(routeKeys.get(0)), new PipelineExecutor<Void>() {
+                @Override
+                public Void execute(Pipeline pipeline) {
+                    for (Object key : routeKeys) {
+                        responses.add(pipeline.get(SafeEncoder.encode(redisKey(key))));
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < routeKeys.size(); ++i) {
+                Object value = decode(responses.get(i).get());
+                if (null == value) {
+                    statistics.miss();
+                    continue;
+                }
+                statistics.hit();
+                Object key = routeKeys.get(i);
+                if (null != local) {
+                    local.put(redisKey(key), value, stamp);
+                }
+                result.put(key, fromStoreValue(value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入，按节点分组通过管道 SET/SETEX
+     *
+     * @param values 缓存 key 和值
+     */
+    public void putAll(Map<?, ?> values) {
+        Map<Object, List<String>> routes = new HashMap<>();
+        final Map<String, byte[]> encoded = new HashMap<>();
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            String redisKey = redisKey(entry.getKey());
+            encoded.put(redisKey, encode(toStoreValue(entry.getValue())));
+            Object route = RedisRouteUtil.route(redis.getProvider(), redisKey);
+            List<String> routeKeys = routes.get(route);
+            if (null == routeKeys) {
+                routeKeys = new ArrayList<>();
+                routes.put(route, routeKeys);
+            }
+            routeKeys.add(redisKey);
+        }
+        for (final List<String> routeKeys : routes.values()) {
+            invalidateLocal(routeKeys);
+            try {
+                redis.executePipelinedByKey(routeKeys.get(0), new PipelineExecutor<Void>() {
+                    @Override
+                    public Void execute(Pipeline pipeline) {
+                        for (String redisKey : routeKeys) {
+                            set(pipeline, redisKey, encoded.get(redisKey));
+                            publish(pipeline, redisKey);
+                        }
+                        return null;
+                    }
+                });
+            } finally {
+                invalidateLocal(routeKeys);
+            }
+        }
+        statistics.put(values.size());
+    }
+
+    /**
+     * 处理其他节点的失效通知
+     *
+     * @param message 通知内容
+     */
+    void onInvalidation(String message) {
+        if (null == local) {
+            return;
+        }
+        int index = message.indexOf(MESSAGE_SEPARATOR);
+        if (index < 0 || (index == nodeId.length() && nodeId.regionMatches(0, message, 0, index))) {
+            return;
+        }
+        String redisKey = message.substring(index + 1);
+        if (CLEAR_MESSAGE.equals(redisKey)) {
+            local.clear();
+        } else {
+            local.invalidate(redisKey);
+        }
+    }
+
+    private Object lookup(Object key, boolean record) {
+        String redisKey = redisKey(key);
+        if (null != local) {
+            Object value = local.get(redisKey);
+            if (null != value) {
+                if (record) {
+                    statistics.localHit();
+                }
+                return value;
+            }
+        }
+        long stamp = null == local ? 0 : local.stamp();
+        Object value = decode(redis.get(SafeEncoder.encode(redisKey)));
+        if (record) {
+            if (null == value) {
+                statistics.miss();
+            } else {
+                statistics.hit();
+            }
+        }
+        if (null != value && null != local) {
+            local.put(redisKey, value, stamp);
+        }
+        return value;
+    }
+
+    private String redisKey(Object key) {
+        return keyPrefix + String.valueOf(key);
+    }
+
+    /**
+     * 写入单个 key，一级缓存开启时同一个管道中发布失效通知
+     */
+    private <T> T write(String redisKey, final PipelineExecutor<T> command) {
+        invalidateLocal(Arrays.asList(redisKey));
+        try {
+            final String key = redisKey;
+            return redis.executePipelinedByKey(redisKey, new PipelineExecutor<T>() {
+                @Override
+                public T execute(Pipeline pipeline) {
+                    T result = command.execute(pipeline);
+                    publish(pipeline, key);
+                    return result;
+                }
+            });
+        } finally {
+            // 写入期间可能有并发读取把旧值放回了一级缓存
+            invalidateLocal(Arrays.asList(redisKey));
+        }
+    }
+
+    private void set(Pipeline pipeline, String redisKey, byte[] bytes) {
+        if (ttlSeconds > 0) {
+            pipeline.setex(SafeEncoder.encode(redisKey), ttlSeconds, bytes);
+        } else {
+            pipeline.set(SafeEncoder.encode(redisKey), bytes);
+        }
+    }
+
+    private void publish(Pipeline pipeline, String redisKey) {
+        if (null != local && null != channel) {
+            pipeline.publish(channel, nodeId + MESSAGE_SEPARATOR + redisKey);
+        }
+    }
+
+    private void publish(String redisKey) {
+        if (null != local && null != channel) {
+            redis.publish(channel, nodeId + MESSAGE_SEPARATOR + redisKey);
+        }
+    }
+
+    private void invalidateLocal(List<String> redisKeys) {
+        if (null == local) {
+            return;
+        }
+        for (String redisKey : redisKeys) {
+            local.invalidate(redisKey);
+        }
+    }
+
+    private void delete(final List<String> redisKeys) {
+        if (redisKeys.isEmpty()) {
+            return;
+        }
+        Map<Object, List<String>> routes = new HashMap<>();
+        for (String redisKey : redisKeys) {
+            Object route = RedisRouteUtil.route(redis.getProvider(), redisKey);
+            List<String> routeKeys = routes.get(route);
+            if (null == routeKeys) {
+                routeKeys = new ArrayList<>();
+                routes.put(route, routeKeys);
+            }
+            routeKeys.add(redisKey);
+        }
+        for (final List<String> routeKeys : routes.values()) {
+            redis.executePipelinedByKey(routeKeys.get(0), new PipelineExecutor<Void>() {
+                @Override
+                public Void execute(Pipeline pipeline) {
+                    for (String redisKey : routeKeys) {
+                        pipeline.del(SafeEncoder.encode(redisKey));
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * 2 字节类名长度 + 类名 + 编码后的值，类名长度为 0 表示缓存的 null
+     */
+    private byte[] encode(Object storeValue) {
+        if (storeValue == NullValue.INSTANCE) {
+            return new byte[2];
+        }
+        byte[] type = storeValue.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = codec.encode(storeValue);
+        byte[] bytes = new byte[2 + type.length + payload.length];
+        bytes[0] = (byte) (type.length >>> 8);
+        bytes[1] = (byte) type.length;
+        System.arraycopy(type, 0, bytes, 2, type.length);
+        System.arraycopy(payload, 0, bytes, 2 + type.length, payload.length);
+        return bytes;
+    }
+
+    /**
+     * 解码失败（类已经删除、格式不兼容等）当作未命中处理
+     */
+    @SuppressWarnings("unchecked")
+    private Object decode(byte[] bytes) {
+        if (null == bytes) {
+            return null;
+        }
+        if (bytes.length < 2) {
+            LOGGER.warn("Redis 缓存[{}] 值格式错误，当作未命中处理", name);
+            return null;
+        }
+        int typeLength = ((bytes[0] & 0xff) << 8) | (bytes[1] & 0xff);
+        if (typeLength == 0) {
+            return NullValue.INSTANCE;
+        }
+        try {
+            Class<?> type = ClassUtils.forName(new String(bytes, 2, typeLength, StandardCharsets.UTF_8), getClass().getClassLoader());
+            byte[] payload = Arrays.copyOfRange(bytes, 2 + typeLength, bytes.length);
+            return codec.decode(payload, (Class<Object>) type);
+        } catch (Exception | LinkageError e) {
+            LOGGER.warn("Redis 缓存[{}] 解码失败，当作未命中处理，ERROR={}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String escapePattern(String prefix) {
+        StringBuilder builder = new StringBuilder(prefix.length() + 8);
+        for (int i = 0; i < prefix.length(); ++i) {
+            char c = prefix.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 一级缓存，保存解码之后的值，失效版本的用法和 RedisNearCache 相同
+     */
+    private static class LocalCache {
+
+        private final ConcurrentHashMap<String, LocalEntry> entries = new ConcurrentHashMap<>();
+
+        private final AtomicLong invalidationStamp = new AtomicLong();
+
+        private final ReentrantLock evictLock = new ReentrantLock();
+
+        private final int maxSize;
+
+        private final long expireMillis;
+
+        LocalCache(int maxSize, long expireMillis) {
+            this.maxSize = maxSize;
+            this.expireMillis = expireMillis;
+        }
+
+        Object get(String key) {
+            LocalEntry entry = entries.get(key);
+            if (null == entry) {
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                entries.remove(key, entry);
+                return null;
+            }
+            return entry.value;
+        }
+
+        long stamp() {
+            return invalidationStamp.get();
+        }
+
+        void put(String key, Object value, long stamp) {
+            entries.put(key, new LocalEntry(value, expireMillis <= 0 ? 0 : System.currentTimeMillis() + expireMillis));
+            if (invalidationStamp.get() != stamp) {
+                // 读取 Redis 期间发生过失效，读到的可能是旧值
+                entries.remove(key);
+            }
+            evictIfNecessary();
+        }
+
+        void invalidate(String key) {
+            invalidationStamp.incrementAndGet();
+            entries.remove(key);
+        }
+
+        void clear() {
+            invalidationStamp.incrementAndGet();
+            entries.clear();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private void evictIfNecessary() {
+            if (entries.size() <= maxSize || !evictLock.tryLock()) {
+                return;
+            }
+            try {
+                long now = System.currentTimeMillis();
+                Iterator<Map.Entry<String, LocalEntry>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().getValue().isExpired(now)) {
+                        iterator.remove();
+                    }
+                }
+
+                int toEvict = entries.size() - maxSize;
+                if (toEvict <= 0) {
+                    return;
+                }
+                toEvict += Math.max(1, maxSize / 10);
+                iterator = entries.entrySet().iterator();
+                while (toEvict-- > 0 && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                evictLock.unlock();
+            }
+        }
+    }
+
+    private static class LocalEntry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        LocalEntry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt > 0 && expireAt <= now;
+        }
+    }
+}
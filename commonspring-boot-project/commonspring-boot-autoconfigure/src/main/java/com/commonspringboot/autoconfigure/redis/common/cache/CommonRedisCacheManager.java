@@ -0,0 +1,231 @@
+package com.commonspringboot.autoconfigure.redis.common.cache;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodec;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodecs;
+import com.commonspringboot.autoconfigure.redis.common.model.CacheConfig;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.OverflowPolicy;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisMessageListener;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisSubscription;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisSubscriptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Spring CacheManager，每个缓存名称对应一个 CommonRedisCache
+ *
+ * 缓存使用 caches.{cacheName}.redis-id 指定的 Redis，没有配置时使用主缓存 Redis（cacheRedis，由 cacheIds/primaryCacheId 决定）；
+ * 没有配置的缓存名称在第一次使用时按默认配置创建。
+ * 开启一级缓存的缓存通过对应 Redis 的 {redisId}RedisSubscriptionService 订阅失效通知
+ * </pre>
+ *
+ * @author yzy
+ */
+public class CommonRedisCacheManager extends AbstractCacheManager implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommonRedisCacheManager.class);
+
+    private static final String CACHE_REDIS_BEAN_NAME = "cacheRedis";
+
+    private static final String CHANNEL_PREFIX = "commonspring:cache:";
+
+    private static final String DEFAULT_KEY_PREFIX = "cache:";
+
+    private static final int DEFAULT_LOCAL_MAX_SIZE = 10000;
+
+    private final ListableBeanFactory beanFactory;
+
+    private final List<RedisSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 没有配置 redisId 的缓存使用的 Redis ID，为空时使用 cacheRedis
+     */
+    private String defaultRedisId;
+
+    /**
+     * 各个缓存的配置，key 是缓存名称
+     */
+    private Map<String, CacheConfig> cacheConfigs = new LinkedHashMap<>();
+
+    /**
+     * 没有配置 ttlSeconds 的缓存使用的过期时间，单位秒，为 null 或者小于等于 0 表示不过期
+     */
+    private Long defaultTtlSeconds;
+
+    /**
+     * 没有配置 localMaxSize 的缓存使用的一级缓存大小
+     */
+    private int defaultLocalMaxSize = DEFAULT_LOCAL_MAX_SIZE;
+
+    /**
+     * 是否允许使用没有配置的缓存名称，默认是 true
+     */
+    private boolean allowUnconfiguredCaches = true;
+
+    public CommonRedisCacheManager(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    public String getDefaultRedisId() {
+        return defaultRedisId;
+    }
+
+    public void setDefaultRedisId(String defaultRedisId) {
+        this.defaultRedisId = defaultRedisId;
+    }
+
+    public Map<String, CacheConfig> getCacheConfigs() {
+        return cacheConfigs;
+    }
+
+    public void setCacheConfigs(Map<String, CacheConfig> cacheConfigs) {
+        this.cacheConfigs = null == cacheConfigs ? new LinkedHashMap<String, CacheConfig>() : cacheConfigs;
+    }
+
+    public Long getDefaultTtlSeconds() {
+        return defaultTtlSeconds;
+    }
+
+    public void setDefaultTtlSeconds(Long defaultTtlSeconds) {
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    public int getDefaultLocalMaxSize() {
+        return defaultLocalMaxSize;
+    }
+
+    public void setDefaultLocalMaxSize(int defaultLocalMaxSize) {
+        this.defaultLocalMaxSize = defaultLocalMaxSize;
+    }
+
+    public boolean isAllowUnconfiguredCaches() {
+        return allowUnconfiguredCaches;
+    }
+
+    public void setAllowUnconfiguredCaches(boolean allowUnconfiguredCaches) {
+        this.allowUnconfiguredCaches = allowUnconfiguredCaches;
+    }
+
+    /**
+     * 新增缓存时通知，已有的缓存立即通知一次，用于注册指标
+     */
+    public void addListener(CacheListener listener) {
+        listeners.add(listener);
+        for (String name : getCacheNames()) {
+            Cache cache = getCache(name);
+            if (cache instanceof CommonRedisCache) {
+                listener.onCacheCreated((CommonRedisCache) cache);
+            }
+        }
+    }
+
+    /**
+     * 全部已创建的缓存
+     */
+    public List<CommonRedisCache> getRedisCaches() {
+        List<CommonRedisCache> caches = new ArrayList<>();
+        for (String name : getCacheNames()) {
+            Cache cache = getCache(name);
+            if (cache instanceof CommonRedisCache) {
+                caches.add((CommonRedisCache) cache);
+            }
+        }
+        return Collections.unmodifiableList(caches);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>(cacheConfigs.size());
+        for (Map.Entry<String, CacheConfig> entry : cacheConfigs.entrySet()) {
+            caches.add(createCache(entry.getKey(), entry.getValue()));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return allowUnconfiguredCaches ? createCache(name, new CacheConfig()) : null;
+    }
+
+    @Override
+    public void destroy() {
+        for (RedisSubscription subscription : subscriptions) {
+            subscription.unsubscribe();
+        }
+        subscriptions.clear();
+    }
+
+    private CommonRedisCache createCache(String name, CacheConfig config) {
+        CacheConfig cacheConfig = null == config ? new CacheConfig() : config;
+        String redisId = StringUtils.hasText(cacheConfig.getRedisId()) ? cacheConfig.getRedisId() : defaultRedisId;
+        Redis redis = StringUtils.hasText(redisId)
+                ? beanFactory.getBean(redisId + "Redis", Redis.class)
+                : beanFactory.getBean(CACHE_REDIS_BEAN_NAME, Redis.class);
+
+        RedisCodec<Object> codec = StringUtils.hasText(cacheConfig.getCodec()) ? RedisCodecs.create(cacheConfig.getCodec()) : redis.getCodec();
+        Long ttl = null != cacheConfig.getTtlSeconds() ? cacheConfig.getTtlSeconds() : defaultTtlSeconds;
+        int ttlSeconds = null == ttl || ttl <= 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, ttl);
+        String keyPrefix = StringUtils.hasText(cacheConfig.getKeyPrefix()) ? cacheConfig.getKeyPrefix() : DEFAULT_KEY_PREFIX + name + ":";
+        int localMaxSize = 0;
+        String channel = null;
+        if (cacheConfig.isLocalEnabled()) {
+            localMaxSize = cacheConfig.getLocalMaxSize() > 0 ? cacheConfig.getLocalMaxSize() : defaultLocalMaxSize;
+            channel = CHANNEL_PREFIX + name;
+        }
+
+        final CommonRedisCache cache = new CommonRedisCache(name, redisId, redis, codec, ttlSeconds, keyPrefix,
+                cacheConfig.isCacheNullValues(), localMaxSize, TimeUnit.SECONDS.toMillis(cacheConfig.getLocalExpireSeconds()), channel);
+        if (cache.isLocalEnabled()) {
+            subscribeInvalidation(cache, redisId);
+        }
+        LOGGER.info("创建 Redis 缓存[{}]：ttlSeconds={}，keyPrefix={}，codec={}，{}", name, ttlSeconds, keyPrefix, codec.getName(), cacheConfig);
+        for (CacheListener listener : listeners) {
+            listener.onCacheCreated(cache);
+        }
+        return cache;
+    }
+
+    private void subscribeInvalidation(final CommonRedisCache cache, String redisId) {
+        RedisSubscriptionService service = StringUtils.hasText(redisId)
+                ? beanFactory.getBean(redisId + "RedisSubscriptionService", RedisSubscriptionService.class)
+                : beanFactory.getBean(RedisSubscriptionService.class);
+        // 失效处理只是删除本地值，BLOCK 不会明显影响其他订阅，同时保证通知不丢弃
+        subscriptions.add(service.subscribe("cache:" + cache.getName(), Collections.singletonList(cache.getChannel()),
+                Collections.<String>emptyList(), new RedisMessageListener() {
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        cache.onInvalidation(message);
+                    }
+                }, 0, 1, OverflowPolicy.BLOCK));
+    }
+
+    /**
+     * 缓存创建监听
+     */
+    public interface CacheListener {
+
+        /**
+         * 新的缓存创建
+         *
+         * @param cache 缓存
+         */
+        void onCacheCreated(CommonRedisCache cache);
+    }
+}
@@ -0,0 +1,122 @@
+package com.commonspringboot.autoconfigure.redis.common.cache;
+
+import com.commonspringboot.autoconfigure.redis.common.metrics.RollingLatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommonRedisCache 的命中和加载统计
+ *
+ * @author yzy
+ */
+public class RedisCacheStatistics {
+
+    private final LongAdder localHits = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder loadSuccesses = new LongAdder();
+
+    private final LongAdder loadFailures = new LongAdder();
+
+    private final RollingLatencyHistogram loadTime = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    void localHit() {
+        localHits.increment();
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void put(int count) {
+        puts.add(count);
+    }
+
+    void evict() {
+        evictions.increment();
+    }
+
+    void load(long nanos, boolean success) {
+        loadTime.record(nanos);
+        if (success) {
+            loadSuccesses.increment();
+        } else {
+            loadFailures.increment();
+        }
+    }
+
+    /**
+     * 一级缓存命中数
+     */
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    /**
+     * Redis 命中数，不包含一级缓存命中
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getLoadSuccesses() {
+        return loadSuccesses.sum();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * 最近一两分钟内 &#64;Cacheable(sync = true) 加载值的耗时
+     */
+    public RollingLatencyHistogram getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * 命中率，包含一级缓存命中
+     */
+    public double getHitRate() {
+        long hit = getLocalHits() + getHits();
+        long total = hit + getMisses();
+        return total == 0 ? 0 : hit * 1.0 / total;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCacheStatistics{" +
+                "localHits=" + getLocalHits() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", puts=" + getPuts() +
+                ", evictions=" + getEvictions() +
+                ", loadSuccesses=" + getLoadSuccesses() +
+                ", loadFailures=" + getLoadFailures() +
+                '}';
+    }
+}
@@ -0,0 +1,469 @@
+package com.commonspringboot.autoconfigure.redis.common.cache;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.batch.PipelineCommand;
+import com.commonspringboot.autoconfigure.redis.common.model.NearCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * Redis 进程内一级缓存
+ *
+ * 1. 缓存 get/hget 的结果，容量有上限，每个 key 按 expireSeconds 过期
+ * 2. 通过本实例写入时，在同一个 Pipeline 中发布失效通知，其他节点收到后删除本地缓存
+ * 3. 订阅连接断开期间可能丢失通知，因此重新订阅成功后会清空本地缓存
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisNearCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisNearCache.class);
+
+    private static final String CHANNEL_PREFIX = "commonspring:near-cache:";
+
+    private static final char MESSAGE_SEPARATOR = '|';
+
+    private static final long RESUBSCRIBE_INTERVAL_MILLIS = 1000;
+
+    /**
+     * 失效版本的分段数，必须是 2 的幂
+     */
+    private static final int STAMP_STRIPES = 256;
+
+    /**
+     * 当前节点标识，忽略自己发布的失效通知
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    private final ConcurrentHashMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 按 key 的 hash 分段，key 失效时递增所在分段的版本，用于丢弃在失效之前读取到的旧值，
+     * 不同分段的写入不会互相丢弃；清空时递增全部分段
+     */
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    /**
+     * 用于订阅失效通知的连接提供者
+     */
+    private JedisProvider provider;
+
+    private NearCacheConfig config = new NearCacheConfig();
+
+    private String channel;
+
+    private long expireMillis;
+
+    private volatile boolean running = false;
+
+    private volatile JedisPubSub subscriber;
+
+    private Thread subscribeThread;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public JedisProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(JedisProvider provider) {
+        this.provider = provider;
+    }
+
+    public NearCacheConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(NearCacheConfig config) {
+        this.config = config;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 启动失效通知订阅线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        channel = null == config.getChannel() || config.getChannel().isEmpty() ? CHANNEL_PREFIX + redisId : config.getChannel();
+        expireMillis = config.getExpireSeconds() <= 0 ? 0 : TimeUnit.SECONDS.toMillis(config.getExpireSeconds());
+        running = true;
+
+        subscribeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                subscribeLoop();
+            }
+        }, "redis-near-cache-" + redisId);
+        subscribeThread.setDaemon(true);
+        subscribeThread.start();
+        LOGGER.info("Redis[{}] 开启本地缓存：{}", redisId, config);
+    }
+
+    /**
+     * 停止订阅并清空本地缓存
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        JedisPubSub current = subscriber;
+        if (null != current && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+        subscribeThread.interrupt();
+        clear();
+    }
+
+    /**
+     * 获取本地缓存的值
+     *
+     * @param key key
+     * @return 返回缓存值，未命中返回 null
+     */
+    public String get(String key) {
+        CacheEntry entry = lookup(key);
+        String value = null == entry ? null : entry.value;
+        recordAccess(value);
+        return value;
+    }
+
+    /**
+     * 获取本地缓存的 hash 字段值
+     *
+     * @param key   key
+     * @param field 字段
+     * @return 返回缓存值，未命中返回 null
+     */
+    public String hget(String key, String field) {
+        CacheEntry entry = lookup(key);
+        String value = null == entry || null == entry.fields ? null : entry.fields.get(field);
+        recordAccess(value);
+        return value;
+    }
+
+    /**
+     * 读取 Redis 之前获取 key 当前的失效版本，写入本地缓存时用于判断期间是否发生过失效
+     *
+     * @param key key
+     * @return 当前失效版本
+     */
+    public long stamp(String key) {
+        return invalidationStamps.get(stripe(key));
+    }
+
+    /**
+     * 缓存从 Redis 读取到的值
+     *
+     * @param key   key
+     * @param value 值
+     * @param stamp 读取之前的失效版本
+     */
+    public void put(String key, String value, long stamp) {
+        if (null == value || !running) {
+            return;
+        }
+        entries.put(key, new CacheEntry(value, null, deadline()));
+        discardIfInvalidated(key, stamp);
+        evictIfNecessary();
+    }
+
+    /**
+     * 缓存从 Redis 读取到的 hash 字段值
+     *
+     * @param key   key
+     * @param field 字段
+     * @param value 值
+     * @param stamp 读取之前的失效版本
+     */
+    public void hput(String key, String field, String value, long stamp) {
+        if (null == value || !running) {
+            return;
+        }
+        CacheEntry entry = lookup(key);
+        if (null == entry || null == entry.fields) {
+            CacheEntry created = new CacheEntry(null, new ConcurrentHashMap<String, String>(), deadline());
+            entry = entries.putIfAbsent(key, created);
+            if (null == entry || null == entry.fields) {
+                entries.put(key, created);
+                entry = created;
+            }
+        }
+        entry.fields.put(field, value);
+        discardIfInvalidated(key, stamp);
+        evictIfNecessary();
+    }
+
+    /**
+     * 写入 Redis，同时在同一个 Pipeline 中发布失效通知
+     *
+     * @param redis   Redis
+     * @param key     被修改的 key
+     * @param command 写命令
+     * @param <T>     结果返回类型
+     * @return 返回写命令的结果
+     */
+    public <T> T write(Redis redis, final String key, final PipelineCommand<T> command) {
+        invalidate(key);
+        try {
+            Response<T> response = redis.executePipelinedByKey(key, new PipelineExecutor<Response<T>>() {
+                @Override
+                public Response<T> execute(Pipeline pipeline) {
+                    Response<T> response = command.apply(pipeline);
+                    pipeline.publish(channel, nodeId + MESSAGE_SEPARATOR + key);
+                    return response;
+                }
+            });
+            return response.get();
+        } finally {
+            // 写入期间可能有并发读取把旧值放回了本地缓存
+            invalidate(key);
+        }
+    }
+
+    /**
+     * 写入多个 key，同时发布失效通知，集群模式下这些 key 必须在同一个 slot 中
+     *
+     * @param redis   Redis
+     * @param keys    被修改的 key
+     * @param command 写命令
+     * @param <T>     结果返回类型
+     * @return 返回写命令的结果
+     */
+    public <T> T write(Redis redis, final String[] keys, final PipelineCommand<T> command) {
+        for (String key : keys) {
+            invalidate(key);
+        }
+        try {
+            Response<T> response = redis.executePipelinedByKey(keys.length == 0 ? null : keys[0], new PipelineExecutor<Response<T>>() {
+                @Override
+                public Response<T> execute(Pipeline pipeline) {
+                    Response<T> response = command.apply(pipeline);
+                    for (String key : keys) {
+                        pipeline.publish(channel, nodeId + MESSAGE_SEPARATOR + key);
+                    }
+                    return response;
+                }
+            });
+            return response.get();
+        } finally {
+            for (String key : keys) {
+                invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * 删除本地缓存并通知其他节点，用于无法放入 Pipeline 的写命令执行之后
+     *
+     * @param redis Redis
+     * @param key   被修改的 key
+     */
+    public void invalidateAndPublish(Redis redis, String key) {
+        invalidate(key);
+        redis.publish(channel, nodeId + MESSAGE_SEPARATOR + key);
+    }
+
+    /**
+     * 删除本地缓存
+     *
+     * @param key key
+     */
+    public void invalidate(String key) {
+        invalidationStamps.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void clear() {
+        for (int i = 0; i < STAMP_STRIPES; ++i) {
+            invalidationStamps.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private CacheEntry lookup(String key) {
+        CacheEntry entry = entries.get(key);
+        if (null != entry && entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private void recordAccess(String value) {
+        if (null == value) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+    }
+
+    private long deadline() {
+        return expireMillis <= 0 ? 0 : System.currentTimeMillis() + expireMillis;
+    }
+
+    private void discardIfInvalidated(String key, long stamp) {
+        if (invalidationStamps.get(stripe(key)) != stamp) {
+            entries.remove(key);
+        }
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * 超过容量时先清理过期的 key，仍然超过则按遍历顺序淘汰 10%
+     */
+    private void evictIfNecessary() {
+        int maxSize = config.getMaxSize();
+        if (maxSize <= 0 || entries.size() <= maxSize || !evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue().isExpired(now)) {
+                    iterator.remove();
+                }
+            }
+
+            int overflow = entries.size() - maxSize;
+            if (overflow <= 0) {
+                return;
+            }
+            int toEvict = overflow + Math.max(1, maxSize / 10);
+            iterator = entries.entrySet().iterator();
+            while (toEvict-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private void subscribeLoop() {
+        while (running) {
+            Jedis jedis = null;
+            try {
+                jedis = provider.getResource();
+                subscriber = new InvalidationSubscriber();
+                jedis.subscribe(subscriber, channel);
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.warn("Redis[{}] 本地缓存失效通知订阅断开, {}ms 后重试, ERROR={}", redisId, RESUBSCRIBE_INTERVAL_MILLIS, e.getMessage());
+                }
+            } finally {
+                if (null != jedis) {
+                    provider.closeResource(jedis);
+                }
+            }
+
+            if (running) {
+                // 断开期间的通知已经丢失
+                clear();
+                try {
+                    Thread.sleep(RESUBSCRIBE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private class InvalidationSubscriber extends JedisPubSub {
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            clear();
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            int index = message.indexOf(MESSAGE_SEPARATOR);
+            if (index < 0) {
+                return;
+            }
+            if (!nodeId.regionMatches(0, message, 0, index) || index != nodeId.length()) {
+                invalidate(message.substring(index + 1));
+            }
+        }
+    }
+
+    private static class CacheEntry {
+
+        private final String value;
+
+        private final ConcurrentHashMap<String, String> fields;
+
+        private final long expireAt;
+
+        CacheEntry(String value, ConcurrentHashMap<String, String> fields, long expireAt) {
+            this.value = value;
+            this.fields = fields;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt > 0 && expireAt <= now;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * <pre>
+ * Jackson JSON 编解码器
+ *
+ * 以 UTF-8 JSON 写入，可以和 get(String)/set(String, String) 互相读写，
+ * 忽略 null 属性，解码时忽略未知属性
+ * </pre>
+ *
+ * @author yzy
+ */
+public class JacksonRedisCodec implements RedisCodec<Object> {
+
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonRedisCodec() {
+        this(new ObjectMapper());
+    }
+
+    public JacksonRedisCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RedisCodecException("[" + getName() + "] 编码失败: " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public <V> V decode(byte[] bytes, Class<V> type) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new RedisCodecException("[" + getName() + "] 解码失败: " + type.getName(), e);
+        }
+    }
+}
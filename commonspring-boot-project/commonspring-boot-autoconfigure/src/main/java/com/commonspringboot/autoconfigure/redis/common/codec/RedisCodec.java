@@ -0,0 +1,35 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+/**
+ * Redis 值编解码器，用于 getObject/setObject 等对象读写方法
+ *
+ * @param <T> 可以编码的值类型
+ * @author yzy
+ */
+public interface RedisCodec<T> {
+
+    /**
+     * 编解码器名称，如 json、smile、string
+     *
+     * @return 返回名称
+     */
+    String getName();
+
+    /**
+     * 编码
+     *
+     * @param value 值，不能为 null
+     * @return 返回写入 Redis 的字节
+     */
+    byte[] encode(T value);
+
+    /**
+     * 解码
+     *
+     * @param bytes 从 Redis 读取到的字节，不能为 null
+     * @param type  目标类型
+     * @param <V>   结果返回类型
+     * @return 返回解码后的值
+     */
+    <V extends T> V decode(byte[] bytes, Class<V> type);
+}
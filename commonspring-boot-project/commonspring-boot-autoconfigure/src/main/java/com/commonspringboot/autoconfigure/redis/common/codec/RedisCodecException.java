@@ -0,0 +1,19 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+/**
+ * 编解码失败
+ *
+ * @author yzy
+ */
+public class RedisCodecException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisCodecException(String message) {
+        super(message);
+    }
+
+    public RedisCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
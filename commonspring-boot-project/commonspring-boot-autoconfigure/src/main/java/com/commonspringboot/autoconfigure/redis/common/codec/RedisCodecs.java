@@ -0,0 +1,65 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 根据配置的名称创建编解码器
+ *
+ * @author yzy
+ */
+public class RedisCodecs {
+
+    private static final boolean JACKSON_PRESENT = ClassUtils.isPresent("com.fasterxml.jackson.databind.ObjectMapper", RedisCodecs.class.getClassLoader());
+
+    private RedisCodecs() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 创建编解码器
+     *
+     * @param name json、smile、string 或者 RedisCodec 实现类全路径，为空使用默认编解码器
+     * @return 返回编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static RedisCodec<Object> create(String name) {
+        if (StringUtils.isEmpty(name)) {
+            return createDefault();
+        }
+        String codecName = name.trim();
+        if (JacksonRedisCodec.NAME.equalsIgnoreCase(codecName)) {
+            return new JacksonRedisCodec();
+        }
+        if (SmileRedisCodec.NAME.equalsIgnoreCase(codecName)) {
+            if (!ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", RedisCodecs.class.getClassLoader())) {
+                throw new IllegalArgumentException("使用 smile 编解码器需要引入 com.fasterxml.jackson.dataformat:jackson-dataformat-smile");
+            }
+            return new SmileRedisCodec();
+        }
+        if (StringRedisCodec.NAME.equalsIgnoreCase(codecName)) {
+            return new StringRedisCodec();
+        }
+
+        try {
+            Class<?> codecClass = ClassUtils.forName(codecName, RedisCodecs.class.getClassLoader());
+            if (!RedisCodec.class.isAssignableFrom(codecClass)) {
+                throw new IllegalArgumentException("[" + codecName + "] 没有实现 " + RedisCodec.class.getName());
+            }
+            return (RedisCodec<Object>) codecClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("不支持的 Redis 编解码器: " + codecName, e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("无法创建 Redis 编解码器: " + codecName, e);
+        }
+    }
+
+    /**
+     * 默认编解码器，有 Jackson 时使用 json，否则使用 string
+     *
+     * @return 返回编解码器
+     */
+    public static RedisCodec<Object> createDefault() {
+        return JACKSON_PRESENT ? new JacksonRedisCodec() : new StringRedisCodec();
+    }
+}
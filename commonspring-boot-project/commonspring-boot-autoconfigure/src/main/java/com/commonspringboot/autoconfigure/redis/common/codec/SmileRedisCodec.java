@@ -0,0 +1,30 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * <pre>
+ * Smile 二进制编解码器，需要引入 jackson-dataformat-smile
+ *
+ * Smile 是不需要预先定义 schema 的二进制 JSON，开启了属性名和短字符串值的回引用，
+ * 同样的对象比 JSON 更小、解码更快，但是写入的内容不能再用 get(String) 读取
+ * </pre>
+ *
+ * @author yzy
+ */
+public class SmileRedisCodec extends JacksonRedisCodec {
+
+    public static final String NAME = "smile";
+
+    public SmileRedisCodec() {
+        super(new ObjectMapper(new SmileFactory()
+                .configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true)));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
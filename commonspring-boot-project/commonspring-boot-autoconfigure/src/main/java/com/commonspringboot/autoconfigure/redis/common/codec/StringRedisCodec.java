@@ -0,0 +1,67 @@
+package com.commonspringboot.autoconfigure.redis.common.codec;
+
+import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import org.springframework.util.ClassUtils;
+import redis.clients.util.SafeEncoder;
+
+import java.util.Date;
+
+/**
+ * <pre>
+ * 纯字符串编解码器
+ *
+ * 值按 String.valueOf 以 UTF-8 写入，和 set(String, String) 写入的内容一致，
+ * 解码只支持 String、数字、Boolean、Date 等简单类型，Date 按毫秒时间戳写入
+ * </pre>
+ *
+ * @author yzy
+ */
+public class StringRedisCodec implements RedisCodec<Object> {
+
+    public static final String NAME = "string";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value instanceof Date) {
+            return SafeEncoder.encode(String.valueOf(((Date) value).getTime()));
+        }
+        return SafeEncoder.encode(String.valueOf(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V decode(byte[] bytes, Class<V> type) {
+        Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(type);
+        String text = SafeEncoder.encode(bytes);
+        if (targetType == String.class || targetType == Object.class || targetType == CharSequence.class) {
+            return (V) text;
+        }
+        if (targetType == Integer.class) {
+            return (V) ConvertUtil.toInteger(text);
+        }
+        if (targetType == Long.class) {
+            return (V) ConvertUtil.toLong(text);
+        }
+        if (targetType == Double.class) {
+            return (V) ConvertUtil.toDouble(text);
+        }
+        if (targetType == Float.class) {
+            return (V) ConvertUtil.toFloat(text);
+        }
+        if (targetType == Boolean.class) {
+            return (V) ConvertUtil.toBoolean(text);
+        }
+        if (targetType == Date.class) {
+            return (V) ConvertUtil.toDate(text);
+        }
+        if (targetType == byte[].class) {
+            return (V) bytes;
+        }
+        throw new RedisCodecException("[" + NAME + "] 编解码器不支持的类型: " + type.getName());
+    }
+}
@@ -0,0 +1,394 @@
+package com.commonspringboot.autoconfigure.redis.common.counter;
+
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.CounterConfig;
+import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import com.commonspringboot.autoconfigure.redis.common.util.RedisRouteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 计数器合并写入，适用于点击数、曝光数等写多读少、允许短暂延迟的计数
+ *
+ * 1. incr/incrBy/hincrBy 只在本地 LongAdder 中累加，不访问 Redis
+ * 2. 后台线程每隔 flushIntervalMillis 把累加值按节点分组，通过管道 incrBy/hincrBy 写入，
+ *    本地 key 数量达到 maxPendingKeys 时提前写入一次
+ * 3. 管道发送之前失败（熔断、连接池耗尽、连接被拒绝）时累加值放回本地，下次重试；
+ *    开始发送之后失败（比如读取超时）无法确认是否已经写入，丢弃并记录日志，Redis 中的计数只可能偏少，不会重复累加；
+ *    命令错误（比如值不是整数）时丢弃并记录日志
+ * 4. get/hget 返回最近一次写入后 Redis 的值加上本地还没写入的值，是近似值，
+ *    多个进程同时累加时只包含本进程的部分
+ * 5. Redis.destroy 时停止后台线程并写入剩余的值，之后的累加直接写入 Redis
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisCounterAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCounterAggregator.class);
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    private final Redis redis;
+
+    private final CounterConfig config;
+
+    private final ConcurrentHashMap<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    public RedisCounterAggregator(Redis redis) {
+        this(redis, new CounterConfig());
+    }
+
+    public RedisCounterAggregator(Redis redis, CounterConfig config) {
+        this.redis = redis;
+        this.config = config;
+        long interval = Math.max(1, config.getFlushIntervalMillis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "redis-counter-flusher-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                flushQuietly();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void incr(String key) {
+        add(new CounterKey(key, null), 1);
+    }
+
+    public void incrBy(String key, long delta) {
+        add(new CounterKey(key, null), delta);
+    }
+
+    public void hincrBy(String key, String field, long delta) {
+        if (null == field) {
+            throw new IllegalArgumentException("field 不能为 null");
+        }
+        add(new CounterKey(key, field), delta);
+    }
+
+    /**
+     * 近似值，本地没有记录时读取一次 Redis
+     *
+     * @param key key
+     * @return 返回计数
+     */
+    public long get(String key) {
+        return approximate(new CounterKey(key, null));
+    }
+
+    /**
+     * 近似值，本地没有记录时读取一次 Redis
+     *
+     * @param key   key
+     * @param field field
+     * @return 返回计数
+     */
+    public long hget(String key, String field) {
+        return approximate(new CounterKey(key, field));
+    }
+
+    /**
+     * 本地还没写入 Redis 的累加值
+     */
+    public long getPending(String key) {
+        return pending(new CounterKey(key, null));
+    }
+
+    public long getPending(String key, String field) {
+        return pending(new CounterKey(key, field));
+    }
+
+    /**
+     * 本地记录的计数器数量
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * 立即把本地累加值写入 Redis，和后台写入串行执行
+     */
+    public synchronized void flush() {
+        long idleFlushes = Math.max(1, config.getIdleExpireMillis() / Math.max(1, config.getFlushIntervalMillis()));
+        Map<Object, List<Delta>> routes = new HashMap<>();
+        for (Map.Entry<CounterKey, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long delta = counter.pending.sum();
+            if (0 != delta) {
+                // 只减去读到的值，读取之后的累加留到下一次
+                counter.pending.add(-delta);
+                counter.idleFlushes = 0;
+                Object route = RedisRouteUtil.route(redis.getProvider(), entry.getKey().key);
+                List<Delta> deltas = routes.get(route);
+                if (null == deltas) {
+                    deltas = new ArrayList<>();
+                    routes.put(route, deltas);
+                }
+                deltas.add(new Delta(entry.getKey(), counter, delta));
+            } else if (++counter.idleFlushes >= idleFlushes) {
+                expire(entry.getKey(), counter);
+            }
+        }
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (List<Delta> deltas : routes.values()) {
+            for (int from = 0; from < deltas.size(); from += batchSize) {
+                execute(deltas.subList(from, Math.min(deltas.size(), from + batchSize)));
+            }
+        }
+    }
+
+    /**
+     * 停止后台写入并写入剩余的值，之后的累加直接写入 Redis
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Math.max(1000, config.getFlushIntervalMillis() * 5), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private void add(CounterKey key, long delta) {
+        if (0 == delta) {
+            return;
+        }
+        if (closed) {
+            incrDirectly(key, delta);
+            return;
+        }
+        while (true) {
+            Counter counter = counters.get(key);
+            if (null == counter) {
+                counter = new Counter();
+                Counter exists = counters.putIfAbsent(key, counter);
+                if (null != exists) {
+                    counter = exists;
+                } else if (counters.size() >= config.getMaxPendingKeys()) {
+                    requestFlush();
+                }
+            }
+            counter.pending.add(delta);
+            if (!counter.removed) {
+                if (closed) {
+                    // 累加时正好关闭，最后一次写入可能已经结束
+                    flushQuietly();
+                }
+                return;
+            }
+            // 和空闲移除同时发生，撤销后重新获取计数器
+            counter.pending.add(-delta);
+        }
+    }
+
+    /**
+     * 先标记再检查累加值，和 add 中先累加再检查标记配合，保证移除的计数器上不会留下累加值
+     */
+    private void expire(CounterKey key, Counter counter) {
+        counter.removed = true;
+        if (0 != counter.pending.sum()) {
+            counter.removed = false;
+            counter.idleFlushes = 0;
+            return;
+        }
+        counters.remove(key, counter);
+    }
+
+    private long approximate(CounterKey key) {
+        Counter counter = counters.get(key);
+        if (null != counter && counter.known) {
+            return counter.value + counter.pending.sum();
+        }
+        String value = null == key.field ? redis.get(key.key) : redis.hget(key.key, key.field);
+        long pending = null == counter ? 0 : counter.pending.sum();
+        return ConvertUtil.toLong(value, 0L) + pending;
+    }
+
+    private long pending(CounterKey key) {
+        Counter counter = counters.get(key);
+        return null == counter ? 0 : counter.pending.sum();
+    }
+
+    private void execute(final List<Delta> deltas) {
+        final List<Response<Long>> responses = new ArrayList<>(deltas.size());
+        // 拿到连接之后才会进入管道，之后的失败都可能已经写入
+        final AtomicBoolean sent = new AtomicBoolean();
+        try {
+            redis.executePipelinedByKey(deltas.get(0).key.key, new PipelineExecutor<Void>() {
+                @Override
+                public Void execute(Pipeline pipeline) {
+                    sent.set(true);
+                    for (Delta delta : deltas) {
+                        CounterKey key = delta.key;
+                        responses.add(null == key.field ? pipeline.incrBy(key.key, delta.delta)
+                                : pipeline.hincrBy(key.key, key.field, delta.delta));
+                    }
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            if (sent.get()) {
+                // 重试可能重复累加，宁可少计
+                LOGGER.warn("Redis 计数器写入结果未知，丢弃累加值，计数器数：{}，ERROR={}", deltas.size(), e.getMessage());
+                for (Delta delta : deltas) {
+                    delta.counter.known = false;
+                }
+                return;
+            }
+            // 还没有发送，放回本地下次重试
+            for (Delta delta : deltas) {
+                delta.counter.pending.add(delta.delta);
+            }
+            LOGGER.warn("Redis 计数器写入失败，稍后重试，计数器数：{}，ERROR={}", deltas.size(), e.getMessage());
+            return;
+        }
+        for (int i = 0; i < responses.size(); ++i) {
+            Delta delta = deltas.get(i);
+            try {
+                delta.counter.value = responses.get(i).get();
+                delta.counter.known = true;
+            } catch (JedisDataException e) {
+                LOGGER.warn("Redis 计数器写入失败，丢弃累加值，key={}，field={}，delta={}，ERROR={}",
+                        delta.key.key, delta.key.field, delta.delta, e.getMessage());
+            }
+        }
+    }
+
+    private void incrDirectly(CounterKey key, long delta) {
+        if (null == key.field) {
+            redis.incrBy(key.key, delta);
+        } else {
+            redis.hincrBy(key.key, key.field, delta);
+        }
+    }
+
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushRequested.set(false);
+                    flushQuietly();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 已经关闭，由 shutdown 写入
+            flushRequested.set(false);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOGGER.warn("Redis 计数器写入异常", e);
+        }
+    }
+
+    private static class CounterKey {
+
+        private final String key;
+
+        private final String field;
+
+        CounterKey(String key, String field) {
+            if (null == key) {
+                throw new IllegalArgumentException("key 不能为 null");
+            }
+            this.key = key;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey that = (CounterKey) o;
+            return key.equals(that.key) && (null == field ? null == that.field : field.equals(that.field));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + (null == field ? 0 : field.hashCode());
+        }
+    }
+
+    private static class Counter {
+
+        private final LongAdder pending = new LongAdder();
+
+        /**
+         * 最近一次写入后 Redis 返回的值
+         */
+        private volatile long value;
+
+        private volatile boolean known;
+
+        private volatile boolean removed;
+
+        /**
+         * 连续没有累加的写入次数，只在写入线程中访问
+         */
+        private long idleFlushes;
+    }
+
+    private static class Delta {
+
+        private final CounterKey key;
+
+        private final Counter counter;
+
+        private final long delta;
+
+        Delta(CounterKey key, Counter counter, long delta) {
+            this.key = key;
+            this.counter = counter;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.commonspringboot.autoconfigure.redis.common.delay;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RollingLatencyHistogram;
+import com.commonspringboot.autoconfigure.redis.common.model.DelayQueueConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 延迟队列，通过 RedisDelayQueueService.getQueue 获取：
+ *     RedisDelayQueue queue = orderRedisDelayQueueService.getQueue("order.timeout");
+ *     queue.schedule(orderId, orderId, 30, TimeUnit.MINUTES);
+ *
+ *     queue.consume(new RedisDelayedJobHandler() {
+ *         public void handle(RedisDelayedJob job) {
+ *             orderService.closeIfUnpaid(job.getPayload());
+ *         }
+ *     });
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisDelayQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisDelayQueue.class);
+
+    private final RedisDelayQueueService service;
+
+    private final DelayQueueConfig config;
+
+    private final String name;
+
+    private final String queueKey;
+
+    private final String processingKey;
+
+    private final String jobsKey;
+
+    private final String attemptsKey;
+
+    private final String deadKey;
+
+    private final LongAdder scheduled = new LongAdder();
+
+    private final LongAdder claimed = new LongAdder();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder deadLettered = new LongAdder();
+
+    private final LongAdder redelivered = new LongAdder();
+
+    private final LongAdder polls = new LongAdder();
+
+    private final LongAdder pollErrors = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final RollingLatencyHistogram lag = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final RollingLatencyHistogram handleTime = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final Object signal = new Object();
+
+    /**
+     * 被 signal 保护，唤醒时轮询线程可能没在等待，用这个标记避免丢失唤醒
+     */
+    private boolean signalled;
+
+    private volatile long nextPollAt = Long.MAX_VALUE;
+
+    private volatile long depth = -1;
+
+    private volatile boolean running;
+
+    private RedisDelayedJobHandler handler;
+
+    private Thread poller;
+
+    private ThreadPoolExecutor workers;
+
+    RedisDelayQueue(RedisDelayQueueService service, String name) {
+        this.service = service;
+        this.config = service.getConfig();
+        this.name = name;
+        this.queueKey = config.getKeyPrefix() + "{" + name + "}";
+        this.processingKey = queueKey + ":processing";
+        this.jobsKey = queueKey + ":jobs";
+        this.attemptsKey = queueKey + ":attempts";
+        this.deadKey = queueKey + ":dead";
+    }
+
+    public String getRedisId() {
+        return service.getRedisId();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 新增任务，ID 自动生成
+     *
+     * @return 返回任务 ID
+     */
+    public String schedule(String payload, long delay, TimeUnit unit) {
+        String id = UUID.randomUUID().toString();
+        schedule(id, payload, delay, unit);
+        return id;
+    }
+
+    /**
+     * 新增任务，ID 已经存在并且还没被领取时更新内容和到期时间
+     *
+     * @param id      任务 ID
+     * @param payload 任务内容
+     * @param delay   延迟时间
+     * @param unit    时间单位
+     * @return 返回是否是新任务
+     */
+    public boolean schedule(String id, String payload, long delay, TimeUnit unit) {
+        return scheduleAt(id, payload, System.currentTimeMillis() + unit.toMillis(Math.max(0, delay)));
+    }
+
+    /**
+     * 新增任务，在 dueTime 之后处理
+     *
+     * @param id      任务 ID
+     * @param payload 任务内容
+     * @param dueTime 到期时间，毫秒时间戳
+     * @return 返回是否是新任务
+     */
+    public boolean scheduleAt(String id, String payload, long dueTime) {
+        if (null == id || null == payload) {
+            throw new IllegalArgumentException("任务 ID 和内容不能为空");
+        }
+        Object added = redis().evalScript(RedisDelayQueueService.SCHEDULE_SCRIPT, Arrays.asList(queueKey, jobsKey),
+                Arrays.asList(id, payload, String.valueOf(dueTime)));
+        scheduled.increment();
+        if (running && dueTime < nextPollAt) {
+            wakeup();
+        }
+        return Long.valueOf(1).equals(added);
+    }
+
+    /**
+     * 取消还没有被领取的任务
+     *
+     * @return 返回是否取消成功
+     */
+    public boolean cancel(String id) {
+        Object removed = redis().evalScript(RedisDelayQueueService.CANCEL_SCRIPT, Arrays.asList(queueKey, jobsKey, attemptsKey),
+                Arrays.asList(id));
+        return Long.valueOf(1).equals(removed);
+    }
+
+    /**
+     * 把死信重新放回队列，立即到期，重试次数清零
+     *
+     * @return 返回任务是否在死信中
+     */
+    public boolean redrive(String id) {
+        Object moved = redis().evalScript(RedisDelayQueueService.REDRIVE_SCRIPT, Arrays.asList(deadKey, queueKey, attemptsKey),
+                Arrays.asList(id, String.valueOf(System.currentTimeMillis())));
+        boolean redriven = Long.valueOf(1).equals(moved);
+        if (redriven && running) {
+            wakeup();
+        }
+        return redriven;
+    }
+
+    /**
+     * 队列中等待的任务数，包含未到期和等待重试的任务，每次调用访问 Redis
+     */
+    public long size() {
+        Long size = redis().zcard(queueKey);
+        return null == size ? 0 : size;
+    }
+
+    /**
+     * 死信数量，每次调用访问 Redis
+     */
+    public long getDeadLetterCount() {
+        Long size = redis().zcard(deadKey);
+        return null == size ? 0 : size;
+    }
+
+    /**
+     * 开始领取并处理到期的任务，每个队列在一个进程内只能有一个处理器
+     *
+     * @param handler 任务处理器
+     */
+    public synchronized void consume(RedisDelayedJobHandler handler) {
+        if (null == handler) {
+            throw new IllegalArgumentException("handler 不能为空");
+        }
+        if (running) {
+            throw new IllegalStateException("延迟队列[" + name + "]已经在处理");
+        }
+        this.handler = handler;
+        int threads = Math.max(1, config.getWorkerThreads());
+        // 积压由 inFlight 限制在 workerThreads + queueCapacity 以内，队列不会无限增长
+        workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new NamedThreadFactory("redis-delay-" + name + "-"));
+        running = true;
+        poller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                pollLoop();
+            }
+        }, "redis-delay-poller-" + name);
+        poller.setDaemon(true);
+        poller.start();
+        LOGGER.info("Redis[{}] 延迟队列[{}]开始处理，{}", service.getRedisId(), name, config);
+    }
+
+    /**
+     * 停止领取，等待正在处理的任务结束，已领取还没开始处理的任务放回队列
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeup();
+        try {
+            poller.join(config.getMaxPollMillis() + config.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> pending = new ArrayList<>();
+        workers.getQueue().drainTo(pending);
+        for (Runnable runnable : pending) {
+            release(((JobTask) runnable).job);
+            inFlight.decrementAndGet();
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(config.getShutdownTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Redis[{}] 延迟队列[{}]关闭时还有 {} 个任务在处理，将在确认超时后重新投递",
+                        service.getRedisId(), name, inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Redis[{}] 延迟队列[{}]停止处理，放回 {} 个未开始的任务", service.getRedisId(), name, pending.size());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+
+    public long getClaimed() {
+        return claimed.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    /**
+     * 本进程处理后进入死信的任务数
+     */
+    public long getDeadLettered() {
+        return deadLettered.sum();
+    }
+
+    /**
+     * 领取时发现确认超时、重新放回队列的任务数
+     */
+    public long getRedelivered() {
+        return redelivered.sum();
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public long getPollErrors() {
+        return pollErrors.sum();
+    }
+
+    /**
+     * 本进程已领取还没处理完的任务数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 最近一次领取时队列中等待的任务数，还没领取过时是 -1
+     */
+    public long getDepth() {
+        return depth;
+    }
+
+    /**
+     * 最近窗口的投递延迟，即领取时间减去到期时间
+     */
+    public RollingLatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * 最近窗口的处理耗时
+     */
+    public RollingLatencyHistogram getHandleTime() {
+        return handleTime;
+    }
+
+    private Redis redis() {
+        return service.getRedis();
+    }
+
+    private void pollLoop() {
+        int maxInFlight = Math.max(1, config.getWorkerThreads()) + Math.max(0, config.getQueueCapacity());
+        while (running) {
+            long wait;
+            int free = maxInFlight - inFlight.get();
+            if (free <= 0) {
+                // 任务处理完时会唤醒
+                wait = config.getMaxPollMillis();
+            } else {
+                try {
+                    wait = claim(Math.min(free, Math.max(1, config.getBatchSize())));
+                } catch (RuntimeException e) {
+                    pollErrors.increment();
+                    LOGGER.warn("Redis[{}] 延迟队列[{}]领取任务失败：{}", service.getRedisId(), name, e.getMessage());
+                    wait = config.getMaxPollMillis();
+                }
+            }
+            if (wait > 0) {
+                await(wait);
+            }
+        }
+    }
+
+    /**
+     * 领取到期任务并提交处理
+     *
+     * @return 返回下次领取前等待的毫秒数
+     */
+    private long claim(int count) {
+        polls.increment();
+        nextPollAt = Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        List<?> result = (List<?>) redis().evalScript(RedisDelayQueueService.CLAIM_SCRIPT,
+                Arrays.asList(queueKey, processingKey, jobsKey, attemptsKey),
+                Arrays.asList(String.valueOf(now), String.valueOf(count), String.valueOf(config.getClaimTimeoutMillis())));
+        long nextDelay = Long.parseLong(String.valueOf(result.get(0)));
+        depth = Long.parseLong(String.valueOf(result.get(1)));
+        long expired = Long.parseLong(String.valueOf(result.get(2)));
+        if (expired > 0) {
+            redelivered.add(expired);
+            LOGGER.warn("Redis[{}] 延迟队列[{}] {} 个任务确认超时，重新投递", service.getRedisId(), name, expired);
+        }
+        int size = 0;
+        for (int i = 3; i + 3 < result.size(); i += 4) {
+            long dueTime = (long) Double.parseDouble(String.valueOf(result.get(i + 3)));
+            RedisDelayedJob job = new RedisDelayedJob(name, String.valueOf(result.get(i)), String.valueOf(result.get(i + 1)),
+                    Integer.parseInt(String.valueOf(result.get(i + 2))), dueTime);
+            lag.record(TimeUnit.MILLISECONDS.toNanos(Math.max(0, now - dueTime)));
+            inFlight.incrementAndGet();
+            workers.execute(new JobTask(job));
+            size++;
+        }
+        claimed.add(size);
+        if (size >= count) {
+            return 0;
+        }
+        long wait = nextDelay < 0 ? config.getMaxPollMillis()
+                : Math.max(config.getMinPollMillis(), Math.min(nextDelay, config.getMaxPollMillis()));
+        nextPollAt = System.currentTimeMillis() + wait;
+        return wait;
+    }
+
+    private void await(long millis) {
+        synchronized (signal) {
+            if (!signalled && running) {
+                try {
+                    signal.wait(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            signalled = false;
+        }
+    }
+
+    private void wakeup() {
+        synchronized (signal) {
+            signalled = true;
+            signal.notifyAll();
+        }
+    }
+
+    private void handle(RedisDelayedJob job) {
+        long start = System.nanoTime();
+        try {
+            handler.handle(job);
+            handleTime.record(System.nanoTime() - start);
+            succeeded.increment();
+            ack(job);
+        } catch (Exception e) {
+            handleTime.record(System.nanoTime() - start);
+            retry(job, e);
+        }
+    }
+
+    private void ack(RedisDelayedJob job) {
+        try {
+            redis().evalScript(RedisDelayQueueService.ACK_SCRIPT, Arrays.asList(processingKey, queueKey, jobsKey, attemptsKey),
+                    Arrays.asList(job.getId()));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 延迟队列[{}]确认任务 {} 失败，将在确认超时后重新投递：{}",
+                    service.getRedisId(), name, job.getId(), e.getMessage());
+        }
+    }
+
+    private void retry(RedisDelayedJob job, Exception cause) {
+        Object result;
+        try {
+            result = redis().evalScript(RedisDelayQueueService.RETRY_SCRIPT, Arrays.asList(processingKey, queueKey, deadKey, attemptsKey),
+                    Arrays.asList(job.getId(), String.valueOf(System.currentTimeMillis()), String.valueOf(config.getMaxRetries()),
+                            String.valueOf(config.getRetryBackoffMillis()), String.valueOf(config.getMaxRetryBackoffMillis())));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 延迟队列[{}]任务 {} 处理失败，记录重试失败，将在确认超时后重新投递：{}",
+                    service.getRedisId(), name, job.getId(), e.getMessage(), cause);
+            return;
+        }
+        long attempts = result instanceof Long ? (Long) result : 0;
+        if (attempts < 0) {
+            deadLettered.increment();
+            LOGGER.error("Redis[{}] 延迟队列[{}]任务 {} 重试 {} 次后仍然失败，进入死信", service.getRedisId(), name, job.getId(),
+                    config.getMaxRetries(), cause);
+        } else if (attempts > 0) {
+            retried.increment();
+            LOGGER.warn("Redis[{}] 延迟队列[{}]任务 {} 第 {} 次处理失败，稍后重试：{}", service.getRedisId(), name, job.getId(),
+                    attempts, cause.getMessage());
+        }
+    }
+
+    private void release(RedisDelayedJob job) {
+        try {
+            redis().evalScript(RedisDelayQueueService.RELEASE_SCRIPT, Arrays.asList(processingKey, queueKey),
+                    Arrays.asList(job.getId(), String.valueOf(System.currentTimeMillis())));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 延迟队列[{}]放回任务 {} 失败，将在确认超时后重新投递：{}",
+                    service.getRedisId(), name, job.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisDelayQueue{" +
+                "name='" + name + '\'' +
+                ", running=" + running +
+                ", depth=" + depth +
+                ", inFlight=" + inFlight.get() +
+                ", claimed=" + getClaimed() +
+                ", succeeded=" + getSucceeded() +
+                ", retried=" + getRetried() +
+                ", deadLettered=" + getDeadLettered() +
+                '}';
+    }
+
+    private class JobTask implements Runnable {
+
+        private final RedisDelayedJob job;
+
+        private JobTask(RedisDelayedJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            try {
+                handle(job);
+            } finally {
+                int maxInFlight = Math.max(1, config.getWorkerThreads()) + Math.max(0, config.getQueueCapacity());
+                if (inFlight.getAndDecrement() >= maxInFlight) {
+                    wakeup();
+                }
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.commonspringboot.autoconfigure.redis.common.delay;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.DelayQueueConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <pre>
+ * 基于有序集合的延迟队列，每个 Redis 一个，{redisId}RedisDelayQueueService
+ *
+ * 1. 任务 ID 按到期时间放在有序集合中，任务内容放在 hash 中，新增、领取、确认、重试都是一个 Lua 脚本
+ * 2. 领取时一次原子地取出最多 batchSize 个到期任务并移到处理中集合，多个节点同时领取不会拿到同一个任务
+ * 3. 领取的任务交给有界的线程池处理，本地积压达到 workerThreads + queueCapacity 时暂停领取
+ * 4. 轮询间隔按队列中最早的到期时间调整，在 minPollMillis 和 maxPollMillis 之间，本进程新增更早到期的任务时立即唤醒
+ * 5. 处理失败按 retryBackoffMillis 指数退避重试，超过 maxRetries 进入死信集合；
+ *    领取后超过 claimTimeoutMillis 没有确认的任务（比如进程退出）重新投递，所以任务可能重复处理
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisDelayQueueService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisDelayQueueService.class);
+
+    /**
+     * KEYS: 队列, 任务内容；ARGV: id, payload, 到期时间
+     */
+    static final RedisScript SCHEDULE_SCRIPT = new RedisScript("commonspring-delay-schedule",
+            "redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])\n" +
+                    "return redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])");
+
+    /**
+     * KEYS: 队列, 任务内容, 重试次数；ARGV: id，只能取消还没有被领取的任务
+     */
+    static final RedisScript CANCEL_SCRIPT = new RedisScript("commonspring-delay-cancel",
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then\n" +
+                    "  redis.call('HDEL', KEYS[2], ARGV[1])\n" +
+                    "  redis.call('HDEL', KEYS[3], ARGV[1])\n" +
+                    "  return 1\n" +
+                    "end\n" +
+                    "return 0");
+
+    /**
+     * KEYS: 队列, 处理中, 任务内容, 重试次数；ARGV: 当前时间, 领取数量, 确认超时
+     * 返回 {最早到期任务的剩余毫秒数（没有任务时是 -1）, 队列长度, 重新投递的超时任务数, id, payload, attempts, dueTime, ...}
+     */
+    static final RedisScript CLAIM_SCRIPT = new RedisScript("commonspring-delay-claim",
+            "local now = tonumber(ARGV[1])\n" +
+                    "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, 100)\n" +
+                    "for i, id in ipairs(expired) do\n" +
+                    "  redis.call('ZREM', KEYS[2], id)\n" +
+                    "  redis.call('ZADD', KEYS[1], now, id)\n" +
+                    "end\n" +
+                    "local claimed = {}\n" +
+                    "if tonumber(ARGV[2]) > 0 then\n" +
+                    "  local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'WITHSCORES', 'LIMIT', 0, tonumber(ARGV[2]))\n" +
+                    "  local deadline = now + tonumber(ARGV[3])\n" +
+                    "  for i = 1, #due, 2 do\n" +
+                    "    local id = due[i]\n" +
+                    "    redis.call('ZREM', KEYS[1], id)\n" +
+                    "    local payload = redis.call('HGET', KEYS[3], id)\n" +
+                    "    if payload then\n" +
+                    "      redis.call('ZADD', KEYS[2], deadline, id)\n" +
+                    "      claimed[#claimed + 1] = id\n" +
+                    "      claimed[#claimed + 1] = payload\n" +
+                    "      claimed[#claimed + 1] = redis.call('HGET', KEYS[4], id) or '0'\n" +
+                    "      claimed[#claimed + 1] = due[i + 1]\n" +
+                    "    end\n" +
+                    "  end\n" +
+                    "end\n" +
+                    "local delay = -1\n" +
+                    "local first = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')\n" +
+                    "if first[2] then\n" +
+                    "  delay = math.max(0, tonumber(first[2]) - now)\n" +
+                    "end\n" +
+                    "local result = {string.format('%d', delay), tostring(redis.call('ZCARD', KEYS[1])), tostring(#expired)}\n" +
+                    "for i = 1, #claimed do\n" +
+                    "  result[#result + 1] = claimed[i]\n" +
+                    "end\n" +
+                    "return result");
+
+    /**
+     * KEYS: 处理中, 队列, 任务内容, 重试次数；ARGV: id
+     * 超时后已经重新放回队列的任务也一起删除，避免重复处理
+     */
+    static final RedisScript ACK_SCRIPT = new RedisScript("commonspring-delay-ack",
+            "local removed = redis.call('ZREM', KEYS[1], ARGV[1])\n" +
+                    "if removed == 0 then\n" +
+                    "  removed = redis.call('ZREM', KEYS[2], ARGV[1])\n" +
+                    "end\n" +
+                    "if removed == 1 then\n" +
+                    "  redis.call('HDEL', KEYS[3], ARGV[1])\n" +
+                    "  redis.call('HDEL', KEYS[4], ARGV[1])\n" +
+                    "end\n" +
+                    "return removed");
+
+    /**
+     * KEYS: 处理中, 队列, 死信, 重试次数；ARGV: id, 当前时间, 最大重试次数, 第一次重试延迟, 最大重试延迟
+     * 返回重试次数，进入死信返回 -1，任务已经不在处理中（超时后重新投递）返回 0
+     */
+    static final RedisScript RETRY_SCRIPT = new RedisScript("commonspring-delay-retry",
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 0 then\n" +
+                    "  return 0\n" +
+                    "end\n" +
+                    "local attempts = redis.call('HINCRBY', KEYS[4], ARGV[1], 1)\n" +
+                    "if attempts > tonumber(ARGV[3]) then\n" +
+                    "  redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])\n" +
+                    "  return -1\n" +
+                    "end\n" +
+                    "local backoff = math.min(tonumber(ARGV[5]), tonumber(ARGV[4]) * 2 ^ (attempts - 1))\n" +
+                    "redis.call('ZADD', KEYS[2], tonumber(ARGV[2]) + backoff, ARGV[1])\n" +
+                    "return attempts");
+
+    /**
+     * KEYS: 处理中, 队列；ARGV: id, 当前时间，关闭时把已领取但还没开始处理的任务放回队列，不计入重试次数
+     */
+    static final RedisScript RELEASE_SCRIPT = new RedisScript("commonspring-delay-release",
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then\n" +
+                    "  return redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])\n" +
+                    "end\n" +
+                    "return 0");
+
+    /**
+     * KEYS: 死信, 队列, 重试次数；ARGV: id, 当前时间，死信重新放回队列并清空重试次数
+     */
+    static final RedisScript REDRIVE_SCRIPT = new RedisScript("commonspring-delay-redrive",
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then\n" +
+                    "  redis.call('HDEL', KEYS[3], ARGV[1])\n" +
+                    "  redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])\n" +
+                    "  return 1\n" +
+                    "end\n" +
+                    "return 0");
+
+    private final ConcurrentHashMap<String, RedisDelayQueue> queues = new ConcurrentHashMap<>();
+
+    private final List<QueueListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    private Redis redis;
+
+    private DelayQueueConfig config = new DelayQueueConfig();
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    public DelayQueueConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(DelayQueueConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取队列，同一个名称只创建一次；只新增任务时不需要调用 consume
+     *
+     * @param name 队列名称
+     * @return 返回队列
+     */
+    public RedisDelayQueue getQueue(String name) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("队列名称不能为空");
+        }
+        RedisDelayQueue queue = queues.get(name);
+        if (null == queue) {
+            RedisDelayQueue newQueue = new RedisDelayQueue(this, name);
+            queue = queues.putIfAbsent(name, newQueue);
+            if (null == queue) {
+                queue = newQueue;
+                for (QueueListener listener : listeners) {
+                    listener.onQueueCreated(queue);
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * 已创建的全部队列
+     */
+    public List<RedisDelayQueue> getQueues() {
+        return Collections.unmodifiableList(new ArrayList<>(queues.values()));
+    }
+
+    /**
+     * 新增队列时通知，已有的队列立即通知一次，用于注册指标
+     */
+    public void addListener(QueueListener listener) {
+        listeners.add(listener);
+        for (RedisDelayQueue queue : queues.values()) {
+            listener.onQueueCreated(queue);
+        }
+    }
+
+    /**
+     * 停止全部队列的领取，等待正在处理的任务结束，没开始处理的任务放回 Redis
+     */
+    public void shutdown() {
+        for (RedisDelayQueue queue : queues.values()) {
+            try {
+                queue.stop();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Redis[{}] 停止延迟队列[{}]失败：{}", redisId, queue.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 队列创建监听
+     */
+    public interface QueueListener {
+
+        /**
+         * 新的队列创建
+         *
+         * @param queue 队列
+         */
+        void onQueueCreated(RedisDelayQueue queue);
+    }
+}
@@ -0,0 +1,66 @@
+package com.commonspringboot.autoconfigure.redis.common.delay;
+
+/**
+ * 从延迟队列领取的任务
+ *
+ * @author yzy
+ */
+public final class RedisDelayedJob {
+
+    private final String queueName;
+
+    private final String id;
+
+    private final String payload;
+
+    private final int attempts;
+
+    private final long dueTime;
+
+    RedisDelayedJob(String queueName, String id, String payload, int attempts, long dueTime) {
+        this.queueName = queueName;
+        this.id = id;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.dueTime = dueTime;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    /**
+     * 任务 ID，同一个队列内唯一
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * 之前失败的次数，第一次处理时是 0
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * 到期时间，毫秒时间戳
+     */
+    public long getDueTime() {
+        return dueTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisDelayedJob{" +
+                "queueName='" + queueName + '\'' +
+                ", id='" + id + '\'' +
+                ", attempts=" + attempts +
+                ", dueTime=" + dueTime +
+                '}';
+    }
+}
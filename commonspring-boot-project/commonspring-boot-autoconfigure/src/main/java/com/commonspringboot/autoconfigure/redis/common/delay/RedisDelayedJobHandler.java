@@ -0,0 +1,17 @@
+package com.commonspringboot.autoconfigure.redis.common.delay;
+
+/**
+ * 延迟任务处理器，正常返回表示处理成功，抛出异常时按配置重试，超过最大重试次数后进入死信
+ *
+ * @author yzy
+ */
+public interface RedisDelayedJobHandler {
+
+    /**
+     * 处理到期的任务，同一个任务可能被重复投递（确认失败或者处理超过 claimTimeoutMillis），处理逻辑需要幂等
+     *
+     * @param job 任务
+     * @throws Exception 处理失败
+     */
+    void handle(RedisDelayedJob job) throws Exception;
+}
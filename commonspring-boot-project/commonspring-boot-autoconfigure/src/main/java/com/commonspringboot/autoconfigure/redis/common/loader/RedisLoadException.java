@@ -0,0 +1,19 @@
+package com.commonspringboot.autoconfigure.redis.common.loader;
+
+/**
+ * getOrLoad 回源加载失败，loader 抛出的受检异常作为 cause
+ *
+ * @author yzy
+ */
+public class RedisLoadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisLoadException(String message) {
+        super(message);
+    }
+
+    public RedisLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
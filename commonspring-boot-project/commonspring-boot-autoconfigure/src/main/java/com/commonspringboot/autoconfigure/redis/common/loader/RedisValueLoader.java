@@ -0,0 +1,391 @@
+package com.commonspringboot.autoconfigure.redis.common.loader;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodecException;
+import com.commonspringboot.autoconfigure.redis.common.model.LoaderConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.util.SafeEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 带击穿保护的回源加载：先读 Redis，没有时执行 loader 并写回 Redis
+ *
+ * 1. 同一个 key 在本进程内同时只有一个线程执行 loader，其他线程等待并共享结果
+ * 2. 开启 leaseEnabled 时先用 SET key:lease token NX PX 抢租约，没有抢到的进程每隔 leasePollMillis 读取一次 Redis，
+ *    等待持有租约的进程写入，超过 leaseWaitMillis 后自己加载
+ * 3. 写入的过期时间随机缩短最多 ttlJitter，避免同时写入的 key 同时过期
+ * 4. 值中记录了逻辑过期时间和加载耗时 delta，按 XFetch 算法 now - delta * beta * ln(random) >= expireAt 时提前刷新，
+ *    同一时刻只有一个调用者刷新，其他调用者（以及刷新失败时）继续返回旧值
+ * 5. Redis 连接失败时直接加载，仍然保证本进程内同一个 key 只加载一次
+ *
+ * Redis 中的值格式：1 字节标记（0 值、1 null）+ 8 字节逻辑过期时间 + 4 字节加载耗时（毫秒）+ 编解码器编码的值，
+ * 只能通过 getOrLoad 读取，格式不符的值按未命中处理并被覆盖
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisValueLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisValueLoader.class);
+
+    private static final byte FLAG_VALUE = 0;
+
+    private static final byte FLAG_NULL = 1;
+
+    private static final int HEADER_LENGTH = 1 + 8 + 4;
+
+    private static final String LEASE_SUFFIX = ":lease";
+
+    private static final RedisScript RELEASE_LEASE_SCRIPT = new RedisScript("commonspring-loader-release-lease",
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end");
+
+    private final Redis redis;
+
+    private final LoaderConfig config;
+
+    private final ConcurrentHashMap<String, FutureTask<Entry>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder loadFailures = new LongAdder();
+
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    private final LongAdder collapsed = new LongAdder();
+
+    private final LongAdder leaseWaits = new LongAdder();
+
+    private final LongAdder redisErrors = new LongAdder();
+
+    public RedisValueLoader(Redis redis) {
+        this(redis, new LoaderConfig());
+    }
+
+    public RedisValueLoader(Redis redis, LoaderConfig config) {
+        this.redis = redis;
+        this.config = config;
+    }
+
+    /**
+     * 读取 key 的值，不存在时执行 loader 加载并写入 Redis
+     *
+     * @param key        key
+     * @param ttlSeconds 过期时间，单位秒，必须大于 0
+     * @param type       值类型，使用 redis.getCodec() 编解码
+     * @param loader     加载器，可以返回 null
+     * @param <T>        值类型
+     * @return 返回缓存或者加载的值
+     * @throws RedisLoadException loader 抛出受检异常或者等待加载时被中断，loader 抛出的 RuntimeException 原样抛出
+     */
+    public <T> T getOrLoad(String key, int ttlSeconds, Class<T> type, Callable<T> loader) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds 必须大于 0");
+        }
+        Entry entry = read(key, type);
+        if (null == entry) {
+            misses.increment();
+            return type.cast(load(key, ttlSeconds, type, loader, null).value);
+        }
+        hits.increment();
+        if (!shouldRefresh(entry) || flights.containsKey(key)) {
+            return type.cast(entry.value);
+        }
+
+        earlyRefreshes.increment();
+        try {
+            return type.cast(load(key, ttlSeconds, type, loader, entry).value);
+        } catch (RuntimeException e) {
+            LOGGER.warn("提前刷新 {} 失败，继续使用旧值", key, e);
+            return type.cast(entry.value);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 执行 loader 的次数，包含提前刷新
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    public long getEarlyRefreshes() {
+        return earlyRefreshes.sum();
+    }
+
+    /**
+     * 等待本进程其他线程加载结果的次数
+     */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    /**
+     * 没有抢到租约、等待其他进程写入的次数
+     */
+    public long getLeaseWaits() {
+        return leaseWaits.sum();
+    }
+
+    public long getRedisErrors() {
+        return redisErrors.sum();
+    }
+
+    /**
+     * 本进程内合并加载，stale 不为 null 时是提前刷新，其他线程正在加载时直接返回旧值
+     */
+    private Entry load(final String key, final int ttlSeconds, final Class<?> type, final Callable<?> loader, final Entry stale) {
+        FutureTask<Entry> task = new FutureTask<>(new Callable<Entry>() {
+            @Override
+            public Entry call() throws Exception {
+                return loadOnce(key, ttlSeconds, type, loader, stale);
+            }
+        });
+        FutureTask<Entry> existing = flights.putIfAbsent(key, task);
+        if (null != existing) {
+            if (null != stale) {
+                return stale;
+            }
+            collapsed.increment();
+            return await(key, existing);
+        }
+        try {
+            task.run();
+        } finally {
+            flights.remove(key, task);
+        }
+        return await(key, task);
+    }
+
+    private Entry loadOnce(String key, int ttlSeconds, Class<?> type, Callable<?> loader, Entry stale) throws Exception {
+        if (null == stale) {
+            // 上一个加载刚刚结束时 flights 中已经没有这个 key，需要再读一次
+            Entry entry = read(key, type);
+            if (null != entry) {
+                return entry;
+            }
+        }
+
+        String leaseToken = null;
+        if (config.isLeaseEnabled()) {
+            String token = UUID.randomUUID().toString();
+            Boolean acquired = acquireLease(key, token);
+            if (Boolean.TRUE.equals(acquired)) {
+                leaseToken = token;
+            } else if (Boolean.FALSE.equals(acquired)) {
+                if (null != stale) {
+                    return stale;
+                }
+                leaseWaits.increment();
+                long deadline = System.currentTimeMillis() + config.getLeaseWaitMillis();
+                while (System.currentTimeMillis() < deadline) {
+                    TimeUnit.MILLISECONDS.sleep(Math.max(1, config.getLeasePollMillis()));
+                    Entry entry = read(key, type);
+                    if (null != entry) {
+                        return entry;
+                    }
+                    // 持有租约的进程加载失败或者退出后租约过期，重新抢
+                    acquired = acquireLease(key, token);
+                    if (!Boolean.FALSE.equals(acquired)) {
+                        leaseToken = Boolean.TRUE.equals(acquired) ? token : null;
+                        break;
+                    }
+                }
+            }
+        }
+
+        try {
+            return loadAndWrite(key, ttlSeconds, loader);
+        } finally {
+            if (null != leaseToken) {
+                releaseLease(key, leaseToken);
+            }
+        }
+    }
+
+    private Entry loadAndWrite(String key, int ttlSeconds, Callable<?> loader) throws Exception {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = loader.call();
+        } catch (Exception e) {
+            loadFailures.increment();
+            throw e;
+        }
+        loads.increment();
+        int deltaMillis = (int) Math.max(1, Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+        long ttlMillis = jitter(TimeUnit.SECONDS.toMillis(ttlSeconds));
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttlMillis, deltaMillis);
+        if (null == value && !config.isCacheNullValues()) {
+            return entry;
+        }
+        try {
+            redis.psetex(SafeEncoder.encode(key), ttlMillis, encode(entry));
+        } catch (JedisConnectionException e) {
+            redisErrors.increment();
+            LOGGER.warn("写入 {} 失败：{}", key, e.getMessage());
+        }
+        return entry;
+    }
+
+    /**
+     * @return 抢到返回 true，其他进程持有返回 false，Redis 连接失败返回 null
+     */
+    private Boolean acquireLease(String key, String token) {
+        try {
+            return "OK".equals(redis.set(key + LEASE_SUFFIX, token, "NX", "PX", Math.max(1, config.getLeaseMillis())));
+        } catch (JedisConnectionException e) {
+            redisErrors.increment();
+            LOGGER.debug("获取 {} 的租约失败：{}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void releaseLease(String key, String token) {
+        try {
+            redis.evalScript(RELEASE_LEASE_SCRIPT, Collections.singletonList(key + LEASE_SUFFIX), Collections.singletonList(token));
+        } catch (JedisException e) {
+            LOGGER.debug("释放 {} 的租约失败，等待租约过期：{}", key, e.getMessage());
+        }
+    }
+
+    private Entry await(String key, FutureTask<Entry> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisLoadException("等待 " + key + " 加载时被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RedisLoadException("加载 " + key + " 失败", cause);
+        }
+    }
+
+    private boolean shouldRefresh(Entry entry) {
+        double beta = config.getEarlyRefreshBeta();
+        if (beta <= 0) {
+            return false;
+        }
+        // 1 - nextDouble() 在 (0, 1] 之间，-ln 非负
+        double gap = -entry.deltaMillis * beta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.expireAt;
+    }
+
+    private long jitter(long ttlMillis) {
+        double jitter = Math.min(1, config.getTtlJitter());
+        if (jitter <= 0) {
+            return ttlMillis;
+        }
+        return Math.max(1, ttlMillis - (long) (ttlMillis * jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 读取并解码，不存在、格式不符、解码失败或者连接失败时返回 null
+     */
+    private Entry read(String key, Class<?> type) {
+        byte[] bytes;
+        try {
+            bytes = redis.get(SafeEncoder.encode(key));
+        } catch (JedisConnectionException e) {
+            redisErrors.increment();
+            LOGGER.debug("读取 {} 失败，直接加载：{}", key, e.getMessage());
+            return null;
+        }
+        if (null == bytes || bytes.length < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte flag = buffer.get();
+        long expireAt = buffer.getLong();
+        int deltaMillis = buffer.getInt();
+        if (flag == FLAG_NULL) {
+            return new Entry(null, expireAt, deltaMillis);
+        }
+        if (flag != FLAG_VALUE) {
+            return null;
+        }
+        try {
+            Object value = redis.getCodec().decode(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length), type.asSubclass(Object.class));
+            return new Entry(value, expireAt, deltaMillis);
+        } catch (RedisCodecException e) {
+            LOGGER.warn("解码 {} 失败，重新加载：{}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] encode(Entry entry) {
+        byte[] payload = null == entry.value ? new byte[0] : redis.getCodec().encode(entry.value);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        buffer.put(null == entry.value ? FLAG_NULL : FLAG_VALUE);
+        buffer.putLong(entry.expireAt);
+        buffer.putInt(entry.deltaMillis);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    @Override
+    public String toString() {
+        return "RedisValueLoader{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", loads=" + getLoads() +
+                ", loadFailures=" + getLoadFailures() +
+                ", earlyRefreshes=" + getEarlyRefreshes() +
+                ", collapsed=" + getCollapsed() +
+                ", leaseWaits=" + getLeaseWaits() +
+                ", redisErrors=" + getRedisErrors() +
+                '}';
+    }
+
+    private static class Entry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        private final int deltaMillis;
+
+        Entry(Object value, long expireAt, int deltaMillis) {
+            this.value = value;
+            this.expireAt = expireAt;
+            this.deltaMillis = deltaMillis;
+        }
+    }
+}
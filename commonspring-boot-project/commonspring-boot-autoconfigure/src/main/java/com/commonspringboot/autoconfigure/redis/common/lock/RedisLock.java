@@ -0,0 +1,134 @@
+package com.commonspringboot.autoconfigure.redis.common.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <pre>
+ * 分布式锁，通过 RedisLockService.getLock 获取，可重入，只能由加锁的线程解锁：
+ *     RedisLock lock = lockService.getLock("order:" + orderId);
+ *     if (lock.tryLock(3, TimeUnit.SECONDS)) {
+ *         try {
+ *             orderDao.update(order, lock.getFencingToken());
+ *         } finally {
+ *             lock.unlock();
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisLock implements Lock {
+
+    private final RedisLockService service;
+
+    private final String name;
+
+    RedisLock(RedisLockService service, String name) {
+        this.service = service;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 一直等待直到加锁成功，等待期间的中断在加锁后恢复
+     */
+    @Override
+    public void lock() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                service.acquire(name, -1, 0);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        service.acquire(name, -1, 0);
+    }
+
+    /**
+     * 只尝试一次，本进程其他线程正在抢同一分段时也直接返回 false
+     */
+    @Override
+    public boolean tryLock() {
+        try {
+            return service.acquire(name, 0, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        return service.acquire(name, Math.max(0, unit.toNanos(time)), 0);
+    }
+
+    /**
+     * 指定租约时间加锁，不自动续期，超过租约时间后锁自动释放
+     *
+     * @param waitTime  最长等待时间
+     * @param leaseTime 租约时间，必须大于 0
+     * @param unit      时间单位
+     * @return 返回是否加锁成功
+     * @throws InterruptedException 等待时被中断
+     */
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        long leaseMillis = unit.toMillis(leaseTime);
+        if (leaseMillis <= 0) {
+            throw new IllegalArgumentException("leaseTime 必须大于 0");
+        }
+        return service.acquire(name, Math.max(0, unit.toNanos(waitTime)), leaseMillis);
+    }
+
+    @Override
+    public void unlock() {
+        service.release(name);
+    }
+
+    /**
+     * 当前线程是否持有锁，续期时发现锁已经过期后返回 false
+     */
+    public boolean isHeldByCurrentThread() {
+        RedisLockService.Holder holder = service.getHolder(name);
+        return null != holder && !holder.isLost();
+    }
+
+    /**
+     * 本次加锁的 fencing token，同一个锁名称每次加锁都比上一次大
+     *
+     * @return 返回 fencing token
+     * @throws IllegalMonitorStateException 当前线程没有持有锁
+     */
+    public long getFencingToken() {
+        RedisLockService.Holder holder = service.getHolder(name);
+        if (null == holder) {
+            throw new IllegalMonitorStateException("当前线程没有持有锁[" + name + "]");
+        }
+        return holder.getFencingToken();
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("Redis 分布式锁不支持 Condition");
+    }
+
+    @Override
+    public String toString() {
+        return "RedisLock{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+}
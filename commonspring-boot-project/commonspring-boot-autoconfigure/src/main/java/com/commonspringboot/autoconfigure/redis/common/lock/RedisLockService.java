@@ -0,0 +1,482 @@
+package com.commonspringboot.autoconfigure.redis.common.lock;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RollingLatencyHistogram;
+import com.commonspringboot.autoconfigure.redis.common.model.LockConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * 基于 Redis 的分布式锁，每个 Redis 一个，{redisId}RedisLockService
+ *
+ * 1. 加锁使用一个 Lua 脚本完成 SET key value NX PX 和 fencing token 的 INCR，只有一次网络往返；
+ *    解锁和续期都先检查 value 是否是自己写入的，不会误删其他进程的锁
+ * 2. 同一个锁名称在本进程内先通过本地锁排队，同时只有一个线程访问 Redis 抢锁，
+ *    锁被本进程其他线程持有时不访问 Redis，本进程解锁时立即唤醒等待的线程；
+ *    本地锁按名称创建、没有线程使用时移除，不同名称之间不会互相等待
+ * 3. 开启看门狗时每隔 renewIntervalMillis 给持有的锁续期，进程退出后锁在 leaseMillis 后自动过期
+ * 4. 每次加锁成功返回一个单调递增的 fencing token，写入外部存储时带上 token 并拒绝更小的 token，
+ *    可以防止 GC 停顿或者网络分区导致锁过期之后旧的持有者继续写入
+ * 5. 锁可重入，只能由加锁的线程解锁
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisLockService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisLockService.class);
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    private static final RedisScript ACQUIRE_SCRIPT = new RedisScript("commonspring-lock-acquire",
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return redis.call('incr', KEYS[2]) end return 0");
+
+    private static final RedisScript RELEASE_SCRIPT = new RedisScript("commonspring-lock-release",
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0");
+
+    private static final RedisScript RENEW_SCRIPT = new RedisScript("commonspring-lock-renew",
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) end return 0");
+
+    private final ConcurrentHashMap<String, Holder> holders = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Gate> gates = new ConcurrentHashMap<>();
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder contended = new LongAdder();
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder lost = new LongAdder();
+
+    private final AtomicInteger localWaiters = new AtomicInteger();
+
+    private final RollingLatencyHistogram acquireTime = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final RollingLatencyHistogram localWaitTime = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    private Redis redis;
+
+    private LockConfig config = new LockConfig();
+
+    private ScheduledExecutorService watchdog;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    public LockConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(LockConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 停止看门狗并释放本进程持有的全部锁
+     */
+    public synchronized void shutdown() {
+        for (Holder holder : new ArrayList<>(holders.values())) {
+            holders.remove(holder.name, holder);
+            cancelRenewal(holder);
+            release(holder);
+        }
+        if (null != watchdog) {
+            watchdog.shutdownNow();
+            watchdog = null;
+        }
+    }
+
+    /**
+     * 获取锁对象，锁对象没有状态，可以缓存也可以每次获取
+     *
+     * @param name 锁名称，不能包含 { 和 }
+     * @return 返回锁
+     */
+    public RedisLock getLock(String name) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("锁名称不能为空");
+        }
+        if (name.indexOf('{') >= 0 || name.indexOf('}') >= 0) {
+            throw new IllegalArgumentException("锁名称不能包含 { 和 }：" + name);
+        }
+        return new RedisLock(this, name);
+    }
+
+    /**
+     * 加锁成功的次数
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * 等待超时没有拿到锁的次数
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 加锁成功之前需要等待（本地排队或者锁被其他进程持有）的次数
+     */
+    public long getContended() {
+        return contended.sum();
+    }
+
+    /**
+     * 访问 Redis 抢锁的次数
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * 持有期间锁过期（续期或者解锁时发现锁已经不是自己的）的次数
+     */
+    public long getLost() {
+        return lost.sum();
+    }
+
+    /**
+     * 本进程当前持有的锁数量
+     */
+    public int getHeld() {
+        return holders.size();
+    }
+
+    /**
+     * 正在本地排队的线程数
+     */
+    public int getLocalWaiters() {
+        return localWaiters.get();
+    }
+
+    /**
+     * 最近一两分钟内加锁成功的耗时，包含本地排队和等待其他进程释放
+     */
+    public RollingLatencyHistogram getAcquireTime() {
+        return acquireTime;
+    }
+
+    /**
+     * 最近一两分钟内本地排队的耗时
+     */
+    public RollingLatencyHistogram getLocalWaitTime() {
+        return localWaitTime;
+    }
+
+    /**
+     * @param waitNanos  最长等待时间，小于 0 表示一直等待
+     * @param leaseMillis 租约时间，小于等于 0 时使用配置并按配置续期
+     */
+    boolean acquire(String name, long waitNanos, long leaseMillis) throws InterruptedException {
+        Holder current = holders.get(name);
+        if (null != current && current.thread == Thread.currentThread()) {
+            current.holdCount++;
+            return true;
+        }
+
+        long start = System.nanoTime();
+        Gate gate = enterGate(name);
+        boolean waited = false;
+        try {
+            if (!gate.lock.tryLock()) {
+                waited = true;
+                localWaiters.incrementAndGet();
+                boolean locked;
+                try {
+                    if (waitNanos < 0) {
+                        gate.lock.lockInterruptibly();
+                        locked = true;
+                    } else {
+                        locked = gate.lock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+                    }
+                } finally {
+                    localWaiters.decrementAndGet();
+                }
+                localWaitTime.record(System.nanoTime() - start);
+                if (!locked) {
+                    timeouts.increment();
+                    return false;
+                }
+            }
+            try {
+                return acquireRemote(name, gate, start, waitNanos, leaseMillis, waited);
+            } finally {
+                gate.lock.unlock();
+            }
+        } finally {
+            leaveGate(name, gate);
+        }
+    }
+
+    /**
+     * 持有本地锁的线程访问 Redis 抢锁，锁被占用时等待解锁通知或者每隔 retryIntervalMillis 重试
+     */
+    private boolean acquireRemote(String name, Gate gate, long start, long waitNanos, long leaseMillis, boolean waited) throws InterruptedException {
+        boolean watchdogEnabled = leaseMillis <= 0 && config.isWatchdogEnabled();
+        long lease = leaseMillis > 0 ? leaseMillis : Math.max(1, config.getLeaseMillis());
+        boolean contendedAcquire = waited;
+        while (true) {
+            // 本进程其他线程持有时等待唤醒，不访问 Redis
+            boolean heldLocally = holders.containsKey(name);
+            if (!heldLocally) {
+                String value = UUID.randomUUID().toString();
+                attempts.increment();
+                long token = toLong(redis.evalScript(ACQUIRE_SCRIPT, Arrays.asList(lockKey(name), fenceKey(name)),
+                        Arrays.asList(value, String.valueOf(lease))));
+                if (token > 0) {
+                    Holder holder = new Holder(name, value, token, lease, Thread.currentThread());
+                    holders.put(name, holder);
+                    if (watchdogEnabled) {
+                        scheduleRenewal(holder);
+                    }
+                    acquired.increment();
+                    if (contendedAcquire) {
+                        contended.increment();
+                    }
+                    acquireTime.record(System.nanoTime() - start);
+                    return true;
+                }
+            }
+            contendedAcquire = true;
+
+            long waitMillis = Math.max(1, config.getRetryIntervalMillis());
+            if (waitNanos >= 0) {
+                long remaining = waitNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    timeouts.increment();
+                    return false;
+                }
+                waitMillis = Math.max(1, Math.min(waitMillis, TimeUnit.NANOSECONDS.toMillis(remaining)));
+            }
+            synchronized (gate) {
+                // 解锁时先移除再唤醒，这里再检查一次避免错过唤醒
+                if (!heldLocally || holders.containsKey(name)) {
+                    gate.wait(waitMillis);
+                }
+            }
+        }
+    }
+
+    void release(String name) {
+        Holder holder = holders.get(name);
+        if (null == holder || holder.thread != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("当前线程没有持有锁[" + name + "]");
+        }
+        if (--holder.holdCount > 0) {
+            return;
+        }
+        holders.remove(name, holder);
+        cancelRenewal(holder);
+        try {
+            release(holder);
+        } finally {
+            Gate gate = gates.get(name);
+            if (null != gate) {
+                synchronized (gate) {
+                    gate.notifyAll();
+                }
+            }
+        }
+    }
+
+    Holder getHolder(String name) {
+        Holder holder = holders.get(name);
+        return null != holder && holder.thread == Thread.currentThread() ? holder : null;
+    }
+
+    private void release(Holder holder) {
+        try {
+            long released = toLong(redis.evalScript(RELEASE_SCRIPT, Collections.singletonList(lockKey(holder.name)),
+                    Collections.singletonList(holder.value)));
+            if (released == 0 && !holder.lost) {
+                holder.lost = true;
+                lost.increment();
+                LOGGER.warn("Redis[{}] 解锁时锁[{}]已经过期或者被其他进程持有，fencingToken={}", redisId, holder.name, holder.fencingToken);
+            }
+        } catch (JedisException e) {
+            LOGGER.warn("Redis[{}] 释放锁[{}]失败，等待锁过期：{}", redisId, holder.name, e.getMessage());
+        }
+    }
+
+    private void scheduleRenewal(final Holder holder) {
+        long interval = config.getRenewIntervalMillis() > 0 ? config.getRenewIntervalMillis() : Math.max(1, holder.leaseMillis / 3);
+        holder.renewal = getWatchdog().scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                renew(holder);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew(Holder holder) {
+        if (holders.get(holder.name) != holder) {
+            cancelRenewal(holder);
+            return;
+        }
+        try {
+            long renewed = toLong(redis.evalScript(RENEW_SCRIPT, Collections.singletonList(lockKey(holder.name)),
+                    Arrays.asList(holder.value, String.valueOf(holder.leaseMillis))));
+            if (renewed == 0) {
+                holder.lost = true;
+                lost.increment();
+                cancelRenewal(holder);
+                LOGGER.warn("Redis[{}] 续期时锁[{}]已经过期或者被其他进程持有，fencingToken={}", redisId, holder.name, holder.fencingToken);
+            }
+        } catch (JedisException e) {
+            // 租约过期之前继续重试
+            LOGGER.warn("Redis[{}] 锁[{}]续期失败：{}", redisId, holder.name, e.getMessage());
+        }
+    }
+
+    private void cancelRenewal(Holder holder) {
+        ScheduledFuture<?> renewal = holder.renewal;
+        if (null != renewal) {
+            renewal.cancel(false);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getWatchdog() {
+        if (null == watchdog) {
+            watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "redis-lock-watchdog-" + THREAD_INDEX.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return watchdog;
+    }
+
+    private Gate enterGate(String name) {
+        while (true) {
+            Gate gate = gates.get(name);
+            if (null == gate) {
+                Gate newGate = new Gate();
+                gate = gates.putIfAbsent(name, newGate);
+                if (null == gate) {
+                    gate = newGate;
+                }
+            }
+            synchronized (gate) {
+                // 已经被最后一个使用者移除的本地锁不能再用
+                if (!gate.removed) {
+                    gate.users++;
+                    return gate;
+                }
+            }
+        }
+    }
+
+    private void leaveGate(String name, Gate gate) {
+        synchronized (gate) {
+            if (--gate.users == 0) {
+                gate.removed = true;
+                gates.remove(name, gate);
+            }
+        }
+    }
+
+    private String lockKey(String name) {
+        return config.getKeyPrefix() + "{" + name + "}";
+    }
+
+    private String fenceKey(String name) {
+        return config.getKeyPrefix() + "{" + name + "}:fence";
+    }
+
+    private static long toLong(Object result) {
+        return result instanceof Long ? (Long) result : 0;
+    }
+
+    /**
+     * 同一个锁名称的本地锁，users 是正在加锁的线程数，同时也是解锁通知的监视器
+     */
+    private static class Gate {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private int users;
+
+        private boolean removed;
+    }
+
+    /**
+     * 本进程持有的锁，只有持有线程修改 holdCount
+     */
+    static class Holder {
+
+        private final String name;
+
+        private final String value;
+
+        private final long fencingToken;
+
+        private final long leaseMillis;
+
+        private final Thread thread;
+
+        private int holdCount = 1;
+
+        private volatile boolean lost;
+
+        private volatile ScheduledFuture<?> renewal;
+
+        Holder(String name, String value, long fencingToken, long leaseMillis, Thread thread) {
+            this.name = name;
+            this.value = value;
+            this.fencingToken = fencingToken;
+            this.leaseMillis = leaseMillis;
+            this.thread = thread;
+        }
+
+        long getFencingToken() {
+            return fencingToken;
+        }
+
+        boolean isLost() {
+            return lost;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 单个命令的统计：累计调用次数、错误次数、执行中的数量以及耗时分布
+ *
+ * 耗时分布按窗口轮换，参考 RollingLatencyHistogram
+ * </pre>
+ *
+ * @author yzy
+ */
+public class CommandMetrics {
+
+    private final String redisId;
+
+    private final String command;
+
+    private final RedisMetrics owner;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final RollingLatencyHistogram latency;
+
+    CommandMetrics(RedisMetrics owner, String command, long windowNanos) {
+        this.owner = owner;
+        this.redisId = owner.getRedisId();
+        this.command = command;
+        this.latency = new RollingLatencyHistogram(windowNanos);
+    }
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 命令开始执行
+     *
+     * @return 返回开始时间，结束时传给 end
+     */
+    public long begin() {
+        inFlight.increment();
+        owner.inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * 命令执行结束
+     *
+     * @param startNanos begin 返回的开始时间
+     * @param failed     是否执行失败
+     */
+    public void end(long startNanos, boolean failed) {
+        latency.record(System.nanoTime() - startNanos);
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        inFlight.decrement();
+        owner.inFlight.decrement();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * 最近窗口的耗时分布
+     *
+     * @return 耗时直方图
+     */
+    public RollingLatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 快照
+     */
+    public CommandMetricsSnapshot snapshot() {
+        return new CommandMetricsSnapshot(command, getCount(), getErrors(), getInFlight(), latency.snapshot());
+    }
+}
@@ -0,0 +1,57 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+/**
+ * 单个命令的统计快照，count/errors 是累计值，latency 是最近窗口的耗时分布
+ *
+ * @author yzy
+ */
+public class CommandMetricsSnapshot {
+
+    private final String command;
+
+    private final long count;
+
+    private final long errors;
+
+    private final long inFlight;
+
+    private final LatencySnapshot latency;
+
+    public CommandMetricsSnapshot(String command, long count, long errors, long inFlight, LatencySnapshot latency) {
+        this.command = command;
+        this.count = count;
+        this.errors = errors;
+        this.inFlight = inFlight;
+        this.latency = latency;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return command + "{" +
+                "count=" + count +
+                ", errors=" + errors +
+                ", inFlight=" + inFlight +
+                ", latency=" + latency +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 无锁的对数-线性耗时直方图，参考 HdrHistogram 的分桶方式
+ *
+ * 每个 2 的幂区间再线性划分为 16 个桶，相对误差不超过 1/16，
+ * 记录只需要一次 AtomicLongArray 自增，超过 2^36 纳秒（约 68 秒）的值计入最后一个桶
+ * </pre>
+ *
+ * @author yzy
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 36;
+
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalValue = new LongAdder();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : nanos;
+        counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_VALUE)));
+        totalCount.increment();
+        totalValue.add(value);
+
+        long currentMax = maxValue.get();
+        while (value > currentMax && !maxValue.compareAndSet(currentMax, value)) {
+            currentMax = maxValue.get();
+        }
+    }
+
+    /**
+     * 把当前的计数累加到 target 中
+     *
+     * @param target 累加目标
+     */
+    void addTo(long[] target) {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            target[i] += counts.get(i);
+        }
+    }
+
+    long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    long getTotalValue() {
+        return totalValue.sum();
+    }
+
+    long getMaxValue() {
+        return maxValue.get();
+    }
+
+    static long[] newCounts() {
+        return new long[BUCKET_COUNT];
+    }
+
+    /**
+     * 计算百分位数
+     *
+     * @param counts   各个桶的计数
+     * @param total    总数
+     * @param max      最大值，返回结果不会超过最大值
+     * @param quantile 0 ~ 1
+     * @return 返回百分位数对应的耗时，单位纳秒，没有数据时返回 0
+     */
+    static long valueAtQuantile(long[] counts, long total, long max, double quantile) {
+        if (total <= 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return index + 1 >= BUCKET_COUNT ? MAX_TRACKABLE_VALUE : lowestEquivalentValue(index + 1) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 最近窗口的耗时快照，单位纳秒
+ *
+ * @author yzy
+ */
+public class LatencySnapshot {
+
+    private final long count;
+
+    private final long mean;
+
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    private final long p999;
+
+    private final long max;
+
+    public LatencySnapshot(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * 窗口内的记录数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 获取指定百分位的耗时，支持 0.5、0.9、0.99、0.999，其他值返回最大值
+     *
+     * @param quantile 百分位
+     * @param unit     时间单位
+     * @return 耗时
+     */
+    public double getValue(double quantile, TimeUnit unit) {
+        long nanos;
+        if (quantile == 0.5) {
+            nanos = p50;
+        } else if (quantile == 0.9) {
+            nanos = p90;
+        } else if (quantile == 0.99) {
+            nanos = p99;
+        } else if (quantile == 0.999) {
+            nanos = p999;
+        } else {
+            nanos = max;
+        }
+        return (double) nanos / unit.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "count=" + count +
+                ", meanMicros=" + TimeUnit.NANOSECONDS.toMicros(mean) +
+                ", p50Micros=" + TimeUnit.NANOSECONDS.toMicros(p50) +
+                ", p99Micros=" + TimeUnit.NANOSECONDS.toMicros(p99) +
+                ", p999Micros=" + TimeUnit.NANOSECONDS.toMicros(p999) +
+                ", maxMicros=" + TimeUnit.NANOSECONDS.toMicros(max) +
+                '}';
+    }
+}
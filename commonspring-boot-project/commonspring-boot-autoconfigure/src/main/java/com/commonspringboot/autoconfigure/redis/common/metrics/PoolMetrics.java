@@ -0,0 +1,208 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import com.commonspringboot.autoconfigure.redis.common.model.MetricsConfig;
+import org.apache.commons.pool2.impl.DefaultPooledObjectInfo;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.springframework.util.ReflectionUtils;
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
+
+import java.lang.reflect.Field;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * {redisId}JedisPool 连接池统计，用于根据数据调整 poolConfig 中的 maxTotal/maxIdle
+ *
+ * 1. 借出连接的等待耗时分布、借出失败次数，其中连接池耗尽（等待超时）单独计数
+ * 2. 当前借出、空闲、等待中的数量以及累计创建、销毁的连接数，直接读取 commons-pool2 的统计
+ * 3. 连接存活时间，读取时遍历连接池中的所有连接
+ *
+ * 连接池由连接提供者在第一次借出连接时绑定，哨兵模式的连接池在主从切换时会重建内部连接池，因此每次读取时重新获取
+ * </pre>
+ *
+ * @author yzy
+ */
+public class PoolMetrics {
+
+    private static final Field INTERNAL_POOL_FIELD = ReflectionUtils.findField(Pool.class, "internalPool");
+
+    static {
+        ReflectionUtils.makeAccessible(INTERNAL_POOL_FIELD);
+    }
+
+    private final LongAdder borrowFailures = new LongAdder();
+
+    private final LongAdder exhausted = new LongAdder();
+
+    private String redisId;
+
+    private String poolName;
+
+    private MetricsConfig config = new MetricsConfig();
+
+    private volatile RollingLatencyHistogram borrowWait;
+
+    private volatile Pool<Jedis> pool;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public MetricsConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(MetricsConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 绑定连接池，由连接提供者在借出连接时调用
+     *
+     * @param pool 连接池
+     */
+    public void bindPool(Pool<Jedis> pool) {
+        if (this.pool != pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * 记录一次成功借出连接的等待耗时
+     *
+     * @param nanos 等待耗时，单位纳秒
+     */
+    public void recordBorrow(long nanos) {
+        getBorrowWait().record(nanos);
+    }
+
+    /**
+     * 记录一次借出失败，等待超时或者连接池已耗尽时同时计入 exhausted
+     *
+     * @param e 借出时的异常
+     */
+    public void recordBorrowFailure(Exception e) {
+        borrowFailures.increment();
+        if (e.getCause() instanceof NoSuchElementException) {
+            exhausted.increment();
+        }
+    }
+
+    public RollingLatencyHistogram getBorrowWait() {
+        RollingLatencyHistogram histogram = borrowWait;
+        if (null == histogram) {
+            synchronized (this) {
+                histogram = borrowWait;
+                if (null == histogram) {
+                    histogram = new RollingLatencyHistogram(TimeUnit.SECONDS.toNanos(Math.max(1, config.getWindowSeconds())));
+                    borrowWait = histogram;
+                }
+            }
+        }
+        return histogram;
+    }
+
+    public long getBorrowFailures() {
+        return borrowFailures.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    public int getActive() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getNumActive();
+    }
+
+    public int getIdle() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getNumIdle();
+    }
+
+    public int getWaiters() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getNumWaiters();
+    }
+
+    public int getMaxTotal() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getMaxTotal();
+    }
+
+    public int getMaxIdle() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getMaxIdle();
+    }
+
+    public long getBorrowedCount() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getBorrowedCount();
+    }
+
+    public long getCreatedCount() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getCreatedCount();
+    }
+
+    public long getDestroyedCount() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        return null == internalPool ? 0 : internalPool.getDestroyedCount();
+    }
+
+    /**
+     * 计算连接池中所有连接的存活时间
+     *
+     * @return 返回 {平均值, 最大值}，单位毫秒，没有连接时都是 0
+     */
+    public long[] getConnectionAgeMillis() {
+        GenericObjectPool<Jedis> internalPool = internalPool();
+        if (null == internalPool) {
+            return new long[]{0, 0};
+        }
+        long now = System.currentTimeMillis();
+        long total = 0;
+        long max = 0;
+        int count = 0;
+        for (DefaultPooledObjectInfo info : internalPool.listAllObjects()) {
+            long age = Math.max(0, now - info.getCreateTime());
+            total += age;
+            max = Math.max(max, age);
+            ++count;
+        }
+        return new long[]{count == 0 ? 0 : total / count, max};
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 快照
+     */
+    public PoolMetricsSnapshot snapshot() {
+        long[] age = getConnectionAgeMillis();
+        return new PoolMetricsSnapshot(redisId, poolName, getActive(), getIdle(), getWaiters(), getMaxTotal(), getMaxIdle(),
+                getBorrowedCount(), getBorrowFailures(), getExhausted(), getCreatedCount(), getDestroyedCount(),
+                age[0], age[1], getBorrowWait().snapshot());
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericObjectPool<Jedis> internalPool() {
+        Pool<Jedis> current = pool;
+        return null == current ? null : (GenericObjectPool<Jedis>) ReflectionUtils.getField(INTERNAL_POOL_FIELD, current);
+    }
+}
@@ -0,0 +1,140 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+/**
+ * 连接池统计快照，计数都是累计值
+ *
+ * @author yzy
+ */
+public class PoolMetricsSnapshot {
+
+    private final String redisId;
+
+    private final String poolName;
+
+    private final int active;
+
+    private final int idle;
+
+    private final int waiters;
+
+    private final int maxTotal;
+
+    private final int maxIdle;
+
+    private final long borrowed;
+
+    private final long borrowFailures;
+
+    private final long exhausted;
+
+    private final long created;
+
+    private final long destroyed;
+
+    private final long meanConnectionAgeMillis;
+
+    private final long maxConnectionAgeMillis;
+
+    private final LatencySnapshot borrowWait;
+
+    public PoolMetricsSnapshot(String redisId, String poolName, int active, int idle, int waiters, int maxTotal, int maxIdle,
+                               long borrowed, long borrowFailures, long exhausted, long created, long destroyed,
+                               long meanConnectionAgeMillis, long maxConnectionAgeMillis, LatencySnapshot borrowWait) {
+        this.redisId = redisId;
+        this.poolName = poolName;
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxTotal = maxTotal;
+        this.maxIdle = maxIdle;
+        this.borrowed = borrowed;
+        this.borrowFailures = borrowFailures;
+        this.exhausted = exhausted;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.meanConnectionAgeMillis = meanConnectionAgeMillis;
+        this.maxConnectionAgeMillis = maxConnectionAgeMillis;
+        this.borrowWait = borrowWait;
+    }
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    public long getBorrowFailures() {
+        return borrowFailures;
+    }
+
+    public long getExhausted() {
+        return exhausted;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getDestroyed() {
+        return destroyed;
+    }
+
+    public long getMeanConnectionAgeMillis() {
+        return meanConnectionAgeMillis;
+    }
+
+    public long getMaxConnectionAgeMillis() {
+        return maxConnectionAgeMillis;
+    }
+
+    public LatencySnapshot getBorrowWait() {
+        return borrowWait;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetricsSnapshot{" +
+                "redisId='" + redisId + '\'' +
+                ", poolName='" + poolName + '\'' +
+                ", active=" + active +
+                ", idle=" + idle +
+                ", waiters=" + waiters +
+                ", maxTotal=" + maxTotal +
+                ", maxIdle=" + maxIdle +
+                ", borrowed=" + borrowed +
+                ", borrowFailures=" + borrowFailures +
+                ", exhausted=" + exhausted +
+                ", created=" + created +
+                ", destroyed=" + destroyed +
+                ", meanConnectionAgeMillis=" + meanConnectionAgeMillis +
+                ", maxConnectionAgeMillis=" + maxConnectionAgeMillis +
+                ", borrowWait=" + borrowWait +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import com.commonspringboot.autoconfigure.redis.common.AbstractRedis;
+import com.commonspringboot.autoconfigure.redis.common.JedisKeyExecutors;
+import com.commonspringboot.autoconfigure.redis.common.PipelineExecutor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+
+/**
+ * <pre>
+ * 根据执行器的类解析命令名称
+ *
+ * 1. JedisKeyExecutors 中的常量使用常量名，如 HGETALL -&gt; hgetall
+ * 2. AbstractRedis 中声明的匿名执行器使用所在方法名，如 hgetAll -&gt; hgetall，doGet -&gt; get
+ * 3. 其他执行器（业务代码自定义的）统一为 execute 或 pipeline，避免指标数量失控
+ * </pre>
+ *
+ * @author yzy
+ */
+public final class RedisCommandNames {
+
+    public static final String CUSTOM_COMMAND = "execute";
+
+    public static final String CUSTOM_PIPELINE = "pipeline";
+
+    private RedisCommandNames() {
+    }
+
+    public static String resolve(Class<?> executorClass) {
+        Class<?> enclosingClass = executorClass.getEnclosingClass();
+        if (JedisKeyExecutors.class == enclosingClass) {
+            String name = resolveConstantName(executorClass);
+            if (null != name) {
+                return normalize(name);
+            }
+        }
+
+        if (null != enclosingClass && AbstractRedis.class.isAssignableFrom(enclosingClass)) {
+            Method method = executorClass.getEnclosingMethod();
+            if (null != method) {
+                String name = method.getName();
+                // 私有的 doXxx 方法是 xxx 的实现
+                if (name.length() > 2 && name.startsWith("do") && Character.isUpperCase(name.charAt(2))) {
+                    name = name.substring(2);
+                }
+                return normalize(name);
+            }
+        }
+
+        return PipelineExecutor.class.isAssignableFrom(executorClass) ? CUSTOM_PIPELINE : CUSTOM_COMMAND;
+    }
+
+    private static String resolveConstantName(Class<?> executorClass) {
+        for (Field field : JedisKeyExecutors.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                Object value = field.get(null);
+                if (null != value && value.getClass() == executorClass) {
+                    return field.getName();
+                }
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,140 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import com.commonspringboot.autoconfigure.redis.common.model.MetricsConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 单个 Redis 的命令统计，由 AbstractRedis 在执行命令时记录
+ *
+ * 命令名称根据执行器的类解析一次后缓存，记录时只有一次 ConcurrentHashMap 查找和几次无锁自增
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisMetrics {
+
+    final LongAdder inFlight = new LongAdder();
+
+    private final ConcurrentHashMap<Class<?>, CommandMetrics> executorCommands = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+
+    private final List<CommandMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    private String redisId;
+
+    private MetricsConfig config = new MetricsConfig();
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public MetricsConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(MetricsConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取执行器对应命令的统计
+     *
+     * @param executor JedisExecutor、JedisKeyExecutor 或者 PipelineExecutor
+     * @return 命令统计
+     */
+    public CommandMetrics command(Object executor) {
+        CommandMetrics metrics = executorCommands.get(executor.getClass());
+        if (null == metrics) {
+            metrics = command(RedisCommandNames.resolve(executor.getClass()));
+            executorCommands.putIfAbsent(executor.getClass(), metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * 获取指定命令的统计，不存在时创建
+     *
+     * @param command 命令名称
+     * @return 命令统计
+     */
+    public CommandMetrics command(String command) {
+        CommandMetrics metrics = commands.get(command);
+        if (null != metrics) {
+            return metrics;
+        }
+        CommandMetrics created = new CommandMetrics(this, command, TimeUnit.SECONDS.toNanos(Math.max(1, config.getWindowSeconds())));
+        metrics = commands.putIfAbsent(command, created);
+        if (null != metrics) {
+            return metrics;
+        }
+        for (CommandMetricsListener listener : listeners) {
+            listener.onCommandCreated(created);
+        }
+        return created;
+    }
+
+    /**
+     * 添加命令统计创建监听器，已经存在的命令会立即通知
+     *
+     * @param listener 监听器
+     */
+    public void addListener(CommandMetricsListener listener) {
+        listeners.add(listener);
+        for (CommandMetrics metrics : commands.values()) {
+            listener.onCommandCreated(metrics);
+        }
+    }
+
+    public Collection<CommandMetrics> getCommands() {
+        return Collections.unmodifiableCollection(commands.values());
+    }
+
+    /**
+     * 当前正在执行的命令数
+     *
+     * @return 执行中的数量
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * 获取所有命令的统计快照
+     *
+     * @return 快照
+     */
+    public RedisMetricsSnapshot snapshot() {
+        List<CommandMetricsSnapshot> commandSnapshots = new ArrayList<>(commands.size());
+        for (CommandMetrics metrics : commands.values()) {
+            commandSnapshots.add(metrics.snapshot());
+        }
+        return new RedisMetricsSnapshot(redisId, getInFlight(), commandSnapshots);
+    }
+
+    /**
+     * 命令统计创建监听器，用于把新出现的命令注册到外部监控系统
+     */
+    public interface CommandMetricsListener {
+
+        /**
+         * 新的命令统计创建
+         *
+         * @param metrics 命令统计
+         */
+        void onCommandCreated(CommandMetrics metrics);
+    }
+}
@@ -0,0 +1,841 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.cache.CommonRedisCache;
+import com.commonspringboot.autoconfigure.redis.common.cache.CommonRedisCacheManager;
+import com.commonspringboot.autoconfigure.redis.common.delay.RedisDelayQueue;
+import com.commonspringboot.autoconfigure.redis.common.delay.RedisDelayQueueService;
+import com.commonspringboot.autoconfigure.redis.common.lock.RedisLockService;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisSubscription;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisSubscriptionService;
+import com.commonspringboot.autoconfigure.redis.common.queue.RedisReliableQueue;
+import com.commonspringboot.autoconfigure.redis.common.queue.RedisReliableQueueService;
+import com.commonspringboot.autoconfigure.redis.common.ratelimit.RedisRateLimiter;
+import com.commonspringboot.autoconfigure.redis.common.ratelimit.RedisRateLimiterService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <pre>
+ * 把所有 {redisId}RedisMetrics 注册到 Micrometer，指标：
+ *     commonspring.redis.in.flight            Redis 执行中的命令数，tag: redis
+ *     commonspring.redis.command.calls        命令累计调用次数，tag: redis, command
+ *     commonspring.redis.command.errors       命令累计错误次数，tag: redis, command
+ *     commonspring.redis.command.in.flight    命令执行中的数量，tag: redis, command
+ *     commonspring.redis.command.latency      最近窗口的耗时，tag: redis, command, quantile(0.5/0.9/0.99/0.999/max)
+ *
+ * 以及所有 {redisId}JedisPoolMetrics，tag: redis, pool：
+ *     commonspring.redis.pool.active           借出中的连接数
+ *     commonspring.redis.pool.idle             空闲连接数
+ *     commonspring.redis.pool.waiters          等待借出的线程数
+ *     commonspring.redis.pool.max.total        maxTotal 配置
+ *     commonspring.redis.pool.borrows          累计借出次数
+ *     commonspring.redis.pool.borrow.failures  累计借出失败次数
+ *     commonspring.redis.pool.exhausted        累计因连接池耗尽导致的借出失败次数
+ *     commonspring.redis.pool.created          累计创建的连接数
+ *     commonspring.redis.pool.destroyed        累计销毁的连接数
+ *     commonspring.redis.pool.borrow.wait      最近窗口的借出等待耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *     commonspring.redis.pool.connection.age   连接存活时间，tag: statistic(mean/max)
+ *
+ * 以及所有 {redisId}RedisCircuitBreaker，tag: redis：
+ *     commonspring.redis.circuit.state          熔断状态，0 CLOSED、1 OPEN、2 HALF_OPEN
+ *     commonspring.redis.circuit.failure.rate   窗口内连接错误比例，百分比
+ *     commonspring.redis.circuit.slow.rate      窗口内慢调用比例，百分比
+ *     commonspring.redis.circuit.opened         累计熔断次数
+ *     commonspring.redis.circuit.rejected       累计拒绝的调用数
+ *
+ * 以及所有 {redisId}RedisSubscriptionService 的订阅，tag: redis, subscription：
+ *     commonspring.redis.pubsub.queue.size      队列中等待处理的消息数
+ *     commonspring.redis.pubsub.received        累计接收的消息数
+ *     commonspring.redis.pubsub.delivered       累计处理成功的消息数
+ *     commonspring.redis.pubsub.failed          累计处理失败的消息数
+ *     commonspring.redis.pubsub.dropped         累计因队列满丢弃的消息数
+ *     commonspring.redis.pubsub.lag             最近窗口的消息从接收到开始处理的延迟，tag: quantile(0.5/0.9/0.99/0.999/max)
+ * 和订阅连接，tag: redis：
+ *     commonspring.redis.pubsub.connected       订阅连接是否正常，1 正常、0 断开
+ *     commonspring.redis.pubsub.reconnects      累计断开次数
+ *
+ * 以及所有 CommonRedisCacheManager 的缓存，tag: redis, cache：
+ *     commonspring.redis.cache.gets             累计读取次数，tag: result(local_hit/hit/miss)
+ *     commonspring.redis.cache.puts             累计写入的值数量
+ *     commonspring.redis.cache.evictions        累计删除次数
+ *     commonspring.redis.cache.loads            累计 sync 加载次数，tag: result(success/failure)
+ *     commonspring.redis.cache.load.time        最近窗口的加载耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *     commonspring.redis.cache.local.size       一级缓存中的 key 数量
+ *
+ * 以及所有 {redisId}RedisLockService，tag: redis：
+ *     commonspring.redis.lock.acquires          累计加锁次数，tag: result(success/timeout)
+ *     commonspring.redis.lock.contended         累计需要等待才加锁成功的次数
+ *     commonspring.redis.lock.attempts          累计访问 Redis 抢锁的次数
+ *     commonspring.redis.lock.lost              累计持有期间锁过期的次数
+ *     commonspring.redis.lock.held              本进程持有的锁数量
+ *     commonspring.redis.lock.local.waiters     本地排队的线程数
+ *     commonspring.redis.lock.acquire.time      最近窗口的加锁耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *     commonspring.redis.lock.local.wait        最近窗口的本地排队耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *
+ * 以及所有 {redisId}RedisRateLimiterService 创建的限流器，tag: redis、limiter：
+ *     commonspring.redis.ratelimit.requests     累计请求数，tag: result(allowed/denied)
+ *     commonspring.redis.ratelimit.local        累计使用本地许可放行的次数
+ *     commonspring.redis.ratelimit.calls        累计访问 Redis 的次数
+ *     commonspring.redis.ratelimit.returned     累计归还 Redis 的许可数
+ *     commonspring.redis.ratelimit.errors       累计访问 Redis 失败的次数
+ *     commonspring.redis.ratelimit.subjects     本地有记录的 subject 数量
+ *
+ * 以及所有 {redisId}RedisDelayQueueService 创建的延迟队列，tag: redis、queue：
+ *     commonspring.redis.delay.depth            最近一次领取时队列中等待的任务数
+ *     commonspring.redis.delay.in.flight        本进程已领取还没处理完的任务数
+ *     commonspring.redis.delay.jobs             累计处理的任务数，tag: result(success/retry/dead)
+ *     commonspring.redis.delay.claimed          累计领取的任务数
+ *     commonspring.redis.delay.redelivered      累计确认超时重新投递的任务数
+ *     commonspring.redis.delay.polls            累计领取次数，tag: result(success/error)
+ *     commonspring.redis.delay.lag              最近窗口的投递延迟（领取时间 - 到期时间），tag: quantile(0.5/0.9/0.99/0.999/max)
+ *     commonspring.redis.delay.handle.time      最近窗口的处理耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *
+ * 以及所有 {redisId}RedisReliableQueueService 创建的可靠队列，tag: redis、queue：
+ *     commonspring.redis.queue.in.flight        本进程已读取还没处理完的消息数
+ *     commonspring.redis.queue.messages         累计处理的消息数，tag: result(success/retry/dead)
+ *     commonspring.redis.queue.fetched          累计读取的消息数
+ *     commonspring.redis.queue.fetches          累计读取次数，tag: result(success/error)
+ *     commonspring.redis.queue.reclaimed        累计从超时消费者放回队列的消息数
+ *     commonspring.redis.queue.handle.time      最近窗口的处理耗时，tag: quantile(0.5/0.9/0.99/0.999/max)
+ *
+ * 这些 Bean 都是延迟初始化的，绑定时不会创建它们，只绑定已经创建的，之后创建的在初始化完成时绑定，
+ * 没有使用的服务不会因为注册指标而启动后台线程
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisMetricsBinder implements MeterBinder, BeanPostProcessor {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * 需要注册指标的 Bean 类型，这些 Bean 都是延迟初始化的，只绑定已经创建的，之后创建的在 postProcessAfterInitialization 中绑定
+     */
+    private static final Class<?>[] BOUND_TYPES = {RedisMetrics.class, PoolMetrics.class, RedisCircuitBreaker.class,
+            RedisSubscriptionService.class, RedisLockService.class, RedisRateLimiterService.class, RedisDelayQueueService.class,
+            RedisReliableQueueService.class, CommonRedisCacheManager.class};
+
+    private final ListableBeanFactory beanFactory;
+
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+
+    public RedisMetricsBinder(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registries.add(registry);
+        if (!(beanFactory instanceof SingletonBeanRegistry)) {
+            return;
+        }
+        SingletonBeanRegistry singletons = (SingletonBeanRegistry) beanFactory;
+        for (Class<?> type : BOUND_TYPES) {
+            for (String beanName : beanFactory.getBeanNamesForType(type, false, false)) {
+                Object bean = singletons.getSingleton(beanName);
+                if (null != bean) {
+                    bind(registry, bean);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        for (MeterRegistry registry : registries) {
+            bind(registry, bean);
+        }
+        return bean;
+    }
+
+    private void bind(final MeterRegistry registry, Object bean) {
+        if (bean instanceof RedisMetrics) {
+            RedisMetrics redisMetrics = (RedisMetrics) bean;
+            Gauge.builder("commonspring.redis.in.flight", redisMetrics, new ToDoubleFunction<RedisMetrics>() {
+                @Override
+                public double applyAsDouble(RedisMetrics value) {
+                    return value.getInFlight();
+                }
+            }).tag("redis", redisMetrics.getRedisId()).register(registry);
+
+            redisMetrics.addListener(new RedisMetrics.CommandMetricsListener() {
+                @Override
+                public void onCommandCreated(CommandMetrics metrics) {
+                    bindCommand(registry, metrics);
+                }
+            });
+        } else if (bean instanceof PoolMetrics) {
+            bindPool(registry, (PoolMetrics) bean);
+        } else if (bean instanceof RedisCircuitBreaker) {
+            bindCircuitBreaker(registry, (RedisCircuitBreaker) bean);
+        } else if (bean instanceof RedisSubscriptionService) {
+            RedisSubscriptionService service = (RedisSubscriptionService) bean;
+            bindSubscriptionService(registry, service);
+            service.addListener(new RedisSubscriptionService.SubscriptionListener() {
+                @Override
+                public void onSubscriptionCreated(RedisSubscription subscription) {
+                    bindSubscription(registry, subscription);
+                }
+            });
+        } else if (bean instanceof RedisLockService) {
+            bindLockService(registry, (RedisLockService) bean);
+        } else if (bean instanceof RedisRateLimiterService) {
+            ((RedisRateLimiterService) bean).addListener(new RedisRateLimiterService.LimiterListener() {
+                @Override
+                public void onLimiterCreated(RedisRateLimiter limiter) {
+                    bindRateLimiter(registry, limiter);
+                }
+            });
+        } else if (bean instanceof RedisDelayQueueService) {
+            ((RedisDelayQueueService) bean).addListener(new RedisDelayQueueService.QueueListener() {
+                @Override
+                public void onQueueCreated(RedisDelayQueue queue) {
+                    bindDelayQueue(registry, queue);
+                }
+            });
+        } else if (bean instanceof RedisReliableQueueService) {
+            ((RedisReliableQueueService) bean).addListener(new RedisReliableQueueService.QueueListener() {
+                @Override
+                public void onQueueCreated(RedisReliableQueue queue) {
+                    bindReliableQueue(registry, queue);
+                }
+            });
+        } else if (bean instanceof CommonRedisCacheManager) {
+            CommonRedisCacheManager cacheManager = (CommonRedisCacheManager) bean;
+            final String defaultRedisId = StringUtils.hasText(cacheManager.getDefaultRedisId()) ? cacheManager.getDefaultRedisId() : "cacheRedis";
+            cacheManager.addListener(new CommonRedisCacheManager.CacheListener() {
+                @Override
+                public void onCacheCreated(CommonRedisCache cache) {
+                    bindCache(registry, cache, StringUtils.hasText(cache.getRedisId()) ? cache.getRedisId() : defaultRedisId);
+                }
+            });
+        }
+    }
+
+    private void bindCommand(MeterRegistry registry, CommandMetrics metrics) {
+        Tags tags = Tags.of("redis", metrics.getRedisId(), "command", metrics.getCommand());
+
+        FunctionCounter.builder("commonspring.redis.command.calls", metrics, new ToDoubleFunction<CommandMetrics>() {
+            @Override
+            public double applyAsDouble(CommandMetrics value) {
+                return value.getCount();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.command.errors", metrics, new ToDoubleFunction<CommandMetrics>() {
+            @Override
+            public double applyAsDouble(CommandMetrics value) {
+                return value.getErrors();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.command.in.flight", metrics, new ToDoubleFunction<CommandMetrics>() {
+            @Override
+            public double applyAsDouble(CommandMetrics value) {
+                return value.getInFlight();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindLatency(registry, metrics, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindLatency(registry, metrics, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindLatency(MeterRegistry registry, CommandMetrics metrics, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.command.latency", metrics, TimeUnit.NANOSECONDS, new ToDoubleFunction<CommandMetrics>() {
+            @Override
+            public double applyAsDouble(CommandMetrics value) {
+                return value.getLatency().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindPool(MeterRegistry registry, PoolMetrics metrics) {
+        Tags tags = Tags.of("redis", metrics.getRedisId(), "pool", metrics.getPoolName());
+
+        Gauge.builder("commonspring.redis.pool.active", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getActive();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.pool.idle", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getIdle();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.pool.waiters", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getWaiters();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.pool.max.total", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getMaxTotal();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pool.borrows", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getBorrowedCount();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pool.borrow.failures", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getBorrowFailures();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pool.exhausted", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getExhausted();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pool.created", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getCreatedCount();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pool.destroyed", metrics, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getDestroyedCount();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindBorrowWait(registry, metrics, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindBorrowWait(registry, metrics, tags.and("quantile", "max"), 1.0);
+
+        TimeGauge.builder("commonspring.redis.pool.connection.age", metrics, TimeUnit.MILLISECONDS, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getConnectionAgeMillis()[0];
+            }
+        }).tags(tags.and("statistic", "mean")).register(registry);
+
+        TimeGauge.builder("commonspring.redis.pool.connection.age", metrics, TimeUnit.MILLISECONDS, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getConnectionAgeMillis()[1];
+            }
+        }).tags(tags.and("statistic", "max")).register(registry);
+    }
+
+    private void bindBorrowWait(MeterRegistry registry, PoolMetrics metrics, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.pool.borrow.wait", metrics, TimeUnit.NANOSECONDS, new ToDoubleFunction<PoolMetrics>() {
+            @Override
+            public double applyAsDouble(PoolMetrics value) {
+                return value.getBorrowWait().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindCircuitBreaker(MeterRegistry registry, RedisCircuitBreaker circuitBreaker) {
+        Tags tags = Tags.of("redis", circuitBreaker.getRedisId());
+
+        Gauge.builder("commonspring.redis.circuit.state", circuitBreaker, new ToDoubleFunction<RedisCircuitBreaker>() {
+            @Override
+            public double applyAsDouble(RedisCircuitBreaker value) {
+                return value.getState();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.circuit.failure.rate", circuitBreaker, new ToDoubleFunction<RedisCircuitBreaker>() {
+            @Override
+            public double applyAsDouble(RedisCircuitBreaker value) {
+                return value.getFailureRate();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.circuit.slow.rate", circuitBreaker, new ToDoubleFunction<RedisCircuitBreaker>() {
+            @Override
+            public double applyAsDouble(RedisCircuitBreaker value) {
+                return value.getSlowCallRate();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.circuit.opened", circuitBreaker, new ToDoubleFunction<RedisCircuitBreaker>() {
+            @Override
+            public double applyAsDouble(RedisCircuitBreaker value) {
+                return value.getOpenedCount();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.circuit.rejected", circuitBreaker, new ToDoubleFunction<RedisCircuitBreaker>() {
+            @Override
+            public double applyAsDouble(RedisCircuitBreaker value) {
+                return value.getRejectedCount();
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindSubscriptionService(MeterRegistry registry, RedisSubscriptionService service) {
+        Tags tags = Tags.of("redis", service.getRedisId());
+
+        Gauge.builder("commonspring.redis.pubsub.connected", service, new ToDoubleFunction<RedisSubscriptionService>() {
+            @Override
+            public double applyAsDouble(RedisSubscriptionService value) {
+                return value.isConnected() ? 1 : 0;
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pubsub.reconnects", service, new ToDoubleFunction<RedisSubscriptionService>() {
+            @Override
+            public double applyAsDouble(RedisSubscriptionService value) {
+                return value.getReconnects();
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindSubscription(MeterRegistry registry, RedisSubscription subscription) {
+        Tags tags = Tags.of("redis", subscription.getRedisId(), "subscription", subscription.getName());
+
+        Gauge.builder("commonspring.redis.pubsub.queue.size", subscription, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getQueueSize();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pubsub.received", subscription, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getReceived();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pubsub.delivered", subscription, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getDelivered();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pubsub.failed", subscription, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getFailed();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.pubsub.dropped", subscription, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getDropped();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindLag(registry, subscription, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindLag(registry, subscription, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindLag(MeterRegistry registry, RedisSubscription subscription, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.pubsub.lag", subscription, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisSubscription>() {
+            @Override
+            public double applyAsDouble(RedisSubscription value) {
+                return value.getLag().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindCache(MeterRegistry registry, CommonRedisCache cache, String redisId) {
+        Tags tags = Tags.of("redis", redisId, "cache", cache.getName());
+
+        FunctionCounter.builder("commonspring.redis.cache.gets", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getLocalHits();
+            }
+        }).tags(tags.and("result", "local_hit")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.gets", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getHits();
+            }
+        }).tags(tags.and("result", "hit")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.gets", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getMisses();
+            }
+        }).tags(tags.and("result", "miss")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.puts", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getPuts();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.evictions", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getEvictions();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.loads", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getLoadSuccesses();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.cache.loads", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getLoadFailures();
+            }
+        }).tags(tags.and("result", "failure")).register(registry);
+
+        Gauge.builder("commonspring.redis.cache.local.size", cache, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getLocalSize();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindLoadTime(registry, cache, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindLoadTime(registry, cache, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindLoadTime(MeterRegistry registry, CommonRedisCache cache, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.cache.load.time", cache, TimeUnit.NANOSECONDS, new ToDoubleFunction<CommonRedisCache>() {
+            @Override
+            public double applyAsDouble(CommonRedisCache value) {
+                return value.getStatistics().getLoadTime().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindLockService(MeterRegistry registry, RedisLockService lockService) {
+        Tags tags = Tags.of("redis", lockService.getRedisId());
+
+        FunctionCounter.builder("commonspring.redis.lock.acquires", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getAcquired();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.lock.acquires", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getTimeouts();
+            }
+        }).tags(tags.and("result", "timeout")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.lock.contended", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getContended();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.lock.attempts", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getAttempts();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.lock.lost", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getLost();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.lock.held", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getHeld();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.lock.local.waiters", lockService, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getLocalWaiters();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindLockTime(registry, lockService, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindLockTime(registry, lockService, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindLockTime(MeterRegistry registry, RedisLockService lockService, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.lock.acquire.time", lockService, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getAcquireTime().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+
+        TimeGauge.builder("commonspring.redis.lock.local.wait", lockService, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisLockService>() {
+            @Override
+            public double applyAsDouble(RedisLockService value) {
+                return value.getLocalWaitTime().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindRateLimiter(MeterRegistry registry, RedisRateLimiter limiter) {
+        Tags tags = Tags.of("redis", limiter.getRedisId(), "limiter", limiter.getName());
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.requests", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getAllowed();
+            }
+        }).tags(tags.and("result", "allowed")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.requests", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getDenied();
+            }
+        }).tags(tags.and("result", "denied")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.local", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getLocalAllowed();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.calls", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getRedisCalls();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.returned", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getReturned();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.ratelimit.errors", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.getRedisErrors();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.ratelimit.subjects", limiter, new ToDoubleFunction<RedisRateLimiter>() {
+            @Override
+            public double applyAsDouble(RedisRateLimiter value) {
+                return value.size();
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindDelayQueue(MeterRegistry registry, RedisDelayQueue queue) {
+        Tags tags = Tags.of("redis", queue.getRedisId(), "queue", queue.getName());
+
+        Gauge.builder("commonspring.redis.delay.depth", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getDepth() < 0 ? Double.NaN : value.getDepth();
+            }
+        }).tags(tags).register(registry);
+
+        Gauge.builder("commonspring.redis.delay.in.flight", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getInFlight();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.jobs", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getSucceeded();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.jobs", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getRetried();
+            }
+        }).tags(tags.and("result", "retry")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.jobs", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getDeadLettered();
+            }
+        }).tags(tags.and("result", "dead")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.claimed", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getClaimed();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.redelivered", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getRedelivered();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.polls", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getPolls() - value.getPollErrors();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.delay.polls", queue, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getPollErrors();
+            }
+        }).tags(tags.and("result", "error")).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindDelayQueueTime(registry, queue, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindDelayQueueTime(registry, queue, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindDelayQueueTime(MeterRegistry registry, RedisDelayQueue queue, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.delay.lag", queue, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getLag().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+
+        TimeGauge.builder("commonspring.redis.delay.handle.time", queue, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisDelayQueue>() {
+            @Override
+            public double applyAsDouble(RedisDelayQueue value) {
+                return value.getHandleTime().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+
+    private void bindReliableQueue(MeterRegistry registry, RedisReliableQueue queue) {
+        Tags tags = Tags.of("redis", queue.getRedisId(), "queue", queue.getName());
+
+        Gauge.builder("commonspring.redis.queue.in.flight", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getInFlight();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.messages", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getSucceeded();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.messages", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getRetried();
+            }
+        }).tags(tags.and("result", "retry")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.messages", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getDeadLettered();
+            }
+        }).tags(tags.and("result", "dead")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.fetched", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getFetched();
+            }
+        }).tags(tags).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.fetches", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getFetches();
+            }
+        }).tags(tags.and("result", "success")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.fetches", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getFetchErrors();
+            }
+        }).tags(tags.and("result", "error")).register(registry);
+
+        FunctionCounter.builder("commonspring.redis.queue.reclaimed", queue, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getReclaimed();
+            }
+        }).tags(tags).register(registry);
+
+        for (final double quantile : QUANTILES) {
+            bindReliableQueueTime(registry, queue, tags.and("quantile", String.valueOf(quantile)), quantile);
+        }
+        bindReliableQueueTime(registry, queue, tags.and("quantile", "max"), 1.0);
+    }
+
+    private void bindReliableQueueTime(MeterRegistry registry, RedisReliableQueue queue, Tags tags, final double quantile) {
+        TimeGauge.builder("commonspring.redis.queue.handle.time", queue, TimeUnit.NANOSECONDS, new ToDoubleFunction<RedisReliableQueue>() {
+            @Override
+            public double applyAsDouble(RedisReliableQueue value) {
+                return value.getHandleTime().snapshot().getValue(quantile, TimeUnit.NANOSECONDS);
+            }
+        }).tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个 Redis 的统计快照
+ *
+ * @author yzy
+ */
+public class RedisMetricsSnapshot {
+
+    private final String redisId;
+
+    private final long inFlight;
+
+    private final List<CommandMetricsSnapshot> commands;
+
+    public RedisMetricsSnapshot(String redisId, long inFlight, List<CommandMetricsSnapshot> commands) {
+        this.redisId = redisId;
+        this.inFlight = inFlight;
+        this.commands = Collections.unmodifiableList(commands);
+    }
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    public List<CommandMetricsSnapshot> getCommands() {
+        return commands;
+    }
+
+    /**
+     * 获取指定命令的快照
+     *
+     * @param command 命令名称
+     * @return 快照，不存在时返回 null
+     */
+    public CommandMetricsSnapshot getCommand(String command) {
+        for (CommandMetricsSnapshot snapshot : commands) {
+            if (snapshot.getCommand().equals(command)) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisMetricsSnapshot{" +
+                "redisId='" + redisId + '\'' +
+                ", inFlight=" + inFlight +
+                ", commands=" + commands +
+                '}';
+    }
+}
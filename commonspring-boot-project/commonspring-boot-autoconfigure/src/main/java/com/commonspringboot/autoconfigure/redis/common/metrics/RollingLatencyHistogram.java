@@ -0,0 +1,95 @@
+package com.commonspringboot.autoconfigure.redis.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 按窗口轮换的耗时直方图，快照合并上一个窗口和当前窗口，反映最近一到两个窗口内的情况
+ *
+ * 记录线程只写当前窗口的直方图，记录和读取快照时发现窗口到期都会轮换，长时间不读取也不会把旧数据混入当前窗口；
+ * 快照缓存 1 秒，避免 Micrometer 读取多个百分位时重复计算
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RollingLatencyHistogram {
+
+    private static final long SNAPSHOT_CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long windowNanos;
+
+    private volatile LatencyHistogram current = new LatencyHistogram();
+
+    private LatencyHistogram previous = new LatencyHistogram();
+
+    private volatile long rotatedAt = System.nanoTime();
+
+    private volatile LatencySnapshot cachedSnapshot;
+
+    private long cachedAt;
+
+    public RollingLatencyHistogram(long windowNanos) {
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void record(long nanos) {
+        long now = System.nanoTime();
+        if (now - rotatedAt >= windowNanos) {
+            rotate(now);
+        }
+        current.record(nanos);
+    }
+
+    /**
+     * 获取最近窗口的耗时快照
+     *
+     * @return 快照
+     */
+    public synchronized LatencySnapshot snapshot() {
+        long now = System.nanoTime();
+        LatencySnapshot snapshot = cachedSnapshot;
+        if (null != snapshot && now - cachedAt < SNAPSHOT_CACHE_NANOS) {
+            return snapshot;
+        }
+
+        rotate(now);
+
+        long[] counts = LatencyHistogram.newCounts();
+        LatencyHistogram active = current;
+        previous.addTo(counts);
+        active.addTo(counts);
+        long total = previous.getTotalCount() + active.getTotalCount();
+        long sum = previous.getTotalValue() + active.getTotalValue();
+        long max = Math.max(previous.getMaxValue(), active.getMaxValue());
+
+        snapshot = new LatencySnapshot(total,
+                total == 0 ? 0 : sum / total,
+                LatencyHistogram.valueAtQuantile(counts, total, max, 0.5),
+                LatencyHistogram.valueAtQuantile(counts, total, max, 0.9),
+                LatencyHistogram.valueAtQuantile(counts, total, max, 0.99),
+                LatencyHistogram.valueAtQuantile(counts, total, max, 0.999),
+                max);
+        cachedSnapshot = snapshot;
+        cachedAt = now;
+        return snapshot;
+    }
+
+    /**
+     * 窗口到期时轮换，多个记录线程同时发现到期时只有一个会轮换
+     */
+    private synchronized void rotate(long now) {
+        long elapsed = now - rotatedAt;
+        if (elapsed < windowNanos) {
+            return;
+        }
+        // 超过两个窗口没有记录和读取时，上一个窗口的数据已经过期
+        previous = elapsed >= 2 * windowNanos ? new LatencyHistogram() : current;
+        current = new LatencyHistogram();
+        rotatedAt = now;
+    }
+}
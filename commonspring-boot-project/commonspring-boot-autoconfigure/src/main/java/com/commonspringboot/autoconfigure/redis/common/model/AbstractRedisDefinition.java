@@ -15,6 +15,76 @@ public abstract class AbstractRedisDefinition implements RedisDefinition {
      */
     protected boolean primary = false;
 
+    /**
+     * 单 key 命令合并配置
+     */
+    protected CoalesceConfig coalesce = new CoalesceConfig();
+
+    /**
+     * 进程内一级缓存配置
+     */
+    protected NearCacheConfig nearCache = new NearCacheConfig();
+
+    /**
+     * 对象值编解码器，json、smile、string 或者 RedisCodec 实现类全路径，默认有 Jackson 时是 json，否则是 string
+     */
+    protected String codec;
+
+    /**
+     * {redisId}AsyncRedis 执行线程配置
+     */
+    protected AsyncConfig async = new AsyncConfig();
+
+    /**
+     * 命令统计配置
+     */
+    protected MetricsConfig metrics = new MetricsConfig();
+
+    /**
+     * 启动预热配置
+     */
+    protected WarmUpConfig warmUp = new WarmUpConfig();
+
+    /**
+     * 熔断配置
+     */
+    protected CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    /**
+     * 计数器合并写入配置
+     */
+    protected CounterConfig counter = new CounterConfig();
+
+    /**
+     * getOrLoad 回源加载配置
+     */
+    protected LoaderConfig loader = new LoaderConfig();
+
+    /**
+     * 分布式锁配置
+     */
+    protected LockConfig lock = new LockConfig();
+
+    /**
+     * 分布式限流配置
+     */
+    protected RateLimitConfig rateLimit = new RateLimitConfig();
+
+    /**
+     * 延迟队列配置
+     */
+    protected DelayQueueConfig delayQueue = new DelayQueueConfig();
+
+    /**
+     * 可靠队列配置
+     */
+    protected ReliableQueueConfig reliableQueue = new ReliableQueueConfig();
+
+    /**
+     * 订阅服务配置
+     */
+    protected PubSubConfig pubsub = new PubSubConfig();
+
     @Override
     public String getId() {
         return id;
@@ -33,4 +103,116 @@ public abstract class AbstractRedisDefinition implements RedisDefinition {
     public void setPrimary(boolean primary) {
         this.primary = primary;
     }
+
+    public CoalesceConfig getCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(CoalesceConfig coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public NearCacheConfig getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(NearCacheConfig nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public AsyncConfig getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncConfig async) {
+        this.async = async;
+    }
+
+    public MetricsConfig getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MetricsConfig metrics) {
+        this.metrics = metrics;
+    }
+
+    public WarmUpConfig getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(WarmUpConfig warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CounterConfig getCounter() {
+        return counter;
+    }
+
+    public void setCounter(CounterConfig counter) {
+        this.counter = counter;
+    }
+
+    public LoaderConfig getLoader() {
+        return loader;
+    }
+
+    public void setLoader(LoaderConfig loader) {
+        this.loader = loader;
+    }
+
+    public LockConfig getLock() {
+        return lock;
+    }
+
+    public void setLock(LockConfig lock) {
+        this.lock = lock;
+    }
+
+    public RateLimitConfig getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimitConfig rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public DelayQueueConfig getDelayQueue() {
+        return delayQueue;
+    }
+
+    public void setDelayQueue(DelayQueueConfig delayQueue) {
+        this.delayQueue = delayQueue;
+    }
+
+    public ReliableQueueConfig getReliableQueue() {
+        return reliableQueue;
+    }
+
+    public void setReliableQueue(ReliableQueueConfig reliableQueue) {
+        this.reliableQueue = reliableQueue;
+    }
+
+    public PubSubConfig getPubsub() {
+        return pubsub;
+    }
+
+    public void setPubsub(PubSubConfig pubsub) {
+        this.pubsub = pubsub;
+    }
 }
@@ -0,0 +1,57 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * {redisId}AsyncRedis 的执行线程配置
+ *
+ * @author yzy
+ */
+public class AsyncConfig {
+
+    /**
+     * 执行线程数，建议不超过连接池的 maxTotal，默认是 16
+     */
+    private int threads = 16;
+
+    /**
+     * 等待队列容量，队列满了之后由调用线程直接执行，默认是 1024
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * 是否使用虚拟线程，只在 JDK 21 及以上生效，低版本 JDK 使用 threads 个平台线程，默认 false
+     */
+    private boolean virtualThreads = false;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncConfig{" +
+                "threads=" + threads +
+                ", queueCapacity=" + queueCapacity +
+                ", virtualThreads=" + virtualThreads +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 批量写入配置，参考 RedisBulkLoader
+ *
+ * @author yzy
+ */
+public class BulkLoadConfig {
+
+    /**
+     * 单个管道最多的命令数，默认是 1000
+     */
+    private int batchCommands = 1000;
+
+    /**
+     * 单个管道最多的字节数（按 key 和值估算），默认是 4MB
+     */
+    private int batchBytes = 4 * 1024 * 1024;
+
+    /**
+     * 并行发送管道的线程数，每个线程同时占用一个连接，默认是 4
+     */
+    private int parallelism = 4;
+
+    /**
+     * 已经提交但还没有执行完的管道数上限，达到上限时读取数据的线程等待，小于等于 0 时为 parallelism 的 2 倍
+     */
+    private int maxInFlightBatches = 0;
+
+    /**
+     * 连接错误时整个管道的重试次数，默认不重试，只包含 set/hset 等幂等命令时可以开启
+     */
+    private int retries = 0;
+
+    /**
+     * 结果中最多记录的失败 key 数，默认是 1000
+     */
+    private int maxFailedKeys = 1000;
+
+    /**
+     * 打印进度日志的间隔，单位是秒，小于等于 0 时不打印，默认是 10
+     */
+    private int progressLogSeconds = 10;
+
+    public int getBatchCommands() {
+        return batchCommands;
+    }
+
+    public void setBatchCommands(int batchCommands) {
+        this.batchCommands = batchCommands;
+    }
+
+    public int getBatchBytes() {
+        return batchBytes;
+    }
+
+    public void setBatchBytes(int batchBytes) {
+        this.batchBytes = batchBytes;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxInFlightBatches() {
+        return maxInFlightBatches;
+    }
+
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    public int getMaxFailedKeys() {
+        return maxFailedKeys;
+    }
+
+    public void setMaxFailedKeys(int maxFailedKeys) {
+        this.maxFailedKeys = maxFailedKeys;
+    }
+
+    public int getProgressLogSeconds() {
+        return progressLogSeconds;
+    }
+
+    public void setProgressLogSeconds(int progressLogSeconds) {
+        this.progressLogSeconds = progressLogSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadConfig{" +
+                "batchCommands=" + batchCommands +
+                ", batchBytes=" + batchBytes +
+                ", parallelism=" + parallelism +
+                ", maxInFlightBatches=" + maxInFlightBatches +
+                ", retries=" + retries +
+                ", maxFailedKeys=" + maxFailedKeys +
+                ", progressLogSeconds=" + progressLogSeconds +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * Spring Cache 单个缓存的配置，参考 CommonRedisCacheManager
+ *
+ * @author yzy
+ */
+public class CacheConfig {
+
+    /**
+     * 使用的 Redis ID，为空时使用主缓存 Redis（cacheRedis）
+     */
+    private String redisId;
+
+    /**
+     * 过期时间，单位秒，为 null 时使用 cacheExpiredTime，小于等于 0 表示不过期
+     */
+    private Long ttlSeconds;
+
+    /**
+     * Redis key 前缀，默认是 cache:{cacheName}:
+     */
+    private String keyPrefix;
+
+    /**
+     * 是否缓存 null 值，默认是 true，防止缓存穿透
+     */
+    private boolean cacheNullValues = true;
+
+    /**
+     * 是否开启进程内一级缓存，默认不开启
+     */
+    private boolean localEnabled = false;
+
+    /**
+     * 一级缓存最多缓存的 key 数量，小于等于 0 时使用 cacheMaxSize，默认是 0
+     */
+    private int localMaxSize = 0;
+
+    /**
+     * 一级缓存过期时间，单位秒，默认是 60
+     */
+    private long localExpireSeconds = 60;
+
+    /**
+     * 值编解码器：json、smile、string 或者 RedisCodec 实现类全路径，为空时使用 Redis 的编解码器
+     */
+    private String codec;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public boolean isCacheNullValues() {
+        return cacheNullValues;
+    }
+
+    public void setCacheNullValues(boolean cacheNullValues) {
+        this.cacheNullValues = cacheNullValues;
+    }
+
+    public boolean isLocalEnabled() {
+        return localEnabled;
+    }
+
+    public void setLocalEnabled(boolean localEnabled) {
+        this.localEnabled = localEnabled;
+    }
+
+    public int getLocalMaxSize() {
+        return localMaxSize;
+    }
+
+    public void setLocalMaxSize(int localMaxSize) {
+        this.localMaxSize = localMaxSize;
+    }
+
+    public long getLocalExpireSeconds() {
+        return localExpireSeconds;
+    }
+
+    public void setLocalExpireSeconds(long localExpireSeconds) {
+        this.localExpireSeconds = localExpireSeconds;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheConfig{" +
+                "redisId='" + redisId + '\'' +
+                ", ttlSeconds=" + ttlSeconds +
+                ", keyPrefix='" + keyPrefix + '\'' +
+                ", cacheNullValues=" + cacheNullValues +
+                ", localEnabled=" + localEnabled +
+                ", localMaxSize=" + localMaxSize +
+                ", localExpireSeconds=" + localExpireSeconds +
+                ", codec='" + codec + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 熔断配置，开启后最近 windowSeconds 秒内连接错误或慢调用的比例超过阈值时熔断，
+ * 熔断期间直接拒绝命令，openMillis 之后放行 halfOpenCalls 个命令试探，全部成功后恢复
+ *
+ * @author yzy
+ */
+public class CircuitBreakerConfig {
+
+    /**
+     * 是否开启熔断，默认不开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 统计窗口，单位秒，默认是 10
+     */
+    private int windowSeconds = 10;
+
+    /**
+     * 窗口内至少有多少次调用才计算比例，默认是 20
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * 连接错误（连接失败、读写超时、连接池耗尽）比例阈值，百分比，默认是 50
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * 慢调用阈值，单位毫秒，包含从连接池获取连接的时间，小于等于0表示不统计慢调用，默认是 1000
+     */
+    private long slowCallMillis = 1000;
+
+    /**
+     * 慢调用比例阈值，百分比，默认是 80
+     */
+    private int slowCallRateThreshold = 80;
+
+    /**
+     * 熔断持续时间，单位毫秒，之后进入半开状态，默认是 5000
+     */
+    private long openMillis = 5000;
+
+    /**
+     * 半开状态放行的试探调用数，默认是 5
+     */
+    private int halfOpenCalls = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public void setSlowCallMillis(long slowCallMillis) {
+        this.slowCallMillis = slowCallMillis;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public void setOpenMillis(long openMillis) {
+        this.openMillis = openMillis;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerConfig{" +
+                "enabled=" + enabled +
+                ", windowSeconds=" + windowSeconds +
+                ", minimumCalls=" + minimumCalls +
+                ", failureRateThreshold=" + failureRateThreshold +
+                ", slowCallMillis=" + slowCallMillis +
+                ", slowCallRateThreshold=" + slowCallRateThreshold +
+                ", openMillis=" + openMillis +
+                ", halfOpenCalls=" + halfOpenCalls +
+                '}';
+    }
+}
@@ -0,0 +1,121 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis Cluster 集群模式部署的 redis 定义
+ *
+ * @author yzy
+ */
+public class ClusterRedisDefinition extends AbstractRedisDefinition {
+
+    /**
+     * 集群种子节点列表，host:port,host2:port2......，只需要配置部分节点，其他节点会自动发现
+     */
+    private String nodes;
+
+    /**
+     * 连接超时，单位是毫秒，默认是 3000
+     */
+    private String timeout = "3000";
+
+    /**
+     * 密码
+     */
+    private String password = null;
+
+    /**
+     * 收到 MOVED/ASK 重定向之后最多重试的次数，默认是 5
+     */
+    private String maxRedirections = "5";
+
+    /**
+     * 每个节点的连接池配置
+     */
+    private Map<String, String> poolConfig = new HashMap<>();
+
+    /**
+     * 种子节点列表
+     */
+    private Set<String> nodeSet = new HashSet<>();
+
+    public String getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(String nodes) {
+        this.nodes = nodes;
+
+        // 拆分
+        String[] array = nodes.split(",");
+        for (String node : array) {
+            Assert.isTrue(isValidNode(node), "Redis 集群节点格式错误：[" + node + "]");
+            nodeSet.add(node.trim());
+        }
+    }
+
+    private boolean isValidNode(String node) {
+
+        String[] array = node.split(":");
+
+        if (array.length != 2) {
+            return false;
+        }
+
+        String pureNumberRegex = "^[0-9]+$";
+        return array[1].trim().matches(pureNumberRegex);
+    }
+
+    public String getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(String timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getMaxRedirections() {
+        return maxRedirections;
+    }
+
+    public void setMaxRedirections(String maxRedirections) {
+        this.maxRedirections = maxRedirections;
+    }
+
+    public Map<String, String> getPoolConfig() {
+        return poolConfig;
+    }
+
+    public void setPoolConfig(Map<String, String> poolConfig) {
+        this.poolConfig = poolConfig;
+    }
+
+    public Set<String> getNodeSet() {
+        return nodeSet;
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterRedisDefinition{" +
+                "id='" + id + '\'' +
+                ", nodes='" + nodes + '\'' +
+                ", timeout='" + timeout + '\'' +
+                ", maxRedirections='" + maxRedirections + '\'' +
+                ", poolConfig=" + poolConfig +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 单 key 命令合并配置，开启后并发的 get/set/hget/incr 等命令会被放入队列，
+ * 在一个很小的时间窗口内合并成一个 Pipeline 批量发送
+ *
+ * @author yzy
+ */
+public class CoalesceConfig {
+
+    /**
+     * 是否开启命令合并，默认不开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 合并窗口，单位是微秒，收到第一个命令后最多等待这么久再发送，默认是 100
+     */
+    private int windowMicros = 100;
+
+    /**
+     * 单个 Pipeline 最多合并的命令数，默认是 128
+     */
+    private int maxBatchSize = 128;
+
+    /**
+     * 等待队列的容量，队列满了之后调用线程会直接执行命令，默认是 4096
+     */
+    private int queueCapacity = 4096;
+
+    /**
+     * 发送 Pipeline 的线程数，默认是 2
+     */
+    private int flushThreads = 2;
+
+    /**
+     * 调用线程等待结果的超时时间，单位是毫秒，默认是 3000
+     */
+    private long waitTimeoutMillis = 3000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowMicros() {
+        return windowMicros;
+    }
+
+    public void setWindowMicros(int windowMicros) {
+        this.windowMicros = windowMicros;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getFlushThreads() {
+        return flushThreads;
+    }
+
+    public void setFlushThreads(int flushThreads) {
+        this.flushThreads = flushThreads;
+    }
+
+    public long getWaitTimeoutMillis() {
+        return waitTimeoutMillis;
+    }
+
+    public void setWaitTimeoutMillis(long waitTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CoalesceConfig{" +
+                "enabled=" + enabled +
+                ", windowMicros=" + windowMicros +
+                ", maxBatchSize=" + maxBatchSize +
+                ", queueCapacity=" + queueCapacity +
+                ", flushThreads=" + flushThreads +
+                ", waitTimeoutMillis=" + waitTimeoutMillis +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 计数器合并写入配置，参考 RedisCounterAggregator
+ *
+ * @author yzy
+ */
+public class CounterConfig {
+
+    /**
+     * 定时写入 Redis 的间隔，单位是毫秒，默认是 200
+     */
+    private long flushIntervalMillis = 200;
+
+    /**
+     * 本地累加中的 key 数量达到这个值时立即写入一次，默认是 10000
+     */
+    private int maxPendingKeys = 10000;
+
+    /**
+     * 单个管道最多的 incrBy/hincrBy 命令数，默认是 500
+     */
+    private int batchSize = 500;
+
+    /**
+     * 没有累加的 key 超过这个时间后从本地移除，单位是毫秒，默认是 60000
+     */
+    private long idleExpireMillis = 60000;
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaxPendingKeys() {
+        return maxPendingKeys;
+    }
+
+    public void setMaxPendingKeys(int maxPendingKeys) {
+        this.maxPendingKeys = maxPendingKeys;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getIdleExpireMillis() {
+        return idleExpireMillis;
+    }
+
+    public void setIdleExpireMillis(long idleExpireMillis) {
+        this.idleExpireMillis = idleExpireMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CounterConfig{" +
+                "flushIntervalMillis=" + flushIntervalMillis +
+                ", maxPendingKeys=" + maxPendingKeys +
+                ", batchSize=" + batchSize +
+                ", idleExpireMillis=" + idleExpireMillis +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 延迟队列配置，参考 RedisDelayQueueService
+ *
+ * @author yzy
+ */
+public class DelayQueueConfig {
+
+    /**
+     * 队列 key 前缀，默认是 delay:，队列 key 是 keyPrefix + "{" + name + "}"，处理中、任务内容、重试次数、死信分别再加上
+     * :processing、:jobs、:attempts、:dead，名称放在 hash tag 中保证集群模式下几个 key 在同一个 slot
+     */
+    private String keyPrefix = "delay:";
+
+    /**
+     * 每次从 Redis 领取的最大任务数，默认是 100
+     */
+    private int batchSize = 100;
+
+    /**
+     * 处理任务的线程数，默认是 4
+     */
+    private int workerThreads = 4;
+
+    /**
+     * 本地等待处理的最大任务数，达到后暂停领取，默认是 200
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 处理失败后的最大重试次数，超过后进入死信，默认是 3
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 第一次重试的延迟，之后每次翻倍，单位是毫秒，默认是 1000
+     */
+    private long retryBackoffMillis = 1000;
+
+    /**
+     * 重试延迟的上限，单位是毫秒，默认是 60000
+     */
+    private long maxRetryBackoffMillis = 60000;
+
+    /**
+     * 领取后超过这个时间没有确认的任务重新投递，单位是毫秒，默认是 60000，需要大于任务的最长处理时间
+     */
+    private long claimTimeoutMillis = 60000;
+
+    /**
+     * 最短轮询间隔，单位是毫秒，默认是 10
+     */
+    private long minPollMillis = 10;
+
+    /**
+     * 最长轮询间隔，其他节点新增的更早到期的任务最多延迟这个时间被领取，单位是毫秒，默认是 1000
+     */
+    private long maxPollMillis = 1000;
+
+    /**
+     * 关闭时等待正在处理的任务结束的时间，单位是毫秒，默认是 10000
+     */
+    private long shutdownTimeoutMillis = 10000;
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public long getMaxRetryBackoffMillis() {
+        return maxRetryBackoffMillis;
+    }
+
+    public void setMaxRetryBackoffMillis(long maxRetryBackoffMillis) {
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    public long getClaimTimeoutMillis() {
+        return claimTimeoutMillis;
+    }
+
+    public void setClaimTimeoutMillis(long claimTimeoutMillis) {
+        this.claimTimeoutMillis = claimTimeoutMillis;
+    }
+
+    public long getMinPollMillis() {
+        return minPollMillis;
+    }
+
+    public void setMinPollMillis(long minPollMillis) {
+        this.minPollMillis = minPollMillis;
+    }
+
+    public long getMaxPollMillis() {
+        return maxPollMillis;
+    }
+
+    public void setMaxPollMillis(long maxPollMillis) {
+        this.maxPollMillis = maxPollMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DelayQueueConfig{" +
+                "keyPrefix='" + keyPrefix + '\'' +
+                ", batchSize=" + batchSize +
+                ", workerThreads=" + workerThreads +
+                ", queueCapacity=" + queueCapacity +
+                ", maxRetries=" + maxRetries +
+                ", retryBackoffMillis=" + retryBackoffMillis +
+                ", maxRetryBackoffMillis=" + maxRetryBackoffMillis +
+                ", claimTimeoutMillis=" + claimTimeoutMillis +
+                ", minPollMillis=" + minPollMillis +
+                ", maxPollMillis=" + maxPollMillis +
+                ", shutdownTimeoutMillis=" + shutdownTimeoutMillis +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * getOrLoad 回源加载配置，参考 RedisValueLoader
+ *
+ * @author yzy
+ */
+public class LoaderConfig {
+
+    /**
+     * 过期时间随机缩短的最大比例，实际过期时间在 ttl * (1 - ttlJitter) 到 ttl 之间，默认是 0.1，0 表示不随机
+     */
+    private double ttlJitter = 0.1;
+
+    /**
+     * 提前刷新系数（XFetch 的 beta），越大越早刷新，默认是 1.0，0 表示不提前刷新
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * 是否缓存加载结果为 null 的值，默认是 true，防止不存在的数据反复回源
+     */
+    private boolean cacheNullValues = true;
+
+    /**
+     * 是否开启跨进程租约，开启后同一个 key 在所有进程中同时只有一个加载，默认不开启
+     */
+    private boolean leaseEnabled = false;
+
+    /**
+     * 租约 key 的过期时间，单位是毫秒，应该大于加载耗时，默认是 3000
+     */
+    private long leaseMillis = 3000;
+
+    /**
+     * 没有拿到租约时最多等待其他进程写入的时间，超时后自己加载，单位是毫秒，默认是 2000
+     */
+    private long leaseWaitMillis = 2000;
+
+    /**
+     * 等待其他进程写入时读取 Redis 的间隔，单位是毫秒，默认是 50
+     */
+    private long leasePollMillis = 50;
+
+    public double getTtlJitter() {
+        return ttlJitter;
+    }
+
+    public void setTtlJitter(double ttlJitter) {
+        this.ttlJitter = ttlJitter;
+    }
+
+    public double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    public boolean isCacheNullValues() {
+        return cacheNullValues;
+    }
+
+    public void setCacheNullValues(boolean cacheNullValues) {
+        this.cacheNullValues = cacheNullValues;
+    }
+
+    public boolean isLeaseEnabled() {
+        return leaseEnabled;
+    }
+
+    public void setLeaseEnabled(boolean leaseEnabled) {
+        this.leaseEnabled = leaseEnabled;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public void setLeaseMillis(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    public long getLeaseWaitMillis() {
+        return leaseWaitMillis;
+    }
+
+    public void setLeaseWaitMillis(long leaseWaitMillis) {
+        this.leaseWaitMillis = leaseWaitMillis;
+    }
+
+    public long getLeasePollMillis() {
+        return leasePollMillis;
+    }
+
+    public void setLeasePollMillis(long leasePollMillis) {
+        this.leasePollMillis = leasePollMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "LoaderConfig{" +
+                "ttlJitter=" + ttlJitter +
+                ", earlyRefreshBeta=" + earlyRefreshBeta +
+                ", cacheNullValues=" + cacheNullValues +
+                ", leaseEnabled=" + leaseEnabled +
+                ", leaseMillis=" + leaseMillis +
+                ", leaseWaitMillis=" + leaseWaitMillis +
+                ", leasePollMillis=" + leasePollMillis +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 分布式锁配置，参考 RedisLockService
+ *
+ * @author yzy
+ */
+public class LockConfig {
+
+    /**
+     * 锁 key 前缀，默认是 lock:，锁 key 是 keyPrefix + "{" + name + "}"，fencing token 的 key 再加上 :fence，
+     * 名称放在 hash tag 中保证集群模式下两个 key 在同一个 slot
+     */
+    private String keyPrefix = "lock:";
+
+    /**
+     * 锁的租约时间，单位是毫秒，开启看门狗时进程存活期间会自动续期，默认是 30000
+     */
+    private long leaseMillis = 30000;
+
+    /**
+     * 是否开启看门狗自动续期，默认是 true，tryLock 指定了租约时间时不续期
+     */
+    private boolean watchdogEnabled = true;
+
+    /**
+     * 看门狗续期间隔，单位是毫秒，小于等于 0 时使用 leaseMillis / 3，默认是 0
+     */
+    private long renewIntervalMillis = 0;
+
+    /**
+     * 锁被其他进程持有时重试的间隔，单位是毫秒，默认是 50
+     */
+    private long retryIntervalMillis = 50;
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public void setLeaseMillis(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    public boolean isWatchdogEnabled() {
+        return watchdogEnabled;
+    }
+
+    public void setWatchdogEnabled(boolean watchdogEnabled) {
+        this.watchdogEnabled = watchdogEnabled;
+    }
+
+    public long getRenewIntervalMillis() {
+        return renewIntervalMillis;
+    }
+
+    public void setRenewIntervalMillis(long renewIntervalMillis) {
+        this.renewIntervalMillis = renewIntervalMillis;
+    }
+
+    public long getRetryIntervalMillis() {
+        return retryIntervalMillis;
+    }
+
+    public void setRetryIntervalMillis(long retryIntervalMillis) {
+        this.retryIntervalMillis = retryIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "LockConfig{" +
+                "keyPrefix='" + keyPrefix + '\'' +
+                ", leaseMillis=" + leaseMillis +
+                ", watchdogEnabled=" + watchdogEnabled +
+                ", renewIntervalMillis=" + renewIntervalMillis +
+                ", retryIntervalMillis=" + retryIntervalMillis +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 命令耗时统计配置，开启后按命令统计调用次数、错误次数、执行中的数量以及耗时分布，
+ * 通过 {redisId}RedisMetrics 获取快照，存在 Micrometer 时同时注册为指标
+ *
+ * @author yzy
+ */
+public class MetricsConfig {
+
+    /**
+     * 是否开启统计，默认不开启，也可以通过 commonspring.redis.metrics-ids 开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 耗时分布的统计窗口，单位秒，百分位数基于最近一到两个窗口内的数据计算，默认是 60
+     */
+    private int windowSeconds = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsConfig{" +
+                "enabled=" + enabled +
+                ", windowSeconds=" + windowSeconds +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 进程内一级缓存配置，开启后 get/hget 的结果会缓存在本地，
+ * 其他节点通过 set/del/hset 等修改时通过 Redis 发布订阅通知失效
+ *
+ * @author yzy
+ */
+public class NearCacheConfig {
+
+    /**
+     * 是否开启本地缓存，默认不开启，也可以通过 commonspring.redis.cache-ids 开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 本地最多缓存的 key 数量，默认是 10000
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 本地缓存过期时间，小于等于0表示不过期，单位秒，默认是 60
+     */
+    private long expireSeconds = 60;
+
+    /**
+     * 失效通知频道，默认是 commonspring:near-cache:{redisId}
+     */
+    private String channel;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getExpireSeconds() {
+        return expireSeconds;
+    }
+
+    public void setExpireSeconds(long expireSeconds) {
+        this.expireSeconds = expireSeconds;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfig{" +
+                "enabled=" + enabled +
+                ", maxSize=" + maxSize +
+                ", expireSeconds=" + expireSeconds +
+                ", channel='" + channel + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 订阅服务配置，参考 RedisSubscriptionService
+ *
+ * @author yzy
+ */
+public class PubSubConfig {
+
+    /**
+     * 每个订阅的消息队列容量，默认是 1000
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 队列满时的处理方式：BLOCK 等待（会阻塞所有频道的接收）、DROP_NEWEST 丢弃新消息、DROP_OLDEST 丢弃最旧的消息，默认是 DROP_OLDEST
+     */
+    private String overflowPolicy = "DROP_OLDEST";
+
+    /**
+     * 处理消息的线程数，所有订阅共用，默认是 4
+     */
+    private int workerThreads = 4;
+
+    /**
+     * 处理消息的 Executor Bean 名称，配置后不再创建线程池，例如 JDK 21 上的虚拟线程 Executor
+     */
+    private String executor;
+
+    /**
+     * 连接断开后重新订阅的间隔，单位是毫秒，默认是 1000
+     */
+    private long resubscribeIntervalMillis = 1000;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public String getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(String executor) {
+        this.executor = executor;
+    }
+
+    public long getResubscribeIntervalMillis() {
+        return resubscribeIntervalMillis;
+    }
+
+    public void setResubscribeIntervalMillis(long resubscribeIntervalMillis) {
+        this.resubscribeIntervalMillis = resubscribeIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PubSubConfig{" +
+                "queueCapacity=" + queueCapacity +
+                ", overflowPolicy='" + overflowPolicy + '\'' +
+                ", workerThreads=" + workerThreads +
+                ", executor='" + executor + '\'' +
+                ", resubscribeIntervalMillis=" + resubscribeIntervalMillis +
+                '}';
+    }
+}
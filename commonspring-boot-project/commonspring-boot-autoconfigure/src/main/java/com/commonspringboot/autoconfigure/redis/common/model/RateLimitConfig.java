@@ -0,0 +1,127 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 限流配置，参考 RedisRateLimiterService
+ *
+ * @author yzy
+ */
+public class RateLimitConfig {
+
+    /**
+     * 限流 key 前缀，限流 key 是 {keyPrefix}{limiterName}:{subject}，默认是 ratelimit:
+     */
+    private String keyPrefix = "ratelimit:";
+
+    /**
+     * 每次从 Redis 批量获取的许可数，默认是 10，1 表示每个请求都访问 Redis
+     */
+    private int batchSize = 10;
+
+    /**
+     * 批量获取的许可数不超过限流数量的这个比例，防止一个节点拿走全部许可，默认是 0.1
+     */
+    private double maxBatchRatio = 0.1;
+
+    /**
+     * 本地许可的最长保留时间，超过后归还 Redis，单位是毫秒，默认是 1000
+     */
+    private long maxHoldMillis = 1000;
+
+    /**
+     * 没有请求的 subject 超过这个时间后从本地移除，单位是毫秒，默认是 60000
+     */
+    private long idleExpireMillis = 60000;
+
+    /**
+     * 后台归还过期许可、移除空闲 subject 的间隔，单位是毫秒，默认是 1000
+     */
+    private long reconcileIntervalMillis = 1000;
+
+    /**
+     * 异步补充和归还许可的线程数，默认是 2
+     */
+    private int asyncThreads = 2;
+
+    /**
+     * Redis 连接失败时是否放行，默认是 true
+     */
+    private boolean failOpen = true;
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getMaxBatchRatio() {
+        return maxBatchRatio;
+    }
+
+    public void setMaxBatchRatio(double maxBatchRatio) {
+        this.maxBatchRatio = maxBatchRatio;
+    }
+
+    public long getMaxHoldMillis() {
+        return maxHoldMillis;
+    }
+
+    public void setMaxHoldMillis(long maxHoldMillis) {
+        this.maxHoldMillis = maxHoldMillis;
+    }
+
+    public long getIdleExpireMillis() {
+        return idleExpireMillis;
+    }
+
+    public void setIdleExpireMillis(long idleExpireMillis) {
+        this.idleExpireMillis = idleExpireMillis;
+    }
+
+    public long getReconcileIntervalMillis() {
+        return reconcileIntervalMillis;
+    }
+
+    public void setReconcileIntervalMillis(long reconcileIntervalMillis) {
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
+
+    public boolean isFailOpen() {
+        return failOpen;
+    }
+
+    public void setFailOpen(boolean failOpen) {
+        this.failOpen = failOpen;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitConfig{" +
+                "keyPrefix='" + keyPrefix + '\'' +
+                ", batchSize=" + batchSize +
+                ", maxBatchRatio=" + maxBatchRatio +
+                ", maxHoldMillis=" + maxHoldMillis +
+                ", idleExpireMillis=" + idleExpireMillis +
+                ", reconcileIntervalMillis=" + reconcileIntervalMillis +
+                ", asyncThreads=" + asyncThreads +
+                ", failOpen=" + failOpen +
+                '}';
+    }
+}
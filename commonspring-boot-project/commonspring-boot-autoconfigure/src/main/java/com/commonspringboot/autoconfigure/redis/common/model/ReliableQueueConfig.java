@@ -0,0 +1,170 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+/**
+ * 可靠队列配置，参考 RedisReliableQueueService
+ *
+ * @author yzy
+ */
+public class ReliableQueueConfig {
+
+    /**
+     * 队列 key 前缀，默认是 queue:，队列 key 是 keyPrefix + "{" + name + "}"，消费者处理中列表、消费者心跳、重试次数、死信分别再加上
+     * :processing:{consumerId}、:consumers、:attempts、:dead，名称放在 hash tag 中保证集群模式下几个 key 在同一个 slot
+     */
+    private String keyPrefix = "queue:";
+
+    /**
+     * 每个队列阻塞读取的线程数，每个线程独占一个连接，默认是 1
+     */
+    private int fetchers = 1;
+
+    /**
+     * 每次读取的最大消息数，大于 1 时阻塞读到一条消息后再用脚本批量读取剩余的消息，默认是 1
+     */
+    private int batchSize = 1;
+
+    /**
+     * 处理消息的线程数，默认是 4
+     */
+    private int workerThreads = 4;
+
+    /**
+     * 本地等待处理的最大消息数，达到后暂停读取，默认是 200
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 阻塞读取的超时时间，也是关闭时最长等待读取线程退出的时间，单位是秒，默认是 2
+     */
+    private int blockTimeoutSeconds = 2;
+
+    /**
+     * 消费者超过这个时间没有心跳时，其他节点把它处理中的消息放回队列，单位是毫秒，默认是 60000
+     */
+    private long visibilityTimeoutMillis = 60000;
+
+    /**
+     * 心跳和检查超时消费者的间隔，单位是毫秒，默认是 10000，需要小于 visibilityTimeoutMillis
+     */
+    private long heartbeatIntervalMillis = 10000;
+
+    /**
+     * 处理失败后的最大重试次数，超过后进入死信，默认是 3
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 读取失败后重连的间隔，单位是毫秒，默认是 1000
+     */
+    private long reconnectIntervalMillis = 1000;
+
+    /**
+     * 关闭时等待正在处理的消息结束的时间，单位是毫秒，默认是 10000
+     */
+    private long shutdownTimeoutMillis = 10000;
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getFetchers() {
+        return fetchers;
+    }
+
+    public void setFetchers(int fetchers) {
+        this.fetchers = fetchers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBlockTimeoutSeconds() {
+        return blockTimeoutSeconds;
+    }
+
+    public void setBlockTimeoutSeconds(int blockTimeoutSeconds) {
+        this.blockTimeoutSeconds = blockTimeoutSeconds;
+    }
+
+    public long getVisibilityTimeoutMillis() {
+        return visibilityTimeoutMillis;
+    }
+
+    public void setVisibilityTimeoutMillis(long visibilityTimeoutMillis) {
+        this.visibilityTimeoutMillis = visibilityTimeoutMillis;
+    }
+
+    public long getHeartbeatIntervalMillis() {
+        return heartbeatIntervalMillis;
+    }
+
+    public void setHeartbeatIntervalMillis(long heartbeatIntervalMillis) {
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getReconnectIntervalMillis() {
+        return reconnectIntervalMillis;
+    }
+
+    public void setReconnectIntervalMillis(long reconnectIntervalMillis) {
+        this.reconnectIntervalMillis = reconnectIntervalMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ReliableQueueConfig{" +
+                "keyPrefix='" + keyPrefix + '\'' +
+                ", fetchers=" + fetchers +
+                ", batchSize=" + batchSize +
+                ", workerThreads=" + workerThreads +
+                ", queueCapacity=" + queueCapacity +
+                ", blockTimeoutSeconds=" + blockTimeoutSeconds +
+                ", visibilityTimeoutMillis=" + visibilityTimeoutMillis +
+                ", heartbeatIntervalMillis=" + heartbeatIntervalMillis +
+                ", maxRetries=" + maxRetries +
+                ", reconnectIntervalMillis=" + reconnectIntervalMillis +
+                ", shutdownTimeoutMillis=" + shutdownTimeoutMillis +
+                '}';
+    }
+}
@@ -46,6 +46,16 @@ public class SentinelRedisDefinition extends AbstractRedisDefinition {
      */
     private Map<String, String> poolConfig = new HashMap<>();
 
+    /**
+     * 是否开启读写分离，开启后只读命令发送到从库，没有可用从库时发送到主库，默认 false
+     */
+    private boolean readFromReplicas = false;
+
+    /**
+     * 从库负载均衡策略，round-robin 或者 random，默认 round-robin
+     */
+    private String replicaBalance = "round-robin";
+
     /**
      * 哨兵列表
      */
@@ -122,6 +132,22 @@ public class SentinelRedisDefinition extends AbstractRedisDefinition {
         this.poolConfig = poolConfig;
     }
 
+    public boolean isReadFromReplicas() {
+        return readFromReplicas;
+    }
+
+    public void setReadFromReplicas(boolean readFromReplicas) {
+        this.readFromReplicas = readFromReplicas;
+    }
+
+    public String getReplicaBalance() {
+        return replicaBalance;
+    }
+
+    public void setReplicaBalance(String replicaBalance) {
+        this.replicaBalance = replicaBalance;
+    }
+
     public Set<String> getSentinelSet() {
         return sentinelSet;
     }
@@ -135,7 +161,8 @@ public class SentinelRedisDefinition extends AbstractRedisDefinition {
                 ", password='" + password + '\'' +
                 ", database='" + database + '\'' +
                 ", poolConfig=" + poolConfig +
-                ", sentinels=" + sentinels +
+                ", readFromReplicas=" + readFromReplicas +
+                ", replicaBalance='" + replicaBalance + '\'' +
                 '}';
     }
 }
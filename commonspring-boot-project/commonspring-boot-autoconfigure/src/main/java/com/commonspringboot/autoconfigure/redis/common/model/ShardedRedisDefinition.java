@@ -0,0 +1,94 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 客户端一致性哈希分片的 redis 定义，把多个已定义的 redis id 组合成一个逻辑 Redis
+ *
+ * @author yzy
+ */
+public class ShardedRedisDefinition extends AbstractRedisDefinition {
+
+    /**
+     * 分片的 redis id 列表，id1,id2,id3......，必须是 standards 或 sentinels 中定义的 redis
+     */
+    private String shards;
+
+    /**
+     * 每个分片在哈希环上的虚拟节点数，默认是 160
+     */
+    private String virtualNodes = "160";
+
+    /**
+     * 是否支持 {hashTag}，开启后 key 中第一对花括号内的内容不为空时只用这部分计算哈希，默认开启
+     */
+    private boolean hashTag = true;
+
+    /**
+     * mget/mset/del 跨分片并行执行的线程数，小于等于0表示使用分片数，默认是 0
+     */
+    private String threads = "0";
+
+    /**
+     * 分片 redis id 列表
+     */
+    private List<String> shardList = new ArrayList<>();
+
+    public String getShards() {
+        return shards;
+    }
+
+    public void setShards(String shards) {
+        this.shards = shards;
+
+        // 拆分，保持配置顺序
+        shardList.clear();
+        for (String shard : shards.split(",")) {
+            String shardId = shard.trim();
+            if (!shardId.isEmpty() && !shardList.contains(shardId)) {
+                shardList.add(shardId);
+            }
+        }
+    }
+
+    public String getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(String virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isHashTag() {
+        return hashTag;
+    }
+
+    public void setHashTag(boolean hashTag) {
+        this.hashTag = hashTag;
+    }
+
+    public String getThreads() {
+        return threads;
+    }
+
+    public void setThreads(String threads) {
+        this.threads = threads;
+    }
+
+    public List<String> getShardList() {
+        return shardList;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedRedisDefinition{" +
+                "id='" + id + '\'' +
+                ", shards='" + shards + '\'' +
+                ", virtualNodes='" + virtualNodes + '\'' +
+                ", hashTag=" + hashTag +
+                ", threads='" + threads + '\'' +
+                '}';
+    }
+}
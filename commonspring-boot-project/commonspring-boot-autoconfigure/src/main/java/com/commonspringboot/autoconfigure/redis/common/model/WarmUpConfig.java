@@ -0,0 +1,89 @@
+package com.commonspringboot.autoconfigure.redis.common.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 启动预热配置，开启后在所有单例初始化完成之后预先创建连接并执行 PING，
+ * 避免发布后前几秒的请求承担建立连接的耗时，多个 Redis 之间并行预热
+ *
+ * @author yzy
+ */
+public class WarmUpConfig {
+
+    /**
+     * 是否开启预热，默认不开启，也可以通过 commonspring.redis.warm-up-ids 开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 预先创建的连接数，小于等于0表示使用连接池的 minIdle，不会超过 maxTotal 和 maxIdle，至少是 1
+     */
+    private int connections = 0;
+
+    /**
+     * 预热超时，单位毫秒，默认是 10000
+     */
+    private long timeoutMillis = 10000;
+
+    /**
+     * 预热失败时是否中止启动，默认只打印警告日志
+     */
+    private boolean failOnError = false;
+
+    /**
+     * 预热时通过 SCRIPT LOAD 预先加载的 Lua 脚本，集群模式下加载到每个节点
+     */
+    private List<String> scripts = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean isFailOnError() {
+        return failOnError;
+    }
+
+    public void setFailOnError(boolean failOnError) {
+        this.failOnError = failOnError;
+    }
+
+    public List<String> getScripts() {
+        return scripts;
+    }
+
+    public void setScripts(List<String> scripts) {
+        this.scripts = scripts;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpConfig{" +
+                "enabled=" + enabled +
+                ", connections=" + connections +
+                ", timeoutMillis=" + timeoutMillis +
+                ", failOnError=" + failOnError +
+                ", scripts=" + (null == scripts ? 0 : scripts.size()) +
+                '}';
+    }
+}
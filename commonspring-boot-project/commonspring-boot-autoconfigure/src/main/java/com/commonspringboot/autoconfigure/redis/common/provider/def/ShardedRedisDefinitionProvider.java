@@ -0,0 +1,35 @@
+package com.commonspringboot.autoconfigure.redis.common.provider.def;
+
+
+import com.commonspringboot.autoconfigure.redis.common.model.RedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.ShardedRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * @author yzy
+ */
+public class ShardedRedisDefinitionProvider implements RedisDefinitionProvider {
+    @Override
+    public boolean support(RedisDefinition redisDefinition) {
+        return null != redisDefinition && redisDefinition instanceof ShardedRedisDefinition;
+    }
+
+    @Override
+    public boolean checkAndApplyDefaultConfig(RedisDefinition redisDefinition) {
+        if (!support(redisDefinition)) {
+            return false;
+        }
+
+        ShardedRedisDefinition shardedRedisDef = (ShardedRedisDefinition) redisDefinition;
+
+        shardedRedisDef.setVirtualNodes(String.valueOf(Math.max(1, ConvertUtil.toInteger(shardedRedisDef.getVirtualNodes(), 160))));
+        shardedRedisDef.setThreads(String.valueOf(ConvertUtil.toInteger(shardedRedisDef.getThreads(), 0)));
+        Assert.isTrue(!StringUtils.isEmpty(shardedRedisDef.getId()), "RedisDefinition.id 不能为空");
+        Assert.isTrue(!shardedRedisDef.getShardList().isEmpty(), "[" + shardedRedisDef.getId() + "]RedisDefinition.shards 不能为空");
+        Assert.isTrue(!shardedRedisDef.getShardList().contains(shardedRedisDef.getId()), "[" + shardedRedisDef.getId() + "]RedisDefinition.shards 不能包含自身");
+
+        return true;
+    }
+}
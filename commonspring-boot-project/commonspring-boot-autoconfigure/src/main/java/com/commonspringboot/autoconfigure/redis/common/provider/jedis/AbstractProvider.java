@@ -2,9 +2,11 @@ package com.commonspringboot.autoconfigure.redis.common.provider.jedis;
 
 
 import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.metrics.PoolMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
 
 /**
  * @author yzy
@@ -13,6 +15,19 @@ public abstract class AbstractProvider implements JedisProvider {
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * 连接池统计，未开启统计时为 null
+     */
+    protected PoolMetrics poolMetrics;
+
+    public PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    public void setPoolMetrics(PoolMetrics poolMetrics) {
+        this.poolMetrics = poolMetrics;
+    }
+
     @Override
     public void closeResource(Jedis jedis) {
         if (null != jedis) {
@@ -26,4 +41,27 @@ public abstract class AbstractProvider implements JedisProvider {
             jedis.close();
         }
     }
+
+    /**
+     * 从连接池借出连接，开启统计时记录等待耗时以及借出失败
+     *
+     * @param pool 连接池
+     * @return 返回连接
+     */
+    protected Jedis borrow(Pool<Jedis> pool) {
+        PoolMetrics metrics = poolMetrics;
+        if (null == metrics) {
+            return pool.getResource();
+        }
+        metrics.bindPool(pool);
+        long startNanos = System.nanoTime();
+        try {
+            Jedis jedis = pool.getResource();
+            metrics.recordBorrow(System.nanoTime() - startNanos);
+            return jedis;
+        } catch (RuntimeException e) {
+            metrics.recordBorrowFailure(e);
+            throw e;
+        }
+    }
 }
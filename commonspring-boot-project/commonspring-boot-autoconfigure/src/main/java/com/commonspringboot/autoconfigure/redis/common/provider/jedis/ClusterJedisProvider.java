@@ -0,0 +1,213 @@
+package com.commonspringboot.autoconfigure.redis.common.provider.jedis;
+
+import org.springframework.util.StringUtils;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisClusterInfoCache;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>
+ * Redis Cluster 集群模式的 Jedis 连接提供者
+ *
+ * 每个节点一个 JedisPool，启动时通过 CLUSTER SLOTS 建立 slot 到节点的缓存，
+ * 收到 MOVED 或者节点连接失败时调用 renewSlotCache 刷新
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ClusterJedisProvider extends AbstractProvider {
+
+    /**
+     * 种子节点，host:port
+     */
+    private Set<String> nodes;
+
+    /**
+     * 每个节点的连接池配置
+     */
+    private JedisPoolConfig poolConfig = new JedisPoolConfig();
+
+    /**
+     * 连接超时，单位是毫秒
+     */
+    private int timeout = 3000;
+
+    /**
+     * 密码
+     */
+    private String password;
+
+    private JedisClusterInfoCache slotCache;
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(Set<String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public JedisPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    public void setPoolConfig(JedisPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    /**
+     * 从种子节点中发现集群节点以及 slot 分布，只要有一个种子节点可用即可
+     */
+    public void init() {
+        slotCache = new JedisClusterInfoCache(poolConfig, timeout, timeout, StringUtils.isEmpty(password) ? null : password);
+
+        JedisException lastException = null;
+        for (String node : nodes) {
+            HostAndPort hostAndPort = HostAndPort.parseString(node.trim());
+            Jedis jedis = null;
+            try {
+                jedis = new Jedis(hostAndPort.getHost(), hostAndPort.getPort(), timeout);
+                if (!StringUtils.isEmpty(password)) {
+                    jedis.auth(password);
+                }
+                slotCache.discoverClusterNodesAndSlots(jedis);
+                logger.info("Redis 集群节点：{}", slotCache.getNodes().keySet());
+                return;
+            } catch (JedisException e) {
+                lastException = e;
+                logger.warn("Redis 集群种子节点[{}]不可用, ERROR={}", node, e.getMessage());
+            } finally {
+                if (null != jedis) {
+                    jedis.close();
+                }
+            }
+        }
+        throw new JedisConnectionException("Redis 集群种子节点均不可用：" + nodes, lastException);
+    }
+
+    /**
+     * 关闭所有节点的连接池
+     */
+    public void destroy() {
+        if (null != slotCache) {
+            slotCache.reset();
+        }
+    }
+
+    /**
+     * 返回任意一个可用节点的连接，用于和 key 无关的命令
+     *
+     * @return 连接
+     */
+    @Override
+    public Jedis getResource() {
+        List<JedisPool> pools = slotCache.getShuffledNodesPool();
+        JedisException lastException = null;
+        for (JedisPool pool : pools) {
+            try {
+                return pool.getResource();
+            } catch (JedisException e) {
+                lastException = e;
+            }
+        }
+        throw new JedisConnectionException("Redis 集群没有可用的节点", lastException);
+    }
+
+    /**
+     * 返回负责该 slot 的节点连接，slot 缓存中没有时先刷新缓存
+     *
+     * @param slot slot
+     * @return 连接
+     */
+    public Jedis getResource(int slot) {
+        JedisPool pool = slotCache.getSlotPool(slot);
+        if (null == pool) {
+            renewSlotCache(null);
+            pool = slotCache.getSlotPool(slot);
+        }
+        return null == pool ? getResource() : pool.getResource();
+    }
+
+    /**
+     * 返回缓存中负责该 slot 的节点连接池，用于按节点对 key 分组
+     *
+     * @param slot slot
+     * @return 连接池，缓存中没有时返回 null
+     */
+    public JedisPool getSlotPool(int slot) {
+        return slotCache.getSlotPool(slot);
+    }
+
+    /**
+     * 返回指定节点的连接，用于 MOVED/ASK 重定向
+     *
+     * @param node 节点
+     * @return 连接
+     */
+    public Jedis getResource(HostAndPort node) {
+        return slotCache.setupNodeIfNotExist(node).getResource();
+    }
+
+    /**
+     * 刷新 slot 缓存
+     *
+     * @param jedis 优先使用的连接，为 null 或者不可用时依次尝试其他节点
+     */
+    public void renewSlotCache(Jedis jedis) {
+        slotCache.renewClusterSlots(jedis);
+    }
+
+    /**
+     * 获取集群所有节点的连接池，用于 keys、flushDB 等需要在每个节点执行的命令
+     *
+     * @return 节点到连接池的映射
+     */
+    public Map<String, JedisPool> getNodePools() {
+        return slotCache.getNodes();
+    }
+
+    /**
+     * 每个主节点负责的第一个 slot，通过 slot 路由到主节点，用于 scan 等需要在每个主节点执行一次的命令
+     *
+     * @return 每个主节点一个 slot
+     */
+    public List<Integer> getMasterSlots() {
+        Set<JedisPool> masters = Collections.newSetFromMap(new IdentityHashMap<JedisPool, Boolean>());
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < JedisCluster.HASHSLOTS; ++slot) {
+            JedisPool pool = slotCache.getSlotPool(slot);
+            if (null != pool && masters.add(pool)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+}
@@ -25,6 +25,6 @@ public class DefaultJedisProvider extends AbstractProvider {
 
     @Override
     public Jedis getResource() {
-        return jedisPool.getResource();
+        return borrow(jedisPool);
     }
 }
@@ -1,20 +1,90 @@
 package com.commonspringboot.autoconfigure.redis.common.provider.jedis;
 
+import org.springframework.util.StringUtils;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * <pre>
  * 支持哨兵模式的 Jedis 连接返回
  *
+ * 开启 readFromReplicas 后，通过 SENTINEL slaves 发现从库并为每个从库建立连接池，
+ * 只读命令按 replicaBalance 策略使用从库连接，没有可用从库时使用主库连接；
+ * 订阅哨兵的 +switch-master、+slave、+sdown、-sdown 事件，发生变化时重新发现从库
+ * </pre>
+ *
  * @author yzy
  */
 public class SentinelJedisProvider extends AbstractProvider {
 
+    public static final String BALANCE_ROUND_ROBIN = "round-robin";
+
+    public static final String BALANCE_RANDOM = "random";
+
+    private static final String[] SENTINEL_CHANNELS = {"+switch-master", "+slave", "+sdown", "-sdown"};
+
+    private static final long RESUBSCRIBE_INTERVAL_MILLIS = 1000;
+
     /**
      * 支持哨兵模式的连接池实现
      */
     protected JedisSentinelPool jedisSentinelPool;
 
+    /**
+     * 是否开启读写分离
+     */
+    private boolean readFromReplicas = false;
+
+    /**
+     * 从库负载均衡策略
+     */
+    private String replicaBalance = BALANCE_ROUND_ROBIN;
+
+    /**
+     * 哨兵列表，host:port
+     */
+    private Set<String> sentinels;
+
+    private String masterName;
+
+    /**
+     * 从库连接池配置
+     */
+    private JedisPoolConfig poolConfig = new JedisPoolConfig();
+
+    private int timeout = 3000;
+
+    private String password;
+
+    private int database = 0;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final Map<String, JedisPool> replicaPoolMap = new HashMap<>();
+
+    private volatile List<JedisPool> replicaPools = Collections.emptyList();
+
+    private volatile boolean running = false;
+
+    private volatile JedisPubSub subscriber;
+
+    private Thread listenerThread;
+
     public JedisSentinelPool getJedisSentinelPool() {
         return jedisSentinelPool;
     }
@@ -23,8 +93,272 @@ public class SentinelJedisProvider extends AbstractProvider {
         this.jedisSentinelPool = jedisSentinelPool;
     }
 
+    public boolean isReadFromReplicas() {
+        return readFromReplicas;
+    }
+
+    public void setReadFromReplicas(boolean readFromReplicas) {
+        this.readFromReplicas = readFromReplicas;
+    }
+
+    public String getReplicaBalance() {
+        return replicaBalance;
+    }
+
+    public void setReplicaBalance(String replicaBalance) {
+        this.replicaBalance = replicaBalance;
+    }
+
+    public Set<String> getSentinels() {
+        return sentinels;
+    }
+
+    public void setSentinels(Set<String> sentinels) {
+        this.sentinels = sentinels;
+    }
+
+    public String getMasterName() {
+        return masterName;
+    }
+
+    public void setMasterName(String masterName) {
+        this.masterName = masterName;
+    }
+
+    public JedisPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    public void setPoolConfig(JedisPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(int database) {
+        this.database = database;
+    }
+
+    /**
+     * 获取当前可用的从库连接池
+     *
+     * @return 从库连接池列表
+     */
+    public List<JedisPool> getReplicaPools() {
+        return replicaPools;
+    }
+
+    /**
+     * 开启读写分离时发现从库并订阅哨兵事件
+     */
+    public synchronized void init() {
+        if (!readFromReplicas || running) {
+            return;
+        }
+        running = true;
+        discoverReplicas();
+
+        listenerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                listenLoop();
+            }
+        }, "redis-sentinel-listener-" + masterName);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * 停止订阅并关闭从库连接池
+     */
+    public synchronized void destroy() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        JedisPubSub current = subscriber;
+        if (null != current && current.isSubscribed()) {
+            current.punsubscribe();
+            current.unsubscribe();
+        }
+        listenerThread.interrupt();
+
+        synchronized (replicaPoolMap) {
+            for (JedisPool pool : replicaPoolMap.values()) {
+                pool.destroy();
+            }
+            replicaPoolMap.clear();
+            replicaPools = Collections.emptyList();
+        }
+    }
+
     @Override
     public Jedis getResource() {
-        return jedisSentinelPool.getResource();
+        return borrow(jedisSentinelPool);
+    }
+
+    @Override
+    public Jedis getReadResource() {
+        List<JedisPool> pools = replicaPools;
+        int size = pools.size();
+        if (size == 0) {
+            return getResource();
+        }
+
+        int start = BALANCE_RANDOM.equalsIgnoreCase(replicaBalance)
+                ? ThreadLocalRandom.current().nextInt(size)
+                : (cursor.getAndIncrement() & Integer.MAX_VALUE) % size;
+        for (int i = 0; i < size; ++i) {
+            JedisPool pool = pools.get((start + i) % size);
+            try {
+                return pool.getResource();
+            } catch (JedisException e) {
+                logger.debug("Redis[{}] 从库连接不可用, ERROR={}", masterName, e.getMessage());
+            }
+        }
+        // 从库都不可用时使用主库
+        return getResource();
+    }
+
+    /**
+     * 从任意一个可用的哨兵获取从库列表，跳过下线、断开以及还没有完成同步的从库
+     */
+    public void discoverReplicas() {
+        for (String sentinel : sentinels) {
+            HostAndPort hostAndPort = HostAndPort.parseString(sentinel.trim());
+            Jedis jedis = null;
+            try {
+                jedis = new Jedis(hostAndPort.getHost(), hostAndPort.getPort(), timeout);
+                List<Map<String, String>> slaves = jedis.sentinelSlaves(masterName);
+                Set<String> replicas = new HashSet<>();
+                for (Map<String, String> slave : slaves) {
+                    if (isAvailableReplica(slave)) {
+                        replicas.add(slave.get("ip") + ":" + slave.get("port"));
+                    }
+                }
+                refreshReplicaPools(replicas);
+                return;
+            } catch (JedisException e) {
+                logger.warn("Redis[{}] 哨兵[{}]获取从库失败, ERROR={}", masterName, sentinel, e.getMessage());
+            } finally {
+                if (null != jedis) {
+                    jedis.close();
+                }
+            }
+        }
+    }
+
+    private boolean isAvailableReplica(Map<String, String> slave) {
+        String flags = slave.get("flags");
+        if (null != flags && (flags.contains("s_down") || flags.contains("o_down") || flags.contains("disconnected"))) {
+            return false;
+        }
+        return "ok".equals(slave.get("master-link-status"));
+    }
+
+    private void refreshReplicaPools(Set<String> replicas) {
+        synchronized (replicaPoolMap) {
+            if (!running) {
+                return;
+            }
+            List<JedisPool> removed = new ArrayList<>();
+            for (Map.Entry<String, JedisPool> entry : new HashMap<>(replicaPoolMap).entrySet()) {
+                if (!replicas.contains(entry.getKey())) {
+                    removed.add(replicaPoolMap.remove(entry.getKey()));
+                }
+            }
+            for (String replica : replicas) {
+                if (!replicaPoolMap.containsKey(replica)) {
+                    HostAndPort hostAndPort = HostAndPort.parseString(replica);
+                    replicaPoolMap.put(replica, new JedisPool(poolConfig, hostAndPort.getHost(), hostAndPort.getPort(),
+                            timeout, StringUtils.isEmpty(password) ? null : password, database));
+                }
+            }
+            replicaPools = Collections.unmodifiableList(new ArrayList<>(replicaPoolMap.values()));
+
+            // 已经借出的连接归还时会被销毁
+            for (JedisPool pool : removed) {
+                pool.destroy();
+            }
+            logger.info("Redis[{}] 可用从库：{}", masterName, replicaPoolMap.keySet());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            for (String sentinel : sentinels) {
+                if (!running) {
+                    return;
+                }
+                HostAndPort hostAndPort = HostAndPort.parseString(sentinel.trim());
+                Jedis jedis = null;
+                try {
+                    jedis = new Jedis(hostAndPort.getHost(), hostAndPort.getPort(), timeout);
+                    subscriber = new SentinelEventSubscriber();
+                    jedis.subscribe(subscriber, SENTINEL_CHANNELS);
+                } catch (Exception e) {
+                    if (running) {
+                        logger.warn("Redis[{}] 哨兵[{}]事件订阅断开, ERROR={}", masterName, sentinel, e.getMessage());
+                    }
+                } finally {
+                    if (null != jedis) {
+                        jedis.close();
+                    }
+                }
+
+                if (running) {
+                    try {
+                        Thread.sleep(RESUBSCRIBE_INTERVAL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private class SentinelEventSubscriber extends JedisPubSub {
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            // 订阅断开期间可能错过了事件
+            if (subscribedChannels == SENTINEL_CHANNELS.length) {
+                discoverReplicas();
+            }
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            if (isAboutMaster(message)) {
+                logger.info("Redis[{}] 收到哨兵事件 {} {}", masterName, channel, message);
+                discoverReplicas();
+            }
+        }
+
+        /**
+         * +switch-master 的格式是 &lt;master name&gt; ...，从库事件的格式是 ... @ &lt;master name&gt; &lt;ip&gt; &lt;port&gt;
+         */
+        private boolean isAboutMaster(String message) {
+            return message.startsWith(masterName + " ") || message.contains("@ " + masterName + " ");
+        }
     }
 }
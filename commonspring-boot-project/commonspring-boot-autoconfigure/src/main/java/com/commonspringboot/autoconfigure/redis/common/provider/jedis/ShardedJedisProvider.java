@@ -0,0 +1,244 @@
+package com.commonspringboot.autoconfigure.redis.common.provider.jedis;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Hashing;
+import redis.clients.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <pre>
+ * 客户端一致性哈希分片的 Jedis 连接提供者
+ *
+ * 1. 每个分片在哈希环上有 virtualNodes 个虚拟节点，虚拟节点名称是 {shardId}#{序号}，
+ *    只与分片 id 有关，增减分片时只有相邻区间的 key 会迁移，调整分片顺序不会迁移
+ * 2. key 使用 MurmurHash 计算哈希，顺时针找到的第一个虚拟节点所属的分片负责该 key
+ * 3. 开启 hashTag 时 key 中第一对花括号内的内容不为空时只用这部分计算哈希，与 Redis Cluster 规则相同
+ * 4. 与 key 无关的命令（keys、flushDB、publish 等）使用第一个分片
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ShardedJedisProvider extends AbstractProvider {
+
+    private static final byte HASH_TAG_START = '{';
+
+    private static final byte HASH_TAG_END = '}';
+
+    /**
+     * 分片 id 到分片连接提供者，按配置顺序
+     */
+    private Map<String, JedisProvider> shards = new LinkedHashMap<>();
+
+    /**
+     * 每个分片的虚拟节点数
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * 是否支持 {hashTag}
+     */
+    private boolean hashTag = true;
+
+    private List<String> shardIds = Collections.emptyList();
+
+    private JedisProvider[] shardProviders = new JedisProvider[0];
+
+    /**
+     * 哈希环，按哈希值升序，ringShards 是对应位置虚拟节点所属的分片下标
+     */
+    private long[] ringHashes = new long[0];
+
+    private int[] ringShards = new int[0];
+
+    public Map<String, JedisProvider> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<String, JedisProvider> shards) {
+        this.shards = shards;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isHashTag() {
+        return hashTag;
+    }
+
+    public void setHashTag(boolean hashTag) {
+        this.hashTag = hashTag;
+    }
+
+    /**
+     * 构建哈希环
+     */
+    public void init() {
+        if (null == shards || shards.isEmpty()) {
+            throw new IllegalStateException("Redis 分片不能为空");
+        }
+
+        final List<String> ids = new ArrayList<>(shards.size());
+        JedisProvider[] providers = new JedisProvider[shards.size()];
+        for (Map.Entry<String, JedisProvider> entry : shards.entrySet()) {
+            JedisProvider shard = entry.getValue();
+            if (shard instanceof ClusterJedisProvider || shard instanceof ShardedJedisProvider) {
+                throw new IllegalStateException("Redis 分片[" + entry.getKey() + "]不能是集群或者分片 Redis：" + shard);
+            }
+            providers[ids.size()] = shard;
+            ids.add(entry.getKey());
+        }
+
+        int nodes = Math.max(1, virtualNodes);
+        long[][] ring = new long[ids.size() * nodes][];
+        int index = 0;
+        for (int shard = 0; shard < ids.size(); ++shard) {
+            for (int node = 0; node < nodes; ++node) {
+                ring[index++] = new long[]{Hashing.MURMUR_HASH.hash(ids.get(shard) + "#" + node), shard};
+            }
+        }
+        Arrays.sort(ring, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] o1, long[] o2) {
+                // 哈希值相同时按分片 id 排序，保证结果与分片的配置顺序无关
+                int result = Long.compare(o1[0], o2[0]);
+                return result != 0 ? result : ids.get((int) o1[1]).compareTo(ids.get((int) o2[1]));
+            }
+        });
+
+        long[] hashes = new long[ring.length];
+        int[] owners = new int[ring.length];
+        for (int i = 0; i < ring.length; ++i) {
+            hashes[i] = ring[i][0];
+            owners[i] = (int) ring[i][1];
+        }
+
+        this.shardIds = Collections.unmodifiableList(ids);
+        this.shardProviders = providers;
+        this.ringHashes = hashes;
+        this.ringShards = owners;
+        logger.info("Redis 分片：{}，虚拟节点数：{}", ids, nodes);
+    }
+
+    /**
+     * 返回第一个分片的连接，用于和 key 无关的命令
+     *
+     * @return 连接
+     */
+    @Override
+    public Jedis getResource() {
+        return shardProviders[0].getResource();
+    }
+
+    @Override
+    public Jedis getReadResource() {
+        return shardProviders[0].getReadResource();
+    }
+
+    /**
+     * 返回分片的连接
+     *
+     * @param shard 分片下标
+     * @return 连接
+     */
+    public Jedis getResource(int shard) {
+        return shardProviders[shard].getResource();
+    }
+
+    /**
+     * 返回分片执行只读命令的连接
+     *
+     * @param shard 分片下标
+     * @return 连接
+     */
+    public Jedis getReadResource(int shard) {
+        return shardProviders[shard].getReadResource();
+    }
+
+    /**
+     * 计算 key 所在的分片
+     *
+     * @param key key
+     * @return 分片下标
+     */
+    public int getShard(String key) {
+        return getShard(SafeEncoder.encode(key));
+    }
+
+    /**
+     * 计算 key 所在的分片
+     *
+     * @param key key
+     * @return 分片下标
+     */
+    public int getShard(byte[] key) {
+        if (ringShards.length == 0) {
+            throw new IllegalStateException("Redis 分片还没有初始化");
+        }
+        if (shardProviders.length == 1) {
+            return 0;
+        }
+        long hash = hash(key);
+        int index = Arrays.binarySearch(ringHashes, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return ringShards[index == ringHashes.length ? 0 : index];
+    }
+
+    /**
+     * 计算 key 所在的分片 id，用于排查数据分布
+     *
+     * @param key key
+     * @return 分片 id
+     */
+    public String getShardId(String key) {
+        return shardIds.get(getShard(key));
+    }
+
+    public List<String> getShardIds() {
+        return shardIds;
+    }
+
+    public int getShardCount() {
+        return shardProviders.length;
+    }
+
+    public JedisProvider getShardProvider(int shard) {
+        return shardProviders[shard];
+    }
+
+    private long hash(byte[] key) {
+        if (hashTag) {
+            int start = indexOf(key, HASH_TAG_START, 0);
+            if (start >= 0) {
+                int end = indexOf(key, HASH_TAG_END, start + 1);
+                if (end > start + 1) {
+                    return Hashing.MURMUR_HASH.hash(Arrays.copyOfRange(key, start + 1, end));
+                }
+            }
+        }
+        return Hashing.MURMUR_HASH.hash(key);
+    }
+
+    private static int indexOf(byte[] key, byte value, int from) {
+        for (int i = from; i < key.length; ++i) {
+            if (key[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+/**
+ * 订阅队列满时的处理方式
+ *
+ * @author yzy
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 接收线程等待队列有空位，所有频道的接收都会暂停，消息不丢失
+     */
+    BLOCK,
+
+    /**
+     * 丢弃新收到的消息
+     */
+    DROP_NEWEST,
+
+    /**
+     * 丢弃队列中最旧的消息
+     */
+    DROP_OLDEST;
+
+    /**
+     * 解析配置，为空时返回默认值
+     *
+     * @param value        配置值，不区分大小写
+     * @param defaultValue 默认值
+     * @return 返回处理方式
+     */
+    public static OverflowPolicy parse(String value, OverflowPolicy defaultValue) {
+        if (null == value || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,54 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * 把 Spring Bean 的方法注册为 Redis 订阅，所有单例初始化完成之后开始订阅
+ *
+ * 方法参数可以是 (String message) 或者 (String channel, String message)：
+ *     &#64;RedisListener(redisId = "order", channels = "order:paid")
+ *     public void onPaid(String message) {...}
+ * </pre>
+ *
+ * @author yzy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RedisListener {
+
+    /**
+     * Redis ID，为空时使用 primary 的 Redis
+     */
+    String redisId() default "";
+
+    /**
+     * 订阅的频道，支持 ${...} 占位符
+     */
+    String[] channels() default {};
+
+    /**
+     * 订阅的模式，支持 ${...} 占位符
+     */
+    String[] patterns() default {};
+
+    /**
+     * 消息队列容量，小于等于 0 时使用 pubsub.queue-capacity
+     */
+    int queueCapacity() default 0;
+
+    /**
+     * 同时处理消息的线程数，大于 1 时不保证消息顺序
+     */
+    int concurrency() default 1;
+
+    /**
+     * 队列满时的处理方式，参考 OverflowPolicy，为空时使用 pubsub.overflow-policy
+     */
+    String overflowPolicy() default "";
+}
@@ -0,0 +1,153 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <pre>
+ * 扫描 Bean 中的 &#64;RedisListener 方法，注册到对应的 {redisId}RedisSubscriptionService
+ *
+ * 单例初始化完成之前发现的方法在 afterSingletonsInstantiated 时统一订阅，避免监听器依赖的 Bean 还没有初始化完成
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisListenerAnnotationBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware, SmartInitializingSingleton {
+
+    private final List<Endpoint> pending = new ArrayList<>();
+
+    private BeanFactory beanFactory;
+
+    private boolean initialized;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, String beanName) throws BeansException {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Map<Method, RedisListener> methods = MethodIntrospector.selectMethods(targetClass, new MethodIntrospector.MetadataLookup<RedisListener>() {
+            @Override
+            public RedisListener inspect(Method method) {
+                return AnnotatedElementUtils.findMergedAnnotation(method, RedisListener.class);
+            }
+        });
+        for (Map.Entry<Method, RedisListener> entry : methods.entrySet()) {
+            Method method = AopUtils.selectInvocableMethod(entry.getKey(), bean.getClass());
+            Endpoint endpoint = new Endpoint(beanName + "#" + method.getName(), bean, method, entry.getValue());
+            synchronized (pending) {
+                if (initialized) {
+                    register(endpoint);
+                } else {
+                    pending.add(endpoint);
+                }
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        synchronized (pending) {
+            initialized = true;
+            for (Endpoint endpoint : pending) {
+                register(endpoint);
+            }
+            pending.clear();
+        }
+    }
+
+    private void register(Endpoint endpoint) {
+        RedisListener annotation = endpoint.annotation;
+        RedisSubscriptionService service = StringUtils.hasText(annotation.redisId())
+                ? beanFactory.getBean(resolve(annotation.redisId()) + "RedisSubscriptionService", RedisSubscriptionService.class)
+                : beanFactory.getBean(RedisSubscriptionService.class);
+        service.subscribe(endpoint.name, resolve(annotation.channels()), resolve(annotation.patterns()), endpoint.createListener(),
+                annotation.queueCapacity(), annotation.concurrency(), OverflowPolicy.parse(resolve(annotation.overflowPolicy()), null));
+    }
+
+    private List<String> resolve(String[] values) {
+        List<String> resolved = new ArrayList<>(values.length);
+        for (String value : values) {
+            String name = resolve(value);
+            if (StringUtils.hasText(name)) {
+                resolved.add(name);
+            }
+        }
+        return resolved;
+    }
+
+    private String resolve(String value) {
+        if (beanFactory instanceof ConfigurableBeanFactory) {
+            return ((ConfigurableBeanFactory) beanFactory).resolveEmbeddedValue(value);
+        }
+        return value;
+    }
+
+    private static class Endpoint {
+
+        private final String name;
+
+        private final Object bean;
+
+        private final Method method;
+
+        private final RedisListener annotation;
+
+        Endpoint(String name, Object bean, Method method, RedisListener annotation) {
+            Class<?>[] types = method.getParameterTypes();
+            boolean valid = (types.length == 1 && types[0] == String.class)
+                    || (types.length == 2 && types[0] == String.class && types[1] == String.class);
+            if (!valid) {
+                throw new IllegalStateException("@RedisListener 方法 " + name + " 的参数必须是 (String message) 或 (String channel, String message)");
+            }
+            ReflectionUtils.makeAccessible(method);
+            this.name = name;
+            this.bean = bean;
+            this.method = method;
+            this.annotation = annotation;
+        }
+
+        RedisMessageListener createListener() {
+            final boolean withChannel = method.getParameterCount() == 2;
+            return new RedisMessageListener() {
+                @Override
+                public void onMessage(String channel, String message) {
+                    try {
+                        if (withChannel) {
+                            method.invoke(bean, channel, message);
+                        } else {
+                            method.invoke(bean, message);
+                        }
+                    } catch (InvocationTargetException e) {
+                        ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+        }
+    }
+}
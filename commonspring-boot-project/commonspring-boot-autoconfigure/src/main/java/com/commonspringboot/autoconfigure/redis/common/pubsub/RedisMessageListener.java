@@ -0,0 +1,17 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+/**
+ * 订阅消息处理，在 RedisSubscriptionService 的处理线程中调用，不占用接收线程
+ *
+ * @author yzy
+ */
+public interface RedisMessageListener {
+
+    /**
+     * 处理一条消息，抛出的异常只记录日志
+     *
+     * @param channel 消息所在的频道，模式订阅时是实际的频道
+     * @param message 消息内容
+     */
+    void onMessage(String channel, String message);
+}
@@ -0,0 +1,306 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+import com.commonspringboot.autoconfigure.redis.common.metrics.RollingLatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 一个监听器的订阅，接收线程把消息放入有界队列，由最多 concurrency 个处理任务从队列中取出并调用监听器
+ *
+ * 处理任务只在队列有消息时提交到 Executor，每处理一批消息后重新提交，多个订阅共用线程时不会一直占用线程；
+ * 延迟（lag）是消息从接收到开始处理的时间
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisSubscription {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisSubscription.class);
+
+    /**
+     * 单个处理任务连续处理的消息数
+     */
+    private static final int DRAIN_BATCH = 256;
+
+    private static final long BLOCK_CHECK_MILLIS = 100;
+
+    private final RedisSubscriptionService service;
+
+    private final String name;
+
+    private final Set<String> channels;
+
+    private final Set<String> patterns;
+
+    private final RedisMessageListener listener;
+
+    private final int concurrency;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final ArrayBlockingQueue<Message> queue;
+
+    private final Executor executor;
+
+    private final AtomicInteger workers = new AtomicInteger();
+
+    private final LongAdder received = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final RollingLatencyHistogram lag = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    private volatile boolean cancelled;
+
+    RedisSubscription(RedisSubscriptionService service, String name, Set<String> channels, Set<String> patterns, RedisMessageListener listener,
+                      int queueCapacity, int concurrency, OverflowPolicy overflowPolicy, Executor executor) {
+        this.service = service;
+        this.name = name;
+        this.channels = Collections.unmodifiableSet(channels);
+        this.patterns = Collections.unmodifiableSet(patterns);
+        this.listener = listener;
+        this.concurrency = Math.max(1, concurrency);
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.executor = executor;
+    }
+
+    /**
+     * 取消订阅，队列中未处理的消息会被丢弃
+     */
+    public void unsubscribe() {
+        service.unsubscribe(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRedisId() {
+        return service.getRedisId();
+    }
+
+    public Set<String> getChannels() {
+        return channels;
+    }
+
+    public Set<String> getPatterns() {
+        return patterns;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 队列中等待处理的消息数
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /**
+     * 监听器抛出异常的消息数
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * 队列满被丢弃的消息数
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 最近一两分钟内消息从接收到开始处理的延迟
+     */
+    public RollingLatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * 接收线程调用，按 overflowPolicy 放入队列
+     */
+    void offer(String channel, String message) {
+        if (cancelled) {
+            return;
+        }
+        received.increment();
+        Message item = new Message(channel, message, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (!queue.offer(item, BLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (cancelled || !service.isRunning()) {
+                            drop();
+                            return;
+                        }
+                        // 等待期间也要保证有任务在处理
+                        schedule();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop();
+                    return;
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(item)) {
+                    drop();
+                    return;
+                }
+                break;
+            default:
+                while (!queue.offer(item)) {
+                    if (null != queue.poll()) {
+                        drop();
+                    }
+                }
+                break;
+        }
+        schedule();
+    }
+
+    void cancel() {
+        cancelled = true;
+        queue.clear();
+    }
+
+    private void drop() {
+        long count = dropped.incrementAndGet();
+        // 队列满通常会持续一段时间，每 1000 条打印一次
+        if (count % 1000 == 1) {
+            LOGGER.warn("Redis[{}] 订阅 {} 处理不过来，队列已满（{}），累计丢弃 {} 条消息",
+                    service.getRedisId(), name, overflowPolicy, count);
+        }
+    }
+
+    private void schedule() {
+        while (true) {
+            int current = workers.get();
+            if (current >= concurrency) {
+                return;
+            }
+            if (workers.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            workers.decrementAndGet();
+            LOGGER.warn("Redis[{}] 订阅 {} 提交处理任务失败，ERROR={}", service.getRedisId(), name, e.getMessage());
+        }
+    }
+
+    private void drain() {
+        boolean resubmitted = false;
+        try {
+            int processed = 0;
+            while (!cancelled) {
+                Message item = queue.poll();
+                if (null == item) {
+                    return;
+                }
+                dispatch(item);
+                if (++processed >= DRAIN_BATCH) {
+                    // 让出线程给其他订阅，处理任务数不变
+                    try {
+                        executor.execute(drainTask);
+                        resubmitted = true;
+                    } catch (RejectedExecutionException e) {
+                        LOGGER.warn("Redis[{}] 订阅 {} 重新提交处理任务失败，ERROR={}", service.getRedisId(), name, e.getMessage());
+                    }
+                    return;
+                }
+            }
+        } finally {
+            // 监听器抛出 Error 时也要释放处理任务数
+            if (!resubmitted) {
+                workers.decrementAndGet();
+                // 退出之前又有新消息放入或者重新提交被拒绝，重新调度，避免消息留在队列中没有任务处理
+                if (!cancelled && !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    private void dispatch(Message item) {
+        lag.record(System.nanoTime() - item.receivedAt);
+        try {
+            listener.onMessage(item.channel, item.message);
+            delivered.increment();
+        } catch (Exception e) {
+            failed.increment();
+            LOGGER.warn("Redis[{}] 订阅 {} 处理消息失败，channel={}", service.getRedisId(), name, item.channel, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisSubscription{" +
+                "name='" + name + '\'' +
+                ", channels=" + channels +
+                ", patterns=" + patterns +
+                ", concurrency=" + concurrency +
+                ", overflowPolicy=" + overflowPolicy +
+                ", queueCapacity=" + getQueueCapacity() +
+                '}';
+    }
+
+    private static class Message {
+
+        private final String channel;
+
+        private final String message;
+
+        private final long receivedAt;
+
+        Message(String channel, String message, long receivedAt) {
+            this.channel = channel;
+            this.message = message;
+            this.receivedAt = receivedAt;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.commonspringboot.autoconfigure.redis.common.pubsub;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.model.PubSubConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * Redis 订阅服务，每个 Redis 一个，{redisId}RedisSubscriptionService
+ *
+ * 1. 所有订阅共用一个订阅连接和一个接收线程，第一次订阅时才建立连接
+ * 2. 接收线程只把消息放入各个订阅的有界队列，由处理线程调用监听器，一个监听器处理慢不会影响其他频道
+ * 3. 连接断开后每隔 resubscribeIntervalMillis 重连，重连后重新订阅全部频道和模式，断开期间的消息会丢失
+ * 4. 订阅连接始终订阅一个内部频道，没有业务订阅时也保持连接，新增订阅直接在连接上发送 SUBSCRIBE
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisSubscriptionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisSubscriptionService.class);
+
+    private static final String CONTROL_CHANNEL_PREFIX = "commonspring:pubsub:";
+
+    private final Object lock = new Object();
+
+    private final Map<String, List<RedisSubscription>> channelSubscriptions = new ConcurrentHashMap<>();
+
+    private final Map<String, List<RedisSubscription>> patternSubscriptions = new ConcurrentHashMap<>();
+
+    private final List<RedisSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final List<SubscriptionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong reconnects = new AtomicLong();
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    /**
+     * 用于订阅的连接提供者
+     */
+    private JedisProvider provider;
+
+    private PubSubConfig config = new PubSubConfig();
+
+    /**
+     * 处理消息的 Executor，为 null 时按 workerThreads 创建线程池
+     */
+    private Executor executor;
+
+    private ExecutorService ownExecutor;
+
+    private String controlChannel;
+
+    private volatile boolean running = false;
+
+    private volatile boolean connected = false;
+
+    private volatile Dispatcher subscriber;
+
+    private Thread subscribeThread;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public JedisProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(JedisProvider provider) {
+        this.provider = provider;
+    }
+
+    public PubSubConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(PubSubConfig config) {
+        this.config = config;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        controlChannel = CONTROL_CHANNEL_PREFIX + redisId + ":" + UUID.randomUUID().toString().replace("-", "");
+        running = true;
+    }
+
+    /**
+     * 断开订阅连接，丢弃队列中未处理的消息
+     */
+    public void shutdown() {
+        Thread thread;
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            Dispatcher current = subscriber;
+            if (connected && null != current && current.isSubscribed()) {
+                if (!patternSubscriptions.isEmpty()) {
+                    current.punsubscribe();
+                }
+                current.unsubscribe();
+            }
+            thread = subscribeThread;
+        }
+        if (null != thread) {
+            thread.interrupt();
+        }
+        for (RedisSubscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+        subscriptions.clear();
+        channelSubscriptions.clear();
+        patternSubscriptions.clear();
+        if (null != ownExecutor) {
+            ownExecutor.shutdown();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 订阅连接是否正常
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * 订阅连接断开的次数
+     */
+    public long getReconnects() {
+        return reconnects.get();
+    }
+
+    public List<RedisSubscription> getSubscriptions() {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * 新增订阅时通知，已有的订阅立即通知一次，用于注册指标
+     */
+    public void addListener(SubscriptionListener listener) {
+        listeners.add(listener);
+        for (RedisSubscription subscription : subscriptions) {
+            listener.onSubscriptionCreated(subscription);
+        }
+    }
+
+    /**
+     * 使用默认配置订阅频道
+     *
+     * @param listener 监听器
+     * @param channels 频道
+     * @return 返回订阅
+     */
+    public RedisSubscription subscribe(RedisMessageListener listener, String... channels) {
+        return subscribe(listener.getClass().getName(), Arrays.asList(channels), Collections.<String>emptyList(), listener, 0, 1, null);
+    }
+
+    /**
+     * 使用默认配置订阅模式
+     *
+     * @param listener 监听器
+     * @param patterns 模式
+     * @return 返回订阅
+     */
+    public RedisSubscription psubscribe(RedisMessageListener listener, String... patterns) {
+        return subscribe(listener.getClass().getName(), Collections.<String>emptyList(), Arrays.asList(patterns), listener, 0, 1, null);
+    }
+
+    /**
+     * 订阅频道和模式
+     *
+     * @param name           订阅名称，用于日志和指标
+     * @param channels       频道
+     * @param patterns       模式
+     * @param listener       监听器
+     * @param queueCapacity  队列容量，小于等于 0 时使用配置
+     * @param concurrency    同时处理消息的线程数
+     * @param overflowPolicy 队列满时的处理方式，为 null 时使用配置
+     * @return 返回订阅
+     */
+    public RedisSubscription subscribe(String name, Collection<String> channels, Collection<String> patterns, RedisMessageListener listener,
+                                       int queueCapacity, int concurrency, OverflowPolicy overflowPolicy) {
+        Set<String> channelSet = new LinkedHashSet<>(channels);
+        Set<String> patternSet = new LinkedHashSet<>(patterns);
+        if (channelSet.isEmpty() && patternSet.isEmpty()) {
+            throw new IllegalArgumentException("订阅 " + name + " 至少需要一个频道或模式");
+        }
+        RedisSubscription subscription;
+        synchronized (lock) {
+            if (!running) {
+                throw new IllegalStateException("Redis[" + redisId + "] 订阅服务没有启动或已经关闭");
+            }
+            ensureSubscribeThread();
+            subscription = new RedisSubscription(this, name, channelSet, patternSet, listener,
+                    queueCapacity > 0 ? queueCapacity : config.getQueueCapacity(), concurrency,
+                    null != overflowPolicy ? overflowPolicy : OverflowPolicy.parse(config.getOverflowPolicy(), OverflowPolicy.DROP_OLDEST),
+                    null != executor ? executor : ownExecutor);
+            List<String> newChannels = add(channelSubscriptions, channelSet, subscription);
+            List<String> newPatterns = add(patternSubscriptions, patternSet, subscription);
+            subscriptions.add(subscription);
+
+            Dispatcher current = subscriber;
+            if (connected && null != current) {
+                if (!newChannels.isEmpty()) {
+                    current.subscribe(newChannels.toArray(new String[0]));
+                }
+                if (!newPatterns.isEmpty()) {
+                    current.psubscribe(newPatterns.toArray(new String[0]));
+                }
+            }
+        }
+        LOGGER.info("Redis[{}] 新增订阅：{}", redisId, subscription);
+        for (SubscriptionListener subscriptionListener : listeners) {
+            subscriptionListener.onSubscriptionCreated(subscription);
+        }
+        return subscription;
+    }
+
+    void unsubscribe(RedisSubscription subscription) {
+        synchronized (lock) {
+            if (!subscriptions.remove(subscription)) {
+                return;
+            }
+            List<String> oldChannels = remove(channelSubscriptions, subscription.getChannels(), subscription);
+            List<String> oldPatterns = remove(patternSubscriptions, subscription.getPatterns(), subscription);
+            Dispatcher current = subscriber;
+            if (connected && null != current) {
+                if (!oldChannels.isEmpty()) {
+                    current.unsubscribe(oldChannels.toArray(new String[0]));
+                }
+                if (!oldPatterns.isEmpty()) {
+                    current.punsubscribe(oldPatterns.toArray(new String[0]));
+                }
+            }
+        }
+        subscription.cancel();
+        LOGGER.info("Redis[{}] 取消订阅：{}", redisId, subscription.getName());
+    }
+
+    /**
+     * 加入订阅表，返回之前没有订阅的频道或模式
+     */
+    private static List<String> add(Map<String, List<RedisSubscription>> table, Set<String> names, RedisSubscription subscription) {
+        List<String> added = new ArrayList<>();
+        for (String name : names) {
+            List<RedisSubscription> list = table.get(name);
+            if (null == list) {
+                list = new CopyOnWriteArrayList<>();
+                table.put(name, list);
+                added.add(name);
+            }
+            list.add(subscription);
+        }
+        return added;
+    }
+
+    /**
+     * 从订阅表中移除，返回已经没有订阅的频道或模式
+     */
+    private static List<String> remove(Map<String, List<RedisSubscription>> table, Set<String> names, RedisSubscription subscription) {
+        List<String> removed = new ArrayList<>();
+        for (String name : names) {
+            List<RedisSubscription> list = table.get(name);
+            if (null != list && list.remove(subscription) && list.isEmpty()) {
+                table.remove(name);
+                removed.add(name);
+            }
+        }
+        return removed;
+    }
+
+    private void ensureSubscribeThread() {
+        if (null != subscribeThread) {
+            return;
+        }
+        if (null == executor) {
+            int threads = Math.max(1, config.getWorkerThreads());
+            ownExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory(redisId));
+        }
+        subscribeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                subscribeLoop();
+            }
+        }, "redis-subscriber-" + redisId);
+        subscribeThread.setDaemon(true);
+        subscribeThread.start();
+        LOGGER.info("Redis[{}] 开启订阅服务：{}", redisId, config);
+    }
+
+    private void subscribeLoop() {
+        while (running) {
+            Jedis jedis = null;
+            try {
+                jedis = provider.getResource();
+                subscriber = new Dispatcher();
+                jedis.subscribe(subscriber, controlChannel);
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.warn("Redis[{}] 订阅连接断开, {}ms 后重试, ERROR={}", redisId, config.getResubscribeIntervalMillis(), e.getMessage());
+                }
+            } finally {
+                synchronized (lock) {
+                    connected = false;
+                }
+                if (null != jedis) {
+                    // 订阅中断的连接状态未知，不放回连接池
+                    provider.destroyResource(jedis);
+                }
+            }
+
+            if (running) {
+                reconnects.incrementAndGet();
+                try {
+                    Thread.sleep(Math.max(1, config.getResubscribeIntervalMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private class Dispatcher extends JedisPubSub {
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            if (!controlChannel.equals(channel)) {
+                return;
+            }
+            // 内部频道订阅成功说明连接可用，在同一个连接上补充订阅全部频道和模式
+            synchronized (lock) {
+                if (!running) {
+                    unsubscribe();
+                    return;
+                }
+                connected = true;
+                if (!channelSubscriptions.isEmpty()) {
+                    subscribe(channelSubscriptions.keySet().toArray(new String[0]));
+                }
+                if (!patternSubscriptions.isEmpty()) {
+                    psubscribe(patternSubscriptions.keySet().toArray(new String[0]));
+                }
+            }
+            LOGGER.info("Redis[{}] 订阅连接已建立，频道数：{}，模式数：{}", redisId, channelSubscriptions.size(), patternSubscriptions.size());
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            dispatch(channelSubscriptions.get(channel), channel, message);
+        }
+
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {
+            dispatch(patternSubscriptions.get(pattern), channel, message);
+        }
+
+        private void dispatch(List<RedisSubscription> list, String channel, String message) {
+            if (null == list) {
+                return;
+            }
+            for (RedisSubscription subscription : list) {
+                subscription.offer(channel, message);
+            }
+        }
+    }
+
+    /**
+     * 订阅创建监听
+     */
+    public interface SubscriptionListener {
+
+        /**
+         * 新的订阅创建
+         *
+         * @param subscription 订阅
+         */
+        void onSubscriptionCreated(RedisSubscription subscription);
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        private final String redisId;
+
+        WorkerThreadFactory(String redisId) {
+            this.redisId = redisId;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "redis-subscriber-" + redisId + "-worker-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.commonspringboot.autoconfigure.redis.common.queue;
+
+/**
+ * 可靠队列消息处理器，正常返回表示处理成功，抛出异常时放回队列重试，超过最大重试次数后进入死信
+ *
+ * @author yzy
+ */
+public interface RedisQueueHandler {
+
+    /**
+     * 处理消息，消费者超时后消息会被重新投递，处理逻辑需要幂等
+     *
+     * @param queueName 队列名称
+     * @param message   消息
+     * @throws Exception 处理失败
+     */
+    void handle(String queueName, String message) throws Exception;
+}
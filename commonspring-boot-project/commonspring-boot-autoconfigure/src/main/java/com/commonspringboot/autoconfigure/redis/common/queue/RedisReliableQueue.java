@@ -0,0 +1,538 @@
+package com.commonspringboot.autoconfigure.redis.common.queue;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RollingLatencyHistogram;
+import com.commonspringboot.autoconfigure.redis.common.model.ReliableQueueConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import com.commonspringboot.autoconfigure.redis.common.util.RedisRouteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 可靠队列，通过 RedisReliableQueueService.getQueue 获取：
+ *     RedisReliableQueue queue = orderRedisReliableQueueService.getQueue("order.paid");
+ *     queue.push(orderId);
+ *
+ *     queue.consume(new RedisQueueHandler() {
+ *         public void handle(String queueName, String message) {
+ *             orderService.ship(message);
+ *         }
+ *     });
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisReliableQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisReliableQueue.class);
+
+    private final RedisReliableQueueService service;
+
+    private final ReliableQueueConfig config;
+
+    private final String name;
+
+    private final String queueKey;
+
+    private final String consumersKey;
+
+    private final String attemptsKey;
+
+    private final String deadKey;
+
+    private final String processingKeyPrefix;
+
+    /**
+     * 本进程消费者 ID，每次创建队列对象时生成
+     */
+    private final String consumerId = UUID.randomUUID().toString();
+
+    private final String processingKey;
+
+    private final int maxInFlight;
+
+    private final LongAdder fetched = new LongAdder();
+
+    private final LongAdder fetches = new LongAdder();
+
+    private final LongAdder fetchErrors = new LongAdder();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder deadLettered = new LongAdder();
+
+    private final LongAdder reclaimed = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final RollingLatencyHistogram handleTime = new RollingLatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final Object signal = new Object();
+
+    private volatile boolean running;
+
+    private RedisQueueHandler handler;
+
+    private List<Thread> fetchers = Collections.emptyList();
+
+    private ThreadPoolExecutor workers;
+
+    RedisReliableQueue(RedisReliableQueueService service, String name) {
+        this.service = service;
+        this.config = service.getConfig();
+        this.name = name;
+        this.queueKey = config.getKeyPrefix() + "{" + name + "}";
+        this.consumersKey = queueKey + ":consumers";
+        this.attemptsKey = queueKey + ":attempts";
+        this.deadKey = queueKey + ":dead";
+        this.processingKeyPrefix = queueKey + ":processing:";
+        this.processingKey = processingKeyPrefix + consumerId;
+        this.maxInFlight = Math.max(1, config.getWorkerThreads()) + Math.max(0, config.getQueueCapacity());
+    }
+
+    public String getRedisId() {
+        return service.getRedisId();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getConsumerId() {
+        return consumerId;
+    }
+
+    /**
+     * 发送消息，先发送的先处理
+     *
+     * @return 返回队列长度
+     */
+    public long push(String... messages) {
+        Long size = redis().lpush(queueKey, messages);
+        return null == size ? 0 : size;
+    }
+
+    /**
+     * 队列中等待的消息数，每次调用访问 Redis
+     */
+    public long size() {
+        Long size = redis().llen(queueKey);
+        return null == size ? 0 : size;
+    }
+
+    /**
+     * 死信数量，每次调用访问 Redis
+     */
+    public long getDeadLetterCount() {
+        Long size = redis().llen(deadKey);
+        return null == size ? 0 : size;
+    }
+
+    /**
+     * 把最早的最多 count 条死信放回队列
+     *
+     * @return 返回放回的消息数
+     */
+    public int redrive(int count) {
+        int moved = 0;
+        while (moved < count && null != redis().rpoplpush(deadKey, queueKey)) {
+            moved++;
+        }
+        return moved;
+    }
+
+    /**
+     * 开始读取并处理消息，每个队列在一个进程内只能有一个处理器
+     *
+     * @param handler 消息处理器
+     */
+    public synchronized void consume(RedisQueueHandler handler) {
+        if (null == handler) {
+            throw new IllegalArgumentException("handler 不能为空");
+        }
+        if (running) {
+            throw new IllegalStateException("可靠队列[" + name + "]已经在处理");
+        }
+        if (null == service.getProvider()) {
+            throw new IllegalStateException("Redis[" + service.getRedisId() + "] 没有连接提供者，不能读取队列");
+        }
+        this.handler = handler;
+        int threads = Math.max(1, config.getWorkerThreads());
+        // 积压由 inFlight 限制在 workerThreads + queueCapacity 附近，队列不会无限增长
+        workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new NamedThreadFactory("redis-queue-" + name + "-"));
+        running = true;
+        heartbeat();
+        service.startHeartbeat();
+        List<Thread> threadList = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, config.getFetchers()); i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    fetchLoop();
+                }
+            }, "redis-queue-fetcher-" + name + "-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threadList.add(thread);
+        }
+        fetchers = threadList;
+        LOGGER.info("Redis[{}] 可靠队列[{}]开始处理，consumerId={}，{}", service.getRedisId(), name, consumerId, config);
+    }
+
+    /**
+     * 停止读取，等待正在处理的消息结束，处理中列表剩余的消息放回队列
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeup();
+        for (Thread fetcher : fetchers) {
+            try {
+                fetcher.join(TimeUnit.SECONDS.toMillis(Math.max(1, config.getBlockTimeoutSeconds())) + config.getReconnectIntervalMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Runnable> pending = new ArrayList<>();
+        workers.getQueue().drainTo(pending);
+        inFlight.addAndGet(-pending.size());
+        workers.shutdown();
+        boolean terminated = false;
+        try {
+            terminated = workers.awaitTermination(config.getShutdownTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (terminated) {
+            // 全部处理完成，处理中列表剩下的是没开始处理和确认失败的消息
+            Object moved = redis().evalScript(RedisReliableQueueService.RECLAIM_SCRIPT, Arrays.asList(consumersKey, processingKey, queueKey),
+                    Arrays.asList(consumerId, String.valueOf(Long.MAX_VALUE)));
+            LOGGER.info("Redis[{}] 可靠队列[{}]停止处理，放回 {} 条消息", service.getRedisId(), name, moved);
+        } else {
+            for (Runnable runnable : pending) {
+                release(((MessageTask) runnable).message);
+            }
+            LOGGER.warn("Redis[{}] 可靠队列[{}]关闭时还有 {} 条消息在处理，将在 {}ms 后由其他节点放回队列",
+                    service.getRedisId(), name, inFlight.get(), config.getVisibilityTimeoutMillis());
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 累计读取的消息数
+     */
+    public long getFetched() {
+        return fetched.sum();
+    }
+
+    /**
+     * 累计读取次数，批量读取时一次读取可以得到多条消息
+     */
+    public long getFetches() {
+        return fetches.sum();
+    }
+
+    public long getFetchErrors() {
+        return fetchErrors.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    /**
+     * 本进程处理后进入死信的消息数
+     */
+    public long getDeadLettered() {
+        return deadLettered.sum();
+    }
+
+    /**
+     * 本进程从超时消费者放回队列的消息数
+     */
+    public long getReclaimed() {
+        return reclaimed.sum();
+    }
+
+    /**
+     * 本进程已读取还没处理完的消息数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 最近窗口的处理耗时
+     */
+    public RollingLatencyHistogram getHandleTime() {
+        return handleTime;
+    }
+
+    void heartbeat() {
+        redis().zadd(consumersKey, System.currentTimeMillis(), consumerId);
+    }
+
+    /**
+     * 把超过 visibilityTimeoutMillis 没有心跳的消费者处理中的消息放回队列
+     */
+    void reclaimExpired() {
+        long deadline = System.currentTimeMillis() - config.getVisibilityTimeoutMillis();
+        Set<String> expired = redis().zrangeByScore(consumersKey, Double.NEGATIVE_INFINITY, deadline);
+        if (null == expired) {
+            return;
+        }
+        for (String expiredConsumer : expired) {
+            if (consumerId.equals(expiredConsumer)) {
+                continue;
+            }
+            Object moved = redis().evalScript(RedisReliableQueueService.RECLAIM_SCRIPT,
+                    Arrays.asList(consumersKey, processingKeyPrefix + expiredConsumer, queueKey),
+                    Arrays.asList(expiredConsumer, String.valueOf(deadline)));
+            if (moved instanceof Long && (Long) moved > 0) {
+                reclaimed.add((Long) moved);
+                LOGGER.warn("Redis[{}] 可靠队列[{}]消费者 {} 心跳超时，{} 条处理中的消息放回队列",
+                        service.getRedisId(), name, expiredConsumer, moved);
+            }
+        }
+    }
+
+    private Redis redis() {
+        return service.getRedis();
+    }
+
+    private void fetchLoop() {
+        JedisProvider provider = service.getProvider();
+        Jedis jedis = null;
+        while (running) {
+            if (!awaitCapacity()) {
+                break;
+            }
+            try {
+                if (null == jedis) {
+                    jedis = RedisRouteUtil.getResource(provider, queueKey);
+                }
+                String message = jedis.brpoplpush(queueKey, processingKey, Math.max(1, config.getBlockTimeoutSeconds()));
+                if (null == message) {
+                    continue;
+                }
+                fetches.increment();
+                int more = Math.min(Math.max(1, config.getBatchSize()), maxInFlight - inFlight.get()) - 1;
+                if (more <= 0) {
+                    dispatch(Collections.singletonList(message));
+                } else {
+                    List<String> messages = new ArrayList<>(more + 1);
+                    messages.add(message);
+                    messages.addAll(batchPop(jedis, more));
+                    dispatch(messages);
+                }
+            } catch (RuntimeException e) {
+                if (null != jedis) {
+                    // 阻塞读取中断的连接状态未知，不放回连接池
+                    provider.destroyResource(jedis);
+                    jedis = null;
+                }
+                if (running) {
+                    fetchErrors.increment();
+                    LOGGER.warn("Redis[{}] 可靠队列[{}]读取失败，{}ms 后重试：{}", service.getRedisId(), name,
+                            config.getReconnectIntervalMillis(), e.getMessage());
+                    sleep(config.getReconnectIntervalMillis());
+                }
+            }
+        }
+        if (null != jedis) {
+            provider.closeResource(jedis);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> batchPop(Jedis jedis, int count) {
+        RedisScript script = RedisReliableQueueService.BATCH_POP_SCRIPT;
+        List<String> keys = Arrays.asList(queueKey, processingKey);
+        List<String> args = Collections.singletonList(String.valueOf(count));
+        try {
+            return (List<String>) jedis.evalsha(script.getSha1(), keys, args);
+        } catch (JedisDataException e) {
+            if (!(e instanceof JedisNoScriptException) && (null == e.getMessage() || !e.getMessage().startsWith("NOSCRIPT"))) {
+                throw e;
+            }
+            return (List<String>) jedis.eval(script.getSource(), keys, args);
+        }
+    }
+
+    private void dispatch(List<String> messages) {
+        fetched.add(messages.size());
+        if (!running) {
+            for (String message : messages) {
+                release(message);
+            }
+            return;
+        }
+        for (String message : messages) {
+            inFlight.incrementAndGet();
+            workers.execute(new MessageTask(message));
+        }
+    }
+
+    /**
+     * 等待本地积压低于上限
+     *
+     * @return 返回是否还在运行
+     */
+    private boolean awaitCapacity() {
+        synchronized (signal) {
+            while (running && inFlight.get() >= maxInFlight) {
+                try {
+                    signal.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return running;
+    }
+
+    private void wakeup() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    private void handle(String message) {
+        long start = System.nanoTime();
+        try {
+            handler.handle(name, message);
+            handleTime.record(System.nanoTime() - start);
+            succeeded.increment();
+            ack(message);
+        } catch (Exception e) {
+            handleTime.record(System.nanoTime() - start);
+            retry(message, e);
+        }
+    }
+
+    private void ack(String message) {
+        try {
+            redis().evalScript(RedisReliableQueueService.ACK_SCRIPT, Arrays.asList(processingKey, attemptsKey), Arrays.asList(message));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 可靠队列[{}]确认消息失败，停止时放回队列：{}", service.getRedisId(), name, e.getMessage());
+        }
+    }
+
+    private void retry(String message, Exception cause) {
+        Object result;
+        try {
+            result = redis().evalScript(RedisReliableQueueService.RETRY_SCRIPT, Arrays.asList(processingKey, queueKey, deadKey, attemptsKey),
+                    Arrays.asList(message, String.valueOf(config.getMaxRetries())));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 可靠队列[{}]消息处理失败，放回队列失败，停止时放回队列：{}", service.getRedisId(), name, e.getMessage(), cause);
+            return;
+        }
+        long attempts = result instanceof Long ? (Long) result : 0;
+        if (attempts < 0) {
+            deadLettered.increment();
+            LOGGER.error("Redis[{}] 可靠队列[{}]消息重试 {} 次后仍然失败，进入死信", service.getRedisId(), name, config.getMaxRetries(), cause);
+        } else if (attempts > 0) {
+            retried.increment();
+            LOGGER.warn("Redis[{}] 可靠队列[{}]消息第 {} 次处理失败，放回队列重试：{}", service.getRedisId(), name, attempts, cause.getMessage());
+        }
+    }
+
+    private void release(String message) {
+        try {
+            redis().evalScript(RedisReliableQueueService.RELEASE_SCRIPT, Arrays.asList(processingKey, queueKey), Arrays.asList(message));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Redis[{}] 可靠队列[{}]放回消息失败，将在消费者超时后放回：{}", service.getRedisId(), name, e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(1, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisReliableQueue{" +
+                "name='" + name + '\'' +
+                ", consumerId='" + consumerId + '\'' +
+                ", running=" + running +
+                ", inFlight=" + inFlight.get() +
+                ", fetched=" + getFetched() +
+                ", succeeded=" + getSucceeded() +
+                ", retried=" + getRetried() +
+                ", deadLettered=" + getDeadLettered() +
+                '}';
+    }
+
+    private class MessageTask implements Runnable {
+
+        private final String message;
+
+        private MessageTask(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public void run() {
+            try {
+                handle(message);
+            } finally {
+                if (inFlight.getAndDecrement() >= maxInFlight) {
+                    wakeup();
+                }
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.commonspringboot.autoconfigure.redis.common.queue;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.ReliableQueueConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 基于列表的可靠队列，每个 Redis 一个，{redisId}RedisReliableQueueService
+ *
+ * 1. 每个队列由 fetchers 个读取线程通过 BRPOPLPUSH 把消息移到本消费者的处理中列表，每个读取线程独占一个连接，
+ *    不占用连接池中给普通命令使用的连接；batchSize 大于 1 时读到一条消息后用一个脚本再批量移动剩余的消息
+ * 2. 读取的消息交给有界的线程池处理，本地积压达到 workerThreads + queueCapacity 时暂停读取
+ * 3. 处理成功从处理中列表删除；失败放回队列重试，超过 maxRetries 进入死信列表
+ * 4. 每个消费者每隔 heartbeatIntervalMillis 写一次心跳，超过 visibilityTimeoutMillis 没有心跳的消费者（比如进程退出）
+ *    处理中的消息由其他节点放回队列，所以消息可能重复处理
+ * 5. 生产者直接 LPUSH 到队列 key 也可以，不需要通过这个服务
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisReliableQueueService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisReliableQueueService.class);
+
+    /**
+     * KEYS: 队列, 处理中；ARGV: 数量，阻塞读到一条消息后批量移动剩余的消息
+     */
+    static final RedisScript BATCH_POP_SCRIPT = new RedisScript("commonspring-queue-batch-pop",
+            "local messages = {}\n" +
+                    "for i = 1, tonumber(ARGV[1]) do\n" +
+                    "  local message = redis.call('RPOPLPUSH', KEYS[1], KEYS[2])\n" +
+                    "  if not message then\n" +
+                    "    break\n" +
+                    "  end\n" +
+                    "  messages[#messages + 1] = message\n" +
+                    "end\n" +
+                    "return messages");
+
+    /**
+     * KEYS: 处理中, 重试次数；ARGV: 消息
+     */
+    static final RedisScript ACK_SCRIPT = new RedisScript("commonspring-queue-ack",
+            "local removed = redis.call('LREM', KEYS[1], 1, ARGV[1])\n" +
+                    "if removed > 0 then\n" +
+                    "  redis.call('HDEL', KEYS[2], ARGV[1])\n" +
+                    "end\n" +
+                    "return removed");
+
+    /**
+     * KEYS: 处理中, 队列, 死信, 重试次数；ARGV: 消息, 最大重试次数
+     * 返回重试次数，进入死信返回 -1，消息已经不在处理中（消费者超时后被放回队列）返回 0
+     */
+    static final RedisScript RETRY_SCRIPT = new RedisScript("commonspring-queue-retry",
+            "if redis.call('LREM', KEYS[1], 1, ARGV[1]) == 0 then\n" +
+                    "  return 0\n" +
+                    "end\n" +
+                    "local attempts = redis.call('HINCRBY', KEYS[4], ARGV[1], 1)\n" +
+                    "if attempts > tonumber(ARGV[2]) then\n" +
+                    "  redis.call('HDEL', KEYS[4], ARGV[1])\n" +
+                    "  redis.call('LPUSH', KEYS[3], ARGV[1])\n" +
+                    "  return -1\n" +
+                    "end\n" +
+                    "redis.call('LPUSH', KEYS[2], ARGV[1])\n" +
+                    "return attempts");
+
+    /**
+     * KEYS: 处理中, 队列；ARGV: 消息，关闭时把已读取但还没开始处理的消息放回队列头部，不计入重试次数
+     */
+    static final RedisScript RELEASE_SCRIPT = new RedisScript("commonspring-queue-release",
+            "if redis.call('LREM', KEYS[1], 1, ARGV[1]) > 0 then\n" +
+                    "  return redis.call('RPUSH', KEYS[2], ARGV[1])\n" +
+                    "end\n" +
+                    "return 0");
+
+    /**
+     * KEYS: 消费者心跳, 处理中, 队列；ARGV: 消费者 ID, 心跳截止时间
+     * 心跳早于截止时间时把处理中的消息按原来的顺序放回队列头部并删除心跳，返回移动的消息数，消费者已经恢复心跳返回 -1
+     */
+    static final RedisScript RECLAIM_SCRIPT = new RedisScript("commonspring-queue-reclaim",
+            "local heartbeat = redis.call('ZSCORE', KEYS[1], ARGV[1])\n" +
+                    "if heartbeat and tonumber(heartbeat) > tonumber(ARGV[2]) then\n" +
+                    "  return -1\n" +
+                    "end\n" +
+                    "local count = 0\n" +
+                    "local message = redis.call('LPOP', KEYS[2])\n" +
+                    "while message do\n" +
+                    "  redis.call('RPUSH', KEYS[3], message)\n" +
+                    "  count = count + 1\n" +
+                    "  message = redis.call('LPOP', KEYS[2])\n" +
+                    "end\n" +
+                    "redis.call('ZREM', KEYS[1], ARGV[1])\n" +
+                    "return count");
+
+    private final ConcurrentHashMap<String, RedisReliableQueue> queues = new ConcurrentHashMap<>();
+
+    private final List<QueueListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    private Redis redis;
+
+    /**
+     * 读取线程独占连接的提供者
+     */
+    private JedisProvider provider;
+
+    private ReliableQueueConfig config = new ReliableQueueConfig();
+
+    private ScheduledThreadPoolExecutor heartbeat;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    public JedisProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(JedisProvider provider) {
+        this.provider = provider;
+    }
+
+    public ReliableQueueConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(ReliableQueueConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取队列，同一个名称只创建一次；只发送消息时不需要调用 consume
+     *
+     * @param name 队列名称
+     * @return 返回队列
+     */
+    public RedisReliableQueue getQueue(String name) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("队列名称不能为空");
+        }
+        RedisReliableQueue queue = queues.get(name);
+        if (null == queue) {
+            RedisReliableQueue newQueue = new RedisReliableQueue(this, name);
+            queue = queues.putIfAbsent(name, newQueue);
+            if (null == queue) {
+                queue = newQueue;
+                for (QueueListener listener : listeners) {
+                    listener.onQueueCreated(queue);
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * 已创建的全部队列
+     */
+    public List<RedisReliableQueue> getQueues() {
+        return Collections.unmodifiableList(new ArrayList<>(queues.values()));
+    }
+
+    /**
+     * 新增队列时通知，已有的队列立即通知一次，用于注册指标
+     */
+    public void addListener(QueueListener listener) {
+        listeners.add(listener);
+        for (RedisReliableQueue queue : queues.values()) {
+            listener.onQueueCreated(queue);
+        }
+    }
+
+    /**
+     * 停止全部队列的读取和心跳，等待正在处理的消息结束，没开始处理的消息放回队列
+     */
+    public synchronized void shutdown() {
+        for (RedisReliableQueue queue : queues.values()) {
+            try {
+                queue.stop();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Redis[{}] 停止可靠队列[{}]失败：{}", redisId, queue.getName(), e.getMessage());
+            }
+        }
+        if (null != heartbeat) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+    }
+
+    /**
+     * 第一个队列开始处理时启动心跳线程，定时写入心跳并放回超时消费者的消息
+     */
+    synchronized void startHeartbeat() {
+        if (null != heartbeat) {
+            return;
+        }
+        heartbeat = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "redis-queue-heartbeat-" + redisId);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long interval = Math.max(1, config.getHeartbeatIntervalMillis());
+        heartbeat.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                for (RedisReliableQueue queue : queues.values()) {
+                    if (!queue.isRunning()) {
+                        continue;
+                    }
+                    try {
+                        queue.heartbeat();
+                        queue.reclaimExpired();
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Redis[{}] 可靠队列[{}]心跳失败：{}", redisId, queue.getName(), e.getMessage());
+                    }
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 队列创建监听
+     */
+    public interface QueueListener {
+
+        /**
+         * 新的队列创建
+         *
+         * @param queue 队列
+         */
+        void onQueueCreated(RedisReliableQueue queue);
+    }
+}
@@ -0,0 +1,19 @@
+package com.commonspringboot.autoconfigure.redis.common.ratelimit;
+
+/**
+ * 限流算法
+ *
+ * @author yzy
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * 令牌桶，按固定速率补充令牌，桶满时最多允许 capacity 个突发请求
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 滑动窗口计数，按上一个窗口的计数和当前窗口已过去的比例估算最近一个窗口内的请求数
+     */
+    SLIDING_WINDOW
+}
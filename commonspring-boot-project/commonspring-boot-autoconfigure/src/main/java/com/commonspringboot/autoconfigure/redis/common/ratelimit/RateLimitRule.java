@@ -0,0 +1,132 @@
+package com.commonspringboot.autoconfigure.redis.common.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 限流规则，创建后不可修改：
+ *     RateLimitRule.tokenBucket(100, 1, TimeUnit.SECONDS)                  每秒 100 个，最多突发 100 个
+ *     RateLimitRule.tokenBucket(100, 1, TimeUnit.SECONDS).withCapacity(300) 每秒 100 个，最多突发 300 个
+ *     RateLimitRule.slidingWindow(1000, 1, TimeUnit.MINUTES)               任意一分钟内最多 1000 个
+ * </pre>
+ *
+ * @author yzy
+ */
+public final class RateLimitRule {
+
+    private final RateLimitAlgorithm algorithm;
+
+    private final long permits;
+
+    private final long periodMillis;
+
+    private final long capacity;
+
+    private final int batchSize;
+
+    private RateLimitRule(RateLimitAlgorithm algorithm, long permits, long periodMillis, long capacity, int batchSize) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits 必须大于 0");
+        }
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period 必须大于 0 毫秒");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 必须大于 0");
+        }
+        this.algorithm = algorithm;
+        this.permits = permits;
+        this.periodMillis = periodMillis;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 令牌桶，每 period 补充 permits 个令牌，桶容量默认等于 permits
+     */
+    public static RateLimitRule tokenBucket(long permits, long period, TimeUnit unit) {
+        return new RateLimitRule(RateLimitAlgorithm.TOKEN_BUCKET, permits, unit.toMillis(period), permits, 0);
+    }
+
+    /**
+     * 滑动窗口，任意 window 时间内最多 permits 个
+     */
+    public static RateLimitRule slidingWindow(long permits, long window, TimeUnit unit) {
+        return new RateLimitRule(RateLimitAlgorithm.SLIDING_WINDOW, permits, unit.toMillis(window), permits, 0);
+    }
+
+    /**
+     * 令牌桶容量，即最多允许的突发请求数，滑动窗口忽略这个值
+     */
+    public RateLimitRule withCapacity(long capacity) {
+        return new RateLimitRule(algorithm, permits, periodMillis, capacity, batchSize);
+    }
+
+    /**
+     * 每次从 Redis 批量获取的许可数，小于等于 0 时使用 Redis 的 rate-limit.batch-size 配置
+     */
+    public RateLimitRule withBatchSize(int batchSize) {
+        return new RateLimitRule(algorithm, permits, periodMillis, capacity, batchSize);
+    }
+
+    public RateLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getPermits() {
+        return permits;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 单次请求最多可以获取的许可数
+     */
+    long getMaxPermits() {
+        return algorithm == RateLimitAlgorithm.TOKEN_BUCKET ? capacity : permits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RateLimitRule)) {
+            return false;
+        }
+        RateLimitRule that = (RateLimitRule) o;
+        return algorithm == that.algorithm && permits == that.permits && periodMillis == that.periodMillis
+                && capacity == that.capacity && batchSize == that.batchSize;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = algorithm.hashCode();
+        result = 31 * result + (int) (permits ^ (permits >>> 32));
+        result = 31 * result + (int) (periodMillis ^ (periodMillis >>> 32));
+        result = 31 * result + (int) (capacity ^ (capacity >>> 32));
+        result = 31 * result + batchSize;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitRule{" +
+                "algorithm=" + algorithm +
+                ", permits=" + permits +
+                ", periodMillis=" + periodMillis +
+                ", capacity=" + capacity +
+                ", batchSize=" + batchSize +
+                '}';
+    }
+}
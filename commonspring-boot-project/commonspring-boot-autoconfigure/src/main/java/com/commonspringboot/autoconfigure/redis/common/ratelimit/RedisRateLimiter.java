@@ -0,0 +1,385 @@
+package com.commonspringboot.autoconfigure.redis.common.ratelimit;
+
+import com.commonspringboot.autoconfigure.redis.common.model.RateLimitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * 限流器，通过 RedisRateLimiterService.getLimiter 获取，每个 subject（用户 ID、IP 等）单独计数：
+ *     RedisRateLimiter limiter = rateLimiterService.getLimiter("order.create", RateLimitRule.tokenBucket(10, 1, TimeUnit.SECONDS));
+ *     if (!limiter.tryAcquire(userId)) {
+ *         throw new TooManyRequestsException();
+ *     }
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private final RedisRateLimiterService service;
+
+    private final RateLimitConfig config;
+
+    private final String name;
+
+    private final RateLimitRule rule;
+
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, Allowance> allowances = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder denied = new LongAdder();
+
+    private final LongAdder localAllowed = new LongAdder();
+
+    private final LongAdder redisCalls = new LongAdder();
+
+    private final LongAdder asyncRefills = new LongAdder();
+
+    private final LongAdder returned = new LongAdder();
+
+    private final LongAdder redisErrors = new LongAdder();
+
+    RedisRateLimiter(RedisRateLimiterService service, String name, RateLimitRule rule) {
+        this.service = service;
+        this.config = service.getConfig();
+        this.name = name;
+        this.rule = rule;
+        int configured = rule.getBatchSize() > 0 ? rule.getBatchSize() : config.getBatchSize();
+        long maxBatch = (long) Math.floor(rule.getMaxPermits() * config.getMaxBatchRatio());
+        this.batchSize = (int) Math.max(1, Math.min(configured, maxBatch));
+    }
+
+    public String getRedisId() {
+        return service.getRedisId();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RateLimitRule getRule() {
+        return rule;
+    }
+
+    /**
+     * 实际使用的批量大小，不超过 permits * maxBatchRatio
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean tryAcquire(String subject) {
+        return tryAcquire(subject, 1);
+    }
+
+    /**
+     * 获取许可，不等待
+     *
+     * @param subject 限流对象，比如用户 ID
+     * @param permits 许可数
+     * @return 返回是否获取成功，Redis 连接失败时按 failOpen 配置返回
+     */
+    public boolean tryAcquire(String subject, int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits 必须大于 0");
+        }
+        if (permits > rule.getMaxPermits()) {
+            denied.increment();
+            return false;
+        }
+        while (true) {
+            Allowance allowance = allowance(subject);
+            boolean refill;
+            synchronized (allowance) {
+                if (allowance.removed) {
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                allowance.lastAccess = now;
+                if (allowance.remaining > 0 && allowance.expireAt <= now) {
+                    returnAsync(subject, allowance.remaining, allowance.window);
+                    allowance.remaining = 0;
+                }
+                if (allowance.remaining >= permits) {
+                    localAllowed.increment();
+                } else {
+                    if (allowance.retryAt > now) {
+                        denied.increment();
+                        return false;
+                    }
+                    long need = permits - allowance.remaining;
+                    long[] grant = take(subject, Math.max(batchSize, need), need, 0);
+                    if (null == grant) {
+                        if (config.isFailOpen()) {
+                            allowed.increment();
+                            return true;
+                        }
+                        denied.increment();
+                        return false;
+                    }
+                    grant(allowance, grant, now);
+                    if (allowance.remaining < permits) {
+                        denied.increment();
+                        return false;
+                    }
+                }
+                allowance.remaining -= permits;
+                refill = batchSize > 1 && !allowance.refilling && allowance.remaining <= batchSize / 4;
+                if (refill) {
+                    allowance.refilling = true;
+                }
+            }
+            allowed.increment();
+            if (refill) {
+                refillAsync(subject, allowance);
+            }
+            return true;
+        }
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    /**
+     * 使用本地许可、没有同步访问 Redis 的放行次数
+     */
+    public long getLocalAllowed() {
+        return localAllowed.sum();
+    }
+
+    /**
+     * 访问 Redis 的次数，包含异步补充和归还
+     */
+    public long getRedisCalls() {
+        return redisCalls.sum();
+    }
+
+    public long getAsyncRefills() {
+        return asyncRefills.sum();
+    }
+
+    /**
+     * 归还 Redis 的许可数
+     */
+    public long getReturned() {
+        return returned.sum();
+    }
+
+    public long getRedisErrors() {
+        return redisErrors.sum();
+    }
+
+    /**
+     * 本地有记录的 subject 数量
+     */
+    public int size() {
+        return allowances.size();
+    }
+
+    /**
+     * 归还过期的本地许可，移除空闲的 subject，后台线程调用
+     */
+    void reconcile() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Allowance> entry : allowances.entrySet()) {
+            Allowance allowance = entry.getValue();
+            long unused = 0;
+            long window;
+            synchronized (allowance) {
+                window = allowance.window;
+                if (now - allowance.lastAccess >= config.getIdleExpireMillis() && !allowance.refilling) {
+                    allowance.removed = true;
+                    allowances.remove(entry.getKey(), allowance);
+                    unused = allowance.remaining;
+                    allowance.remaining = 0;
+                } else if (allowance.remaining > 0 && allowance.expireAt <= now) {
+                    unused = allowance.remaining;
+                    allowance.remaining = 0;
+                }
+            }
+            if (unused > 0) {
+                returnPermits(entry.getKey(), unused, window);
+            }
+        }
+    }
+
+    /**
+     * 归还全部本地许可，关闭时调用
+     */
+    void returnAll() {
+        for (Map.Entry<String, Allowance> entry : allowances.entrySet()) {
+            Allowance allowance = entry.getValue();
+            long unused;
+            long window;
+            synchronized (allowance) {
+                allowance.removed = true;
+                allowances.remove(entry.getKey(), allowance);
+                unused = allowance.remaining;
+                allowance.remaining = 0;
+                window = allowance.window;
+            }
+            if (unused > 0) {
+                returnPermits(entry.getKey(), unused, window);
+            }
+        }
+    }
+
+    private Allowance allowance(String subject) {
+        Allowance allowance = allowances.get(subject);
+        if (null == allowance) {
+            Allowance newAllowance = new Allowance();
+            allowance = allowances.putIfAbsent(subject, newAllowance);
+            if (null == allowance) {
+                allowance = newAllowance;
+            }
+        }
+        return allowance;
+    }
+
+    private void grant(Allowance allowance, long[] grant, long now) {
+        if (grant[0] > 0) {
+            allowance.remaining += grant[0];
+            allowance.window = grant[2];
+            allowance.expireAt = now + Math.max(1, config.getMaxHoldMillis());
+            allowance.retryAt = 0;
+        } else {
+            // Redis 预计的等待时间内直接在本地拒绝，至少等到能补充一批许可，避免许可耗尽时每个请求都访问 Redis
+            long wait = Math.max(grant[1], batchSize * rule.getPeriodMillis() / rule.getPermits());
+            allowance.retryAt = now + Math.max(1, Math.min(wait, rule.getPeriodMillis()));
+        }
+    }
+
+    private void refillAsync(final String subject, final Allowance allowance) {
+        boolean submitted = service.submit(new Runnable() {
+            @Override
+            public void run() {
+                asyncRefills.increment();
+                long[] grant = take(subject, batchSize, 1, 0);
+                long unused = 0;
+                synchronized (allowance) {
+                    allowance.refilling = false;
+                    if (null != grant) {
+                        if (allowance.removed) {
+                            unused = grant[0];
+                        } else {
+                            grant(allowance, grant, System.currentTimeMillis());
+                        }
+                    }
+                }
+                if (unused > 0) {
+                    returnPermits(subject, unused, grant[2]);
+                }
+            }
+        });
+        if (!submitted) {
+            synchronized (allowance) {
+                allowance.refilling = false;
+            }
+        }
+    }
+
+    private void returnAsync(final String subject, final long permits, final long window) {
+        service.submit(new Runnable() {
+            @Override
+            public void run() {
+                returnPermits(subject, permits, window);
+            }
+        });
+    }
+
+    /**
+     * 归还许可，滑动窗口只抵扣获取时所在窗口的计数
+     *
+     * @param window 许可获取时所在的窗口，令牌桶不使用
+     */
+    private void returnPermits(String subject, long permits, long window) {
+        if (null != take(subject, -permits, 0, window)) {
+            returned.add(permits);
+        }
+    }
+
+    /**
+     * 执行限流脚本，requested 小于 0 表示归还
+     *
+     * @param window 归还时许可获取时所在的窗口，只用于滑动窗口
+     * @return 返回 {获取到的许可数, 预计等待毫秒数, 滑动窗口的当前窗口}，Redis 连接失败返回 null
+     */
+    private long[] take(String subject, long requested, long min, long window) {
+        List<String> keys = Collections.singletonList(config.getKeyPrefix() + name + ":" + subject);
+        List<String> args;
+        if (rule.getAlgorithm() == RateLimitAlgorithm.TOKEN_BUCKET) {
+            args = Arrays.asList(String.valueOf(rule.getCapacity()), String.valueOf(rule.getPermits()), String.valueOf(rule.getPeriodMillis()),
+                    String.valueOf(requested), String.valueOf(min));
+        } else {
+            args = Arrays.asList(String.valueOf(rule.getPermits()), String.valueOf(rule.getPeriodMillis()),
+                    String.valueOf(requested), String.valueOf(min), String.valueOf(window));
+        }
+        redisCalls.increment();
+        try {
+            Object result = service.getRedis().evalScript(rule.getAlgorithm() == RateLimitAlgorithm.TOKEN_BUCKET
+                    ? RedisRateLimiterService.TOKEN_BUCKET_SCRIPT : RedisRateLimiterService.SLIDING_WINDOW_SCRIPT, keys, args);
+            List<?> values = (List<?>) result;
+            return new long[]{((Long) values.get(0)), ((Long) values.get(1)), values.size() > 2 ? ((Long) values.get(2)) : 0L};
+        } catch (JedisConnectionException e) {
+            redisErrors.increment();
+            LOGGER.debug("限流器[{}] 访问 Redis 失败：{}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisRateLimiter{" +
+                "name='" + name + '\'' +
+                ", rule=" + rule +
+                ", batchSize=" + batchSize +
+                ", allowed=" + getAllowed() +
+                ", denied=" + getDenied() +
+                ", localAllowed=" + getLocalAllowed() +
+                ", redisCalls=" + getRedisCalls() +
+                ", returned=" + getReturned() +
+                '}';
+    }
+
+    /**
+     * 一个 subject 的本地许可，所有字段在 synchronized 中访问
+     */
+    private static class Allowance {
+
+        private long remaining;
+
+        private long expireAt;
+
+        private long retryAt;
+
+        /**
+         * 滑动窗口最近一次获取许可时所在的窗口，归还时只抵扣这个窗口的计数
+         */
+        private long window;
+
+        private long lastAccess;
+
+        private boolean refilling;
+
+        private boolean removed;
+    }
+}
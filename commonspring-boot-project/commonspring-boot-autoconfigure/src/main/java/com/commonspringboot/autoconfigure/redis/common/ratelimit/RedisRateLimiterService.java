@@ -0,0 +1,291 @@
+package com.commonspringboot.autoconfigure.redis.common.ratelimit;
+
+import com.commonspringboot.autoconfigure.redis.common.Redis;
+import com.commonspringboot.autoconfigure.redis.common.model.RateLimitConfig;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <pre>
+ * 分布式限流，每个 Redis 一个，{redisId}RedisRateLimiterService
+ *
+ * 1. 令牌桶和滑动窗口都是一个 Lua 脚本，使用 Redis 服务端时间，多个节点的时钟不需要一致
+ * 2. 每个节点按 batchSize 批量从 Redis 获取许可放在本地，请求优先使用本地许可，不访问 Redis；
+ *    本地许可不足四分之一批量时异步补充，本地没有许可时才同步访问 Redis
+ * 3. Redis 拒绝时返回预计可以获取的等待时间，等待期间的请求直接在本地拒绝
+ * 4. 后台每隔 reconcileIntervalMillis 把超过 maxHoldMillis 没用完的许可和空闲 subject 的许可归还 Redis
+ *
+ * 本地许可会让限流略微不精确：同一时刻最多有 节点数 * batchSize 个许可在各个节点本地，
+ * 一个节点的许可用不完时其他节点可能被提前拒绝，直到许可归还
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisRateLimiterService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisRateLimiterService.class);
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * KEYS[1] 令牌桶，ARGV: capacity, permits, periodMillis, requested（小于 0 表示归还）, min
+     * 返回 {获取到的令牌数, 没有获取到时预计等待的毫秒数}
+     */
+    static final RedisScript TOKEN_BUCKET_SCRIPT = new RedisScript("commonspring-ratelimit-token-bucket",
+            "pcall(redis.replicate_commands)\n" +
+                    "local capacity = tonumber(ARGV[1])\n" +
+                    "local permits = tonumber(ARGV[2])\n" +
+                    "local period = tonumber(ARGV[3])\n" +
+                    "local requested = tonumber(ARGV[4])\n" +
+                    "local min = tonumber(ARGV[5])\n" +
+                    "local t = redis.call('TIME')\n" +
+                    "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)\n" +
+                    "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+                    "local tokens = tonumber(state[1])\n" +
+                    "local ts = tonumber(state[2])\n" +
+                    "if tokens == nil or ts == nil then\n" +
+                    "  tokens = capacity\n" +
+                    "  ts = now\n" +
+                    "end\n" +
+                    "if now > ts then\n" +
+                    "  tokens = math.min(capacity, tokens + (now - ts) * permits / period)\n" +
+                    "  ts = now\n" +
+                    "end\n" +
+                    "local granted = 0\n" +
+                    "local wait = 0\n" +
+                    "if requested < 0 then\n" +
+                    "  tokens = math.min(capacity, tokens - requested)\n" +
+                    "elseif tokens >= min then\n" +
+                    "  granted = math.min(requested, math.floor(tokens))\n" +
+                    "  tokens = tokens - granted\n" +
+                    "else\n" +
+                    "  wait = math.ceil((min - tokens) * period / permits)\n" +
+                    "end\n" +
+                    "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts))\n" +
+                    "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * period / permits) + 1000)\n" +
+                    "return {granted, wait}");
+
+    /**
+     * KEYS[1] 滑动窗口，ARGV: permits, windowMillis, requested（小于 0 表示归还）, min, 归还的许可获取时所在的窗口
+     * 返回 {获取到的许可数, 没有获取到时预计等待的毫秒数, 当前窗口}
+     * 归还只抵扣获取时所在窗口的计数，那个窗口已经不是当前或上一个窗口时直接丢弃
+     */
+    static final RedisScript SLIDING_WINDOW_SCRIPT = new RedisScript("commonspring-ratelimit-sliding-window",
+            "pcall(redis.replicate_commands)\n" +
+                    "local limit = tonumber(ARGV[1])\n" +
+                    "local window = tonumber(ARGV[2])\n" +
+                    "local requested = tonumber(ARGV[3])\n" +
+                    "local min = tonumber(ARGV[4])\n" +
+                    "local grantWindow = tonumber(ARGV[5])\n" +
+                    "local t = redis.call('TIME')\n" +
+                    "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)\n" +
+                    "local current = math.floor(now / window)\n" +
+                    "local state = redis.call('HMGET', KEYS[1], 'w', 'c', 'p')\n" +
+                    "local w = tonumber(state[1])\n" +
+                    "local c = tonumber(state[2]) or 0\n" +
+                    "local p = tonumber(state[3]) or 0\n" +
+                    "if w == nil then\n" +
+                    "  w = current\n" +
+                    "end\n" +
+                    "if w < current then\n" +
+                    "  if w == current - 1 then p = c else p = 0 end\n" +
+                    "  c = 0\n" +
+                    "  w = current\n" +
+                    "end\n" +
+                    "local used = p * (1 - (now - current * window) / window) + c\n" +
+                    "local granted = 0\n" +
+                    "local wait = 0\n" +
+                    "if requested < 0 then\n" +
+                    "  if grantWindow == w then\n" +
+                    "    c = math.max(0, c + requested)\n" +
+                    "  elseif grantWindow == w - 1 then\n" +
+                    "    p = math.max(0, p + requested)\n" +
+                    "  end\n" +
+                    "else\n" +
+                    "  local available = math.floor(limit - used)\n" +
+                    "  if available >= min then\n" +
+                    "    granted = math.min(requested, available)\n" +
+                    "    c = c + granted\n" +
+                    "  elseif p > 0 and c + min <= limit then\n" +
+                    "    wait = math.ceil((used + min - limit) * window / p)\n" +
+                    "  else\n" +
+                    "    wait = (current + 1) * window - now\n" +
+                    "  end\n" +
+                    "end\n" +
+                    "redis.call('HMSET', KEYS[1], 'w', tostring(w), 'c', tostring(c), 'p', tostring(p))\n" +
+                    "redis.call('PEXPIRE', KEYS[1], window * 2 + 1000)\n" +
+                    "return {granted, wait, w}");
+
+    private final ConcurrentHashMap<String, RedisRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final List<LimiterListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Redis ID
+     */
+    private String redisId;
+
+    private Redis redis;
+
+    private RateLimitConfig config = new RateLimitConfig();
+
+    private volatile ScheduledThreadPoolExecutor executor;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    public RateLimitConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(RateLimitConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取限流器，同一个名称只创建一次
+     *
+     * @param name 限流器名称，比如接口名
+     * @param rule 限流规则
+     * @return 返回限流器
+     * @throws IllegalStateException 同一个名称已经使用其他规则创建
+     */
+    public RedisRateLimiter getLimiter(String name, RateLimitRule rule) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("限流器名称不能为空");
+        }
+        RedisRateLimiter limiter = limiters.get(name);
+        if (null == limiter) {
+            start();
+            RedisRateLimiter newLimiter = new RedisRateLimiter(this, name, rule);
+            limiter = limiters.putIfAbsent(name, newLimiter);
+            if (null == limiter) {
+                limiter = newLimiter;
+                LOGGER.info("Redis[{}] 创建限流器[{}]：{}", redisId, name, rule);
+                for (LimiterListener listener : listeners) {
+                    listener.onLimiterCreated(limiter);
+                }
+            }
+        }
+        if (!limiter.getRule().equals(rule)) {
+            throw new IllegalStateException("限流器[" + name + "]已经使用 " + limiter.getRule() + " 创建");
+        }
+        return limiter;
+    }
+
+    /**
+     * 已创建的全部限流器
+     */
+    public List<RedisRateLimiter> getLimiters() {
+        return Collections.unmodifiableList(new ArrayList<>(limiters.values()));
+    }
+
+    /**
+     * 新增限流器时通知，已有的限流器立即通知一次，用于注册指标
+     */
+    public void addListener(LimiterListener listener) {
+        listeners.add(listener);
+        for (RedisRateLimiter limiter : limiters.values()) {
+            listener.onLimiterCreated(limiter);
+        }
+    }
+
+    public synchronized void start() {
+        if (null != executor) {
+            return;
+        }
+        ScheduledThreadPoolExecutor newExecutor = new ScheduledThreadPoolExecutor(Math.max(1, config.getAsyncThreads()), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "redis-ratelimit-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long interval = Math.max(1, config.getReconcileIntervalMillis());
+        newExecutor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                for (RedisRateLimiter limiter : limiters.values()) {
+                    try {
+                        limiter.reconcile();
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Redis[{}] 限流器[{}]归还许可失败：{}", redisId, limiter.getName(), e.getMessage());
+                    }
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        executor = newExecutor;
+    }
+
+    /**
+     * 归还本地全部许可并停止后台线程
+     */
+    public synchronized void shutdown() {
+        if (null == executor) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        for (RedisRateLimiter limiter : limiters.values()) {
+            try {
+                limiter.returnAll();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Redis[{}] 限流器[{}]归还许可失败：{}", redisId, limiter.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 提交异步任务，已经停止时返回 false
+     */
+    boolean submit(Runnable task) {
+        ScheduledThreadPoolExecutor current = executor;
+        if (null == current) {
+            return false;
+        }
+        try {
+            current.execute(task);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 限流器创建监听
+     */
+    public interface LimiterListener {
+
+        /**
+         * 新的限流器创建
+         *
+         * @param limiter 限流器
+         */
+        void onLimiterCreated(RedisRateLimiter limiter);
+    }
+}
@@ -1,10 +1,39 @@
 package com.commonspringboot.autoconfigure.redis.common.register;
 
+import com.commonspringboot.autoconfigure.redis.common.async.DefaultAsyncRedis;
+import com.commonspringboot.autoconfigure.redis.common.batch.RedisCommandCoalescer;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.cache.RedisNearCache;
+import com.commonspringboot.autoconfigure.redis.common.codec.RedisCodecs;
+import com.commonspringboot.autoconfigure.redis.common.delay.RedisDelayQueueService;
+import com.commonspringboot.autoconfigure.redis.common.lock.RedisLockService;
+import com.commonspringboot.autoconfigure.redis.common.metrics.PoolMetrics;
+import com.commonspringboot.autoconfigure.redis.common.metrics.RedisMetrics;
+import com.commonspringboot.autoconfigure.redis.common.model.AbstractRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.AsyncConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.CircuitBreakerConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.CoalesceConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.DelayQueueConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.LockConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.MetricsConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.NearCacheConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.PubSubConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.RateLimitConfig;
 import com.commonspringboot.autoconfigure.redis.common.model.RedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.model.ReliableQueueConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.WarmUpConfig;
+import com.commonspringboot.autoconfigure.redis.common.pubsub.RedisSubscriptionService;
+import com.commonspringboot.autoconfigure.redis.common.queue.RedisReliableQueueService;
+import com.commonspringboot.autoconfigure.redis.common.ratelimit.RedisRateLimiterService;
+import com.commonspringboot.autoconfigure.redis.common.warmup.RedisWarmUp;
 import com.myspringboot.commonspringboot.CommonUtil;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.core.env.Environment;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -76,5 +105,392 @@ public abstract class AbstractRedisRegister<T extends RedisDefinition> implement
         }
     }
 
+    /**
+     * 注册 Redis Bean 依赖的可选组件，并设置到 Redis Bean 的属性中
+     *
+     * @param definition          Redis 定义
+     * @param registry            Bean 注册器
+     * @param providerBeanName    Jedis 提供者 Bean 名称
+     * @param redisBeanDefinition Redis Bean 定义
+     */
+    protected void registerRedisFeatureBeanDefinitions(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName, GenericBeanDefinition redisBeanDefinition) {
+        String circuitBreakerBeanName = registerCircuitBreakerBeanDefinition(definition, registry);
+        if (null != circuitBreakerBeanName) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("circuitBreaker", new RuntimeBeanReference(circuitBreakerBeanName));
+        }
+
+        String coalescerBeanName = registerCoalescerBeanDefinition(definition, registry, providerBeanName, circuitBreakerBeanName);
+        if (null != coalescerBeanName) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("coalescer", new RuntimeBeanReference(coalescerBeanName));
+        }
+
+        String nearCacheBeanName = registerNearCacheBeanDefinition(definition, registry, providerBeanName);
+        if (null != nearCacheBeanName) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("nearCache", new RuntimeBeanReference(nearCacheBeanName));
+        }
+
+        String codecBeanName = registerCodecBeanDefinition(definition, registry);
+        redisBeanDefinition.getPropertyValues().addPropertyValue("codec", new RuntimeBeanReference(codecBeanName));
+
+        String metricsBeanName = registerMetricsBeanDefinition(definition, registry);
+        if (null != metricsBeanName) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("metrics", new RuntimeBeanReference(metricsBeanName));
+        }
+
+        if (null != definition.getCounter()) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("counterConfig", definition.getCounter());
+        }
+        if (null != definition.getLoader()) {
+            redisBeanDefinition.getPropertyValues().addPropertyValue("loaderConfig", definition.getLoader());
+        }
+        // 销毁时写入计数器中剩余的累加值
+        if (null == redisBeanDefinition.getDestroyMethodName()) {
+            redisBeanDefinition.setDestroyMethodName("destroy");
+        }
+
+        registerAsyncRedisBeanDefinition(definition, registry);
+
+        registerSubscriptionServiceBeanDefinition(definition, registry, providerBeanName);
+
+        registerLockServiceBeanDefinition(definition, registry);
+
+        registerRateLimiterServiceBeanDefinition(definition, registry);
+
+        registerDelayQueueServiceBeanDefinition(definition, registry);
+
+        registerReliableQueueServiceBeanDefinition(definition, registry, providerBeanName);
+
+        registerWarmUpBeanDefinition(definition, registry, providerBeanName);
+    }
+
+    /**
+     * 注册命令统计 {redisId}RedisMetrics
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     * @return 返回统计 Bean 名称，未开启时返回 null
+     */
+    private String registerMetricsBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        MetricsConfig metricsConfig = definition.getMetrics();
+        if (null == metricsConfig || !metricsConfig.isEnabled()) {
+            return null;
+        }
+
+        String metricsBeanName = definition.getId() + "RedisMetrics";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisMetrics.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", metricsConfig);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(metricsBeanName, beanDefinition);
+        return metricsBeanName;
+    }
+
+    /**
+     * 注册熔断器 {redisId}RedisCircuitBreaker
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     * @return 返回熔断器 Bean 名称，未开启时返回 null
+     */
+    private String registerCircuitBreakerBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        CircuitBreakerConfig circuitBreakerConfig = definition.getCircuitBreaker();
+        if (null == circuitBreakerConfig || !circuitBreakerConfig.isEnabled()) {
+            return null;
+        }
+
+        String circuitBreakerBeanName = definition.getId() + "RedisCircuitBreaker";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisCircuitBreaker.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", circuitBreakerConfig);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(circuitBreakerBeanName, beanDefinition);
+        return circuitBreakerBeanName;
+    }
+
+    /**
+     * 注册连接池统计 {redisId}JedisPoolMetrics，与命令统计使用同一个开关，并设置到连接提供者中
+     *
+     * @param definition             Redis 定义
+     * @param registry               Bean 注册器
+     * @param jedisPoolBeanName      连接池 Bean 名称
+     * @param providerBeanDefinition 连接提供者 Bean 定义
+     */
+    protected void registerPoolMetricsBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry,
+                                                     String jedisPoolBeanName, GenericBeanDefinition providerBeanDefinition) {
+        MetricsConfig metricsConfig = definition.getMetrics();
+        if (null == metricsConfig || !metricsConfig.isEnabled()) {
+            return;
+        }
+
+        String poolMetricsBeanName = definition.getId() + "JedisPoolMetrics";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(PoolMetrics.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("poolName", jedisPoolBeanName);
+        beanDefinition.getPropertyValues().addPropertyValue("config", metricsConfig);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(poolMetricsBeanName, beanDefinition);
+        providerBeanDefinition.getPropertyValues().addPropertyValue("poolMetrics", new RuntimeBeanReference(poolMetricsBeanName));
+    }
+
+    /**
+     * 注册启动预热 {redisId}RedisWarmUp，由 RedisWarmUpRunner 统一并行执行
+     *
+     * @param definition       Redis 定义
+     * @param registry         Bean 注册器
+     * @param providerBeanName 连接提供者 Bean 名称
+     */
+    private void registerWarmUpBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        WarmUpConfig warmUpConfig = definition.getWarmUp();
+        if (null == warmUpConfig || !warmUpConfig.isEnabled()) {
+            return;
+        }
+
+        String warmUpBeanName = definition.getId() + "RedisWarmUp";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisWarmUp.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        String poolConfigBeanName = definition.getId() + "JedisPoolConfig";
+        if (registry.containsBeanDefinition(poolConfigBeanName)) {
+            beanDefinition.getPropertyValues().addPropertyValue("poolConfig", new RuntimeBeanReference(poolConfigBeanName));
+        }
+        beanDefinition.getPropertyValues().addPropertyValue("config", warmUpConfig);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(warmUpBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册异步 Redis {redisId}AsyncRedis，延迟初始化，没有使用时不会创建线程池
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     */
+    private void registerAsyncRedisBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        AsyncConfig asyncConfig = null == definition.getAsync() ? new AsyncConfig() : definition.getAsync();
+
+        String asyncRedisBeanName = definition.getId() + "AsyncRedis";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(DefaultAsyncRedis.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", asyncConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("redis", new RuntimeBeanReference(definition.getId() + "Redis"));
+        beanDefinition.setInitMethodName("start");
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(asyncRedisBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册订阅服务 {redisId}RedisSubscriptionService，延迟初始化，第一次订阅时才建立连接和创建线程池
+     *
+     * @param definition       Redis 定义
+     * @param registry         Bean 注册器
+     * @param providerBeanName Jedis 提供者 Bean 名称
+     */
+    private void registerSubscriptionServiceBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        PubSubConfig pubSubConfig = null == definition.getPubsub() ? new PubSubConfig() : definition.getPubsub();
+
+        String subscriptionServiceBeanName = definition.getId() + "RedisSubscriptionService";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisSubscriptionService.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", pubSubConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        if (StringUtils.hasText(pubSubConfig.getExecutor())) {
+            beanDefinition.getPropertyValues().addPropertyValue("executor", new RuntimeBeanReference(pubSubConfig.getExecutor()));
+        }
+        beanDefinition.setInitMethodName("start");
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(subscriptionServiceBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册分布式锁服务 {redisId}RedisLockService，延迟初始化，第一次加锁并开启看门狗时才创建续期线程
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     */
+    private void registerLockServiceBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        LockConfig lockConfig = null == definition.getLock() ? new LockConfig() : definition.getLock();
+
+        String lockServiceBeanName = definition.getId() + "RedisLockService";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisLockService.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", lockConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("redis", new RuntimeBeanReference(definition.getId() + "Redis"));
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(lockServiceBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册分布式限流服务 {redisId}RedisRateLimiterService，延迟初始化，第一次获取限流器时才创建后台线程
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     */
+    private void registerRateLimiterServiceBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        RateLimitConfig rateLimitConfig = null == definition.getRateLimit() ? new RateLimitConfig() : definition.getRateLimit();
+
+        String rateLimiterServiceBeanName = definition.getId() + "RedisRateLimiterService";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisRateLimiterService.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", rateLimitConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("redis", new RuntimeBeanReference(definition.getId() + "Redis"));
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(rateLimiterServiceBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册延迟队列服务 {redisId}RedisDelayQueueService，延迟初始化，队列调用 consume 时才创建处理线程
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     */
+    private void registerDelayQueueServiceBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        DelayQueueConfig delayQueueConfig = null == definition.getDelayQueue() ? new DelayQueueConfig() : definition.getDelayQueue();
+
+        String delayQueueServiceBeanName = definition.getId() + "RedisDelayQueueService";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisDelayQueueService.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", delayQueueConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("redis", new RuntimeBeanReference(definition.getId() + "Redis"));
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(delayQueueServiceBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册可靠队列服务 {redisId}RedisReliableQueueService，延迟初始化，队列调用 consume 时才创建读取线程和连接
+     *
+     * @param definition       Redis 定义
+     * @param registry         Bean 注册器
+     * @param providerBeanName 读取线程独占连接的提供者 Bean 名称
+     */
+    private void registerReliableQueueServiceBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        ReliableQueueConfig reliableQueueConfig = null == definition.getReliableQueue() ? new ReliableQueueConfig() : definition.getReliableQueue();
+
+        String reliableQueueServiceBeanName = definition.getId() + "RedisReliableQueueService";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisReliableQueueService.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", reliableQueueConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("redis", new RuntimeBeanReference(definition.getId() + "Redis"));
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(reliableQueueServiceBeanName, beanDefinition);
+    }
+
+    /**
+     * 注册对象值编解码器 {redisId}RedisCodec
+     *
+     * @param definition Redis 定义
+     * @param registry   Bean 注册器
+     * @return 返回编解码器 Bean 名称
+     */
+    private String registerCodecBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry) {
+        String codecBeanName = definition.getId() + "RedisCodec";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisCodecs.class);
+        beanDefinition.setFactoryMethodName("create");
+        beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, definition.getCodec(), String.class.getName());
+        beanDefinition.setAutowireCandidate(false);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(codecBeanName, beanDefinition);
+        return codecBeanName;
+    }
+
+    /**
+     * 注册单 key 命令合并器 {redisId}RedisCommandCoalescer
+     *
+     * @param definition             Redis 定义
+     * @param registry               Bean 注册器
+     * @param providerBeanName       Jedis 提供者 Bean 名称
+     * @param circuitBreakerBeanName 熔断器 Bean 名称，未开启熔断时为 null
+     * @return 返回合并器 Bean 名称，未开启合并时返回 null
+     */
+    private String registerCoalescerBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName, String circuitBreakerBeanName) {
+        CoalesceConfig coalesceConfig = definition.getCoalesce();
+        if (null == coalesceConfig || !coalesceConfig.isEnabled()) {
+            return null;
+        }
+
+        String coalescerBeanName = definition.getId() + "RedisCommandCoalescer";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisCommandCoalescer.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", coalesceConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        if (null != circuitBreakerBeanName) {
+            beanDefinition.getPropertyValues().addPropertyValue("circuitBreaker", new RuntimeBeanReference(circuitBreakerBeanName));
+        }
+        beanDefinition.setInitMethodName("start");
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(coalescerBeanName, beanDefinition);
+        return coalescerBeanName;
+    }
+
+    /**
+     * 注册进程内一级缓存 {redisId}RedisNearCache
+     *
+     * @param definition       Redis 定义
+     * @param registry         Bean 注册器
+     * @param providerBeanName Jedis 提供者 Bean 名称
+     * @return 返回缓存 Bean 名称，未开启时返回 null
+     */
+    private String registerNearCacheBeanDefinition(AbstractRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        NearCacheConfig nearCacheConfig = definition.getNearCache();
+        if (null == nearCacheConfig || !nearCacheConfig.isEnabled()) {
+            return null;
+        }
+
+        String nearCacheBeanName = definition.getId() + "RedisNearCache";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(RedisNearCache.class);
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("config", nearCacheConfig);
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        beanDefinition.setInitMethodName("start");
+        beanDefinition.setDestroyMethodName("shutdown");
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        registry.registerBeanDefinition(nearCacheBeanName, beanDefinition);
+        return nearCacheBeanName;
+    }
+
     protected abstract void register(T var1, Environment var2, BeanDefinitionRegistry var3);
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.commonspringboot.autoconfigure.redis.common.register;
+
+import com.commonspringboot.autoconfigure.redis.common.ClusterRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.model.ClusterRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ClusterJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import com.myspringboot.commonspringboot.CommonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.core.env.Environment;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.util.Map;
+
+/**
+ * <pre>
+ *
+ *     支持 Redis Cluster 集群的 ClusterRedisDefinition 注册，注册结果包含如下Bean
+ *     {redisId}Redis             ClusterRedisImpl
+ *     {redisId}AsyncRedis        DefaultAsyncRedis
+ *     {redisId}RedisCodec        RedisCodec
+ *     {redisId}JedisPoolConfig   JedisPoolConfig，每个节点的连接池配置
+ *     {redisId}JedisProvider     ClusterJedisProvider
+ *
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ClusterRedisDefRegister extends AbstractRedisRegister<ClusterRedisDefinition> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterRedisDefRegister.class);
+
+    @Override
+    protected void register(ClusterRedisDefinition definition, Environment environment, BeanDefinitionRegistry registry) {
+
+        if (null == definition) {
+            return;
+        }
+
+        String poolConfigBeanName = registerPoolConfigBeanDefinition(definition, registry);
+
+        String providerBeanName = registerJedisProviderBeanDefinition(definition, registry, poolConfigBeanName);
+
+        registerRedisBeanDefinition(definition, registry, providerBeanName);
+
+    }
+
+    private void registerRedisBeanDefinition(ClusterRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        String redisBeanName = definition.getId() + "Redis";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(ClusterRedisImpl.class);
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        beanDefinition.getPropertyValues().addPropertyValue("maxRedirections", ConvertUtil.toInteger(definition.getMaxRedirections(), 5));
+
+        // 合并器使用任意节点的连接发送 Pipeline，集群模式下不支持
+        if (null != definition.getCoalesce() && definition.getCoalesce().isEnabled()) {
+            LOGGER.warn("Redis 集群[{}]不支持单 key 命令合并，已忽略 coalesce 配置", definition.getId());
+            definition.getCoalesce().setEnabled(false);
+        }
+        registerRedisFeatureBeanDefinitions(definition, registry, providerBeanName, beanDefinition);
+
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(redisBeanName, beanDefinition);
+    }
+
+    private String registerJedisProviderBeanDefinition(ClusterRedisDefinition definition, BeanDefinitionRegistry registry, String poolConfigBeanName) {
+        String providerBeanName = definition.getId() + "JedisProvider";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(ClusterJedisProvider.class);
+        beanDefinition.getPropertyValues().addPropertyValue("nodes", definition.getNodeSet());
+        beanDefinition.getPropertyValues().addPropertyValue("poolConfig", new RuntimeBeanReference(poolConfigBeanName));
+        beanDefinition.getPropertyValues().addPropertyValue("timeout", definition.getTimeout());
+        beanDefinition.getPropertyValues().addPropertyValue("password", definition.getPassword());
+        beanDefinition.setInitMethodName("init");
+        beanDefinition.setDestroyMethodName("destroy");
+
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(providerBeanName, beanDefinition);
+        return providerBeanName;
+    }
+
+    private String registerPoolConfigBeanDefinition(ClusterRedisDefinition definition, BeanDefinitionRegistry registry) {
+        String poolConfigBeanName = definition.getId() + "JedisPoolConfig";
+        Class<?> poolClass = JedisPoolConfig.class;
+        // 移除不识别的连接池配置
+        Map<String, String> poolConfig = CommonUtil.filterUnRecordedField(definition.getPoolConfig(), poolClass);
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(poolClass);
+        beanDefinition.setLazyInit(true);
+        MutablePropertyValues properties = new MutablePropertyValues(poolConfig);
+        beanDefinition.getPropertyValues().addPropertyValues(properties);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(poolConfigBeanName, beanDefinition);
+        return poolConfigBeanName;
+    }
+
+}
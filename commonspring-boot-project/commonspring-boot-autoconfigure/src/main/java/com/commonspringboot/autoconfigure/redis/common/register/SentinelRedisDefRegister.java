@@ -20,9 +20,12 @@ import java.util.Map;
  *
  *     支持简单类型的 SentinelRedisDefinition 注册，注册结果包含如下Bean
  *     {redisId}Redis             DefaultRedisImpl
+ *     {redisId}AsyncRedis        DefaultAsyncRedis
+ *     {redisId}RedisCodec        RedisCodec
  *     {redisId}JedisPoolConfig   JedisPoolConfig
  *     {redisId}JedisProvider     SentinelJedisProvider
  *     {redisId}JedisPool         JedisSentinelPool
+ *     {redisId}JedisPoolMetrics  PoolMetrics（开启统计时）
  *
  * </pre>
  *
@@ -53,6 +56,7 @@ public class SentinelRedisDefRegister extends AbstractRedisRegister<SentinelRedi
         beanDefinition.setBeanClass(DefaultRedisImpl.class);
         beanDefinition.setLazyInit(true);
         beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        registerRedisFeatureBeanDefinitions(definition, registry, providerBeanName, beanDefinition);
 
         beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
         beanDefinition.setPrimary(definition.isPrimary());
@@ -67,6 +71,23 @@ public class SentinelRedisDefRegister extends AbstractRedisRegister<SentinelRedi
         beanDefinition.setLazyInit(true);
         beanDefinition.getPropertyValues().addPropertyValue("jedisSentinelPool", new RuntimeBeanReference(jedisPoolBeanName));
 
+        // 读写分离，只读命令使用从库
+        if (definition.isReadFromReplicas()) {
+            MutablePropertyValues propertyValues = beanDefinition.getPropertyValues();
+            propertyValues.addPropertyValue("readFromReplicas", true);
+            propertyValues.addPropertyValue("replicaBalance", definition.getReplicaBalance());
+            propertyValues.addPropertyValue("sentinels", definition.getSentinelSet());
+            propertyValues.addPropertyValue("masterName", definition.getMasterName());
+            propertyValues.addPropertyValue("poolConfig", new RuntimeBeanReference(definition.getId() + "JedisPoolConfig"));
+            propertyValues.addPropertyValue("timeout", definition.getTimeout());
+            propertyValues.addPropertyValue("password", definition.getPassword());
+            propertyValues.addPropertyValue("database", definition.getDatabase());
+            beanDefinition.setInitMethodName("init");
+            beanDefinition.setDestroyMethodName("destroy");
+        }
+
+        registerPoolMetricsBeanDefinition(definition, registry, jedisPoolBeanName, beanDefinition);
+
         beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
         beanDefinition.setPrimary(definition.isPrimary());
 
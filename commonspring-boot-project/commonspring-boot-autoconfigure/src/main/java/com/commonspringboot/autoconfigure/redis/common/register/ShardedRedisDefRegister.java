@@ -0,0 +1,99 @@
+package com.commonspringboot.autoconfigure.redis.common.register;
+
+import com.commonspringboot.autoconfigure.redis.common.ShardedRedisImpl;
+import com.commonspringboot.autoconfigure.redis.common.model.ShardedRedisDefinition;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ShardedJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.util.ConvertUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.core.env.Environment;
+
+/**
+ * <pre>
+ *
+ *     支持客户端一致性哈希分片的 ShardedRedisDefinition 注册，注册结果包含如下Bean
+ *     {redisId}Redis             ShardedRedisImpl
+ *     {redisId}AsyncRedis        DefaultAsyncRedis
+ *     {redisId}RedisCodec        RedisCodec
+ *     {redisId}JedisProvider     ShardedJedisProvider，引用各个分片的 {shardId}JedisProvider
+ *
+ * </pre>
+ *
+ * @author yzy
+ */
+public class ShardedRedisDefRegister extends AbstractRedisRegister<ShardedRedisDefinition> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedRedisDefRegister.class);
+
+    @Override
+    protected void register(ShardedRedisDefinition definition, Environment environment, BeanDefinitionRegistry registry) {
+
+        if (null == definition) {
+            return;
+        }
+
+        String providerBeanName = registerJedisProviderBeanDefinition(definition, registry);
+
+        registerRedisBeanDefinition(definition, registry, providerBeanName);
+
+    }
+
+    private void registerRedisBeanDefinition(ShardedRedisDefinition definition, BeanDefinitionRegistry registry, String providerBeanName) {
+        String redisBeanName = definition.getId() + "Redis";
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(ShardedRedisImpl.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        beanDefinition.getPropertyValues().addPropertyValue("redisId", definition.getId());
+        beanDefinition.getPropertyValues().addPropertyValue("threads", ConvertUtil.toInteger(definition.getThreads(), 0));
+        beanDefinition.setInitMethodName("init");
+        beanDefinition.setDestroyMethodName("destroy");
+
+        // 合并器使用第一个分片的连接发送 Pipeline，分片模式下不支持
+        if (null != definition.getCoalesce() && definition.getCoalesce().isEnabled()) {
+            LOGGER.warn("Redis 分片[{}]不支持单 key 命令合并，已忽略 coalesce 配置", definition.getId());
+            definition.getCoalesce().setEnabled(false);
+        }
+        // 一级缓存的失效消息按 key 发布到所在分片，订阅却只连接第一个分片，其他分片的失效消息收不到
+        if (null != definition.getNearCache() && definition.getNearCache().isEnabled()) {
+            LOGGER.warn("Redis 分片[{}]不支持进程内一级缓存，已忽略 near-cache 配置", definition.getId());
+            definition.getNearCache().setEnabled(false);
+        }
+        registerRedisFeatureBeanDefinitions(definition, registry, providerBeanName, beanDefinition);
+
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(redisBeanName, beanDefinition);
+    }
+
+    private String registerJedisProviderBeanDefinition(ShardedRedisDefinition definition, BeanDefinitionRegistry registry) {
+        String providerBeanName = definition.getId() + "JedisProvider";
+
+        // 分片的连接提供者在创建时才解析，不要求分片 Redis 先注册
+        ManagedMap<String, RuntimeBeanReference> shards = new ManagedMap<>();
+        for (String shardId : definition.getShardList()) {
+            shards.put(shardId, new RuntimeBeanReference(shardId + "JedisProvider"));
+        }
+
+        GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+        beanDefinition.setBeanClass(ShardedJedisProvider.class);
+        beanDefinition.setLazyInit(true);
+        beanDefinition.getPropertyValues().addPropertyValue("shards", shards);
+        beanDefinition.getPropertyValues().addPropertyValue("virtualNodes", ConvertUtil.toInteger(definition.getVirtualNodes(), 160));
+        beanDefinition.getPropertyValues().addPropertyValue("hashTag", definition.isHashTag());
+        beanDefinition.setInitMethodName("init");
+
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        beanDefinition.setPrimary(definition.isPrimary());
+
+        registry.registerBeanDefinition(providerBeanName, beanDefinition);
+        return providerBeanName;
+    }
+
+}
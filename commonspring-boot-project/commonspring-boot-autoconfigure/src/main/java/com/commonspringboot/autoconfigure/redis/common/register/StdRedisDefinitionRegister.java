@@ -20,9 +20,12 @@ import java.util.Map;
  *
  *     支持简单类型的 StdRedisDefinition 注册，注册结果包含如下Bean
  *     {redisId}Redis             DefaultRedisImpl
+ *     {redisId}AsyncRedis        DefaultAsyncRedis
+ *     {redisId}RedisCodec        RedisCodec
  *     {redisId}JedisPoolConfig   JedisPoolConfig
  *     {redisId}JedisProvider     DefaultJedisProvider
  *     {redisId}JedisPool         JedisPool
+ *     {redisId}JedisPoolMetrics  PoolMetrics（开启统计时）
  *
  * </pre>
  *
@@ -52,6 +55,7 @@ public class StdRedisDefinitionRegister extends AbstractRedisRegister<StdRedisDe
         GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
         beanDefinition.setBeanClass(DefaultRedisImpl.class);
         beanDefinition.getPropertyValues().addPropertyValue("provider", new RuntimeBeanReference(providerBeanName));
+        registerRedisFeatureBeanDefinitions(definition, registry, providerBeanName, beanDefinition);
 
         beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
         if (definition.isPrimary()) {
@@ -67,6 +71,8 @@ public class StdRedisDefinitionRegister extends AbstractRedisRegister<StdRedisDe
         beanDefinition.setBeanClass(DefaultJedisProvider.class);
         beanDefinition.getPropertyValues().addPropertyValue("jedisPool", new RuntimeBeanReference(jedisPoolBeanName));
 
+        registerPoolMetricsBeanDefinition(definition, registry, jedisPoolBeanName, beanDefinition);
+
         beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
         if (definition.isPrimary()) {
             beanDefinition.setPrimary(true);
@@ -0,0 +1,52 @@
+package com.commonspringboot.autoconfigure.redis.common.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 集群和分片模式下依次扫描每个节点，parallelStream() 时每个节点并行扫描
+ *
+ * @author yzy
+ */
+public class CompositeScanIterator<T> extends ScanIterator<T> {
+
+    private final List<ScanIterator<T>> nodes;
+
+    private int index = 0;
+
+    public CompositeScanIterator(List<ScanIterator<T>> nodes) {
+        this.nodes = new ArrayList<>(nodes);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index < nodes.size()) {
+            if (nodes.get(index).hasNext()) {
+                return true;
+            }
+            ++index;
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return nodes.get(index).next();
+    }
+
+    @Override
+    public Stream<T> parallelStream() {
+        return nodes.subList(index, nodes.size()).parallelStream().flatMap(new Function<ScanIterator<T>, Stream<T>>() {
+            @Override
+            public Stream<T> apply(ScanIterator<T> node) {
+                return node.stream();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.commonspringboot.autoconfigure.redis.common.scan;
+
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 单个节点上按游标分页的迭代器，子类实现获取一页的命令
+ *
+ * @author yzy
+ */
+public abstract class CursorScanIterator<T> extends ScanIterator<T> {
+
+    private String cursor = ScanParams.SCAN_POINTER_START;
+
+    private Iterator<T> page = Collections.emptyIterator();
+
+    private boolean finished = false;
+
+    @Override
+    public boolean hasNext() {
+        // 一页可能是空的，继续获取直到有数据或者游标回到 0
+        while (!page.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            ScanResult<T> result = scan(cursor);
+            cursor = result.getStringCursor();
+            finished = ScanParams.SCAN_POINTER_START.equals(cursor);
+            page = null == result.getResult() ? Collections.<T>emptyIterator() : result.getResult().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * 获取一页
+     *
+     * @param cursor 游标，第一页是 0
+     * @return 返回这一页的结果和下一页的游标
+     */
+    protected abstract ScanResult<T> scan(String cursor);
+}
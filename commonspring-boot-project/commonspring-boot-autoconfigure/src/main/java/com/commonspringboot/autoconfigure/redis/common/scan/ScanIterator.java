@@ -0,0 +1,44 @@
+package com.commonspringboot.autoconfigure.redis.common.scan;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <pre>
+ * SCAN/HSCAN/SSCAN/ZSCAN 的惰性迭代器，消费完当前页之后才获取下一页，
+ * 每一页单独从连接池借用一个连接，迭代过程中不占用连接，可以随时放弃迭代
+ *
+ * 和 SCAN 命令的语义一致：迭代期间新增或删除的元素可能返回也可能不返回，同一个元素可能返回多次
+ * </pre>
+ *
+ * @author yzy
+ */
+public abstract class ScanIterator<T> implements Iterator<T> {
+
+    /**
+     * 转换为顺序流
+     *
+     * @return 返回流
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 转换为并行流，集群和分片模式下每个节点并行扫描，其他情况下与 stream() 相同；
+     * 并行流使用 ForkJoinPool.commonPool()，扫描期间会阻塞其中的线程
+     *
+     * @return 返回流
+     */
+    public Stream<T> parallelStream() {
+        return stream();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+}
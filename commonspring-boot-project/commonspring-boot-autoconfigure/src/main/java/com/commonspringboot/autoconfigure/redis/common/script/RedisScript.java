@@ -0,0 +1,83 @@
+package com.commonspringboot.autoconfigure.redis.common.script;
+
+import redis.clients.util.SafeEncoder;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <pre>
+ * Lua 脚本，创建时计算一次 SHA1，通过 Redis.evalScript 执行
+ *
+ * 执行时只发送 EVALSHA，服务端没有缓存该脚本（重启、主从切换、SCRIPT FLUSH）时自动改用 EVAL 重新加载
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisScript {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String name;
+
+    private final String source;
+
+    private final String sha1;
+
+    private final byte[] rawSource;
+
+    private final byte[] rawSha1;
+
+    public RedisScript(String name, String source) {
+        if (null == source || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Lua 脚本[" + name + "]内容为空");
+        }
+        this.name = name;
+        this.source = source;
+        this.rawSource = SafeEncoder.encode(source);
+        this.sha1 = sha1Hex(rawSource);
+        this.rawSha1 = SafeEncoder.encode(sha1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getSha1() {
+        return sha1;
+    }
+
+    public byte[] getRawSource() {
+        return rawSource;
+    }
+
+    public byte[] getRawSha1() {
+        return rawSha1;
+    }
+
+    private static String sha1Hex(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+            char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; ++i) {
+                chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持 SHA-1 摘要", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisScript{" +
+                "name='" + name + '\'' +
+                ", sha1='" + sha1 + '\'' +
+                '}';
+    }
+}
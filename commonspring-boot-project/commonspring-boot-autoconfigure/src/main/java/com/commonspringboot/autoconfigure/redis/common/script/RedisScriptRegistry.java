@@ -0,0 +1,126 @@
+package com.commonspringboot.autoconfigure.redis.common.script;
+
+import com.myspringboot.commonspringboot.AppContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <pre>
+ * Lua 脚本注册表，与具体的 Redis 无关，所有 Redis 共用
+ *
+ * 脚本名称 name 对应的文件为 {scriptDir}/{name}.lua，通过 AppContext.lookupConfigResourceList 查找，
+ * 和其他配置文件一样支持按环境覆盖，例如 lua/dev/limit.lua、lua/limit-dev.lua
+ *
+ * 1. init 时加载 scriptNames 中配置的脚本，文件不存在时启动失败
+ * 2. 没有预先配置的脚本在第一次 getScript 时加载，之后不再读取文件
+ * 3. 也可以通过 register 注册代码中的脚本
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisScriptRegistry {
+
+    public static final String DEFAULT_SCRIPT_DIR = "lua";
+
+    public static final String SCRIPT_SUFFIX = ".lua";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisScriptRegistry.class);
+
+    private final ConcurrentMap<String, RedisScript> scripts = new ConcurrentHashMap<>();
+
+    private String scriptDir = DEFAULT_SCRIPT_DIR;
+
+    private Set<String> scriptNames;
+
+    public String getScriptDir() {
+        return scriptDir;
+    }
+
+    public void setScriptDir(String scriptDir) {
+        this.scriptDir = scriptDir;
+    }
+
+    public Set<String> getScriptNames() {
+        return scriptNames;
+    }
+
+    public void setScriptNames(Set<String> scriptNames) {
+        this.scriptNames = scriptNames;
+    }
+
+    public void init() {
+        if (null == scriptNames) {
+            return;
+        }
+        for (String name : scriptNames) {
+            getScript(name);
+        }
+    }
+
+    /**
+     * 获取脚本，未加载时从脚本文件加载
+     *
+     * @param name 脚本名称，不带 .lua 后缀
+     * @return 返回脚本
+     * @throws IllegalArgumentException 脚本文件不存在
+     */
+    public RedisScript getScript(String name) {
+        RedisScript script = scripts.get(name);
+        if (null != script) {
+            return script;
+        }
+        script = load(name);
+        RedisScript exists = scripts.putIfAbsent(name, script);
+        return null == exists ? script : exists;
+    }
+
+    /**
+     * 注册代码中的脚本，同名脚本会被替换
+     *
+     * @param name   脚本名称
+     * @param source 脚本内容
+     * @return 返回脚本
+     */
+    public RedisScript register(String name, String source) {
+        RedisScript script = new RedisScript(name, source);
+        scripts.put(name, script);
+        return script;
+    }
+
+    /**
+     * 已经加载的脚本
+     */
+    public Collection<RedisScript> getScripts() {
+        return new ArrayList<>(scripts.values());
+    }
+
+    private RedisScript load(String name) {
+        String filename = (null == scriptDir || scriptDir.isEmpty() ? "" : scriptDir + "/") + name + SCRIPT_SUFFIX;
+        List<Resource> resources = AppContext.lookupConfigResourceList(filename);
+        if (null == resources || resources.isEmpty()) {
+            throw new IllegalArgumentException("Lua 脚本[" + name + "]不存在：" + filename);
+        }
+
+        // 第一个是优先级最高的
+        Resource resource = resources.get(0);
+        try (InputStream in = resource.getInputStream()) {
+            RedisScript script = new RedisScript(name, StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+            LOGGER.info("加载 Lua 脚本[{}]：{}，SHA1={}", name, resource.getDescription(), script.getSha1());
+            return script;
+        } catch (IOException e) {
+            throw new IllegalStateException("读取 Lua 脚本[" + name + "]错误：" + e.getMessage(), e);
+        }
+    }
+}
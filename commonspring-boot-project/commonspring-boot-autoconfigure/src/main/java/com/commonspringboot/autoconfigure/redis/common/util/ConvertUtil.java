@@ -233,7 +233,7 @@ public class ConvertUtil {
             String timeString = value.toString().trim();
             String pureNumberRegex = "^[1-9][0-9]+$";
             if (timeString.matches(pureNumberRegex)) {
-                Long timeLong = toLong(pureNumberRegex, 0L);
+                Long timeLong = toLong(timeString, 0L);
                 return new Date(timeLong);
             }
 
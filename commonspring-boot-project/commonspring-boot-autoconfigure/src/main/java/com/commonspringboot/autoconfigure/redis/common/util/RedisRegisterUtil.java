@@ -50,6 +50,7 @@ public class RedisRegisterUtil {
                 applyRedisDefinitionDefaultConfig(redisDefinition, providerList);
                 RedisRegister register = lookupRegister(registerList, redisDefinition);
                 Assert.isTrue(register!=null,redisDefinition.getClass().getName() + " 找不到对应的Redis 注册器！");
+                register.registerRedis(redisDefinition, environment, registry);
                 LOGGER.info("自动注册Redis数据源：{}", redisDefinition);
             }
 
@@ -0,0 +1,59 @@
+package com.commonspringboot.autoconfigure.redis.common.util;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ClusterJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ShardedJedisProvider;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * 按 key 所在的节点分组，同一组的 key 可以放在同一个管道中通过 executeByKey 发送
+ *
+ * @author yzy
+ */
+public final class RedisRouteUtil {
+
+    private static final Object SINGLE_ROUTE = new Object();
+
+    private RedisRouteUtil() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * key 所在的节点标识，只用于分组比较：集群是节点的连接池，分片是分片下标，其他情况都相同
+     *
+     * @param provider 连接提供者
+     * @param key      key
+     * @return 返回节点标识
+     */
+    public static Object route(JedisProvider provider, String key) {
+        if (provider instanceof ShardedJedisProvider) {
+            return ((ShardedJedisProvider) provider).getShard(key);
+        }
+        if (provider instanceof ClusterJedisProvider) {
+            int slot = JedisClusterCRC16.getSlot(key);
+            JedisPool pool = ((ClusterJedisProvider) provider).getSlotPool(slot);
+            return null == pool ? Integer.valueOf(slot) : pool;
+        }
+        return SINGLE_ROUTE;
+    }
+
+    /**
+     * 获取 key 所在节点的连接，集群按 slot、分片按分片下标选择节点，用完需要调用 provider.closeResource 或 destroyResource
+     *
+     * @param provider 连接提供者
+     * @param key      key
+     * @return 返回连接
+     */
+    public static Jedis getResource(JedisProvider provider, String key) {
+        if (provider instanceof ShardedJedisProvider) {
+            ShardedJedisProvider shardedProvider = (ShardedJedisProvider) provider;
+            return shardedProvider.getResource(shardedProvider.getShard(key));
+        }
+        if (provider instanceof ClusterJedisProvider) {
+            return ((ClusterJedisProvider) provider).getResource(JedisClusterCRC16.getSlot(key));
+        }
+        return provider.getResource();
+    }
+}
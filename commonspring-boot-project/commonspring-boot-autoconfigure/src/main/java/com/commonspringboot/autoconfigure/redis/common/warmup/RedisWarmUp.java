@@ -0,0 +1,182 @@
+package com.commonspringboot.autoconfigure.redis.common.warmup;
+
+import com.commonspringboot.autoconfigure.redis.common.JedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.model.WarmUpConfig;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ClusterJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.SentinelJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.ShardedJedisProvider;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScript;
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScriptRegistry;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <pre>
+ * 单个 Redis 的启动预热，由 RedisWarmUpRunner 在所有单例初始化完成之后并行调用
+ *
+ * 1. 同时借出 connections 个连接，迫使连接池创建新连接，每个连接执行一次 PING
+ * 2. 在第一个连接上通过 SCRIPT LOAD 加载配置的 Lua 脚本和 RedisScriptRegistry 中已经加载的脚本，集群模式下每个节点都加载
+ * 3. 开启读写分离时同样预热从库连接，分片 Redis 预热每个分片
+ * 4. 全部连接归还后留在连接池中作为空闲连接
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisWarmUp.class);
+
+    private String redisId;
+
+    private JedisProvider provider;
+
+    private GenericObjectPoolConfig poolConfig;
+
+    private WarmUpConfig config = new WarmUpConfig();
+
+    private RedisScriptRegistry scriptRegistry;
+
+    public String getRedisId() {
+        return redisId;
+    }
+
+    public void setRedisId(String redisId) {
+        this.redisId = redisId;
+    }
+
+    public JedisProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(JedisProvider provider) {
+        this.provider = provider;
+    }
+
+    public GenericObjectPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    public void setPoolConfig(GenericObjectPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+    }
+
+    public WarmUpConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(WarmUpConfig config) {
+        this.config = config;
+    }
+
+    public RedisScriptRegistry getScriptRegistry() {
+        return scriptRegistry;
+    }
+
+    public void setScriptRegistry(RedisScriptRegistry scriptRegistry) {
+        this.scriptRegistry = scriptRegistry;
+    }
+
+    /**
+     * 执行预热
+     *
+     * @return 返回预热的连接数
+     */
+    public int warmUp() {
+        int connections = connectionsPerPool();
+        int warmed = 0;
+        if (provider instanceof ClusterJedisProvider) {
+            for (Map.Entry<String, JedisPool> entry : ((ClusterJedisProvider) provider).getNodePools().entrySet()) {
+                warmed += warmUpPool(entry.getValue(), connections);
+            }
+        } else if (provider instanceof ShardedJedisProvider) {
+            ShardedJedisProvider shardedProvider = (ShardedJedisProvider) provider;
+            for (int shard = 0; shard < shardedProvider.getShardCount(); ++shard) {
+                warmed += warmUpProvider(shardedProvider.getShardProvider(shard), connections, false);
+            }
+        } else {
+            warmed += warmUpProvider(provider, connections, false);
+            if (provider instanceof SentinelJedisProvider && ((SentinelJedisProvider) provider).isReadFromReplicas()) {
+                warmed += warmUpProvider(provider, connections, true);
+            }
+        }
+        LOGGER.info("Redis[{}] 预热完成，连接数：{}，脚本数：{}", redisId, warmed, scriptCount());
+        return warmed;
+    }
+
+    private int warmUpProvider(JedisProvider provider, int connections, boolean read) {
+        List<Jedis> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; ++i) {
+                Jedis jedis = read ? provider.getReadResource() : provider.getResource();
+                borrowed.add(jedis);
+                jedis.ping();
+                if (i == 0 && !read) {
+                    loadScripts(jedis);
+                }
+            }
+            return borrowed.size();
+        } finally {
+            for (Jedis jedis : borrowed) {
+                provider.closeResource(jedis);
+            }
+        }
+    }
+
+    private int warmUpPool(JedisPool pool, int connections) {
+        List<Jedis> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; ++i) {
+                Jedis jedis = pool.getResource();
+                borrowed.add(jedis);
+                jedis.ping();
+                if (i == 0) {
+                    loadScripts(jedis);
+                }
+            }
+            return borrowed.size();
+        } finally {
+            for (Jedis jedis : borrowed) {
+                jedis.close();
+            }
+        }
+    }
+
+    private void loadScripts(Jedis jedis) {
+        List<String> scripts = config.getScripts();
+        if (null != scripts) {
+            for (String script : scripts) {
+                jedis.scriptLoad(script);
+            }
+        }
+        if (null != scriptRegistry) {
+            for (RedisScript script : scriptRegistry.getScripts()) {
+                jedis.scriptLoad(script.getSource());
+            }
+        }
+    }
+
+    private int connectionsPerPool() {
+        int connections = config.getConnections() > 0 ? config.getConnections() : (null == poolConfig ? 1 : poolConfig.getMinIdle());
+        if (null != poolConfig) {
+            if (poolConfig.getMaxTotal() > 0) {
+                connections = Math.min(connections, poolConfig.getMaxTotal());
+            }
+            if (poolConfig.getMaxIdle() >= 0) {
+                connections = Math.min(connections, poolConfig.getMaxIdle());
+            }
+        }
+        return Math.max(1, connections);
+    }
+
+    private int scriptCount() {
+        return (null == config.getScripts() ? 0 : config.getScripts().size())
+                + (null == scriptRegistry ? 0 : scriptRegistry.getScripts().size());
+    }
+}
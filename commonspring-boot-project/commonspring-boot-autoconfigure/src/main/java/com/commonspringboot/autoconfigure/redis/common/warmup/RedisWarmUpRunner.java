@@ -0,0 +1,124 @@
+package com.commonspringboot.autoconfigure.redis.common.warmup;
+
+import com.commonspringboot.autoconfigure.redis.common.script.RedisScriptRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <pre>
+ * 在所有单例初始化完成之后、应用开始接收请求之前，并行执行所有 {redisId}RedisWarmUp
+ *
+ * 每个 Redis 一个线程，总耗时取决于最慢的一个；超过各自的 timeoutMillis 后不再等待，
+ * 预热线程是守护线程，未完成的预热会在后台继续执行。
+ * 配置了 failOnError 的 Redis 预热失败或者超时会中止启动，其他的只打印警告日志
+ * </pre>
+ *
+ * @author yzy
+ */
+public class RedisWarmUpRunner implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisWarmUpRunner.class);
+
+    private static final int MAX_THREADS = 32;
+
+    private final ListableBeanFactory beanFactory;
+
+    public RedisWarmUpRunner(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, RedisWarmUp> warmUps = beanFactory.getBeansOfType(RedisWarmUp.class, false, true);
+        if (warmUps.isEmpty()) {
+            return;
+        }
+
+        // 脚本注册表中启动时加载的脚本同时预加载到每个 Redis
+        RedisScriptRegistry scriptRegistry = null;
+        Map<String, RedisScriptRegistry> registries = beanFactory.getBeansOfType(RedisScriptRegistry.class, false, true);
+        if (registries.size() == 1) {
+            scriptRegistry = registries.values().iterator().next();
+        }
+
+        long startMillis = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(warmUps.size(), MAX_THREADS), new WarmUpThreadFactory());
+        try {
+            Map<RedisWarmUp, Future<Integer>> futures = new LinkedHashMap<>();
+            for (final RedisWarmUp warmUp : warmUps.values()) {
+                if (null == warmUp.getScriptRegistry()) {
+                    warmUp.setScriptRegistry(scriptRegistry);
+                }
+                futures.put(warmUp, executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return warmUp.warmUp();
+                    }
+                }));
+            }
+
+            List<String> failedIds = new ArrayList<>();
+            for (Map.Entry<RedisWarmUp, Future<Integer>> entry : futures.entrySet()) {
+                RedisWarmUp warmUp = entry.getKey();
+                if (!await(warmUp, entry.getValue(), startMillis) && warmUp.getConfig().isFailOnError()) {
+                    failedIds.add(warmUp.getRedisId());
+                }
+            }
+            if (!failedIds.isEmpty()) {
+                throw new IllegalStateException("Redis 预热失败：" + failedIds);
+            }
+            LOGGER.info("Redis 预热结束，数量：{}，耗时：{}ms", warmUps.size(), System.currentTimeMillis() - startMillis);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 等待单个 Redis 预热完成，超时时间从全部预热开始时计算
+     *
+     * @return 成功返回 true
+     */
+    private boolean await(RedisWarmUp warmUp, Future<Integer> future, long startMillis) {
+        long remainingMillis = startMillis + warmUp.getConfig().getTimeoutMillis() - System.currentTimeMillis();
+        try {
+            future.get(Math.max(0, remainingMillis), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            LOGGER.warn("Redis[{}] 预热超过 {}ms，不再等待", warmUp.getRedisId(), warmUp.getConfig().getTimeoutMillis());
+        } catch (ExecutionException e) {
+            LOGGER.warn("Redis[{}] 预热失败, ERROR={}", warmUp.getRedisId(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Redis[{}] 预热被中断", warmUp.getRedisId());
+        }
+        return false;
+    }
+
+    private static class WarmUpThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "redis-warm-up-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.commonspringboot.autoconfigure.redis.common;
+
+import com.commonspringboot.autoconfigure.redis.common.provider.jedis.DefaultJedisProvider;
+import org.junit.rules.ExternalResource;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <pre>
+ * 测试使用的内嵌 Redis，作为 &#64;ClassRule 在测试类开始时启动、结束时关闭，端口随机
+ *
+ * 每个测试方法开始前调用 flushAll 清空数据，newProvider/newRedis 创建的连接池在测试类结束时关闭
+ * </pre>
+ *
+ * @author yzy
+ */
+public class EmbeddedRedisRule extends ExternalResource {
+
+    private RedisServer server;
+
+    private JedisPool jedisPool;
+
+    private int port;
+
+    /**
+     * newProvider 创建的连接池，测试类结束时关闭
+     */
+    private final List<JedisPool> pools = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected void before() throws Throwable {
+        port = freePort();
+        server = RedisServer.builder().port(port).setting("bind 127.0.0.1").setting("save \"\"").build();
+        server.start();
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(32);
+        jedisPool = new JedisPool(poolConfig, "127.0.0.1", port, 2000);
+    }
+
+    @Override
+    protected void after() {
+        for (JedisPool pool : pools) {
+            pool.close();
+        }
+        if (null != jedisPool) {
+            jedisPool.close();
+        }
+        if (null != server) {
+            server.stop();
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * 清空所有数据
+     */
+    public void flushAll() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.flushAll();
+        }
+    }
+
+    /**
+     * 直接访问 Redis，用于检查测试结果
+     */
+    public Jedis jedis() {
+        return jedisPool.getResource();
+    }
+
+    /**
+     * 创建一个独立连接池的连接提供者
+     */
+    public DefaultJedisProvider newProvider() {
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(32);
+        DefaultJedisProvider provider = new DefaultJedisProvider();
+        JedisPool pool = new JedisPool(poolConfig, "127.0.0.1", port, 2000);
+        pools.add(pool);
+        provider.setJedisPool(pool);
+        return provider;
+    }
+
+    /**
+     * 创建使用独立连接池的 Redis
+     */
+    public DefaultRedisImpl newRedis() {
+        DefaultRedisImpl redis = new DefaultRedisImpl();
+        redis.setProvider(newProvider());
+        return redis;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
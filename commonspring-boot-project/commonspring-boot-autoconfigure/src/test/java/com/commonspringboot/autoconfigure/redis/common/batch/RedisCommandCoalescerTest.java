@@ -0,0 +1,235 @@
+package com.commonspringboot.autoconfigure.redis.common.batch;
+
+import com.commonspringboot.autoconfigure.redis.common.EmbeddedRedisRule;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitBreaker;
+import com.commonspringboot.autoconfigure.redis.common.breaker.RedisCircuitOpenException;
+import com.commonspringboot.autoconfigure.redis.common.model.CircuitBreakerConfig;
+import com.commonspringboot.autoconfigure.redis.common.model.CoalesceConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * RedisCommandCoalescer 合并发送、关闭和拒绝
+ *
+ * @author yzy
+ */
+public class RedisCommandCoalescerTest {
+
+    @ClassRule
+    public static final EmbeddedRedisRule REDIS = new EmbeddedRedisRule();
+
+    private RedisCommandCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        REDIS.flushAll();
+        coalescer = newCoalescer(new CoalesceConfig());
+    }
+
+    @After
+    public void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void concurrentCommandsAreAllApplied() throws Exception {
+        coalescer.start();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; ++i) {
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() {
+                        return coalescer.execute(incr("counter"));
+                    }
+                }));
+            }
+            for (Future<Long> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        try (Jedis jedis = REDIS.jedis()) {
+            assertEquals("2000", jedis.get("counter"));
+        }
+    }
+
+    @Test
+    public void commandErrorOnlyFailsItsOwnCaller() throws Exception {
+        try (Jedis jedis = REDIS.jedis()) {
+            jedis.set("text", "not a number");
+        }
+        CoalesceConfig config = new CoalesceConfig();
+        // 窗口足够大，保证两条命令在同一个管道中
+        config.setWindowMicros(200000);
+        config.setFlushThreads(1);
+        coalescer = newCoalescer(config);
+        coalescer.start();
+
+        CompletableFuture<Long> failed = coalescer.submit(incr("text"));
+        CompletableFuture<Long> succeeded = coalescer.submit(incr("number"));
+        assertEquals(Long.valueOf(1), succeeded.get(5, TimeUnit.SECONDS));
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("对字符串执行 incr 应该失败");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof JedisDataException);
+        }
+    }
+
+    @Test
+    public void rejectsBeforeStart() {
+        assertRejected();
+    }
+
+    @Test
+    public void rejectsAfterShutdown() {
+        coalescer.start();
+        assertEquals(Long.valueOf(1), coalescer.execute(incr("counter")));
+        coalescer.shutdown();
+        assertFalse(coalescer.isRunning());
+        assertRejected();
+    }
+
+    @Test
+    public void shutdownFlushesQueuedCommands() throws Exception {
+        CoalesceConfig config = new CoalesceConfig();
+        config.setWindowMicros(500000);
+        config.setMaxBatchSize(1000);
+        config.setFlushThreads(1);
+        coalescer = newCoalescer(config);
+        coalescer.start();
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            futures.add(coalescer.submit(incr("counter")));
+        }
+        coalescer.shutdown();
+        for (CompletableFuture<Long> future : futures) {
+            assertTrue(future.isDone());
+            future.get();
+        }
+        try (Jedis jedis = REDIS.jedis()) {
+            assertEquals("100", jedis.get("counter"));
+        }
+    }
+
+    @Test
+    public void fullQueueSendsOnCallerThread() throws Exception {
+        CoalesceConfig config = new CoalesceConfig();
+        config.setQueueCapacity(1);
+        config.setWindowMicros(0);
+        config.setFlushThreads(1);
+        coalescer = newCoalescer(config);
+        coalescer.start();
+
+        // 第一条命令让发送线程停在组装管道的位置
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> blocked = coalescer.submit(new PipelineCommand<Long>() {
+            @Override
+            public Response<Long> apply(Pipeline pipeline) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return pipeline.incr("counter");
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 第二条放进队列，之后的队列已满，由调用线程直接发送
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 9; ++i) {
+            futures.add(coalescer.submit(incr("counter")));
+        }
+        assertFalse(futures.get(0).isDone());
+        for (int i = 1; i < futures.size(); ++i) {
+            assertTrue(futures.get(i).isDone());
+        }
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        futures.get(0).get(5, TimeUnit.SECONDS);
+        try (Jedis jedis = REDIS.jedis()) {
+            assertEquals("10", jedis.get("counter"));
+        }
+    }
+
+    @Test
+    public void openBreakerFailsWholeBatch() throws Exception {
+        CircuitBreakerConfig breakerConfig = new CircuitBreakerConfig();
+        breakerConfig.setMinimumCalls(1);
+        breakerConfig.setOpenMillis(60000);
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker();
+        breaker.setRedisId("test");
+        breaker.setConfig(breakerConfig);
+        breaker.release(breaker.acquire(), new JedisConnectionException("refused"));
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+
+        coalescer.setCircuitBreaker(breaker);
+        coalescer.start();
+        try {
+            coalescer.execute(incr("counter"));
+            fail("熔断期间应该直接失败");
+        } catch (RedisCircuitOpenException expected) {
+            // 熔断中
+        }
+        try (Jedis jedis = REDIS.jedis()) {
+            assertFalse(jedis.exists("counter"));
+        }
+    }
+
+    private void assertRejected() {
+        try {
+            coalescer.execute(incr("counter"));
+            fail("未启动或已关闭时应该拒绝");
+        } catch (JedisConnectionException expected) {
+            // 拒绝
+        }
+    }
+
+    private static RedisCommandCoalescer newCoalescer(CoalesceConfig config) {
+        RedisCommandCoalescer coalescer = new RedisCommandCoalescer();
+        coalescer.setRedisId("test");
+        coalescer.setProvider(REDIS.newProvider());
+        coalescer.setConfig(config);
+        return coalescer;
+    }
+
+    private static PipelineCommand<Long> incr(final String key) {
+        return new PipelineCommand<Long>() {
+            @Override
+            public Response<Long> apply(Pipeline pipeline) {
+                return pipeline.incr(key);
+            }
+        };
+    }
+}
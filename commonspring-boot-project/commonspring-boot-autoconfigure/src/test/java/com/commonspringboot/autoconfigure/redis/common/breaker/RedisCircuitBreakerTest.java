@@ -0,0 +1,168 @@
+package com.commonspringboot.autoconfigure.redis.common.breaker;
+
+import com.commonspringboot.autoconfigure.redis.common.model.CircuitBreakerConfig;
+import org.junit.Before;
+import org.junit.Test;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * RedisCircuitBreaker 状态转换
+ *
+ * @author yzy
+ */
+public class RedisCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    private RedisCircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setWindowSeconds(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setSlowCallMillis(100);
+        config.setSlowCallRateThreshold(50);
+        config.setOpenMillis(OPEN_MILLIS);
+        config.setHalfOpenCalls(2);
+        breaker = new RedisCircuitBreaker();
+        breaker.setRedisId("test");
+        breaker.setConfig(config);
+    }
+
+    @Test
+    public void staysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; ++i) {
+            breaker.release(breaker.acquire(), new JedisConnectionException("refused"));
+        }
+        assertEquals(RedisCircuitBreaker.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void opensWhenFailureRateReached() {
+        trip();
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+        assertEquals(1, breaker.getOpenedCount());
+        assertRejected();
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    public void commandErrorsDoNotCount() {
+        for (int i = 0; i < 10; ++i) {
+            breaker.release(breaker.acquire(), new JedisDataException("WRONGTYPE"));
+        }
+        assertEquals(RedisCircuitBreaker.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate(), 0.0);
+    }
+
+    @Test
+    public void opensWhenSlowCallRateReached() {
+        long slowStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200);
+        for (int i = 0; i < 2; ++i) {
+            breaker.release(breaker.acquire(), null);
+        }
+        for (int i = 0; i < 2; ++i) {
+            breaker.acquire();
+            breaker.release(slowStart, null);
+        }
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenProbesCloseOnSuccess() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        long first = breaker.acquire();
+        assertEquals(RedisCircuitBreaker.HALF_OPEN, breaker.getState());
+        long second = breaker.acquire();
+        // 试探名额用完
+        assertRejected();
+
+        breaker.release(first, null);
+        assertEquals(RedisCircuitBreaker.HALF_OPEN, breaker.getState());
+        breaker.release(second, null);
+        assertEquals(RedisCircuitBreaker.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate(), 0.0);
+    }
+
+    @Test
+    public void failedProbeReopens() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        breaker.release(breaker.acquire(), new JedisConnectionException("timeout"));
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+        assertEquals(2, breaker.getOpenedCount());
+        assertRejected();
+    }
+
+    @Test
+    public void slowProbeReopens() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        breaker.acquire();
+        breaker.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200), null);
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void checkRejectsOnlyWhileOpen() throws InterruptedException {
+        breaker.check();
+
+        trip();
+        try {
+            breaker.check();
+            fail("熔断期间阻塞命令应该被拒绝");
+        } catch (RedisCircuitOpenException expected) {
+            // 熔断中
+        }
+
+        Thread.sleep(OPEN_MILLIS * 2);
+        // 阻塞命令不占用试探名额，也不触发进入半开状态
+        for (int i = 0; i < 5; ++i) {
+            breaker.check();
+        }
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+        breaker.acquire();
+        breaker.acquire();
+        assertEquals(RedisCircuitBreaker.HALF_OPEN, breaker.getState());
+        breaker.check();
+    }
+
+    @Test
+    public void resetCloses() {
+        trip();
+        breaker.reset();
+        assertEquals(RedisCircuitBreaker.CLOSED, breaker.getState());
+        breaker.release(breaker.acquire(), null);
+    }
+
+    private void trip() {
+        for (int i = 0; i < 2; ++i) {
+            breaker.release(breaker.acquire(), null);
+        }
+        for (int i = 0; i < 2; ++i) {
+            breaker.release(breaker.acquire(), new JedisConnectionException("refused"));
+        }
+        assertEquals(RedisCircuitBreaker.OPEN, breaker.getState());
+    }
+
+    private void assertRejected() {
+        try {
+            breaker.acquire();
+            fail("应该被熔断拒绝");
+        } catch (RedisCircuitOpenException expected) {
+            // 熔断中
+        }
+    }
+}
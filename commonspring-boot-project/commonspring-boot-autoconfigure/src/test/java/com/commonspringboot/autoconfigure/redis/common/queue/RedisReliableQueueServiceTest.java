@@ -0,0 +1,208 @@
+package com.commonspringboot.autoconfigure.redis.common.queue;
+
+import com.commonspringboot.autoconfigure.redis.common.EmbeddedRedisRule;
+import com.commonspringboot.autoconfigure.redis.common.model.ReliableQueueConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RedisReliableQueueService 确认、重试、死信和放回超时消费者消息的脚本
+ *
+ * @author yzy
+ */
+public class RedisReliableQueueServiceTest {
+
+    @ClassRule
+    public static final EmbeddedRedisRule REDIS = new EmbeddedRedisRule();
+
+    private static final String QUEUE_KEY = "queue:{orders}";
+
+    private RedisReliableQueueService service;
+
+    private ReliableQueueConfig config;
+
+    @Before
+    public void setUp() {
+        REDIS.flushAll();
+        config = new ReliableQueueConfig();
+        config.setMaxRetries(2);
+        config.setBlockTimeoutSeconds(1);
+        config.setVisibilityTimeoutMillis(1000);
+        // 心跳和放回由测试直接调用
+        config.setHeartbeatIntervalMillis(TimeUnit.MINUTES.toMillis(10));
+        config.setShutdownTimeoutMillis(2000);
+        service = new RedisReliableQueueService();
+        service.setRedisId("test");
+        service.setRedis(REDIS.newRedis());
+        service.setProvider(REDIS.newProvider());
+        service.setConfig(config);
+    }
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void ackRemovesHandledMessages() throws Exception {
+        final RedisReliableQueue queue = service.getQueue("orders");
+        queue.push("a", "b", "c");
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        queue.consume(new RedisQueueHandler() {
+            @Override
+            public void handle(String queueName, String message) {
+                handled.add(message);
+            }
+        });
+
+        waitUntil(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return queue.getSucceeded() == 3 && processingSize(queue) == 0;
+            }
+        });
+        assertTrue(handled.containsAll(Arrays.asList("a", "b", "c")));
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.getRetried());
+        try (Jedis jedis = REDIS.jedis()) {
+            assertFalse(jedis.exists(QUEUE_KEY + ":attempts"));
+        }
+    }
+
+    @Test
+    public void failingMessageRetriesThenDeadLetters() throws Exception {
+        final RedisReliableQueue queue = service.getQueue("orders");
+        queue.push("good", "bad");
+        final ConcurrentHashMap<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        queue.consume(new RedisQueueHandler() {
+            @Override
+            public void handle(String queueName, String message) {
+                attempts.putIfAbsent(message, new AtomicInteger());
+                attempts.get(message).incrementAndGet();
+                if ("bad".equals(message)) {
+                    throw new IllegalStateException("处理失败");
+                }
+            }
+        });
+
+        waitUntil(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return queue.getDeadLettered() == 1 && processingSize(queue) == 0;
+            }
+        });
+        assertEquals(1, attempts.get("good").get());
+        // 第一次处理加上 maxRetries 次重试
+        assertEquals(3, attempts.get("bad").get());
+        assertEquals(1, queue.getSucceeded());
+        assertEquals(2, queue.getRetried());
+        assertEquals(1, queue.getDeadLetterCount());
+        assertEquals(0, queue.size());
+        try (Jedis jedis = REDIS.jedis()) {
+            assertNull(jedis.hget(QUEUE_KEY + ":attempts", "bad"));
+            assertEquals(Collections.singletonList("bad"), jedis.lrange(QUEUE_KEY + ":dead", 0, -1));
+        }
+
+        queue.stop();
+        assertEquals(1, queue.redrive(10));
+        assertEquals(0, queue.getDeadLetterCount());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void reclaimExpiredMovesMessagesOfDeadConsumer() {
+        RedisReliableQueue queue = service.getQueue("orders");
+        long now = System.currentTimeMillis();
+        try (Jedis jedis = REDIS.jedis()) {
+            jedis.zadd(QUEUE_KEY + ":consumers", now - 10000, "dead");
+            // BRPOPLPUSH 从左边放入处理中列表，先读取的 m1 在右边
+            jedis.lpush(QUEUE_KEY + ":processing:dead", "m1", "m2");
+            jedis.zadd(QUEUE_KEY + ":consumers", now, "alive");
+            jedis.lpush(QUEUE_KEY + ":processing:alive", "m3");
+            jedis.lpush(QUEUE_KEY, "m4");
+        }
+
+        queue.reclaimExpired();
+
+        assertEquals(2, queue.getReclaimed());
+        try (Jedis jedis = REDIS.jedis()) {
+            // 队列从右边读取，放回的消息按原来的顺序排在等待的消息之前
+            assertEquals(Arrays.asList("m4", "m2", "m1"), jedis.lrange(QUEUE_KEY, 0, -1));
+            assertFalse(jedis.exists(QUEUE_KEY + ":processing:dead"));
+            assertNull(jedis.zscore(QUEUE_KEY + ":consumers", "dead"));
+            assertEquals(Collections.singletonList("m3"), jedis.lrange(QUEUE_KEY + ":processing:alive", 0, -1));
+            assertEquals(Double.valueOf(now), jedis.zscore(QUEUE_KEY + ":consumers", "alive"));
+        }
+    }
+
+    @Test
+    public void reclaimSkipsConsumerWithFreshHeartbeat() {
+        long now = System.currentTimeMillis();
+        try (Jedis jedis = REDIS.jedis()) {
+            jedis.zadd(QUEUE_KEY + ":consumers", now, "alive");
+            jedis.lpush(QUEUE_KEY + ":processing:alive", "m1");
+        }
+
+        // 取到过期列表之后消费者恢复了心跳，脚本内再检查一次
+        Object moved = service.getRedis().evalScript(RedisReliableQueueService.RECLAIM_SCRIPT,
+                Arrays.asList(QUEUE_KEY + ":consumers", QUEUE_KEY + ":processing:alive", QUEUE_KEY),
+                Arrays.asList("alive", String.valueOf(now - 1000)));
+
+        assertEquals(-1L, moved);
+        try (Jedis jedis = REDIS.jedis()) {
+            assertEquals(Collections.singletonList("m1"), jedis.lrange(QUEUE_KEY + ":processing:alive", 0, -1));
+            assertFalse(jedis.exists(QUEUE_KEY));
+        }
+    }
+
+    @Test
+    public void retryIgnoresReclaimedMessage() {
+        try (Jedis jedis = REDIS.jedis()) {
+            jedis.lpush(QUEUE_KEY, "m1");
+        }
+
+        // 消息已经被其他节点放回队列，处理中列表里没有
+        Object result = service.getRedis().evalScript(RedisReliableQueueService.RETRY_SCRIPT,
+                Arrays.asList(QUEUE_KEY + ":processing:slow", QUEUE_KEY, QUEUE_KEY + ":dead", QUEUE_KEY + ":attempts"),
+                Arrays.asList("m1", "2"));
+
+        assertEquals(0L, result);
+        try (Jedis jedis = REDIS.jedis()) {
+            assertEquals(Collections.singletonList("m1"), jedis.lrange(QUEUE_KEY, 0, -1));
+            assertFalse(jedis.exists(QUEUE_KEY + ":attempts"));
+        }
+    }
+
+    private static long processingSize(RedisReliableQueue queue) {
+        try (Jedis jedis = REDIS.jedis()) {
+            return jedis.llen(QUEUE_KEY + ":processing:" + queue.getConsumerId());
+        }
+    }
+
+    private static void waitUntil(Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.call()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("等待超时");
+            }
+            Thread.sleep(20);
+        }
+    }
+}